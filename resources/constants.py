@@ -490,6 +490,9 @@ DEFAULT_LANG = {
     'tfc.commands.player.fail_invalid_food_stats': 'Player does not have any TFC nutrition or hydration data.',
     'tfc.commands.locatevein.unknown_vein': 'Unknown vein: %s',
     'tfc.commands.locatevein.vein_not_found': 'Unable to find vein %s within reasonable distance (16 chunks radius)',
+    'tfc.commands.tracker.queue': '%s checks due in %s chunks, %s waiting',
+    'tfc.commands.tracker.latency': 'Checks ran on average %s ticks late, at most %s, out of %s run',
+    'tfc.commands.tracker.last_tick': 'Last tick ran %s checks in %s ms, leaving %s for the next tick',
 
     # Enums
 
@@ -0,0 +1,63 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.common.capabilities;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import net.dries007.tfc.common.capabilities.LazyItemCapabilityTests.ValueHandler;
+
+/**
+ * Compares the capability work done by an {@link net.minecraft.item.ItemStack#copy()}, with a handler created for every stack against a {@link LazyItemCapability}.
+ * A copy serializes the capabilities of the original stack, then creates and deserializes the capabilities of the new stack.
+ * Real handlers need a loaded game and configs, so this uses a handler of a similar shape. The default state is a stack which has never been heated, the other is a stack which has been.
+ * {@link LazyItemCapabilityTests} checks that copies of the lazy capability match copies of the eager handler.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LazyItemCapabilityBenchmark
+{
+    @Param({"true", "false"})
+    public boolean isDefault;
+
+    private ValueHandler eager;
+    private LazyItemCapability<ValueHandler> lazy;
+
+    @Setup
+    public void setup()
+    {
+        eager = new ValueHandler();
+        lazy = LazyItemCapabilityTests.createLazy();
+        if (!isDefault)
+        {
+            eager.deserializeNBT(ValueHandler.serialize(1200));
+            lazy.get().deserializeNBT(ValueHandler.serialize(1200));
+        }
+    }
+
+    @Benchmark
+    public void eager(Blackhole blackhole)
+    {
+        final ValueHandler copy = new ValueHandler();
+        copy.deserializeNBT(eager.serializeNBT());
+        blackhole.consume(copy);
+    }
+
+    @Benchmark
+    public void lazy(Blackhole blackhole)
+    {
+        final LazyItemCapability<ValueHandler> copy = LazyItemCapabilityTests.createLazy();
+        copy.deserializeNBT(lazy.serializeNBT());
+        blackhole.consume(copy);
+    }
+}
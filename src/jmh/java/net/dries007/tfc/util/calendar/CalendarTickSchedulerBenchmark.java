@@ -0,0 +1,84 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.util.calendar;
+
+import java.util.concurrent.TimeUnit;
+
+import net.minecraft.util.math.BlockPos;
+
+import org.openjdk.jmh.annotations.*;
+
+import net.dries007.tfc.util.calendar.CalendarTickSchedulerTests.RecordingTickable;
+
+/**
+ * Measures the overhead of the {@link CalendarTickScheduler} itself, for a chunk full of calendar tickable devices: a normal tick, catching up after a jump, and removing every device as the chunk unloads.
+ * The stand-in devices do no work, so this only times the scheduler.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CalendarTickSchedulerBenchmark
+{
+    @Param({"100", "500"})
+    public int devices;
+
+    private RecordingTickable[] tickables;
+    private BlockPos[] positions;
+    private CalendarTickScheduler scheduler;
+    private long tick;
+
+    @Setup
+    public void setup()
+    {
+        tickables = new RecordingTickable[devices];
+        positions = new BlockPos[devices];
+        scheduler = new CalendarTickScheduler();
+        for (int i = 0; i < devices; i++)
+        {
+            tickables[i] = new RecordingTickable(0);
+            positions[i] = new BlockPos(i & 15, 64 + (i >> 8), (i >> 4) & 15);
+            scheduler.add(tickables[i], positions[i]);
+        }
+        scheduler.tick(0);
+    }
+
+    @Benchmark
+    public void normalTick()
+    {
+        tick++;
+        scheduler.tick(tick);
+    }
+
+    @Benchmark
+    public void jump()
+    {
+        tick += 1000;
+        scheduler.tick(tick);
+        for (RecordingTickable tickable : tickables)
+        {
+            tickable.updates.clear();
+        }
+    }
+
+    @Benchmark
+    public void unloadAndLoadChunk()
+    {
+        for (int i = 0; i < devices; i++)
+        {
+            scheduler.remove(tickables[i], positions[i]);
+        }
+        for (int i = 0; i < devices; i++)
+        {
+            scheduler.add(tickables[i], positions[i]);
+        }
+        tick++;
+        scheduler.tick(tick);
+    }
+}
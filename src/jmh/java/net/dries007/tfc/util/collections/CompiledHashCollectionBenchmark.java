@@ -0,0 +1,74 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.util.collections;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import net.dries007.tfc.util.collections.CompiledHashCollectionTests.Result;
+import net.dries007.tfc.util.collections.CompiledHashCollectionTests.Value;
+
+/**
+ * Compares looking up results through an {@link IndirectHashCollection}, testing each candidate, against a {@link CompiledHashCollection}.
+ * Uses ~1000 results over ~500 keys, with a varying proportion of results which need testing against the value (as NBT sensitive ingredients do).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompiledHashCollectionBenchmark
+{
+    private static final int LOOKUPS = 1024;
+
+    @Param({"2", "20", "1000"})
+    public int inexactChance;
+
+    private IndirectHashCollection<Object, Result> indirect;
+    private CompiledHashCollection<Object, Value, Result> compiled;
+    private Value[] values;
+
+    @Setup
+    public void setup()
+    {
+        final Random random = new Random(1234L);
+        final List<Object> keys = CompiledHashCollectionTests.createKeys(500);
+        final List<Result> results = CompiledHashCollectionTests.createResults(random, keys, 1000, inexactChance);
+        indirect = CompiledHashCollectionTests.createIndirect(results);
+        compiled = CompiledHashCollectionTests.createCompiled(results);
+        values = new Value[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++)
+        {
+            values[i] = new Value(keys.get(random.nextInt(keys.size())), random.nextInt(4));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public void indirect(Blackhole blackhole)
+    {
+        for (Value value : values)
+        {
+            blackhole.consume(CompiledHashCollectionTests.getIndirect(indirect, value));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public void compiled(Blackhole blackhole)
+    {
+        for (Value value : values)
+        {
+            blackhole.consume(compiled.get(value));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world;
+
+import java.util.concurrent.TimeUnit;
+
+import net.dries007.tfc.world.biome.BiomeNoise;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the per-column biome noise sampling done by {@link TFCChunkGenerator#fillFromNoise}, which dominates the cost of filling a chunk.
+ * Filling a {@link net.minecraft.world.chunk.ChunkPrimer} directly requires registered blocks and biomes, so this samples the height and 3D noise of each kind of biome over a chunk instead, as the generator does when biomes are blended.
+ * The samplers are built directly from {@link BiomeNoise}, with the same parameters as {@link net.dries007.tfc.world.biome.TFCBiomes}, as the biome registry is not available outside of a running game.
+ * The real entry points, {@link net.dries007.tfc.world.chunkdata.ChunkDataGenerator#generate} and {@link TFCChunkGenerator#fillFromNoise}, are timed in the server test harness by {@code TFCChunkGeneratorTests}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BiomeNoiseSamplerBenchmark
+{
+    static final int MAX_Y = 256;
+
+    private IBiomeNoiseSampler[] samplers;
+    private int chunkX;
+
+    @Setup
+    public void setup()
+    {
+        final long seed = 1234L;
+        samplers = new IBiomeNoiseSampler[] {
+            IBiomeNoiseSampler.fromHeightNoise(BiomeNoise.ocean(seed, -20, -12)),
+            IBiomeNoiseSampler.fromHeightNoise(BiomeNoise.oceanRidge(seed, -46, -18)),
+            IBiomeNoiseSampler.fromHeightNoise(BiomeNoise.hills(seed, -5, 16)),
+            IBiomeNoiseSampler.fromHeightNoise(BiomeNoise.lowlands(seed)),
+            IBiomeNoiseSampler.fromHeightNoise(BiomeNoise.canyons(seed, -8, 21)),
+            IBiomeNoiseSampler.fromHeightNoise(BiomeNoise.badlands(seed)),
+            IBiomeNoiseSampler.fromHeightNoise(BiomeNoise.mountains(seed, 10, 70)),
+            IBiomeNoiseSampler.fromHeightNoise(BiomeNoise.addVolcanoes(seed, BiomeNoise.mountains(seed, 10, 60), 5, 25, 50)),
+            IBiomeNoiseSampler.fromHeightNoise(BiomeNoise.shore(seed)),
+            IBiomeNoiseSampler.fromHeightNoise(BiomeNoise.lake(seed)),
+            BiomeNoise.riverSampler(seed),
+            BiomeNoise.undergroundRivers(seed, BiomeNoise.mountains(seed, 10, 70)),
+            BiomeNoise.undergroundLakes(seed, BiomeNoise.mountains(seed, 10, 70))
+        };
+    }
+
+    @Benchmark
+    public void height(Blackhole blackhole)
+    {
+        final int minX = (chunkX++) << 4;
+        for (int x = 0; x < 16; x++)
+        {
+            for (int z = 0; z < 16; z++)
+            {
+                for (IBiomeNoiseSampler sampler : samplers)
+                {
+                    blackhole.consume(sampler.column(minX + x, z).height());
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void column(Blackhole blackhole)
+    {
+        final int minX = (chunkX++) << 4;
+        for (int x = 0; x < 16; x++)
+        {
+            for (int z = 0; z < 16; z++)
+            {
+                for (IBiomeNoiseSampler sampler : samplers)
+                {
+                    final IBiomeNoiseSampler.Column column = sampler.column(minX + x, z);
+                    final int height = (int) column.height();
+                    for (int y = 0; y <= height && y < MAX_Y; y++)
+                    {
+                        blackhole.consume(column.noise(y));
+                    }
+                }
+            }
+        }
+    }
+}
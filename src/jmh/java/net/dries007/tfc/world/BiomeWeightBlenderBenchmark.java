@@ -0,0 +1,88 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world;
+
+import java.util.concurrent.TimeUnit;
+
+import it.unimi.dsi.fastutil.objects.Object2DoubleMap;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the primitive {@link BiomeWeightBlender} against the previous map based blending, for all columns of a chunk.
+ * Biomes are pre-sampled into a grid, so this measures the blending itself and not the biome lookups.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BiomeWeightBlenderBenchmark
+{
+    static final int CHUNKS = 8;
+    static final int QUARTS = (CHUNKS + 4 + 7) * 4; // Chunks, plus the chunk resolution samples four chunks before and seven after, at quart resolution
+
+    private final Integer[] biomes = new Integer[QUARTS * QUARTS];
+    private final BiomeWeightBlender<Integer> blender = new BiomeWeightBlender<>();
+    private final double[] weights = new double[BiomeWeightBlenderTests.BIOMES];
+    private BiomeWeightBlender.Sampler<Integer> sampler;
+
+    @Setup
+    public void setup()
+    {
+        final BiomeWeightBlender.Sampler<Integer> noiseSampler = BiomeWeightBlenderTests.createSampler(1234L);
+        for (int x = 0; x < QUARTS; x++)
+        {
+            for (int z = 0; z < QUARTS; z++)
+            {
+                biomes[x + QUARTS * z] = noiseSampler.get((x << 2) - 64, (z << 2) - 64);
+            }
+        }
+        sampler = (x, z) -> biomes[((x + 64) >> 2) + QUARTS * ((z + 64) >> 2)];
+    }
+
+    @Benchmark
+    public void primitive(Blackhole blackhole)
+    {
+        for (int chunkX = 0; chunkX < CHUNKS; chunkX++)
+        {
+            for (int chunkZ = 0; chunkZ < CHUNKS; chunkZ++)
+            {
+                blender.sample(chunkX << 4, chunkZ << 4, sampler);
+                blender.blend(id -> BiomeWeightBlenderTests.largeGroup(blender.get(id)), 3, id -> BiomeWeightBlenderTests.smallGroup(blender.get(id)), 2);
+                for (int x = 0; x < 16; x++)
+                {
+                    for (int z = 0; z < 16; z++)
+                    {
+                        blender.column(weights, x, z);
+                        blackhole.consume(weights);
+                    }
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void map(Blackhole blackhole)
+    {
+        for (int chunkX = 0; chunkX < CHUNKS; chunkX++)
+        {
+            for (int chunkZ = 0; chunkZ < CHUNKS; chunkZ++)
+            {
+                final Object2DoubleMap<Integer>[] sampled = MapBiomeWeightBlender.sampleBiomes(chunkX << 4, chunkZ << 4, sampler, BiomeWeightBlenderTests::largeGroup, 3, BiomeWeightBlenderTests::smallGroup, 2);
+                for (int x = 0; x < 16; x++)
+                {
+                    for (int z = 0; z < 16; z++)
+                    {
+                        blackhole.consume(MapBiomeWeightBlender.column(sampled, x, z));
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world.carver;
+
+import java.util.BitSet;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import net.minecraft.util.SharedSeedRandom;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.registry.Bootstrap;
+import net.minecraft.world.chunk.IChunk;
+import net.minecraft.world.gen.feature.ProbabilityConfig;
+
+import net.dries007.tfc.world.TFCChunkGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the per chunk carving time of {@link WorleyCaveCarver} against {@link TFCCaveCarver}, for a row of chunks.
+ * Both carvers are given a block carver which only counts positions, as the real block carvers need TFC's blocks and rocks. This measures the cost of deciding which blocks to carve, which is what differs between the two.
+ * The cave carver is driven as {@link net.minecraft.world.gen.ChunkGenerator#applyCarvers} would, from every start chunk in range.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CaveCarverBenchmark
+{
+    static final int CHUNKS = 8;
+    static final int RANGE = 8;
+    static final long SEED = 1234L;
+
+    private final SharedSeedRandom random = new SharedSeedRandom();
+    private CountingBlockCarver blockCarver;
+    private TFCCaveCarver caveCarver;
+    private WorleyCaveCarver worleyCarver;
+    private ProbabilityConfig caveConfig;
+    private WorleyCaveConfig worleyConfig;
+    private int chunkZ;
+
+    @Setup
+    public void setup()
+    {
+        Bootstrap.bootStrap(); // Vanilla carvers register themselves when loaded
+
+        blockCarver = new CountingBlockCarver();
+        caveCarver = new TFCCaveCarver(ProbabilityConfig.CODEC, blockCarver)
+        {
+            @Override
+            protected boolean hasWater(IChunk chunk, int chunkX, int chunkZ, int minX, int maxX, int minY, int maxY, int minZ, int maxZ)
+            {
+                return false; // There is no chunk to check
+            }
+        };
+        worleyCarver = new WorleyCaveCarver(WorleyCaveConfig.CODEC, blockCarver);
+        caveConfig = new ProbabilityConfig(0.1f); // As in the configured carver
+        worleyConfig = new WorleyCaveConfig(94, 0.15f); // The defaults
+    }
+
+    @Benchmark
+    public void cave(Blackhole blackhole)
+    {
+        final int z = chunkZ++;
+        for (int x = 0; x < CHUNKS; x++)
+        {
+            final CarverContext context = createContext();
+            for (int startX = x - RANGE; startX <= x + RANGE; startX++)
+            {
+                for (int startZ = z - RANGE; startZ <= z + RANGE; startZ++)
+                {
+                    random.setLargeFeatureSeed(SEED, startX, startZ);
+                    if (caveCarver.isStartChunk(random, startX, startZ, caveConfig))
+                    {
+                        caveCarver.carve(context, null, pos -> null, random, TFCChunkGenerator.SEA_LEVEL, startX, startZ, x, z, context.getAirCarvingMask(), caveConfig);
+                    }
+                }
+            }
+        }
+        blackhole.consume(blockCarver.count);
+    }
+
+    @Benchmark
+    public void worley(Blackhole blackhole)
+    {
+        final int z = chunkZ++;
+        for (int x = 0; x < CHUNKS; x++)
+        {
+            random.setLargeFeatureSeed(SEED, x, z);
+            worleyCarver.carve(createContext(), null, x << 4, z << 4, random, TFCChunkGenerator.SEA_LEVEL, worleyConfig);
+        }
+        blackhole.consume(blockCarver.count);
+    }
+
+    private CarverContext createContext()
+    {
+        return new CarverContext(SEED, new BitSet(), new BitSet(), null, new BitSet());
+    }
+
+    static final class CountingBlockCarver extends BlockCarver
+    {
+        int count;
+
+        @Override
+        public boolean carve(CarverContext context, IChunk chunk, BlockPos pos, Random random, int seaLevel)
+        {
+            count++;
+            return true;
+        }
+
+        @Override
+        protected void reload() {} // Carvable blocks are not needed
+    }
+}
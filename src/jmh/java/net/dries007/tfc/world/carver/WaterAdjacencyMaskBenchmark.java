@@ -0,0 +1,47 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world.carver;
+
+import java.util.BitSet;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the word parallel dilation of the water adjacency mask against stamping a region around every water block, for a chunk which is water up to sea level.
+ * Water is pre-collected into a mask, so this measures the construction of the mask and not the block state lookups.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WaterAdjacencyMaskBenchmark
+{
+    private long[] water;
+
+    @Setup
+    public void setup()
+    {
+        water = CarverHelpersTests.createWaterMask(new Random(1234L), 1, CarverHelpersTests.SEA_LEVEL);
+    }
+
+    @Benchmark
+    public void dilate(Blackhole blackhole)
+    {
+        blackhole.consume(BitSet.valueOf(CarverHelpers.dilateWaterAdjacencyMask(water, CarverHelpersTests.SEA_LEVEL)));
+    }
+
+    @Benchmark
+    public void stamp(Blackhole blackhole)
+    {
+        blackhole.consume(CarverHelpersTests.stampWaterAdjacencyMask(water, CarverHelpersTests.SEA_LEVEL));
+    }
+}
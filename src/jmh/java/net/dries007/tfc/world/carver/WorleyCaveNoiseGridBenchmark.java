@@ -0,0 +1,63 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world.carver;
+
+import java.util.concurrent.TimeUnit;
+
+import net.dries007.tfc.world.noise.Noise3D;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares sampling the {@link WorleyCaveCarver} noise grid for a row of chunks directly from the noise, against the shared {@link WorleyCaveNoiseGrid}.
+ * Each invocation moves on to unseen chunks, as world generation would, so the cache only helps by sharing border columns between neighbours.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WorleyCaveNoiseGridBenchmark
+{
+    static final int CHUNKS = 8;
+    static final int HEIGHT = (94 / 4) + 8; // The default height fade threshold
+
+    private final float[] values = new float[5 * 5 * HEIGHT];
+    private Noise3D noise;
+    private WorleyCaveNoiseGrid grid;
+    private int chunkZ;
+
+    @Setup
+    public void setup()
+    {
+        noise = WorleyCaveNoiseGrid.createNoise(1234L);
+        grid = new WorleyCaveNoiseGrid(1234L, HEIGHT, 1024);
+    }
+
+    @Benchmark
+    public void direct(Blackhole blackhole)
+    {
+        final int z = chunkZ++;
+        for (int x = 0; x < CHUNKS; x++)
+        {
+            WorleyCaveNoiseGridTests.sampleDirect(noise, values, x, z, HEIGHT);
+            blackhole.consume(values);
+        }
+    }
+
+    @Benchmark
+    public void cached(Blackhole blackhole)
+    {
+        final int z = chunkZ++;
+        for (int x = 0; x < CHUNKS; x++)
+        {
+            grid.sample(values, x, z);
+            blackhole.consume(values);
+        }
+    }
+}
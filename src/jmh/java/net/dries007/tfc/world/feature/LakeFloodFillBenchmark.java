@@ -0,0 +1,54 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world.feature;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import net.minecraft.util.math.BlockPos;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the original hash set based flood fill against {@link LakeFloodFill}, overfilling a basin a few thousand blocks in size.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LakeFloodFillBenchmark
+{
+    private final LakeFloodFill fill = new LakeFloodFill();
+    private Predicate<BlockPos> fillable;
+    private BlockPos start;
+
+    @Setup
+    public void setup()
+    {
+        final int[] heights = LakeFloodFillTests.createTerrain(new Random(1234L));
+        final int center = LakeFloodFillTests.SIZE / 2;
+        fillable = LakeFloodFillTests.isAboveTerrain(heights);
+        start = new BlockPos(center - LakeFloodFill.RADIUS - 1, heights[center * (LakeFloodFillTests.SIZE + 1)] + 1, center - LakeFloodFill.RADIUS - 1);
+    }
+
+    @Benchmark
+    public void reference(Blackhole blackhole)
+    {
+        blackhole.consume(LakeFloodFillTests.floodFillReference(0, 0, start, true, fillable));
+    }
+
+    @Benchmark
+    public void packed(Blackhole blackhole)
+    {
+        blackhole.consume(fill.fill(0, 0, start, true, fillable));
+        blackhole.consume(fill.size());
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world.feature.vein;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.MutableBoundingBox;
+import net.minecraft.util.registry.Bootstrap;
+import net.minecraft.world.chunk.ChunkPrimer;
+import net.minecraft.world.chunk.ChunkStatus;
+import net.minecraft.world.chunk.UpgradeData;
+
+import net.dries007.tfc.util.collections.IWeighted;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares writing the ore of a dense vein into a chunk block by block, as {@link net.minecraft.world.gen.WorldGenRegion#setBlock(BlockPos, BlockState, int, int)} does, against {@link VeinFeature.SectionBuffer}.
+ * Placing a vein also needs a world, which can't be created headless, so ore positions are resolved once up front. Resolving ore is identical in both paths, so this measures the part that differs.
+ * {@link VeinFeatureTests} checks that both paths produce the same chunk, for every type of vein.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VeinPlacementBenchmark
+{
+    static final ChunkPos POS = new ChunkPos(0, 0);
+    static final int SURFACE = 90;
+
+    @Param({"cluster", "disc"})
+    private String type;
+
+    private final List<BlockPos> positions = new ArrayList<>();
+    private final List<BlockState> states = new ArrayList<>();
+    private ChunkPrimer chunk;
+
+    @Setup
+    public void setup()
+    {
+        Bootstrap.bootStrap();
+
+        final Map<Block, IWeighted<BlockState>> ores = new HashMap<>();
+        ores.put(Blocks.STONE, IWeighted.singleton(Blocks.IRON_ORE.defaultBlockState()));
+        final VeinConfig config = new VeinConfig(ores, Optional.empty(), 1, 16, 0.8f, 20, SURFACE, Optional.of(1234L), Collections.emptyList());
+        if ("cluster".equals(type))
+        {
+            resolve(new ClusterVeinFeature(VeinConfig.CODEC), config);
+        }
+        else
+        {
+            resolve(new DiscVeinFeature(DiscVeinConfig.CODEC), new DiscVeinConfig(config, 4));
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void setupChunk()
+    {
+        chunk = new ChunkPrimer(POS, UpgradeData.EMPTY);
+        final BlockState stone = Blocks.STONE.defaultBlockState();
+        final BlockPos.Mutable cursor = new BlockPos.Mutable();
+        for (int x = 0; x < 16; x++)
+        {
+            for (int z = 0; z < 16; z++)
+            {
+                for (int y = 1; y <= SURFACE; y++)
+                {
+                    chunk.setBlockState(cursor.set(x, y, z), stone, false);
+                }
+            }
+        }
+        chunk.setStatus(ChunkStatus.FEATURES);
+    }
+
+    @Benchmark
+    public void perBlock(Blackhole blackhole)
+    {
+        for (int i = 0; i < positions.size(); i++)
+        {
+            chunk.setBlockState(positions.get(i), states.get(i), false);
+        }
+        blackhole.consume(chunk);
+    }
+
+    @Benchmark
+    public void sections(Blackhole blackhole)
+    {
+        final VeinFeature.SectionBuffer buffer = new VeinFeature.SectionBuffer();
+        for (int i = 0; i < positions.size(); i++)
+        {
+            final BlockPos pos = positions.get(i);
+            buffer.add(pos.getX(), pos.getY(), pos.getZ(), states.get(i));
+        }
+        buffer.write(null, chunk, new BlockPos.Mutable()); // The ore neither emits light nor has a tile entity, so nothing is placed through the world
+        blackhole.consume(chunk);
+    }
+
+    /**
+     * Resolves the ore for a vein in the chunk, assuming the chunk is stone up to the surface.
+     */
+    private <C extends VeinConfig, V extends Vein> void resolve(VeinFeature<C, V> feature, C config)
+    {
+        final Random random = new Random(1234L);
+        final V vein = feature.createVein(POS.getMinBlockX(), POS.getMinBlockZ(), random, config);
+        final MutableBoundingBox box = feature.getBoundingBox(config, vein);
+        box.move(vein.getPos());
+
+        final BlockState stone = Blocks.STONE.defaultBlockState();
+        for (int x = Math.max(POS.getMinBlockX(), box.x0); x <= Math.min(POS.getMaxBlockX(), box.x1); x++)
+        {
+            for (int z = Math.max(POS.getMinBlockZ(), box.z0); z <= Math.min(POS.getMaxBlockZ(), box.z1); z++)
+            {
+                for (int y = Math.max(config.getMinY(), box.y0); y <= Math.min(config.getMaxY(), box.y1); y++)
+                {
+                    if (random.nextFloat() < feature.getChanceToGenerate(x - vein.getPos().getX(), y - vein.getPos().getY(), z - vein.getPos().getZ(), vein, config))
+                    {
+                        final BlockState ore = feature.getStateToGenerate(stone, random, config);
+                        if (ore != null)
+                        {
+                            positions.add(new BlockPos(x, y, z));
+                            states.add(ore);
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world.layer;
+
+import java.util.concurrent.TimeUnit;
+
+import net.dries007.tfc.util.IArtist;
+import net.dries007.tfc.world.biome.TFCBiomeProvider;
+import net.dries007.tfc.world.layer.framework.Area;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares point-wise and tile lookups of the overworld biome and rock layers, for a row of chunks.
+ * Biomes are sampled at quart resolution, as {@link TFCBiomeProvider} does, and rocks at block resolution, as {@link net.dries007.tfc.world.chunkdata.ChunkDataGenerator} does.
+ * Each invocation moves on to unseen chunks, so this measures layer evaluation and not just the area caches.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LayerBenchmark
+{
+    static final int CHUNKS = 8;
+
+    private final int[] biomeTile = new int[4 * 4];
+    private final int[] rockTile = new int[16 * 16];
+    private Area biomeArea, rockArea;
+    private int chunkZ;
+
+    @Setup
+    public void setup()
+    {
+        final TFCBiomeProvider.LayerSettings settings = new TFCBiomeProvider.LayerSettings();
+        biomeArea = TFCLayerUtil.createOverworldBiomeLayer(1234L, settings, IArtist.nope(), IArtist.nope()).get();
+        rockArea = TFCLayerUtil.createOverworldRockLayer(1234L, settings.getRockLayerScale(), settings.getBottomRocks().size()).get();
+    }
+
+    @Benchmark
+    public void biomePoint(Blackhole blackhole)
+    {
+        final int z = chunkZ++;
+        for (int x = 0; x < CHUNKS; x++)
+        {
+            for (int quartX = 0; quartX < 4; quartX++)
+            {
+                for (int quartZ = 0; quartZ < 4; quartZ++)
+                {
+                    blackhole.consume(biomeArea.get((x << 2) + quartX, (z << 2) + quartZ));
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void biomeTile(Blackhole blackhole)
+    {
+        final int z = chunkZ++;
+        for (int x = 0; x < CHUNKS; x++)
+        {
+            biomeArea.get(biomeTile, x << 2, z << 2, 4, 4);
+            blackhole.consume(biomeTile);
+        }
+    }
+
+    @Benchmark
+    public void rockPoint(Blackhole blackhole)
+    {
+        final int z = chunkZ++;
+        for (int x = 0; x < CHUNKS; x++)
+        {
+            for (int blockX = 0; blockX < 16; blockX++)
+            {
+                for (int blockZ = 0; blockZ < 16; blockZ++)
+                {
+                    blackhole.consume(rockArea.get((x << 4) + blockX, (z << 4) + blockZ));
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void rockTile(Blackhole blackhole)
+    {
+        final int z = chunkZ++;
+        for (int x = 0; x < CHUNKS; x++)
+        {
+            rockArea.get(rockTile, x << 4, z << 4, 16, 16);
+            blackhole.consume(rockTile);
+        }
+    }
+}
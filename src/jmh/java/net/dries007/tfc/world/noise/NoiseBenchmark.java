@@ -0,0 +1,121 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world.noise;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the noise compositions used by world generation, sampled over the columns of a chunk for 2D noise, and over the blocks of a chunk section for 3D noise.
+ * Compositions mirror those in {@link net.dries007.tfc.world.biome.BiomeNoise} and the carvers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NoiseBenchmark
+{
+    static final long SEED = 1234L;
+
+    private Noise2D simplex2D, octaves2D, ridged2D, warped2D;
+    private Noise3D octaves3D, cellular3D;
+    private Metaballs3D metaballs3D;
+
+    @Setup
+    public void setup()
+    {
+        simplex2D = new OpenSimplex2D(SEED).spread(0.06f);
+        octaves2D = new OpenSimplex2D(SEED).octaves(4).spread(0.06f).scaled(-1, 1);
+        ridged2D = new OpenSimplex2D(SEED).octaves(4).spread(0.015f).ridged();
+        warped2D = new OpenSimplex2D(SEED + 1).octaves(4).spread(0.06f).warped(new OpenSimplex2D(SEED).octaves(4).spread(0.03f).scaled(-100f, 100f));
+
+        octaves3D = new OpenSimplex3D(SEED).octaves(2).spread(0.1f).scaled(0, 3);
+        cellular3D = new Cellular3D(SEED).type(FastNoiseLite.CellularReturnType.Distance2Mul).spread(0.04f).scaled(0, 1).warped(new OpenSimplex3D(SEED + 1).octaves(4).spread(0.08f).scaled(-18, 18));
+        metaballs3D = new Metaballs3D(16, new Random(SEED));
+    }
+
+    @Benchmark
+    public void simplex2D(Blackhole blackhole)
+    {
+        sample(simplex2D, blackhole);
+    }
+
+    @Benchmark
+    public void octaves2D(Blackhole blackhole)
+    {
+        sample(octaves2D, blackhole);
+    }
+
+    @Benchmark
+    public void ridged2D(Blackhole blackhole)
+    {
+        sample(ridged2D, blackhole);
+    }
+
+    @Benchmark
+    public void warped2D(Blackhole blackhole)
+    {
+        sample(warped2D, blackhole);
+    }
+
+    @Benchmark
+    public void octaves3D(Blackhole blackhole)
+    {
+        sample(octaves3D, blackhole);
+    }
+
+    @Benchmark
+    public void cellular3D(Blackhole blackhole)
+    {
+        sample(cellular3D, blackhole);
+    }
+
+    @Benchmark
+    public void metaballs3D(Blackhole blackhole)
+    {
+        for (int x = 0; x < 16; x++)
+        {
+            for (int y = 0; y < 16; y++)
+            {
+                for (int z = 0; z < 16; z++)
+                {
+                    blackhole.consume(metaballs3D.inside(x - 8, y - 8, z - 8));
+                }
+            }
+        }
+    }
+
+    private void sample(Noise2D noise, Blackhole blackhole)
+    {
+        for (int x = 0; x < 16; x++)
+        {
+            for (int z = 0; z < 16; z++)
+            {
+                blackhole.consume(noise.noise(x, z));
+            }
+        }
+    }
+
+    private void sample(Noise3D noise, Blackhole blackhole)
+    {
+        for (int x = 0; x < 16; x++)
+        {
+            for (int y = 0; y < 16; y++)
+            {
+                for (int z = 0; z < 16; z++)
+                {
+                    blackhole.consume(noise.noise(x, y, z));
+                }
+            }
+        }
+    }
+}
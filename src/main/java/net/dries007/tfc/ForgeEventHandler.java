@@ -59,7 +59,6 @@ import net.dries007.tfc.common.blocks.devices.CharcoalForgeBlock;
 import net.dries007.tfc.common.blocks.devices.PitKilnBlock;
 import net.dries007.tfc.common.capabilities.food.FoodCapability;
 import net.dries007.tfc.common.capabilities.food.FoodDefinition;
-import net.dries007.tfc.common.capabilities.food.FoodHandler;
 import net.dries007.tfc.common.capabilities.food.TFCFoodStats;
 import net.dries007.tfc.common.capabilities.forge.ForgingCapability;
 import net.dries007.tfc.common.capabilities.forge.ForgingHandler;
@@ -80,6 +79,7 @@ import net.dries007.tfc.network.ChunkUnwatchPacket;
 import net.dries007.tfc.network.PacketHandler;
 import net.dries007.tfc.util.CacheInvalidationListener;
 import net.dries007.tfc.util.Helpers;
+import net.dries007.tfc.util.calendar.Calendars;
 import net.dries007.tfc.util.events.StartFireEvent;
 import net.dries007.tfc.util.support.SupportManager;
 import net.dries007.tfc.util.tracker.WorldTracker;
@@ -215,6 +215,7 @@ public final class ForgeEventHandler
                 // 1. If this was due to world gen, it won't have any cap data. This is where we clear the world gen cache and attach it to the chunk
                 // 2. If this was due to chunk loading, the caps will be deserialized from NBT after this event is posted. Attach empty data here
                 data = ChunkDataCache.WORLD_GEN.remove(chunkPos);
+                ChunkDataCache.CLIMATE.remove(chunkPos); // Any climate only data is now stale, as it was not promoted
                 if (data == null)
                 {
                     data = new ChunkData(chunkPos);
@@ -243,17 +244,17 @@ public final class ForgeEventHandler
             // Attach mandatory capabilities
             event.addCapability(ForgingCapability.KEY, new ForgingHandler(stack));
 
-            // Optional capabilities
+            // Optional capabilities, which are only created once used, as this is called for every stack, including every copy
             HeatDefinition def = HeatCapability.get(stack);
             if (def != null)
             {
-                event.addCapability(HeatCapability.KEY, def.create());
+                event.addCapability(HeatCapability.KEY, def.createLazy());
             }
 
             FoodDefinition food = FoodCapability.get(stack);
             if (food != null)
             {
-                event.addCapability(FoodCapability.KEY, new FoodHandler(food.getData()));
+                event.addCapability(FoodCapability.KEY, food.createLazy());
             }
         }
     }
@@ -308,6 +309,10 @@ public final class ForgeEventHandler
         if (!Helpers.isClientSide(event.getWorld()) && !(event.getChunk() instanceof EmptyChunk))
         {
             ChunkDataCache.SERVER.remove(event.getChunk().getPos());
+            if (event.getWorld() instanceof World)
+            {
+                ((World) event.getWorld()).getCapability(WorldTrackerCapability.CAPABILITY).ifPresent(cap -> cap.getSupportCoverage().onChunkUnloaded(event.getChunk().getPos()));
+            }
         }
     }
 
@@ -438,6 +443,11 @@ public final class ForgeEventHandler
         {
             event.world.getCapability(WorldTrackerCapability.CAPABILITY).ifPresent(cap -> cap.tick(event.world));
         }
+        else if (event.phase == TickEvent.Phase.END && !event.world.isClientSide())
+        {
+            // After tile entities have been loaded and the calendar may have jumped this tick, but before the world may be saved
+            event.world.getCapability(WorldTrackerCapability.CAPABILITY).ifPresent(cap -> cap.getCalendarTickables().tick(Calendars.SERVER.getTicks()));
+        }
     }
 
     public static void onExplosionDetonate(ExplosionEvent.Detonate event)
@@ -49,6 +49,14 @@ public class ItemDefinition
         return ingredient.test(stack);
     }
 
+    /**
+     * @return If this definition matches any stack of its valid items, regardless of NBT or capabilities.
+     */
+    public boolean isSimple()
+    {
+        return ingredient.isSimple();
+    }
+
     public Collection<Item> getValidItems()
     {
         return Arrays.stream(ingredient.getItems()).map(ItemStack::getItem).collect(Collectors.toSet());
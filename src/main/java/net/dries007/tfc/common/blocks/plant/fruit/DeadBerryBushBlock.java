@@ -71,6 +71,18 @@ public class DeadBerryBushBlock extends SeasonalPlantBlock implements IFluidLogg
         return ActionResultType.FAIL;
     }
 
+    @Override
+    public boolean isRandomlyTicking(BlockState state)
+    {
+        return true;
+    }
+
+    @Override
+    public void grow(BlockState state, ServerWorld world, BlockPos pos, Random random)
+    {
+        // Dead plants don't grow, they only decay on random ticks
+    }
+
     @Override
     public void randomTick(BlockState state, ServerWorld world, BlockPos pos, Random random)
     {
@@ -34,6 +34,18 @@ public class DeadCaneBlock extends SpreadingCaneBlock
         super(properties, () -> Items.AIR, new Lifecycle[12], () -> Blocks.AIR, 0, 0);
     }
 
+    @Override
+    public boolean isRandomlyTicking(BlockState state)
+    {
+        return true;
+    }
+
+    @Override
+    public void grow(BlockState state, ServerWorld world, BlockPos pos, Random random)
+    {
+        // Dead plants don't grow, they only decay on random ticks
+    }
+
     @Override
     public void randomTick(BlockState state, ServerWorld world, BlockPos pos, Random random)
     {
@@ -105,6 +105,12 @@ public class FruitTreeBranchBlock extends SixWayBlock implements IForgeBlockProp
         return blockIn.is(TFCTags.Blocks.FRUIT_TREE_BRANCH) || blockIn.is(TFCTags.Blocks.BUSH_PLANTABLE_ON);
     }
 
+    @Override
+    public boolean isRandomlyTicking(BlockState state)
+    {
+        return false; // Survival is checked on a scheduled tick when a neighbor changes
+    }
+
     @Override
     @SuppressWarnings("deprecation")
     public void tick(BlockState state, ServerWorld worldIn, BlockPos pos, Random rand)
@@ -38,6 +38,7 @@ import net.dries007.tfc.common.tileentity.BerryBushTileEntity;
 import net.dries007.tfc.common.tileentity.FruitTreeLeavesTileEntity;
 import net.dries007.tfc.config.TFCConfig;
 import net.dries007.tfc.util.Helpers;
+import net.dries007.tfc.util.calendar.ICalendar;
 
 public class FruitTreeLeavesBlock extends SeasonalPlantBlock implements IForgeBlockProperties, ILeavesBlock
 {
@@ -58,12 +59,12 @@ public class FruitTreeLeavesBlock extends SeasonalPlantBlock implements IForgeBl
     }
 
     @Override
-    public void randomTick(BlockState state, ServerWorld world, BlockPos pos, Random random)
+    public void grow(BlockState state, ServerWorld world, BlockPos pos, Random random)
     {
         FruitTreeLeavesTileEntity te = Helpers.getTileEntity(world, pos, FruitTreeLeavesTileEntity.class);
-        if (te == null) return;
+        if (te == null || state.getValue(PERSISTENT)) return;
 
-        Lifecycle old = state.getValue(LIFECYCLE); // have to put this in random tick to capture the old state
+        Lifecycle old = state.getValue(LIFECYCLE); // have to put this in grow to capture the old state
         if (old == Lifecycle.FLOWERING || old == Lifecycle.FRUITING)
         {
             if (!te.isOnYear() && te.isGrowing() && old == Lifecycle.FLOWERING && super.updateLifecycle(te) == Lifecycle.FRUITING)
@@ -80,7 +81,7 @@ public class FruitTreeLeavesBlock extends SeasonalPlantBlock implements IForgeBl
         {
             te.setOnYear(false); // reset when we're not in season
         }
-        super.randomTick(state, world, pos, random);
+        super.grow(state, world, pos, random);
     }
 
     @Override
@@ -100,6 +101,12 @@ public class FruitTreeLeavesBlock extends SeasonalPlantBlock implements IForgeBl
         }
     }
 
+    @Override
+    protected long getTicksUntilCycle(BerryBushTileEntity te, Lifecycle lifecycle)
+    {
+        return te.isGrowing() && te.getDeath() > 10 ? ICalendar.TICKS_IN_DAY - te.getTicksSinceUpdate() : Long.MAX_VALUE;
+    }
+
     @Override
     protected void createBlockStateDefinition(StateContainer.Builder<Block, BlockState> builder)
     {
@@ -119,12 +126,6 @@ public class FruitTreeLeavesBlock extends SeasonalPlantBlock implements IForgeBl
         return lifecycle;
     }
 
-    @Override
-    public boolean isRandomlyTicking(BlockState state)
-    {
-        return !state.getValue(PERSISTENT);
-    }
-
     @Override
     public BlockState updateShape(BlockState stateIn, Direction facing, BlockState facingState, IWorld worldIn, BlockPos currentPos, BlockPos facingPos)
     {
@@ -146,6 +147,10 @@ public class FruitTreeLeavesBlock extends SeasonalPlantBlock implements IForgeBl
         {
             worldIn.destroyBlock(pos, true);
         }
+        else
+        {
+            grow(state, worldIn, pos, rand);
+        }
     }
 
     private boolean isValid(IWorld worldIn, BlockPos pos, BlockState state)
@@ -14,6 +14,7 @@ import javax.annotation.Nullable;
 
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
 import net.minecraft.state.IntegerProperty;
 import net.minecraft.state.StateContainer;
 import net.minecraft.util.Direction;
@@ -34,7 +35,7 @@ import net.dries007.tfc.util.calendar.ICalendar;
  *
  * @author EERussianguy
  */
-public class GrowingFruitTreeBranchBlock extends FruitTreeBranchBlock
+public class GrowingFruitTreeBranchBlock extends FruitTreeBranchBlock implements IGrowingBlock
 {
     public static final IntegerProperty SAPLINGS = TFCBlockStateProperties.SAPLINGS;
     private static final Direction[] NOT_DOWN = new Direction[] {Direction.WEST, Direction.EAST, Direction.SOUTH, Direction.NORTH, Direction.UP};
@@ -85,24 +86,6 @@ public class GrowingFruitTreeBranchBlock extends FruitTreeBranchBlock
         registerDefaultState(stateDefinition.any().setValue(NORTH, false).setValue(EAST, false).setValue(SOUTH, false).setValue(WEST, false).setValue(UP, false).setValue(DOWN, true).setValue(STAGE, 0));
     }
 
-    @Override
-    @SuppressWarnings("deprecation")
-    public void randomTick(BlockState state, ServerWorld world, BlockPos pos, Random random)
-    {
-        TickCounterTileEntity te = Helpers.getTileEntity(world, pos, TickCounterTileEntity.class);
-        if (te == null || world.isClientSide()) return;
-
-        // todo: better climate checks
-        /*
-        ChunkData chunkData = ChunkData.get(world, pos);
-        if (!fruitTree.getBase().isValidConditions(chunkData.getAverageTemp(pos), chunkData.getRainfall(pos)))
-        {
-            te.resetCounter();
-        }
-*/
-        super.randomTick(state, world, pos, random);
-    }
-
     public void grow(BlockState state, ServerWorld world, BlockPos pos, Random random, int cyclesLeft)
     {
         FruitTreeBranchBlock body = (FruitTreeBranchBlock) this.body.get();
@@ -179,7 +162,21 @@ public class GrowingFruitTreeBranchBlock extends FruitTreeBranchBlock
     @Override
     public boolean isRandomlyTicking(BlockState state)
     {
-        return state.getValue(STAGE) < 3;
+        return false; // Grows on scheduled ticks instead
+    }
+
+    /**
+     * Breaks as soon as the branch can no longer survive. Other branches check survival on a scheduled tick, but a growing branch almost always has its growth tick pending, and vanilla keeps only one tick per position and block, so the check would wait for that.
+     */
+    @Override
+    @SuppressWarnings("deprecation")
+    public BlockState updateShape(BlockState stateIn, Direction facing, BlockState facingState, IWorld worldIn, BlockPos currentPos, BlockPos facingPos)
+    {
+        if (!stateIn.canSurvive(worldIn, currentPos))
+        {
+            return Blocks.AIR.defaultBlockState();
+        }
+        return super.updateShape(stateIn, facing, facingState, worldIn, currentPos, facingPos);
     }
 
     @Override
@@ -193,16 +190,38 @@ public class GrowingFruitTreeBranchBlock extends FruitTreeBranchBlock
     public void tick(BlockState state, ServerWorld world, BlockPos pos, Random rand)
     {
         super.tick(state, world, pos, rand);
+        if (!world.isEmptyBlock(pos))
+        {
+            grow(state, world, pos, rand);
+        }
+    }
+
+    @Override
+    public void grow(BlockState state, ServerWorld world, BlockPos pos, Random random)
+    {
         TickCounterTileEntity te = Helpers.getTileEntity(world, pos, TickCounterTileEntity.class);
-        if (te == null || world.isEmptyBlock(pos) || world.isClientSide()) return;
+        if (te == null || state.getValue(STAGE) >= 3) return;
 
+        // todo: better climate checks
+        /*
+        ChunkData chunkData = ChunkData.get(world, pos);
+        if (!fruitTree.getBase().isValidConditions(chunkData.getAverageTemp(pos), chunkData.getRainfall(pos)))
+        {
+            te.resetCounter();
+        }
+*/
         long days = te.getTicksSinceUpdate() / ICalendar.TICKS_IN_DAY;
         int cycles = (int) (days / 5);
         if (cycles >= 1)
         {
-            grow(state, world, pos, rand, cycles);
+            grow(state, world, pos, random, cycles);
             te.resetCounter();
         }
+
+        if (world.getBlockState(pos).is(this) && !te.isRemoved())
+        {
+            world.getBlockTicks().scheduleTick(pos, this, IGrowingBlock.getGrowthDelay(ICalendar.TICKS_IN_DAY * 5 - te.getTicksSinceUpdate()));
+        }
     }
 
     private void placeGrownFlower(ServerWorld worldIn, BlockPos pos, int stage, int saplings, int cycles)
@@ -0,0 +1,49 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.common.blocks.plant.fruit;
+
+import java.util.Random;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.server.ServerWorld;
+
+import net.dries007.tfc.util.calendar.ICalendar;
+
+/**
+ * A plant which grows on scheduled ticks, in place of random ticks.
+ * Each time it grows, it schedules a single tick for the next time anything about it can change: either the start of the next month, or when it is next due to grow, but at most a day away.
+ * Plants which have nothing to do, such as healthy fruit tree leaves, are still ticked once a day, as the delay is limited to a day.
+ * <p>
+ * Scheduled ticks follow the game time, not the calendar. So plants are also grown by their {@link net.dries007.tfc.common.tileentity.TickCounterTileEntity} when it is loaded, and when the calendar jumps.
+ * Vanilla keeps only one scheduled tick per position and block, so a tick which is recomputed to be sooner, such as after a jump, is dropped in favor of the one already scheduled. Limiting the delay to a day means that tick is at most a day late.
+ */
+public interface IGrowingBlock
+{
+    /**
+     * @return The number of calendar ticks until the start of the next month.
+     */
+    static long getTicksUntilNextMonth(long calendarTicks, long daysInMonth)
+    {
+        final long ticksInMonth = daysInMonth * ICalendar.TICKS_IN_DAY;
+        return ticksInMonth - Math.floorMod(calendarTicks, ticksInMonth);
+    }
+
+    /**
+     * @param ticks The ticks until the next change, which may be zero or negative if it is already due.
+     * @return A valid scheduled tick delay, of at most a day.
+     */
+    static int getGrowthDelay(long ticks)
+    {
+        return (int) Math.max(1, Math.min(ICalendar.TICKS_IN_DAY, ticks));
+    }
+
+    /**
+     * Grows the plant, catching up with the calendar, and schedules the next time it should grow.
+     */
+    void grow(BlockState state, ServerWorld world, BlockPos pos, Random random);
+}
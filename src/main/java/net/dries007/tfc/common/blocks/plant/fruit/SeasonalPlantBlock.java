@@ -44,7 +44,7 @@ import net.dries007.tfc.util.calendar.Calendars;
 import net.dries007.tfc.util.calendar.ICalendar;
 import net.dries007.tfc.world.chunkdata.ChunkData;
 
-public abstract class SeasonalPlantBlock extends BushBlock implements IForgeBlockProperties
+public abstract class SeasonalPlantBlock extends BushBlock implements IForgeBlockProperties, IGrowingBlock
 {
     public static final VoxelShape PLANT_SHAPE = box(2.0, 0.0, 2.0, 14.0, 16.0, 14.0);
 
@@ -132,9 +132,21 @@ public abstract class SeasonalPlantBlock extends BushBlock implements IForgeBloc
         return VoxelShapes.empty();
     }
 
+    @Override
+    public boolean isRandomlyTicking(BlockState state)
+    {
+        return false; // Grows on scheduled ticks instead
+    }
+
     @Override
     @SuppressWarnings("deprecation")
-    public void randomTick(BlockState state, ServerWorld world, BlockPos pos, Random random)
+    public void tick(BlockState state, ServerWorld world, BlockPos pos, Random random)
+    {
+        grow(state, world, pos, random);
+    }
+
+    @Override
+    public void grow(BlockState state, ServerWorld world, BlockPos pos, Random random)
     {
         BerryBushTileEntity te = Helpers.getTileEntity(world, pos, BerryBushTileEntity.class);
         if (te == null) return;
@@ -157,7 +169,10 @@ public abstract class SeasonalPlantBlock extends BushBlock implements IForgeBloc
         }*/
 
         Lifecycle lifecycle = updateLifecycle(te);
-        world.setBlockAndUpdate(pos, state.setValue(LIFECYCLE, lifecycle));
+        if (lifecycle != state.getValue(LIFECYCLE))
+        {
+            world.setBlockAndUpdate(pos, state.setValue(LIFECYCLE, lifecycle));
+        }
 
         int stage = state.getValue(STAGE);
         long days = te.getTicksSinceUpdate() / ICalendar.TICKS_IN_DAY;
@@ -171,6 +186,12 @@ public abstract class SeasonalPlantBlock extends BushBlock implements IForgeBloc
             }
             te.resetCounter();
         }
+
+        if (world.getBlockState(pos).is(this) && !te.isRemoved())
+        {
+            final long ticks = Math.min(IGrowingBlock.getTicksUntilNextMonth(Calendars.SERVER.getCalendarTicks(), Calendars.SERVER.getCalendarDaysInMonth()), getTicksUntilCycle(te, lifecycle));
+            world.getBlockTicks().scheduleTick(pos, this, IGrowingBlock.getGrowthDelay(ticks));
+        }
     }
 
     @Override
@@ -187,6 +208,16 @@ public abstract class SeasonalPlantBlock extends BushBlock implements IForgeBloc
         }
     }
 
+    /**
+     * The lifecycle only changes with the month, but {@link #cycle} may change the plant on any day.
+     *
+     * @return The ticks until this plant should next {@link #cycle}, or {@link Long#MAX_VALUE} if it will not change until the lifecycle does.
+     */
+    protected long getTicksUntilCycle(BerryBushTileEntity te, Lifecycle lifecycle)
+    {
+        return lifecycle == Lifecycle.HEALTHY || lifecycle == Lifecycle.DORMANT ? ICalendar.TICKS_IN_DAY - te.getTicksSinceUpdate() : Long.MAX_VALUE;
+    }
+
     /**
      * A means of performing X amount of random ticks to catch up with the calendar.
      */
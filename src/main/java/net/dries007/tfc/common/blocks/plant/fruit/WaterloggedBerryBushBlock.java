@@ -39,6 +39,7 @@ import net.dries007.tfc.common.fluids.FluidProperty;
 import net.dries007.tfc.common.fluids.IFluidLoggable;
 import net.dries007.tfc.common.tileentity.BerryBushTileEntity;
 import net.dries007.tfc.util.Helpers;
+import net.dries007.tfc.util.calendar.ICalendar;
 
 public class WaterloggedBerryBushBlock extends StationaryBerryBushBlock implements IFluidLoggable
 {
@@ -73,9 +74,15 @@ public class WaterloggedBerryBushBlock extends StationaryBerryBushBlock implemen
     }
 
     @Override
-    public void randomTick(BlockState state, ServerWorld world, BlockPos pos, Random random)
+    protected long getTicksUntilCycle(BerryBushTileEntity te, Lifecycle lifecycle)
     {
-        super.randomTick(state, world, pos, random);
+        return ICalendar.TICKS_IN_DAY - te.getTicksSinceUpdate(); // Checks the fluid it is in every day, in any lifecycle
+    }
+
+    @Override
+    public void grow(BlockState state, ServerWorld world, BlockPos pos, Random random)
+    {
+        super.grow(state, world, pos, random);
         BerryBushTileEntity te = Helpers.getTileEntity(world, pos, BerryBushTileEntity.class);
         if (te == null) return;
 
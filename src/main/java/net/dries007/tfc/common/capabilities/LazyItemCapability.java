@@ -0,0 +1,134 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.common.capabilities;
+
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
+
+import net.minecraft.nbt.CompoundNBT;
+import net.minecraft.util.Direction;
+import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.common.capabilities.ICapabilitySerializable;
+import net.minecraftforge.common.util.LazyOptional;
+
+/**
+ * A capability attached to an item stack, which does not create its handler until the handler is first needed.
+ * Item stacks are created, and copied, far more often than their capabilities are used. Each copy serializes the capabilities of the original, and deserializes them into the copy.
+ * Until the handler is created, this holds on to the data it would have been deserialized from, and serializes as that data.
+ * <p>
+ * Handlers which have a default state (i.e. an item which has not been heated) can provide the serialized form of it. Stacks in the default state share that, and never create a handler until one is requested.
+ * The data held is never modified, so is kept by reference, the same as {@link net.minecraft.item.ItemStack} does for the tag it is loaded from.
+ */
+public class LazyItemCapability<H extends ICapabilitySerializable<CompoundNBT>> implements ICapabilitySerializable<CompoundNBT>
+{
+    private final Capability<?> capability;
+    private final Supplier<? extends H> factory;
+    @Nullable private final CompoundNBT defaultNbt;
+
+    @Nullable private H handler;
+    @Nullable private CompoundNBT pendingNbt; // Data to deserialize the handler from once it is created, or null if in the default state
+
+    /**
+     * @param factory    Creates the handler. This should be shared, i.e. by an item definition, rather than created per stack.
+     * @param defaultNbt The serialized form of a newly created handler, if it does not depend on the time it is serialized. This is not modified.
+     */
+    public LazyItemCapability(Capability<?> capability, Supplier<? extends H> factory, @Nullable CompoundNBT defaultNbt)
+    {
+        this.capability = capability;
+        this.factory = factory;
+        this.defaultNbt = defaultNbt;
+    }
+
+    /**
+     * Gets the handler, creating it if it has not been already.
+     */
+    public H get()
+    {
+        if (handler == null)
+        {
+            handler = factory.get();
+            if (pendingNbt != null)
+            {
+                handler.deserializeNBT(pendingNbt);
+                pendingNbt = null;
+            }
+        }
+        return handler;
+    }
+
+    public boolean isCreated()
+    {
+        return handler != null;
+    }
+
+    /**
+     * Used to skip comparing stacks when syncing containers, see {@link net.dries007.tfc.common.container.SlotSyncTracker}. This never creates the handler.
+     *
+     * @return 0 if the handler has not been created, as nothing can have changed since this was deserialized, otherwise the sync version of the handler, or -1 if it is not tracked.
+     */
+    public int getSyncVersion()
+    {
+        return handler == null ? 0 : getSyncVersion(handler);
+    }
+
+    @Override
+    public <T> LazyOptional<T> getCapability(Capability<T> cap, @Nullable Direction side)
+    {
+        if (cap == capability)
+        {
+            return get().getCapability(cap, side);
+        }
+        return LazyOptional.empty();
+    }
+
+    @Override
+    public CompoundNBT serializeNBT()
+    {
+        if (handler == null)
+        {
+            // Deferred data is only held if it can be deserialized at any time, so it serializes the same as a handler created from it would
+            if (pendingNbt != null)
+            {
+                return pendingNbt.copy();
+            }
+            if (defaultNbt != null)
+            {
+                return defaultNbt.copy();
+            }
+        }
+        return get().serializeNBT();
+    }
+
+    @Override
+    public void deserializeNBT(CompoundNBT nbt)
+    {
+        if (handler != null || !canDefer(nbt))
+        {
+            get().deserializeNBT(nbt);
+        }
+        else
+        {
+            pendingNbt = nbt.equals(defaultNbt) ? null : nbt;
+        }
+    }
+
+    /**
+     * @return The sync version of a created handler, or -1 if it is not tracked.
+     */
+    protected int getSyncVersion(H handler)
+    {
+        return -1;
+    }
+
+    /**
+     * @return {@code true} if deserializing from {@code nbt} can be deferred until the handler is created. This should be {@code false} if the result would depend on when it is deserialized.
+     */
+    protected boolean canDefer(CompoundNBT nbt)
+    {
+        return true;
+    }
+}
@@ -19,7 +19,7 @@ import net.dries007.tfc.config.TFCConfig;
 import net.dries007.tfc.util.Helpers;
 import net.dries007.tfc.util.calendar.Calendars;
 import net.dries007.tfc.util.calendar.ICalendar;
-import net.dries007.tfc.util.collections.IndirectHashCollection;
+import net.dries007.tfc.util.collections.CompiledHashCollection;
 import net.dries007.tfc.util.data.DataManager;
 
 public final class FoodCapability
@@ -27,20 +27,13 @@ public final class FoodCapability
     @CapabilityInject(IFood.class)
     public static final Capability<IFood> CAPABILITY = Helpers.notNull();
     public static final ResourceLocation KEY = Helpers.identifier("food");
-    public static final IndirectHashCollection<Item, FoodDefinition> CACHE = new IndirectHashCollection<>(FoodDefinition::getValidItems);
+    public static final CompiledHashCollection<Item, ItemStack, FoodDefinition> CACHE = CompiledHashCollection.of(FoodDefinition::getValidItems, ItemStack::getItem, FoodDefinition::matches, FoodDefinition::isSimple);
     public static final DataManager<FoodDefinition> MANAGER = new DataManager.Instance<>(FoodDefinition::new, "food_items", "foods", true);
 
     @Nullable
     public static FoodDefinition get(ItemStack stack)
     {
-        for (FoodDefinition def : CACHE.getAll(stack.getItem()))
-        {
-            if (def.matches(stack))
-            {
-                return def;
-            }
-        }
-        return null;
+        return CACHE.get(stack);
     }
 
     /**
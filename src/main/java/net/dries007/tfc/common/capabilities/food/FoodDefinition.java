@@ -6,15 +6,20 @@
 
 package net.dries007.tfc.common.capabilities.food;
 
+import java.util.function.Supplier;
+
 import com.google.gson.JsonObject;
+import net.minecraft.nbt.CompoundNBT;
 import net.minecraft.util.JSONUtils;
 import net.minecraft.util.ResourceLocation;
 
 import net.dries007.tfc.common.ItemDefinition;
+import net.dries007.tfc.common.capabilities.LazyItemCapability;
 
 public class FoodDefinition extends ItemDefinition
 {
     private final FoodData data;
+    private final Supplier<FoodHandler> capability;
 
     public FoodDefinition(ResourceLocation id, JsonObject json)
     {
@@ -32,10 +37,40 @@ public class FoodDefinition extends ItemDefinition
         }
 
         this.data = new FoodData(hunger, water, saturation, nutrition, decayModifier);
+        this.capability = () -> new FoodHandler(data);
     }
 
     public FoodData getData()
     {
         return data;
     }
+
+    /**
+     * Creates the capability to attach to an item stack. The handler is only created once it is needed.
+     * Food has no default state, as a stack's serialized creation date depends on when it is serialized.
+     */
+    public LazyItemCapability<FoodHandler> createLazy()
+    {
+        final LazyItemCapability<FoodHandler> lazy = new LazyItemCapability<FoodHandler>(FoodCapability.CAPABILITY, capability, null)
+        {
+            @Override
+            protected boolean canDefer(CompoundNBT nbt)
+            {
+                // Without a creation date, one is picked based on when it is deserialized
+                return nbt.contains("creationDate");
+            }
+
+            @Override
+            protected int getSyncVersion(FoodHandler handler)
+            {
+                return handler.getSyncVersion();
+            }
+        };
+        if (FoodHandler.isCreatingNonDecaying())
+        {
+            // This is decided on creation of the handler
+            lazy.get();
+        }
+        return lazy;
+    }
 }
@@ -47,15 +47,21 @@ public class FoodHandler implements ICapabilitySerializable<CompoundNBT>, IFood
         FoodHandler.NON_DECAYING.set(value);
     }
 
-    protected final List<FoodTrait> foodTraits;
+    static boolean isCreatingNonDecaying()
+    {
+        return FoodHandler.NON_DECAYING.get();
+    }
+
+    protected final TraitList foodTraits;
     private final LazyOptional<IFood> capability;
     protected FoodData data;
     protected long creationDate;
     protected boolean isNonDecaying; // This is intentionally not serialized, as we don't want it to preserve over `ItemStack.copy()` operations
+    private int syncVersion; // Changes to traits are counted by the trait list
 
     public FoodHandler(FoodData data)
     {
-        this.foodTraits = new ArrayList<>(2);
+        this.foodTraits = new TraitList();
         this.data = data;
         this.isNonDecaying = FoodHandler.NON_DECAYING.get();
         this.capability = LazyOptional.of(() -> this);
@@ -69,9 +75,10 @@ public class FoodHandler implements ICapabilitySerializable<CompoundNBT>, IFood
         {
             return UNKNOWN_CREATION_DATE;
         }
-        if (calculateRottenDate(creationDate) < Calendars.get(isClientSide).getTicks())
+        if (creationDate != ROTTEN_DATE && calculateRottenDate(creationDate) < Calendars.get(isClientSide).getTicks())
         {
             this.creationDate = ROTTEN_DATE;
+            this.syncVersion++;
         }
         return creationDate;
     }
@@ -80,6 +87,7 @@ public class FoodHandler implements ICapabilitySerializable<CompoundNBT>, IFood
     public void setCreationDate(long creationDate)
     {
         this.creationDate = creationDate;
+        this.syncVersion++;
     }
 
     @Override
@@ -132,6 +140,12 @@ public class FoodHandler implements ICapabilitySerializable<CompoundNBT>, IFood
         return foodTraits;
     }
 
+    @Override
+    public int getSyncVersion()
+    {
+        return syncVersion + foodTraits.getModCount();
+    }
+
     @Nonnull
     @Override
     public <T> LazyOptional<T> getCapability(Capability<T> cap, @Nullable Direction side)
@@ -172,6 +186,7 @@ public class FoodHandler implements ICapabilitySerializable<CompoundNBT>, IFood
             foodTraits.add(FoodTrait.TRAITS.get(traitList.getString(i)));
         }
         creationDate = nbt.contains("creationDate") ? nbt.getLong("creationDate") : FoodCapability.getRoundedCreationDate();
+        syncVersion++;
     }
 
     /**
@@ -192,4 +207,20 @@ public class FoodHandler implements ICapabilitySerializable<CompoundNBT>, IFood
         }
         return creationDateIn + (long) (decayMod * DEFAULT_DECAY_TICKS);
     }
+
+    /**
+     * A list which exposes how many times it has been modified, as traits are added and removed through {@link #getTraits()}.
+     */
+    protected static class TraitList extends ArrayList<FoodTrait>
+    {
+        TraitList()
+        {
+            super(2);
+        }
+
+        int getModCount()
+        {
+            return modCount;
+        }
+    }
 }
@@ -110,6 +110,16 @@ public interface IFood extends INBTSerializable<CompoundNBT>
      */
     List<FoodTrait> getTraits();
 
+    /**
+     * Used to skip comparing stacks when syncing containers, see {@link net.dries007.tfc.common.container.SlotSyncTracker}.
+     *
+     * @return A number which changes whenever the serialized state of this food changes, or -1 if this is not tracked.
+     */
+    default int getSyncVersion()
+    {
+        return -1;
+    }
+
     /**
      * Tooltip added to the food item
      *
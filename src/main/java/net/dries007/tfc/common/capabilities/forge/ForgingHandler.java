@@ -17,7 +17,7 @@ import net.minecraftforge.common.util.LazyOptional;
 
 public class ForgingHandler implements IForging
 {
-    private final LazyOptional<IForging> capability = LazyOptional.of(() -> this);
+    @Nullable private LazyOptional<IForging> capability; // Created on first request, as this is attached to every item stack
 
     protected ItemStack container;
 
@@ -116,7 +116,15 @@ public class ForgingHandler implements IForging
     @Override
     public <T> LazyOptional<T> getCapability(Capability<T> cap, @Nullable Direction side)
     {
-        return ForgingCapability.CAPABILITY.orEmpty(cap, capability);
+        if (cap == ForgingCapability.CAPABILITY)
+        {
+            if (capability == null)
+            {
+                capability = LazyOptional.of(() -> this);
+            }
+            return capability.cast();
+        }
+        return LazyOptional.empty();
     }
 
     /**
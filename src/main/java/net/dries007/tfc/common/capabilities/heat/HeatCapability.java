@@ -16,7 +16,7 @@ import net.minecraftforge.common.capabilities.CapabilityInject;
 
 import net.dries007.tfc.config.TFCConfig;
 import net.dries007.tfc.util.Helpers;
-import net.dries007.tfc.util.collections.IndirectHashCollection;
+import net.dries007.tfc.util.collections.CompiledHashCollection;
 import net.dries007.tfc.util.data.DataManager;
 
 import static net.dries007.tfc.TerraFirmaCraft.MOD_ID;
@@ -26,7 +26,7 @@ public final class HeatCapability
     @CapabilityInject(IHeat.class)
     public static final Capability<IHeat> CAPABILITY = Helpers.notNull();
     public static final ResourceLocation KEY = new ResourceLocation(MOD_ID, "item_heat");
-    public static final IndirectHashCollection<Item, HeatDefinition> CACHE = new IndirectHashCollection<>(HeatDefinition::getValidItems);
+    public static final CompiledHashCollection<Item, ItemStack, HeatDefinition> CACHE = CompiledHashCollection.of(HeatDefinition::getValidItems, ItemStack::getItem, HeatDefinition::matches, HeatDefinition::isSimple);
     public static final DataManager<HeatDefinition> MANAGER = new DataManager.Instance<>(HeatDefinition::new, "item_heats", "item heat", true);
 
     public static float adjustTempTowards(float temp, float target, float deltaPositive, float deltaNegative)
@@ -118,13 +118,6 @@ public final class HeatCapability
     @Nullable
     public static HeatDefinition get(ItemStack stack)
     {
-        for (HeatDefinition def : CACHE.getAll(stack.getItem()))
-        {
-            if (def.matches(stack))
-            {
-                return def;
-            }
-        }
-        return null;
+        return CACHE.get(stack);
     }
 }
\ No newline at end of file
@@ -9,16 +9,20 @@ package net.dries007.tfc.common.capabilities.heat;
 import java.util.function.Supplier;
 
 import com.google.gson.JsonObject;
+import net.minecraft.nbt.CompoundNBT;
 import net.minecraft.util.JSONUtils;
 import net.minecraft.util.ResourceLocation;
 
 import net.dries007.tfc.common.ItemDefinition;
+import net.dries007.tfc.common.capabilities.LazyItemCapability;
 
 /**
  * This is a definition (reloaded via {@link HeatCapability}) of a heat that is applied to an item stack.
  */
 public class HeatDefinition extends ItemDefinition
 {
+    private static final CompoundNBT UNHEATED = HeatHandler.createUnheatedNBT();
+
     private final Supplier<IHeat> capability;
 
     public HeatDefinition(ResourceLocation id, JsonObject json)
@@ -39,4 +43,19 @@ public class HeatDefinition extends ItemDefinition
     {
         return capability.get();
     }
+
+    /**
+     * Creates the capability to attach to an item stack. The handler is only created once it is needed, and stacks which have not been heated share the same serialized data.
+     */
+    public LazyItemCapability<IHeat> createLazy()
+    {
+        return new LazyItemCapability<IHeat>(HeatCapability.CAPABILITY, capability, UNHEATED)
+        {
+            @Override
+            protected int getSyncVersion(IHeat handler)
+            {
+                return handler.getSyncVersion();
+            }
+        };
+    }
 }
@@ -17,6 +17,17 @@ import net.dries007.tfc.util.calendar.Calendars;
 
 public class HeatHandler implements IHeat
 {
+    /**
+     * @return The serialized form of a handler at zero temperature. All handlers serialize to this once they have cooled, regardless of heat capacity.
+     */
+    public static CompoundNBT createUnheatedNBT()
+    {
+        CompoundNBT nbt = new CompoundNBT();
+        nbt.putLong("ticks", 0);
+        nbt.putFloat("heat", 0);
+        return nbt;
+    }
+
     private final LazyOptional<IHeat> capability = LazyOptional.of(() -> this);
 
     private final float forgingTemp; // Temperature at which this item can be worked in forging
@@ -31,6 +42,8 @@ public class HeatHandler implements IHeat
     protected float temperature;
     protected long lastUpdateTick;
 
+    private int syncVersion;
+
     /**
      * Default ItemHeatHandler implementation
      *
@@ -70,6 +83,13 @@ public class HeatHandler implements IHeat
     {
         this.temperature = temperature;
         this.lastUpdateTick = Calendars.SERVER.getTicks();
+        this.syncVersion++;
+    }
+
+    @Override
+    public int getSyncVersion()
+    {
+        return syncVersion;
     }
 
     @Override
@@ -99,20 +119,16 @@ public class HeatHandler implements IHeat
     @Override
     public CompoundNBT serializeNBT()
     {
-        CompoundNBT nbt = new CompoundNBT();
         if (getTemperature() <= 0)
         {
             // Reset temperature to zero
-            nbt.putLong("ticks", 0);
-            nbt.putFloat("heat", 0);
-        }
-        else
-        {
-            // Serialize existing values - this is intentionally lazy (and not using the result of getTemperature())
-            // Why? So we don't update the serialization unnecessarily. Important for not sending unnecessary client syncs.
-            nbt.putLong("ticks", lastUpdateTick);
-            nbt.putFloat("heat", temperature);
+            return createUnheatedNBT();
         }
+        // Serialize existing values - this is intentionally lazy (and not using the result of getTemperature())
+        // Why? So we don't update the serialization unnecessarily. Important for not sending unnecessary client syncs.
+        CompoundNBT nbt = new CompoundNBT();
+        nbt.putLong("ticks", lastUpdateTick);
+        nbt.putFloat("heat", temperature);
         return nbt;
     }
 
@@ -121,5 +137,6 @@ public class HeatHandler implements IHeat
     {
         temperature = nbt.getFloat("heat");
         lastUpdateTick = nbt.getLong("ticks");
+        syncVersion++;
     }
 }
\ No newline at end of file
@@ -38,6 +38,16 @@ public interface IHeat extends ICapabilitySerializable<CompoundNBT>
      */
     void setTemperature(float temperature);
 
+    /**
+     * Used to skip comparing stacks when syncing containers, see {@link net.dries007.tfc.common.container.SlotSyncTracker}.
+     *
+     * @return A number which changes whenever the temperature is set or deserialized, or -1 if this is not tracked.
+     */
+    default int getSyncVersion()
+    {
+        return -1;
+    }
+
     /**
      * Gets the Heat capacity. (A measure of how fast this items heats up or cools down)
      * Implementation is left up to the heating object. (See TEFirePit for example)
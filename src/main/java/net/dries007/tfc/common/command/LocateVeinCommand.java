@@ -6,10 +6,8 @@
 
 package net.dries007.tfc.common.command;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Map;
-import java.util.Random;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -89,8 +87,6 @@ public class LocateVeinCommand
         final BlockPos sourcePos = new BlockPos(context.getSource().getPosition());
         final ChunkPos pos = new ChunkPos(sourcePos);
         final ConfiguredFeature<?, ? extends VeinFeature<?, ?>> vein = LocateVeinCommand.getVeins().get(veinName);
-        final ArrayList<? extends Vein> veins = new ArrayList<>();
-        final Random random = new Random();
         final BiomeManager biomeManager = world.getBiomeManager().withDifferentSource(world.getChunkSource().getGenerator().getBiomeSource());
         final Function<BlockPos, Biome> biomeQuery = biomeManager::getBiome;
         for (int radius = 0; radius <= 16; radius++)
@@ -106,10 +102,10 @@ public class LocateVeinCommand
                         continue;
                     }
 
-                    ((VeinFeature) vein.feature()).getVeinsAtChunk(world, pos.x + dx, pos.z + dz, veins, (VeinConfig) vein.config(), random, biomeQuery);
-                    if (!veins.isEmpty())
+                    final Vein found = ((VeinFeature) vein.feature()).getVeinAtChunk(world, pos.x + dx, pos.z + dz, (VeinConfig) vein.config(), biomeQuery);
+                    if (found != null)
                     {
-                        final BlockPos veinPos = veins.get(0).getPos();
+                        final BlockPos veinPos = found.getPos();
                         return showLocateResult(context.getSource(), veinName.toString(), sourcePos, veinPos, "commands.locate.success");
                     }
                 }
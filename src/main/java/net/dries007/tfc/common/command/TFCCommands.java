@@ -22,6 +22,7 @@ public final class TFCCommands
             .then(PlayerCommand.create())
             .then(TreeCommand.create())
             .then(LocateVeinCommand.create())
+            .then(TrackerCommand.create())
         );
 
         // For command modifications / replacements, we register directly
@@ -0,0 +1,40 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.common.command;
+
+import net.minecraft.command.CommandSource;
+import net.minecraft.command.Commands;
+import net.minecraft.util.text.TranslationTextComponent;
+
+import com.mojang.brigadier.Command;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import net.dries007.tfc.util.tracker.TrackerScheduler;
+import net.dries007.tfc.util.tracker.WorldTrackerCapability;
+
+public final class TrackerCommand
+{
+    private static final String QUEUE = "tfc.commands.tracker.queue";
+    private static final String LATENCY = "tfc.commands.tracker.latency";
+    private static final String LAST_TICK = "tfc.commands.tracker.last_tick";
+
+    public static LiteralArgumentBuilder<CommandSource> create()
+    {
+        return Commands.literal("tracker").requires(source -> source.hasPermission(2))
+            .executes(context -> queryScheduler(context.getSource()));
+    }
+
+    private static int queryScheduler(CommandSource source)
+    {
+        source.getLevel().getCapability(WorldTrackerCapability.CAPABILITY).ifPresent(cap -> {
+            final TrackerScheduler scheduler = cap.getScheduler();
+            source.sendSuccess(new TranslationTextComponent(QUEUE, scheduler.getQueueDepth(), scheduler.getChunkCount(), scheduler.getDelayedCount()), false);
+            source.sendSuccess(new TranslationTextComponent(LATENCY, String.format("%.2f", scheduler.getAverageLatency()), scheduler.getMaxLatency(), scheduler.getTotalRun()), false);
+            source.sendSuccess(new TranslationTextComponent(LAST_TICK, scheduler.getLastRun(), String.format("%.3f", scheduler.getLastNanos() / 1_000_000d), scheduler.getLastDeferred()), false);
+        });
+        return Command.SINGLE_SUCCESS;
+    }
+}
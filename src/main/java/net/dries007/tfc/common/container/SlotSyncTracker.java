@@ -0,0 +1,139 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.common.container;
+
+import java.util.Objects;
+
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.common.capabilities.CapabilityDispatcher;
+import net.minecraftforge.common.capabilities.ICapabilityProvider;
+import net.minecraftforge.common.util.INBTSerializable;
+
+import it.unimi.dsi.fastutil.objects.Reference2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.dries007.tfc.common.capabilities.LazyItemCapability;
+import net.dries007.tfc.mixin.common.capabilities.CapabilityDispatcherAccessor;
+import net.dries007.tfc.mixin.common.capabilities.CapabilityProviderAccessor;
+
+/**
+ * Decides which slots of a container have changed and need syncing, in place of comparing each slot with the last synced copy in full, including capabilities.
+ * Comparing capabilities means serializing them, for both stacks, for every slot, every tick.
+ * <p>
+ * Instead, once a slot has been compared in full and matched, this remembers the stack in the slot and the sync version of its capabilities.
+ * As long as the same stack is still in the slot, with the same sync version, only the item, count and tag are compared.
+ * The sync version is only tracked if every serializable capability on the stack is a {@link LazyItemCapability} which tracks one, and reading it never creates the handler. Any other stack is always compared in full.
+ *
+ * @see net.dries007.tfc.mixin.inventory.container.ContainerMixin
+ */
+public class SlotSyncTracker
+{
+    public static final long UNTRACKED = -1;
+
+    /**
+     * @return The sum of the sync versions of the stack's capabilities, or {@link #UNTRACKED} if any capability which is compared when syncing does not track one.
+     */
+    public static long getSyncVersion(ItemStack stack)
+    {
+        if (stack.isEmpty())
+        {
+            return UNTRACKED;
+        }
+        final CapabilityDispatcher dispatcher = ((CapabilityProviderAccessor) (Object) stack).invoke$getCapabilities();
+        if (dispatcher == null)
+        {
+            return 0; // No capabilities to compare
+        }
+        long version = 0;
+        for (ICapabilityProvider provider : ((CapabilityDispatcherAccessor) (Object) dispatcher).accessor$getCaps())
+        {
+            if (provider instanceof LazyItemCapability)
+            {
+                final int providerVersion = ((LazyItemCapability<?>) provider).getSyncVersion();
+                if (providerVersion == -1)
+                {
+                    return UNTRACKED;
+                }
+                version += providerVersion;
+            }
+            else if (provider instanceof INBTSerializable)
+            {
+                // Compared by ItemStack#areCapsCompatible, and may change without a sync version
+                return UNTRACKED;
+            }
+        }
+        return version;
+    }
+
+    private static boolean matchesIgnoringCapabilities(ItemStack lastStack, ItemStack stack)
+    {
+        return lastStack.getItem() == stack.getItem() && lastStack.getCount() == stack.getCount() && Objects.equals(lastStack.getTag(), stack.getTag());
+    }
+
+    private final Reference2ObjectMap<ItemStack, Entry> entries; // Keyed by the last synced copy, which is unique to each slot
+    private int fullComparisons;
+
+    public SlotSyncTracker()
+    {
+        entries = new Reference2ObjectOpenHashMap<>();
+    }
+
+    /**
+     * @return The number of times a slot has been compared in full, including capabilities.
+     */
+    public int getFullComparisons()
+    {
+        return fullComparisons;
+    }
+
+    /**
+     * Replaces {@link ItemStack#matches(ItemStack, ItemStack)}, when comparing a slot with its last synced copy.
+     *
+     * @return {@code true} if the slot has not changed since it was last synced.
+     */
+    public boolean matches(ItemStack lastStack, ItemStack stack)
+    {
+        final Entry entry = entries.get(lastStack);
+        if (entry != null && entry.stack == stack && entry.version == getSyncVersion(stack) && matchesIgnoringCapabilities(lastStack, stack))
+        {
+            return true;
+        }
+
+        fullComparisons++;
+        final boolean matches = ItemStack.matches(lastStack, stack);
+        final long version = matches ? getSyncVersion(stack) : UNTRACKED;
+        if (version != UNTRACKED)
+        {
+            if (entry != null)
+            {
+                entry.stack = stack;
+                entry.version = version;
+            }
+            else
+            {
+                entries.put(lastStack, new Entry(stack, version));
+            }
+        }
+        else if (entry != null)
+        {
+            // The last synced copy will be replaced, or the stack is no longer tracked
+            entries.remove(lastStack);
+        }
+        return matches;
+    }
+
+    static final class Entry
+    {
+        ItemStack stack;
+        long version;
+
+        Entry(ItemStack stack, long version)
+        {
+            this.stack = stack;
+            this.version = version;
+        }
+    }
+}
@@ -11,7 +11,6 @@ import java.util.List;
 import java.util.Random;
 import javax.annotation.Nullable;
 
-import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
 import net.minecraft.item.crafting.IRecipeSerializer;
 import net.minecraft.item.crafting.IRecipeType;
@@ -27,7 +26,7 @@ import net.dries007.tfc.common.entities.TFCFallingBlockEntity;
 import net.dries007.tfc.common.recipes.ingredients.BlockIngredient;
 import net.dries007.tfc.common.recipes.inventory.BlockRecipeWrapper;
 import net.dries007.tfc.config.TFCConfig;
-import net.dries007.tfc.util.collections.IndirectHashCollection;
+import net.dries007.tfc.util.collections.CompiledHashCollection;
 import net.dries007.tfc.util.support.SupportManager;
 import net.dries007.tfc.util.tracker.Collapse;
 import net.dries007.tfc.util.tracker.WorldTrackerCapability;
@@ -41,20 +40,13 @@ import net.dries007.tfc.util.tracker.WorldTrackerCapability;
  */
 public class CollapseRecipe extends SimpleBlockRecipe
 {
-    public static final IndirectHashCollection<Block, CollapseRecipe> CACHE = new IndirectHashCollection<>(recipe -> recipe.getBlockIngredient().getValidBlocks());
+    public static final CompiledHashCollection<BlockState, BlockState, CollapseRecipe> CACHE = CompiledHashCollection.of(SimpleBlockRecipe::getValidStates, (recipe, state) -> recipe.getBlockIngredient().test(state));
     private static final Random RANDOM = new Random();
 
     @Nullable
     public static CollapseRecipe getRecipe(World world, BlockRecipeWrapper wrapper)
     {
-        for (CollapseRecipe recipe : CACHE.getAll(wrapper.getState().getBlock()))
-        {
-            if (recipe.matches(wrapper, world))
-            {
-                return recipe;
-            }
-        }
-        return null;
+        return CACHE.get(wrapper.getState());
     }
 
     /**
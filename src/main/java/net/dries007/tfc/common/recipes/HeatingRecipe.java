@@ -27,23 +27,16 @@ import net.minecraftforge.fluids.FluidStack;
 import net.dries007.tfc.common.capabilities.heat.HeatCapability;
 import net.dries007.tfc.common.recipes.ingredients.IngredientHelpers;
 import net.dries007.tfc.common.recipes.inventory.ItemStackRecipeWrapper;
-import net.dries007.tfc.util.collections.IndirectHashCollection;
+import net.dries007.tfc.util.collections.CompiledHashCollection;
 
 public class HeatingRecipe implements ISimpleRecipe<ItemStackRecipeWrapper>
 {
-    public static final IndirectHashCollection<Item, HeatingRecipe> CACHE = new IndirectHashCollection<>(HeatingRecipe::getValidItems);
+    public static final CompiledHashCollection<Item, ItemStack, HeatingRecipe> CACHE = CompiledHashCollection.of(HeatingRecipe::getValidItems, ItemStack::getItem, HeatingRecipe::isValid, HeatingRecipe::isSimple);
 
     @Nullable
     public static HeatingRecipe getRecipe(World world, ItemStackRecipeWrapper wrapper)
     {
-        for (HeatingRecipe recipe : CACHE.getAll(wrapper.getStack().getItem()))
-        {
-            if (recipe.matches(wrapper, world))
-            {
-                return recipe;
-            }
-        }
-        return null;
+        return CACHE.get(wrapper.getStack());
     }
 
     private final ResourceLocation id;
@@ -64,7 +57,20 @@ public class HeatingRecipe implements ISimpleRecipe<ItemStackRecipeWrapper>
     @Override
     public boolean matches(ItemStackRecipeWrapper inv, World worldIn)
     {
-        return ingredient.test(inv.getStack());
+        return isValid(inv.getStack());
+    }
+
+    public boolean isValid(ItemStack stack)
+    {
+        return ingredient.test(stack);
+    }
+
+    /**
+     * @return If this recipe matches any stack of its valid items, regardless of NBT or capabilities.
+     */
+    public boolean isSimple()
+    {
+        return ingredient.isSimple();
     }
 
     @Override
@@ -11,7 +11,6 @@ import java.util.List;
 import java.util.Random;
 import javax.annotation.Nullable;
 
-import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
 import net.minecraft.item.crafting.IRecipeSerializer;
 import net.minecraft.item.crafting.IRecipeType;
@@ -28,7 +27,7 @@ import net.dries007.tfc.common.entities.TFCFallingBlockEntity;
 import net.dries007.tfc.common.recipes.ingredients.BlockIngredient;
 import net.dries007.tfc.common.recipes.inventory.BlockRecipeWrapper;
 import net.dries007.tfc.config.TFCConfig;
-import net.dries007.tfc.util.collections.IndirectHashCollection;
+import net.dries007.tfc.util.collections.CompiledHashCollection;
 import net.dries007.tfc.util.support.SupportManager;
 
 /**
@@ -40,20 +39,13 @@ import net.dries007.tfc.util.support.SupportManager;
  */
 public class LandslideRecipe extends SimpleBlockRecipe
 {
-    public static final IndirectHashCollection<Block, LandslideRecipe> CACHE = new IndirectHashCollection<>(recipe -> recipe.getBlockIngredient().getValidBlocks());
+    public static final CompiledHashCollection<BlockState, BlockState, LandslideRecipe> CACHE = CompiledHashCollection.of(SimpleBlockRecipe::getValidStates, (recipe, state) -> recipe.getBlockIngredient().test(state));
     private static final Random RANDOM = new Random();
 
     @Nullable
     public static LandslideRecipe getRecipe(World world, BlockRecipeWrapper wrapper)
     {
-        for (LandslideRecipe recipe : CACHE.getAll(wrapper.getState().getBlock()))
-        {
-            if (recipe.matches(wrapper, world))
-            {
-                return recipe;
-            }
-        }
-        return null;
+        return CACHE.get(wrapper.getState());
     }
 
     /**
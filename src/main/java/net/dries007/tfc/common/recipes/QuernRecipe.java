@@ -17,23 +17,16 @@ import net.minecraft.util.ResourceLocation;
 import net.minecraft.world.World;
 
 import net.dries007.tfc.common.recipes.inventory.ItemStackRecipeWrapper;
-import net.dries007.tfc.util.collections.IndirectHashCollection;
+import net.dries007.tfc.util.collections.CompiledHashCollection;
 
 public class QuernRecipe extends SimpleItemRecipe
 {
-    public static final IndirectHashCollection<Item, QuernRecipe> CACHE = new IndirectHashCollection<>(QuernRecipe::getValidItems);
+    public static final CompiledHashCollection<Item, ItemStack, QuernRecipe> CACHE = CompiledHashCollection.of(QuernRecipe::getValidItems, ItemStack::getItem, QuernRecipe::isValid, QuernRecipe::isSimple);
 
     @Nullable
     public static QuernRecipe getRecipe(World world, ItemStackRecipeWrapper wrapper)
     {
-        for (QuernRecipe recipe : CACHE.getAll(wrapper.getStack().getItem()))
-        {
-            if (recipe.matches(wrapper, world))
-            {
-                return recipe;
-            }
-        }
-        return null;
+        return CACHE.get(wrapper.getStack());
     }
 
     public QuernRecipe(ResourceLocation id, Ingredient ingredient, ItemStack result)
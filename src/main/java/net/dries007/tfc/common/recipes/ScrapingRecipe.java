@@ -17,23 +17,16 @@ import net.minecraft.util.ResourceLocation;
 import net.minecraft.world.World;
 
 import net.dries007.tfc.common.recipes.inventory.ItemStackRecipeWrapper;
-import net.dries007.tfc.util.collections.IndirectHashCollection;
+import net.dries007.tfc.util.collections.CompiledHashCollection;
 
 public class ScrapingRecipe extends SimpleItemRecipe
 {
-    public static final IndirectHashCollection<Item, ScrapingRecipe> CACHE = new IndirectHashCollection<>(ScrapingRecipe::getValidItems);
+    public static final CompiledHashCollection<Item, ItemStack, ScrapingRecipe> CACHE = CompiledHashCollection.of(ScrapingRecipe::getValidItems, ItemStack::getItem, ScrapingRecipe::isValid, ScrapingRecipe::isSimple);
 
     @Nullable
     public static ScrapingRecipe getRecipe(World world, ItemStackRecipeWrapper wrapper)
     {
-        for (ScrapingRecipe recipe : CACHE.getAll(wrapper.getStack().getItem()))
-        {
-            if (recipe.matches(wrapper, world))
-            {
-                return recipe;
-            }
-        }
-        return null;
+        return CACHE.get(wrapper.getStack());
     }
 
     public ScrapingRecipe(ResourceLocation id, Ingredient ingredient, ItemStack result)
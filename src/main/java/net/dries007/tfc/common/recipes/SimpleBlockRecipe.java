@@ -6,6 +6,8 @@
 
 package net.dries007.tfc.common.recipes;
 
+import java.util.Collection;
+import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 
 import com.google.gson.JsonObject;
@@ -70,6 +72,14 @@ public abstract class SimpleBlockRecipe implements IBlockRecipe
         return ingredient;
     }
 
+    /**
+     * @return Every state of every block accepted by the ingredient. Not all of these states are guaranteed to match.
+     */
+    public Collection<BlockState> getValidStates()
+    {
+        return ingredient.getValidBlocks().stream().flatMap(block -> block.getStateDefinition().getPossibleStates().stream()).collect(Collectors.toList());
+    }
+
     public static class Serializer<R extends SimpleBlockRecipe> extends RecipeSerializer<R>
     {
         private final Factory<R> factory;
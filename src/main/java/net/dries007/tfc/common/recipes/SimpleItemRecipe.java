@@ -45,10 +45,23 @@ public abstract class SimpleItemRecipe implements ISimpleRecipe<ItemStackRecipeW
         return Arrays.stream(this.ingredient.getItems()).map(ItemStack::getItem).collect(Collectors.toSet());
     }
 
+    public boolean isValid(ItemStack stack)
+    {
+        return this.ingredient.test(stack);
+    }
+
+    /**
+     * @return If this recipe matches any stack of its valid items, regardless of NBT or capabilities.
+     */
+    public boolean isSimple()
+    {
+        return this.ingredient.isSimple();
+    }
+
     @Override
     public boolean matches(ItemStackRecipeWrapper wrapper, World worldIn)
     {
-        return this.ingredient.test(wrapper.getStack());
+        return isValid(wrapper.getStack());
     }
 
     @Override
@@ -34,6 +34,15 @@ public class NotRottenIngredient extends DelegateIngredient
         return super.test(stack) && stack != null && stack.getCapability(FoodCapability.CAPABILITY).map(cap -> !cap.isRotten()).orElse(true);
     }
 
+    /**
+     * Not simple, as this depends on the food capability of the stack, not just the item.
+     */
+    @Override
+    public boolean isSimple()
+    {
+        return false;
+    }
+
     @Override
     public IIngredientSerializer<? extends Ingredient> getSerializer()
     {
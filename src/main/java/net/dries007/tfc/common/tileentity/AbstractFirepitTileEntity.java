@@ -6,7 +6,6 @@
 
 package net.dries007.tfc.common.tileentity;
 
-import org.apache.commons.lang3.tuple.Triple;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
 import net.minecraft.inventory.container.INamedContainerProvider;
@@ -32,7 +31,7 @@ import net.dries007.tfc.util.IntArrayBuilder;
 import net.dries007.tfc.util.calendar.Calendars;
 import net.dries007.tfc.util.calendar.ICalendarTickable;
 
-public abstract class AbstractFirepitTileEntity<C extends IItemHandlerModifiable & INBTSerializable<CompoundNBT>> extends TickableInventoryTileEntity<C> implements ICalendarTickable, INamedContainerProvider
+public abstract class AbstractFirepitTileEntity<C extends IItemHandlerModifiable & INBTSerializable<CompoundNBT>> extends TickableInventoryTileEntity<C> implements ICalendarTickable, IFuelConsumer, INamedContainerProvider
 {
     public static final int SLOT_FUEL_CONSUME = 0; // where fuel is taken by the firepit
     public static final int SLOT_FUEL_INPUT = 3; // where fuel is inserted into the firepit (0-3 are all fuel slots)
@@ -75,6 +74,7 @@ public abstract class AbstractFirepitTileEntity<C extends IItemHandlerModifiable
         lastPlayerTick = Calendars.SERVER.getTicks();
 
         syncableData = new IntArrayBuilder().add(() -> (int) temperature, value -> temperature = value);
+        syncedFields = new SyncedFields().addInventory(inventory).addInt(() -> (int) temperature, value -> temperature = value);
     }
 
     @Override
@@ -98,7 +98,7 @@ public abstract class AbstractFirepitTileEntity<C extends IItemHandlerModifiable
         nbt.putInt("burnTicks", burnTicks);
         nbt.putInt("airTicks", airTicks);
         nbt.putFloat("burnTemperature", burnTemperature);
-        nbt.putLong("lastPlayerTick", lastPlayerTick);
+        nbt.putLong("lastPlayerTick", Calendars.SERVER.getTicks()); // Caught up, while loaded
         return super.save(nbt);
     }
 
@@ -114,7 +114,6 @@ public abstract class AbstractFirepitTileEntity<C extends IItemHandlerModifiable
     public void tick()
     {
         super.tick();
-        checkForCalendarUpdate();
 
         assert level != null;
         if (!level.isClientSide)
@@ -158,10 +157,7 @@ public abstract class AbstractFirepitTileEntity<C extends IItemHandlerModifiable
         assert level != null;
         if (!level.getBlockState(worldPosition).getValue(FirepitBlock.LIT)) return;
 
-        Triple<Integer, Float, Long> triple = Helpers.consumeFuelForTicks(deltaPlayerTicks, inventory, burnTicks, burnTemperature, SLOT_FUEL_CONSUME, SLOT_FUEL_INPUT);
-        burnTicks = triple.getLeft();
-        burnTemperature = triple.getMiddle();
-        deltaPlayerTicks = triple.getRight();
+        deltaPlayerTicks = Helpers.consumeFuelForTicks(deltaPlayerTicks, inventory, this, SLOT_FUEL_CONSUME, SLOT_FUEL_INPUT);
         needsSlotUpdate = true;
         if (deltaPlayerTicks > 0) // Consumed all fuel, so extinguish and cool instantly
         {
@@ -170,6 +166,25 @@ public abstract class AbstractFirepitTileEntity<C extends IItemHandlerModifiable
         }
     }
 
+    @Override
+    public int getBurnTicks()
+    {
+        return burnTicks;
+    }
+
+    @Override
+    public float getBurnTemperature()
+    {
+        return burnTemperature;
+    }
+
+    @Override
+    public void setBurning(int burnTicks, float burnTemperature)
+    {
+        this.burnTicks = burnTicks;
+        this.burnTemperature = burnTemperature;
+    }
+
     @Override
     public long getLastUpdateTick()
     {
@@ -10,7 +10,6 @@ import java.util.Arrays;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
-import org.apache.commons.lang3.tuple.Triple;
 import net.minecraft.block.BlockState;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.entity.player.PlayerInventory;
@@ -43,7 +42,7 @@ import net.dries007.tfc.util.calendar.ICalendarTickable;
 
 import static net.dries007.tfc.TerraFirmaCraft.MOD_ID;
 
-public class CharcoalForgeTileEntity extends TickableInventoryTileEntity<ItemStackHandler> implements ICalendarTickable, INamedContainerProvider
+public class CharcoalForgeTileEntity extends TickableInventoryTileEntity<ItemStackHandler> implements ICalendarTickable, IFuelConsumer, INamedContainerProvider
 {
     public static final int SLOT_FUEL_MIN = 0;
     public static final int SLOT_FUEL_MAX = 4;
@@ -62,7 +61,7 @@ public class CharcoalForgeTileEntity extends TickableInventoryTileEntity<ItemSta
     private int burnTicks; // Ticks remaining on the current item of fuel
     private float burnTemperature; // Temperature provided from the current item of fuel
     private int airTicks; // Ticks of air provided by bellows
-    private long lastPlayerTick; // Last player tick this forge was ticked (for purposes of catching up)
+    private long lastPlayerTick; // Last player tick this forge was caught up to (for purposes of catching up)
 
     public CharcoalForgeTileEntity()
     {
@@ -74,6 +73,7 @@ public class CharcoalForgeTileEntity extends TickableInventoryTileEntity<ItemSta
         airTicks = 0;
         lastPlayerTick = Calendars.SERVER.getTicks();
         syncableData = new IntArrayBuilder().add(() -> (int) temperature, value -> temperature = value);
+        syncedFields = new SyncedFields().addInventory(inventory).addInt(() -> (int) temperature, value -> temperature = value);
 
         Arrays.fill(cachedRecipes, null);
     }
@@ -91,7 +91,6 @@ public class CharcoalForgeTileEntity extends TickableInventoryTileEntity<ItemSta
     public void tick()
     {
         super.tick();
-        checkForCalendarUpdate();
 
         assert level != null;
         if (!level.isClientSide)
@@ -192,10 +191,7 @@ public class CharcoalForgeTileEntity extends TickableInventoryTileEntity<ItemSta
         BlockState state = level.getBlockState(worldPosition);
         if (state.getValue(CharcoalForgeBlock.HEAT) == 0) return;
 
-        Triple<Integer, Float, Long> triple = Helpers.consumeFuelForTicks(deltaPlayerTicks, inventory, burnTicks, burnTemperature, SLOT_FUEL_MIN, SLOT_FUEL_MAX);
-        burnTicks = triple.getLeft();
-        burnTemperature = triple.getMiddle();
-        deltaPlayerTicks = triple.getRight();
+        deltaPlayerTicks = Helpers.consumeFuelForTicks(deltaPlayerTicks, inventory, this, SLOT_FUEL_MIN, SLOT_FUEL_MAX);
         needsSlotUpdate = true;
         if (deltaPlayerTicks > 0)
         {
@@ -209,6 +205,25 @@ public class CharcoalForgeTileEntity extends TickableInventoryTileEntity<ItemSta
         }
     }
 
+    @Override
+    public int getBurnTicks()
+    {
+        return burnTicks;
+    }
+
+    @Override
+    public float getBurnTemperature()
+    {
+        return burnTemperature;
+    }
+
+    @Override
+    public void setBurning(int burnTicks, float burnTemperature)
+    {
+        this.burnTicks = burnTicks;
+        this.burnTemperature = burnTemperature;
+    }
+
     @Override
     public long getLastUpdateTick()
     {
@@ -260,7 +275,7 @@ public class CharcoalForgeTileEntity extends TickableInventoryTileEntity<ItemSta
         nbt.putInt("burnTicks", burnTicks);
         nbt.putInt("airTicks", airTicks);
         nbt.putFloat("burnTemperature", burnTemperature);
-        nbt.putLong("lastPlayerTick", lastPlayerTick);
+        nbt.putLong("lastPlayerTick", Calendars.SERVER.getTicks()); // Caught up, while loaded
         return super.save(nbt);
     }
 
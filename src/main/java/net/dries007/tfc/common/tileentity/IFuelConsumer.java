@@ -0,0 +1,31 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.common.tileentity;
+
+/**
+ * A device which burns fuel from its inventory, which can be caught up over a time skip by {@link net.dries007.tfc.util.Helpers#consumeFuelForTicks}
+ */
+public interface IFuelConsumer
+{
+    /**
+     * @return Remaining burn ticks of the fuel being burned
+     */
+    int getBurnTicks();
+
+    /**
+     * @return Burning temperature of the device (this is the fuel's target temperature)
+     */
+    float getBurnTemperature();
+
+    /**
+     * Sets the fuel being burned
+     *
+     * @param burnTicks       Remaining burn ticks of the fuel
+     * @param burnTemperature The fuel's target temperature
+     */
+    void setBurning(int burnTicks, float burnTemperature);
+}
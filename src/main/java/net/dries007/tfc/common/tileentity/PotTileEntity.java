@@ -48,6 +48,7 @@ public class PotTileEntity extends AbstractFirepitTileEntity<PotTileEntity.PotIn
     public static final int SLOT_EXTRA_INPUT_START = 4;
     public static final int SLOT_EXTRA_INPUT_END = 8;
     private static final ITextComponent NAME = new TranslationTextComponent(MOD_ID + ".tile_entity.pot");
+    private static final int SYNCED_OUTPUT_NONE = 0, SYNCED_OUTPUT_PRESENT = 1, SYNCED_OUTPUT_DEFAULT_FLUID = 2;
     private final SidedHandler.Builder<IFluidHandler> sidedFluidInventory;
     private PotRecipe.Output output;
     private PotRecipe cachedRecipe;
@@ -68,14 +69,19 @@ public class PotTileEntity extends AbstractFirepitTileEntity<PotTileEntity.PotIn
 
         sidedFluidInventory = new SidedHandler.Builder<IFluidHandler>(inventory)
             .on(inventory, Direction.Plane.HORIZONTAL);
+
+        // The client cannot recreate the output, so only what is visible of it is synced
+        syncedFields.addFluid(inventory.tank::getFluid, inventory.tank::setFluid)
+            .addInt(() -> boilingTicks, value -> boilingTicks = value)
+            .addInt(this::getSyncedOutput, value -> output = value == SYNCED_OUTPUT_NONE ? null : new SyncedOutput(value == SYNCED_OUTPUT_DEFAULT_FLUID));
     }
 
     @Override
     public void load(BlockState state, CompoundNBT nbt)
     {
-        if (nbt.contains("output"))
+        if (nbt.contains("output") && output != null) // Outputs cannot be recreated from their save data, only restored into
         {
-            output.deserializeNBT(nbt);
+            output.deserializeNBT(nbt.getCompound("output"));
         }
         boilingTicks = nbt.getInt("boilingTicks");
         super.load(state, nbt);
@@ -116,6 +122,7 @@ public class PotTileEntity extends AbstractFirepitTileEntity<PotTileEntity.PotIn
             if (boilingTicks < cachedRecipe.getDuration())
             {
                 boilingTicks++;
+                markForSync();
             }
             else
             {
@@ -142,11 +149,13 @@ public class PotTileEntity extends AbstractFirepitTileEntity<PotTileEntity.PotIn
                 cachedRecipe = null;
                 boilingTicks = 0;
                 updateCachedRecipe();
+                markForSync();
             }
         }
-        else
+        else if (boilingTicks != 0)
         {
             boilingTicks = 0;
+            markForSync();
         }
     }
 
@@ -154,6 +163,7 @@ public class PotTileEntity extends AbstractFirepitTileEntity<PotTileEntity.PotIn
     protected void coolInstantly()
     {
         boilingTicks = 0;
+        markForSync();
     }
 
     @Override
@@ -207,6 +217,40 @@ public class PotTileEntity extends AbstractFirepitTileEntity<PotTileEntity.PotIn
         return new PotContainer(this, playerInv, windowID);
     }
 
+    private int getSyncedOutput()
+    {
+        if (output == null)
+        {
+            return SYNCED_OUTPUT_NONE;
+        }
+        return output.renderDefaultFluid() ? SYNCED_OUTPUT_DEFAULT_FLUID : SYNCED_OUTPUT_PRESENT;
+    }
+
+    /**
+     * Stands in for the output on client, where only its presence and how it renders are known. Interacting with it is left to the server.
+     */
+    static class SyncedOutput implements PotRecipe.Output
+    {
+        private final boolean renderDefaultFluid;
+
+        SyncedOutput(boolean renderDefaultFluid)
+        {
+            this.renderDefaultFluid = renderDefaultFluid;
+        }
+
+        @Override
+        public boolean isEmpty()
+        {
+            return false;
+        }
+
+        @Override
+        public boolean renderDefaultFluid()
+        {
+            return renderDefaultFluid;
+        }
+    }
+
     public static class PotInventory implements IInventoryNoop, DelegateItemHandler, DelegateFluidHandler, INBTSerializable<CompoundNBT>
     {
         private final ItemStackHandler inventory;
@@ -0,0 +1,312 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.common.tileentity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.*;
+import javax.annotation.Nullable;
+
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.CompoundNBT;
+import net.minecraft.network.PacketBuffer;
+import net.minecraftforge.common.capabilities.CapabilityDispatcher;
+import net.minecraftforge.fluids.FluidStack;
+import net.minecraftforge.items.IItemHandlerModifiable;
+
+import net.dries007.tfc.common.container.SlotSyncTracker;
+import net.dries007.tfc.mixin.common.capabilities.CapabilityProviderAccessor;
+
+/**
+ * The fields of a tile entity which are visible to the client, and are synced as they change, in place of the full {@link TFCTileEntity#save} data.
+ * Each field remembers the last value sent, and only fields which differ from that are written.
+ * Fields are identified by the order they are added in, which must be the same on both sides.
+ *
+ * @see TFCTileEntity#markForSync()
+ * @see net.dries007.tfc.network.TileEntitySyncPacket
+ */
+public class SyncedFields
+{
+    /**
+     * Writes a stack including its capabilities, such as heat, which {@link PacketBuffer#writeItem(ItemStack)} does not include.
+     */
+    public static void writeStack(PacketBuffer buffer, ItemStack stack)
+    {
+        buffer.writeNbt(stack.isEmpty() ? null : stack.save(new CompoundNBT()));
+    }
+
+    public static ItemStack readStack(PacketBuffer buffer)
+    {
+        final CompoundNBT nbt = buffer.readNbt();
+        return nbt == null ? ItemStack.EMPTY : ItemStack.of(nbt);
+    }
+
+    private final List<Field<?>> fields;
+
+    public SyncedFields()
+    {
+        fields = new ArrayList<>();
+    }
+
+    public SyncedFields addInt(IntSupplier getter, IntConsumer setter)
+    {
+        return add(getter::getAsInt, setter::accept, Integer::equals, UnaryOperator.identity(), PacketBuffer::writeVarInt, PacketBuffer::readVarInt);
+    }
+
+    public SyncedFields addBoolean(BooleanSupplier getter, Consumer<Boolean> setter)
+    {
+        return add(getter::getAsBoolean, setter, Boolean::equals, UnaryOperator.identity(), PacketBuffer::writeBoolean, PacketBuffer::readBoolean);
+    }
+
+    /**
+     * Adds a field for each slot of an inventory. Stacks are compared including their capabilities, with a {@link SlotSyncTracker} so unchanged capabilities are not serialized to compare them.
+     * A slot which still holds the same item is written as only the parts of the stack which changed.
+     *
+     * @see SlotField
+     */
+    public SyncedFields addInventory(IItemHandlerModifiable inventory)
+    {
+        final SlotSyncTracker tracker = new SlotSyncTracker();
+        for (int i = 0; i < inventory.getSlots(); i++)
+        {
+            fields.add(new SlotField(inventory, i, tracker));
+        }
+        return this;
+    }
+
+    public SyncedFields addFluid(Supplier<FluidStack> getter, Consumer<FluidStack> setter)
+    {
+        return add(getter, setter, FluidStack::isFluidStackIdentical, FluidStack::copy, (buffer, fluid) -> fluid.writeToPacket(buffer), FluidStack::readFromPacket);
+    }
+
+    public <T> SyncedFields add(Supplier<T> getter, Consumer<T> setter, BiPredicate<T, T> equals, UnaryOperator<T> copy, BiConsumer<PacketBuffer, T> encoder, Function<PacketBuffer, T> decoder)
+    {
+        fields.add(new Field<>(getter, setter, equals, copy, encoder, decoder));
+        return this;
+    }
+
+    /**
+     * Writes all fields which have changed since they were last written, and remembers their current values as sent.
+     *
+     * @return {@code true} if any fields were written.
+     */
+    public boolean writeChanges(PacketBuffer buffer)
+    {
+        int changed = 0;
+        for (Field<?> field : fields)
+        {
+            if (field.isChanged())
+            {
+                changed++;
+            }
+        }
+        buffer.writeVarInt(changed);
+        if (changed > 0)
+        {
+            for (int i = 0; i < fields.size(); i++)
+            {
+                final Field<?> field = fields.get(i);
+                if (field.isChanged())
+                {
+                    buffer.writeVarInt(i);
+                    field.write(buffer);
+                }
+            }
+        }
+        return changed > 0;
+    }
+
+    /**
+     * Writes all fields, in the same format as {@link #writeChanges(PacketBuffer)}, without remembering them as sent. This is for a single client which is sent the full data, such as when a chunk is loaded.
+     */
+    public void writeAll(PacketBuffer buffer)
+    {
+        buffer.writeVarInt(fields.size());
+        for (int i = 0; i < fields.size(); i++)
+        {
+            buffer.writeVarInt(i);
+            fields.get(i).writeValue(buffer);
+        }
+    }
+
+    /**
+     * Remembers the current values of all fields as sent, i.e. when the full data has been sent instead.
+     */
+    public void markSent()
+    {
+        fields.forEach(Field::markSent);
+    }
+
+    /**
+     * Reads and sets all fields written by {@link #writeChanges(PacketBuffer)}
+     */
+    public void read(PacketBuffer buffer)
+    {
+        final int changed = buffer.readVarInt();
+        for (int i = 0; i < changed; i++)
+        {
+            fields.get(buffer.readVarInt()).read(buffer);
+        }
+    }
+
+    static class Field<T>
+    {
+        final Supplier<T> getter;
+        final Consumer<T> setter;
+        private final BiPredicate<T, T> equals;
+        private final UnaryOperator<T> copy;
+        private final BiConsumer<PacketBuffer, T> encoder;
+        private final Function<PacketBuffer, T> decoder;
+
+        @Nullable T lastSent; // Null if never sent
+
+        Field(Supplier<T> getter, Consumer<T> setter, BiPredicate<T, T> equals, UnaryOperator<T> copy, BiConsumer<PacketBuffer, T> encoder, Function<PacketBuffer, T> decoder)
+        {
+            this.getter = getter;
+            this.setter = setter;
+            this.equals = equals;
+            this.copy = copy;
+            this.encoder = encoder;
+            this.decoder = decoder;
+        }
+
+        boolean isChanged()
+        {
+            return lastSent == null || !equals.test(lastSent, getter.get());
+        }
+
+        void markSent()
+        {
+            lastSent = copy.apply(getter.get());
+        }
+
+        void write(PacketBuffer buffer)
+        {
+            final T value = getter.get();
+            encoder.accept(buffer, value);
+            lastSent = copy.apply(value);
+        }
+
+        void writeValue(PacketBuffer buffer)
+        {
+            encoder.accept(buffer, getter.get());
+        }
+
+        void read(PacketBuffer buffer)
+        {
+            setter.accept(decoder.apply(buffer));
+        }
+    }
+
+    /**
+     * A slot of an inventory. Once sent, a stack of the same item and tag is written as only its count and capabilities, and only those which changed.
+     * The capabilities are known to be unchanged if the slot holds the same stack as when last sent, with the same {@link SlotSyncTracker#getSyncVersion(ItemStack)}. Otherwise, they are written.
+     */
+    static final class SlotField extends Field<ItemStack>
+    {
+        static final int COUNT = 1, CAPABILITIES = 2, FULL = 4;
+
+        @Nullable
+        private static CapabilityDispatcher getCapabilities(ItemStack stack)
+        {
+            return ((CapabilityProviderAccessor) (Object) stack).invoke$getCapabilities();
+        }
+
+        @Nullable private ItemStack lastStack; // The stack in the slot when last sent, compared by identity
+        private long lastVersion;
+
+        SlotField(IItemHandlerModifiable inventory, int slot, SlotSyncTracker tracker)
+        {
+            super(() -> inventory.getStackInSlot(slot), stack -> inventory.setStackInSlot(slot, stack), tracker::matches, ItemStack::copy, SyncedFields::writeStack, SyncedFields::readStack);
+        }
+
+        @Override
+        void markSent()
+        {
+            super.markSent();
+            lastStack = getter.get();
+            lastVersion = SlotSyncTracker.getSyncVersion(lastStack);
+        }
+
+        @Override
+        void write(PacketBuffer buffer)
+        {
+            final ItemStack stack = getter.get();
+            final long version = SlotSyncTracker.getSyncVersion(stack);
+            if (lastSent != null && !lastSent.isEmpty() && !stack.isEmpty() && lastSent.getItem() == stack.getItem() && Objects.equals(lastSent.getTag(), stack.getTag()))
+            {
+                int changes = 0;
+                if (lastSent.getCount() != stack.getCount())
+                {
+                    changes |= COUNT;
+                }
+                if (stack != lastStack || version != lastVersion || version == SlotSyncTracker.UNTRACKED)
+                {
+                    changes |= CAPABILITIES;
+                }
+
+                buffer.writeByte(changes);
+                if ((changes & COUNT) != 0)
+                {
+                    buffer.writeVarInt(stack.getCount());
+                }
+                if ((changes & CAPABILITIES) != 0)
+                {
+                    final CapabilityDispatcher dispatcher = getCapabilities(stack);
+                    buffer.writeNbt(dispatcher == null ? null : dispatcher.serializeNBT());
+                }
+                lastSent = stack.copy();
+            }
+            else
+            {
+                buffer.writeByte(FULL);
+                super.write(buffer);
+            }
+            lastStack = stack;
+            lastVersion = version;
+        }
+
+        @Override
+        void writeValue(PacketBuffer buffer)
+        {
+            buffer.writeByte(FULL);
+            super.writeValue(buffer);
+        }
+
+        @Override
+        void read(PacketBuffer buffer)
+        {
+            final int changes = buffer.readByte();
+            if ((changes & FULL) != 0)
+            {
+                super.read(buffer);
+                return;
+            }
+
+            final int count = (changes & COUNT) != 0 ? buffer.readVarInt() : -1;
+            final CompoundNBT capabilities = (changes & CAPABILITIES) != 0 ? buffer.readNbt() : null;
+            final ItemStack stack = getter.get();
+            if (!stack.isEmpty()) // Only empty if the client is out of sync, in which case there's nothing to apply the changes to
+            {
+                if (count != -1)
+                {
+                    stack.setCount(count);
+                }
+                if (capabilities != null)
+                {
+                    final CapabilityDispatcher dispatcher = getCapabilities(stack);
+                    if (dispatcher != null)
+                    {
+                        dispatcher.deserializeNBT(capabilities);
+                    }
+                }
+                setter.accept(stack);
+            }
+        }
+    }
+}
@@ -13,6 +13,7 @@ import org.apache.logging.log4j.Logger;
 import net.minecraft.block.BlockState;
 import net.minecraft.nbt.CompoundNBT;
 import net.minecraft.network.NetworkManager;
+import net.minecraft.network.PacketBuffer;
 import net.minecraft.network.play.server.SUpdateTileEntityPacket;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.tileentity.TileEntityType;
@@ -20,39 +21,89 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.server.ServerChunkProvider;
 import net.minecraft.world.server.ServerWorld;
+import net.minecraftforge.fml.network.PacketDistributor;
+
+import io.netty.buffer.Unpooled;
+import net.dries007.tfc.network.PacketHandler;
+import net.dries007.tfc.network.TileEntitySyncPacket;
+import net.dries007.tfc.util.calendar.ICalendarTickable;
+import net.dries007.tfc.util.tracker.WorldTrackerCapability;
 
 public abstract class TFCTileEntity extends TileEntity
 {
     protected static final Logger LOGGER = LogManager.getLogger();
 
+    @Nullable protected SyncedFields syncedFields; // If present, only these fields are synced by markForSync()
+
     protected TFCTileEntity(TileEntityType<?> type)
     {
         super(type);
     }
 
+    @Override
+    public void onLoad()
+    {
+        super.onLoad();
+        if (isCalendarTickable() && level != null && !level.isClientSide())
+        {
+            level.getCapability(WorldTrackerCapability.CAPABILITY).ifPresent(cap -> cap.getCalendarTickables().add((ICalendarTickable) this, worldPosition));
+        }
+    }
+
+    @Override
+    public void setRemoved()
+    {
+        super.setRemoved();
+        removeCalendarTickable();
+    }
+
+    @Override
+    public void onChunkUnloaded()
+    {
+        super.onChunkUnloaded();
+        removeCalendarTickable();
+    }
+
     @Nullable
     @Override
     public SUpdateTileEntityPacket getUpdatePacket()
     {
-        return new SUpdateTileEntityPacket(getBlockPos(), 1, save(new CompoundNBT()));
+        return new SUpdateTileEntityPacket(getBlockPos(), 1, getUpdateTag());
     }
 
+    /**
+     * The full data, plus all synced fields, as some fields may not be part of the save data.
+     * Fields are not remembered as sent, as only the client receiving this tag is up to date. Fields which have changed since they were last sent will still be sent to it, which is harmless.
+     */
     @Override
     public CompoundNBT getUpdateTag()
     {
-        return save(super.getUpdateTag());
+        final CompoundNBT nbt = save(super.getUpdateTag());
+        if (syncedFields != null)
+        {
+            final PacketBuffer buffer = new PacketBuffer(Unpooled.buffer());
+            syncedFields.writeAll(buffer);
+            final byte[] data = new byte[buffer.readableBytes()];
+            buffer.readBytes(data);
+            nbt.putByteArray("syncedFields", data);
+        }
+        return nbt;
     }
 
     @Override
     public void onDataPacket(NetworkManager net, SUpdateTileEntityPacket pkt)
     {
-        load(getBlockState(), pkt.getTag());
+        handleUpdateTag(getBlockState(), pkt.getTag());
     }
 
     @Override
     public void handleUpdateTag(BlockState state, CompoundNBT nbt)
     {
         load(state, nbt);
+        if (syncedFields != null && nbt.contains("syncedFields"))
+        {
+            syncedFields.read(new PacketBuffer(Unpooled.wrappedBuffer(nbt.getByteArray("syncedFields"))));
+        }
     }
 
     /**
@@ -74,14 +125,32 @@ public abstract class TFCTileEntity extends TileEntity
      * Marks a tile entity for syncing without sending a block update.
      * Use preferentially over {@link InventoryTileEntity#markForBlockUpdate()} if there's no reason to have a block update.
      * For container based integer synchronization, see ITileFields
-     * DO NOT call every tick
+     * If the tile entity has {@link SyncedFields}, only the fields which have changed are sent. Otherwise, DO NOT call every tick
      */
     public void markForSync()
     {
-        sendVanillaUpdatePacket();
+        if (syncedFields != null)
+        {
+            sendSyncedFields();
+        }
+        else
+        {
+            sendVanillaUpdatePacket();
+        }
         setChanged();
     }
 
+    /**
+     * Called on client, when receiving a {@link TileEntitySyncPacket}
+     */
+    public void onSyncPacket(PacketBuffer buffer)
+    {
+        if (syncedFields != null)
+        {
+            syncedFields.read(buffer);
+        }
+    }
+
     /**
      * Marks the tile entity dirty without updating comparator output.
      * Useful when called a lot for TE's that don't have a comparator output
@@ -105,4 +174,33 @@ public abstract class TFCTileEntity extends TileEntity
             ((ServerChunkProvider) level.getChunkSource()).chunkMap.getPlayers(new ChunkPos(pos), false).forEach(e -> e.connection.send(packet));
         }
     }
+
+    /**
+     * @return If this is registered with its world's {@link net.dries007.tfc.util.calendar.CalendarTickScheduler} while loaded.
+     */
+    protected boolean isCalendarTickable()
+    {
+        return this instanceof ICalendarTickable;
+    }
+
+    protected void removeCalendarTickable()
+    {
+        if (this instanceof ICalendarTickable && level != null && !level.isClientSide())
+        {
+            level.getCapability(WorldTrackerCapability.CAPABILITY).ifPresent(cap -> cap.getCalendarTickables().remove((ICalendarTickable) this, worldPosition));
+        }
+    }
+
+    protected void sendSyncedFields()
+    {
+        if (syncedFields != null && level instanceof ServerWorld)
+        {
+            final PacketBuffer buffer = new PacketBuffer(Unpooled.buffer());
+            if (syncedFields.writeChanges(buffer))
+            {
+                final BlockPos pos = getBlockPos();
+                PacketHandler.send(PacketDistributor.TRACKING_CHUNK.with(() -> level.getChunkAt(pos)), new TileEntitySyncPacket(pos, buffer));
+            }
+        }
+    }
 }
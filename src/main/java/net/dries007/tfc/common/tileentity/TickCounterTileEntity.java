@@ -9,12 +9,20 @@ package net.dries007.tfc.common.tileentity;
 import net.minecraft.block.BlockState;
 import net.minecraft.nbt.CompoundNBT;
 import net.minecraft.tileentity.TileEntityType;
+import net.minecraft.world.server.ServerWorld;
 
+import net.dries007.tfc.common.blocks.plant.fruit.IGrowingBlock;
 import net.dries007.tfc.util.calendar.Calendars;
+import net.dries007.tfc.util.calendar.ICalendarTickable;
 
-public class TickCounterTileEntity extends TFCTileEntity
+/**
+ * Counts the ticks since the block was last updated.
+ * For {@link IGrowingBlock}s, this also grows the plant when loaded after some time, or when the calendar jumps, which scheduled ticks do not account for. Other blocks are not calendar tickable.
+ */
+public class TickCounterTileEntity extends TFCTileEntity implements ICalendarTickable
 {
     protected long lastUpdateTick = Integer.MIN_VALUE;
+    private long lastCalendarUpdateTick = Integer.MIN_VALUE; // Plants from world generation grow when first loaded
 
     public TickCounterTileEntity()
     {
@@ -43,10 +51,45 @@ public class TickCounterTileEntity extends TFCTileEntity
         markDirtyFast();
     }
 
+    @Override
+    public void onCalendarUpdate(long playerTickDelta)
+    {
+        if (level instanceof ServerWorld)
+        {
+            final BlockState state = level.getBlockState(worldPosition);
+            if (state.getBlock() instanceof IGrowingBlock)
+            {
+                ((IGrowingBlock) state.getBlock()).grow(state, (ServerWorld) level, worldPosition, level.random);
+            }
+        }
+    }
+
+    @Override
+    protected boolean isCalendarTickable()
+    {
+        return getBlockState().getBlock() instanceof IGrowingBlock;
+    }
+
+    @Override
+    public long getLastUpdateTick()
+    {
+        return lastCalendarUpdateTick;
+    }
+
+    @Override
+    public void setLastUpdateTick(long tick)
+    {
+        lastCalendarUpdateTick = tick;
+    }
+
     @Override
     public void load(BlockState state, CompoundNBT nbt)
     {
         lastUpdateTick = nbt.getLong("tick");
+        if (nbt.contains("lastCalendarUpdateTick"))
+        {
+            lastCalendarUpdateTick = nbt.getLong("lastCalendarUpdateTick");
+        }
         super.load(state, nbt);
     }
 
@@ -54,6 +97,10 @@ public class TickCounterTileEntity extends TFCTileEntity
     public CompoundNBT save(CompoundNBT nbt)
     {
         nbt.putLong("tick", lastUpdateTick);
+        if (level != null && isCalendarTickable())
+        {
+            nbt.putLong("lastCalendarUpdateTick", Calendars.SERVER.getTicks()); // Caught up, while loaded
+        }
         return super.save(nbt);
     }
 }
@@ -15,7 +15,10 @@ import net.minecraftforge.items.IItemHandlerModifiable;
 
 public abstract class TickableInventoryTileEntity<C extends IItemHandlerModifiable & INBTSerializable<CompoundNBT>> extends InventoryTileEntity<C> implements ITickableTileEntity
 {
+    public static final int SYNC_INTERVAL = 4; // Minimum ticks between syncs, for tile entities with synced fields
+
     protected boolean needsClientUpdate;
+    private long lastSyncTick;
 
     public TickableInventoryTileEntity(TileEntityType<?> type, InventoryFactory<C> inventory, ITextComponent defaultName)
     {
@@ -27,9 +30,15 @@ public abstract class TickableInventoryTileEntity<C extends IItemHandlerModifiab
     {
         if (level != null && !level.isClientSide() && needsClientUpdate)
         {
-            // only sync further down when we actually request it to be synced
-            needsClientUpdate = false;
-            super.markForSync();
+            // Changes to synced fields are coalesced, as they may be requested every tick
+            final long tick = level.getGameTime();
+            if (syncedFields == null || tick - lastSyncTick >= SYNC_INTERVAL)
+            {
+                // only sync further down when we actually request it to be synced
+                needsClientUpdate = false;
+                lastSyncTick = tick;
+                super.markForSync();
+            }
         }
     }
 
@@ -44,6 +44,14 @@ public class Fuel
         return ingredient.test(stack);
     }
 
+    /**
+     * @return If this fuel accepts any stack of its valid items, regardless of NBT or capabilities.
+     */
+    public boolean isSimple()
+    {
+        return ingredient.isSimple();
+    }
+
     public Collection<Item> getValidItems()
     {
         return Arrays.stream(this.ingredient.getItems()).map(ItemStack::getItem).collect(Collectors.toSet());
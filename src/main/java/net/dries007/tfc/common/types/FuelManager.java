@@ -14,25 +14,18 @@ import net.minecraft.item.ItemStack;
 import net.minecraft.util.text.ITextComponent;
 import net.minecraft.util.text.TranslationTextComponent;
 
-import net.dries007.tfc.util.collections.IndirectHashCollection;
+import net.dries007.tfc.util.collections.CompiledHashCollection;
 import net.dries007.tfc.util.data.DataManager;
 
 public class FuelManager
 {
     public static final DataManager<Fuel> MANAGER = new DataManager.Instance<>(Fuel::new, "fuels", "fuel", true);
-    public static final IndirectHashCollection<Item, Fuel> CACHE = new IndirectHashCollection<>(Fuel::getValidItems);
+    public static final CompiledHashCollection<Item, ItemStack, Fuel> CACHE = CompiledHashCollection.of(Fuel::getValidItems, ItemStack::getItem, Fuel::isValid, Fuel::isSimple);
 
     @Nullable
     public static Fuel get(ItemStack stack)
     {
-        for (Fuel def : CACHE.getAll(stack.getItem()))
-        {
-            if (def.isValid(stack))
-            {
-                return def;
-            }
-        }
-        return null;
+        return CACHE.get(stack);
     }
 
     public static void addTooltipInfo(ItemStack stack, List<ITextComponent> text)
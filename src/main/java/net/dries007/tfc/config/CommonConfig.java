@@ -22,6 +22,8 @@ public class CommonConfig
     // General
     public final ForgeConfigSpec.IntValue defaultMonthLength;
     public final ForgeConfigSpec.BooleanValue setTFCWorldTypeAsDefault;
+    public final ForgeConfigSpec.IntValue chunkDataCacheSize;
+    public final ForgeConfigSpec.BooleanValue enableWorleyCaves;
 
     CommonConfig(ForgeConfigSpec.Builder innerBuilder)
     {
@@ -39,6 +41,16 @@ public class CommonConfig
             "3. This DOES NOT guarantee that the world generation will be TFC, if another mod sets the default another way"
         ).define("setTFCWorldTypeAsDefault", true);
 
+        chunkDataCacheSize = builder.apply("chunkDataCacheSize").comment(
+            "The maximum number of chunks which have only had their climate generated, for biome lookups such as /locate, which will be cached.",
+            "Once this is exceeded, chunks which have not been accessed recently will be evicted from the cache (using a CLOCK, or second chance, policy), and their climate will be generated again if needed."
+        ).defineInRange("chunkDataCacheSize", 16384, 256, Integer.MAX_VALUE);
+
+        enableWorleyCaves = builder.apply("enableWorleyCaves").comment(
+            "If the worley cave carver (tfc:worley_cave) should carve caves in the biomes which list it.",
+            "This is experimental, and will change world generation in newly generated chunks."
+        ).define("enableWorleyCaves", false);
+
         innerBuilder.pop();
     }
 }
\ No newline at end of file
@@ -60,6 +60,8 @@ public class ServerConfig
     public final ForgeConfigSpec.DoubleValue collapseExplosionPropagateChance;
     public final ForgeConfigSpec.IntValue collapseMinRadius;
     public final ForgeConfigSpec.IntValue collapseRadiusVariance;
+    public final ForgeConfigSpec.IntValue worldTrackerMaxChecksPerTick;
+    public final ForgeConfigSpec.DoubleValue worldTrackerMaxMillisPerTick;
     // Mechanics - Food / Nutrition
     public final ForgeConfigSpec.BooleanValue peacefulDifficultyPassiveRegeneration;
     public final ForgeConfigSpec.DoubleValue passiveExhaustionModifier;
@@ -148,6 +150,8 @@ public class ServerConfig
         collapseExplosionPropagateChance = builder.apply("collapseExplosionPropagateChance").comment("Chance for a block to fall from an explosion triggered collapse. Higher = mor likely.").defineInRange("collapseExplosionPropagateChance", 0.3, 0, 1);
         collapseMinRadius = builder.apply("collapseMinRadius").comment("Minimum radius for a collapse").defineInRange("collapseMinRadius", 3, 1, 32);
         collapseRadiusVariance = builder.apply("collapseRadiusVariance").comment("Variance of the radius of a collapse. Total size is in [minRadius, minRadius + radiusVariance]").defineInRange("collapseRadiusVariance", 16, 1, 32);
+        worldTrackerMaxChecksPerTick = builder.apply("worldTrackerMaxChecksPerTick").comment("The maximum number of pending collapse, landslide and isolated block checks to run each tick. Any remaining checks are carried over to later ticks.").defineInRange("worldTrackerMaxChecksPerTick", 2000, 1, Integer.MAX_VALUE);
+        worldTrackerMaxMillisPerTick = builder.apply("worldTrackerMaxMillisPerTick").comment("The maximum time, in milliseconds, to spend running pending collapse, landslide and isolated block checks each tick. Any remaining checks are carried over to later ticks.").defineInRange("worldTrackerMaxMillisPerTick", 5d, 0.1d, 50d);
 
         innerBuilder.pop().push("player");
 
@@ -0,0 +1,20 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.mixin.common.capabilities;
+
+import net.minecraftforge.common.capabilities.CapabilityDispatcher;
+import net.minecraftforge.common.capabilities.ICapabilityProvider;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Accessor;
+
+@Mixin(value = CapabilityDispatcher.class, remap = false)
+public interface CapabilityDispatcherAccessor
+{
+    @Accessor("caps")
+    ICapabilityProvider[] accessor$getCaps();
+}
@@ -0,0 +1,27 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.mixin.common.capabilities;
+
+import javax.annotation.Nullable;
+
+import net.minecraftforge.common.capabilities.CapabilityDispatcher;
+import net.minecraftforge.common.capabilities.CapabilityProvider;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Invoker;
+
+@Mixin(value = CapabilityProvider.class, remap = false)
+public interface CapabilityProviderAccessor
+{
+    /**
+     * Used by {@link net.dries007.tfc.common.container.SlotSyncTracker} to check the attached capabilities without querying each one, which would create lazy handlers.
+     * Also used by {@link net.dries007.tfc.common.tileentity.SyncedFields} to sync only the capabilities of a stack.
+     */
+    @Nullable
+    @Invoker("getCapabilities")
+    CapabilityDispatcher invoke$getCapabilities();
+}
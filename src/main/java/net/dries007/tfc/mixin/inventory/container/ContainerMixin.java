@@ -9,20 +9,31 @@ package net.dries007.tfc.mixin.inventory.container;
 import net.minecraft.inventory.container.Container;
 import net.minecraft.item.ItemStack;
 
+import net.dries007.tfc.common.container.SlotSyncTracker;
 import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Redirect;
 
 /**
  * Change the default container sync behavior to sync *all* changes, including those in capabilities.
  * This is the most performant and simple way this can be done without a forge PR, although there have been many.
+ * Which slots have changed is decided by a {@link SlotSyncTracker}, which only compares capabilities of slots whose capabilities may have been modified since they were last compared.
  *
  * todo: is there a forge PR at long last?
- * todo: only sync heat cap changes w/ a dirty flag? or specific caps? because forcing everything to sync is not the best solution
  */
 @Mixin(Container.class)
 public abstract class ContainerMixin
 {
+    @Unique
+    private final SlotSyncTracker syncTracker = new SlotSyncTracker();
+
+    @Redirect(method = "broadcastChanges", at = @At(value = "INVOKE", target = "Lnet/minecraft/item/ItemStack;matches(Lnet/minecraft/item/ItemStack;Lnet/minecraft/item/ItemStack;)Z"))
+    private boolean redirect$broadcastChanges$matches(ItemStack lastStack, ItemStack stack)
+    {
+        return syncTracker.matches(lastStack, stack);
+    }
+
     @Redirect(method = "broadcastChanges", at = @At(value = "INVOKE", target = "Lnet/minecraft/item/ItemStack;equals(Lnet/minecraft/item/ItemStack;Z)Z", remap = false))
     private boolean redirect$broadcastChanges$equals(ItemStack itemStack, ItemStack other, boolean limitTags)
     {
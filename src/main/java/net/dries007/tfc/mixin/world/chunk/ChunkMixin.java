@@ -0,0 +1,42 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.mixin.world.chunk;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+
+import net.dries007.tfc.util.support.SupportCoverage;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+@Mixin(Chunk.class)
+public abstract class ChunkMixin
+{
+    @Shadow
+    @Final
+    private World level;
+
+    /**
+     * Invalidates support coverage when a support is placed or removed, by any means.
+     * The return value is the previous state, or null if nothing changed.
+     */
+    @Inject(method = "setBlockState", at = @At("RETURN"))
+    private void inject$setBlockState(BlockPos pos, BlockState state, boolean isMoving, CallbackInfoReturnable<BlockState> cir)
+    {
+        final BlockState previousState = cir.getReturnValue();
+        if (previousState != null && !level.isClientSide())
+        {
+            SupportCoverage.onBlockChanged(level, pos, previousState, state);
+        }
+    }
+}
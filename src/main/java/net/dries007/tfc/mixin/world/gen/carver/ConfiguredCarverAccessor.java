@@ -7,6 +7,7 @@
 package net.dries007.tfc.mixin.world.gen.carver;
 
 import net.minecraft.world.gen.carver.ConfiguredCarver;
+import net.minecraft.world.gen.carver.ICarverConfig;
 import net.minecraft.world.gen.carver.WorldCarver;
 
 import org.spongepowered.asm.mixin.Mixin;
@@ -20,4 +21,10 @@ public interface ConfiguredCarverAccessor
      */
     @Accessor("worldCarver")
     WorldCarver<?> accessor$getWorldCarver();
+
+    /**
+     * Needed to invoke {@link net.dries007.tfc.world.carver.IContextCarver}s directly, with their config
+     */
+    @Accessor("config")
+    ICarverConfig accessor$getConfig();
 }
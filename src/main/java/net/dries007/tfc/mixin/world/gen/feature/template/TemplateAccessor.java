@@ -8,12 +8,10 @@ package net.dries007.tfc.mixin.world.gen.feature.template;
 
 import java.util.List;
 
-import net.minecraft.util.math.BlockPos;
-import net.minecraft.world.IWorld;
-import net.minecraft.world.gen.feature.template.PlacementSettings;
 import net.minecraft.world.gen.feature.template.Template;
 
-import net.dries007.tfc.world.feature.tree.TreeFeature;
+import net.dries007.tfc.world.feature.tree.BakedTemplate;
+import net.dries007.tfc.world.feature.tree.TreeHelpers;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.gen.Accessor;
 
@@ -21,7 +19,7 @@ import org.spongepowered.asm.mixin.gen.Accessor;
 public interface TemplateAccessor
 {
     /**
-     * Used by {@link TreeFeature#placeTemplateInWorld(Template, PlacementSettings, IWorld, BlockPos)} for a optimized implementation
+     * Used by {@link BakedTemplate} for a optimized implementation, and by {@link TreeHelpers} when placing templates with other processors
      */
     @Accessor("palettes")
     List<Template.Palette> accessor$getPalettes();
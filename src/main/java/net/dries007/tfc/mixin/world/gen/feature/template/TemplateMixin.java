@@ -0,0 +1,48 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.mixin.world.gen.feature.template;
+
+import javax.annotation.Nullable;
+
+import net.minecraft.world.gen.feature.template.Template;
+
+import net.dries007.tfc.world.feature.tree.BakedTemplate;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(Template.class)
+public abstract class TemplateMixin implements BakedTemplate.Holder
+{
+    @Unique
+    @Nullable
+    private volatile BakedTemplate bakedTemplate;
+
+    @Nullable
+    @Override
+    public BakedTemplate tfc$getBakedTemplate()
+    {
+        return bakedTemplate;
+    }
+
+    @Override
+    public void tfc$setBakedTemplate(BakedTemplate bakedTemplate)
+    {
+        this.bakedTemplate = bakedTemplate;
+    }
+
+    /**
+     * Drops the baked template when the palettes are replaced, so it is baked again from the new blocks.
+     */
+    @Inject(method = {"load", "fillFromWorld"}, at = @At("RETURN"))
+    private void inject$invalidateBakedTemplate(CallbackInfo ci)
+    {
+        bakedTemplate = null;
+    }
+}
@@ -40,5 +40,6 @@ public class PacketHandler
         CHANNEL.registerMessage(id++, ScreenButtonPacket.class, ScreenButtonPacket::encode, ScreenButtonPacket::new, ScreenButtonPacket::handle);
         CHANNEL.registerMessage(id++, FoodStatsReplacePacket.class, (packet, buf) -> {}, buffer -> new FoodStatsReplacePacket(), FoodStatsReplacePacket::handle);
         CHANNEL.registerMessage(id++, FoodStatsUpdatePacket.class, FoodStatsUpdatePacket::encode, FoodStatsUpdatePacket::new, FoodStatsUpdatePacket::handle);
+        CHANNEL.registerMessage(id++, TileEntitySyncPacket.class, TileEntitySyncPacket::encode, TileEntitySyncPacket::new, TileEntitySyncPacket::handle);
     }
 }
\ No newline at end of file
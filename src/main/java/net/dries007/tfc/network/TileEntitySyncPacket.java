@@ -0,0 +1,65 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.network;
+
+import java.util.function.Supplier;
+
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.fml.network.NetworkEvent;
+
+import io.netty.buffer.Unpooled;
+import net.dries007.tfc.client.ClientHelpers;
+import net.dries007.tfc.common.tileentity.TFCTileEntity;
+
+/**
+ * Sent from server -> client, updates the fields of a tile entity which have changed since they were last sent.
+ *
+ * @see net.dries007.tfc.common.tileentity.SyncedFields
+ */
+public class TileEntitySyncPacket
+{
+    private final BlockPos pos;
+    private final byte[] data;
+
+    public TileEntitySyncPacket(BlockPos pos, PacketBuffer buffer)
+    {
+        this.pos = pos;
+        this.data = new byte[buffer.readableBytes()];
+        buffer.readBytes(data);
+    }
+
+    public TileEntitySyncPacket(PacketBuffer buffer)
+    {
+        this.pos = buffer.readBlockPos();
+        this.data = buffer.readByteArray();
+    }
+
+    void encode(PacketBuffer buffer)
+    {
+        buffer.writeBlockPos(pos);
+        buffer.writeByteArray(data);
+    }
+
+    void handle(Supplier<NetworkEvent.Context> context)
+    {
+        context.get().enqueueWork(() -> {
+            final World world = ClientHelpers.getWorld();
+            if (world != null)
+            {
+                final TileEntity entity = world.getBlockEntity(pos);
+                if (entity instanceof TFCTileEntity)
+                {
+                    ((TFCTileEntity) entity).onSyncPacket(new PacketBuffer(Unpooled.wrappedBuffer(data)));
+                }
+            }
+        });
+        context.get().setPacketHandled(true);
+    }
+}
@@ -17,6 +17,7 @@ import net.minecraft.profiler.IProfiler;
 import net.minecraft.resources.IFutureReloadListener;
 import net.minecraft.resources.IResourceManager;
 import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.server.ServerWorld;
 import net.minecraftforge.fml.server.ServerLifecycleHooks;
 
 import net.dries007.tfc.common.capabilities.food.FoodCapability;
@@ -27,6 +28,8 @@ import net.dries007.tfc.common.recipes.*;
 import net.dries007.tfc.common.types.FuelManager;
 import net.dries007.tfc.common.types.MetalItemManager;
 import net.dries007.tfc.mixin.item.crafting.RecipeManagerAccessor;
+import net.dries007.tfc.util.support.SupportManager;
+import net.dries007.tfc.util.tracker.WorldTrackerCapability;
 import net.dries007.tfc.world.chunkdata.ChunkDataCache;
 
 /**
@@ -58,9 +61,15 @@ public enum CacheInvalidationListener implements IFutureReloadListener
             FuelManager.CACHE.reload(FuelManager.MANAGER.getValues());
             FoodCapability.CACHE.reload(FoodCapability.MANAGER.getValues());
             ItemSizeManager.CACHE.reload(ItemSizeManager.MANAGER.getValues());
+            SupportManager.CACHE.reload(SupportManager.INSTANCE.getValues());
 
             ItemSizeManager.resetItemSizes();
             InteractionManager.reload();
+
+            for (ServerWorld world : server.getAllLevels())
+            {
+                world.getCapability(WorldTrackerCapability.CAPABILITY).ifPresent(cap -> cap.getSupportCoverage().clear());
+            }
         }
 
         ChunkDataCache.clearAll();
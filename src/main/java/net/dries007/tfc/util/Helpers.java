@@ -22,7 +22,6 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
 import com.google.gson.JsonSyntaxException;
-import org.apache.commons.lang3.tuple.Triple;
 import net.minecraft.block.AbstractFireBlock;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
@@ -67,6 +66,7 @@ import com.mojang.brigadier.StringReader;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import com.mojang.datafixers.util.Either;
 import net.dries007.tfc.common.capabilities.heat.HeatCapability;
+import net.dries007.tfc.common.tileentity.IFuelConsumer;
 import net.dries007.tfc.common.types.Fuel;
 import net.dries007.tfc.common.types.FuelManager;
 import net.dries007.tfc.util.function.FromByteFunction;
@@ -601,28 +601,24 @@ public final class Helpers
     /**
      * Common logic for block entities to consume fuel during larger time skips.
      *
-     * @param deltaPlayerTicks   Ticks since the last calendar update. This is decremented as the method checks different fuel consumption options.
-     * @param inventory          Inventory to be modified (this should contain the fuel)
-     * @param burnTicks          Remaining burn ticks of the fuel being burned
-     * @param burnTemperature    Current burning temperature of the TE (this is the fuel's target temperature)
-     * @param slotStart          Index of the first fuel slot
-     * @param slotEnd            Index of the last fuel slot
+     * @param deltaPlayerTicks Ticks since the last calendar update. This is decremented as the method checks different fuel consumption options.
+     * @param inventory        Inventory to be modified (this should contain the fuel)
+     * @param device           The device burning the fuel. Its remaining burn ticks and burn temperature are updated.
+     * @param slotStart        Index of the first fuel slot
+     * @param slotEnd          Index of the last fuel slot
      *
-     * @return burnTicks, burnTemperature, deltaPlayerTicks. These are modified versions of the variables that got passed in.
-     * They should be directly assigned back to the TE's values, in order. Return 0 for deltaPlayerTicks to indicate that the TE need not be extinguished.
+     * @return The ticks remaining after all fuel was consumed. Returns 0 to indicate that the TE need not be extinguished.
      */
-    public static Triple<Integer, Float, Long> consumeFuelForTicks(long deltaPlayerTicks, IItemHandlerModifiable inventory, int burnTicks, float burnTemperature, int slotStart, int slotEnd)
+    public static long consumeFuelForTicks(long deltaPlayerTicks, IItemHandlerModifiable inventory, IFuelConsumer device, int slotStart, int slotEnd)
     {
+        final int burnTicks = device.getBurnTicks();
         if (burnTicks > deltaPlayerTicks)
         {
-            burnTicks -= deltaPlayerTicks;
-            return Triple.of(burnTicks, burnTemperature, 0L); // the zero doesn't actually get saved, so this is fine. needed to prevent extinguishing
-        }
-        else
-        {
-            deltaPlayerTicks -= burnTicks;
-            burnTicks = 0;
+            device.setBurning((int) (burnTicks - deltaPlayerTicks), device.getBurnTemperature());
+            return 0;
         }
+        deltaPlayerTicks -= burnTicks;
+
         // Need to consume fuel
         for (int i = slotStart; i <= slotEnd; i++)
         {
@@ -633,18 +629,17 @@ public final class Helpers
                 inventory.setStackInSlot(i, ItemStack.EMPTY);
                 if (fuel.getDuration() > deltaPlayerTicks)
                 {
-                    burnTicks = (int) (fuel.getDuration() - deltaPlayerTicks);
-                    burnTemperature = fuel.getTemperature();
-                    return Triple.of(burnTicks, burnTemperature, 0L); // see above
+                    device.setBurning((int) (fuel.getDuration() - deltaPlayerTicks), fuel.getTemperature());
+                    return 0;
                 }
                 else
                 {
                     deltaPlayerTicks -= fuel.getDuration();
-                    burnTicks = 0;
                 }
             }
         }
-        return Triple.of(burnTicks, burnTemperature, deltaPlayerTicks);
+        device.setBurning(0, device.getBurnTemperature());
+        return deltaPlayerTicks;
     }
 
     public static FluidStack mergeOutputFluidIntoSlot(IItemHandlerModifiable inventory, FluidStack fluidStack, float temperature, int slot)
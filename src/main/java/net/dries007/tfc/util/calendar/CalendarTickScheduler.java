@@ -0,0 +1,143 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.util.calendar;
+
+import java.util.Arrays;
+
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import it.unimi.dsi.fastutil.objects.ReferenceSet;
+
+/**
+ * Catches up the {@link ICalendarTickable}s of a world, in place of each one checking the calendar every tick.
+ * Tickables are registered by chunk while loaded. On a normal tick, where the calendar advances by a single tick, nothing is done.
+ * When the calendar jumps (i.e. sleeping, or commands), every registered tickable is caught up at once. Tickables which have just been loaded are caught up for the time they were not loaded, on the next check.
+ * Tickables are held in a set per chunk, so adding and removing them is constant time, even with many in a single chunk.
+ */
+public class CalendarTickScheduler
+{
+    private static final long UNSET = Long.MIN_VALUE;
+
+    private final Long2ObjectMap<ReferenceSet<ICalendarTickable>> chunks;
+    private final ReferenceSet<ICalendarTickable> added; // Not yet caught up from when they were last updated
+
+    private ICalendarTickable[] updating; // Reused between updates, as catching up may add or remove tickables
+    private long lastTick;
+    private int count;
+
+    public CalendarTickScheduler()
+    {
+        this.chunks = new Long2ObjectOpenHashMap<>();
+        this.added = new ReferenceOpenHashSet<>();
+        this.updating = new ICalendarTickable[0];
+        this.lastTick = UNSET;
+    }
+
+    public void add(ICalendarTickable tickable, BlockPos pos)
+    {
+        if (chunks.computeIfAbsent(ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4), key -> new ReferenceOpenHashSet<>()).add(tickable))
+        {
+            added.add(tickable);
+            count++;
+        }
+    }
+
+    public void remove(ICalendarTickable tickable, BlockPos pos)
+    {
+        final long key = ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4);
+        final ReferenceSet<ICalendarTickable> chunk = chunks.get(key);
+        if (chunk != null && chunk.remove(tickable))
+        {
+            count--;
+            added.remove(tickable);
+            if (chunk.isEmpty())
+            {
+                chunks.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Catches up tickables, if the calendar has jumped since the last check, or for tickables which have been added since.
+     *
+     * @param playerTick The current player tick, i.e. {@link ICalendar#getTicks()}
+     */
+    public void tick(long playerTick)
+    {
+        final long jump = lastTick == UNSET ? 0 : playerTick - lastTick - 1;
+        if (jump > 0)
+        {
+            int size = 0;
+            for (ReferenceSet<ICalendarTickable> chunk : chunks.values())
+            {
+                for (ICalendarTickable tickable : chunk)
+                {
+                    if (!added.contains(tickable))
+                    {
+                        updating(size)[size++] = tickable;
+                    }
+                }
+            }
+            for (int i = 0; i < size; i++)
+            {
+                final ICalendarTickable tickable = updating[i];
+                updating[i] = null;
+                tickable.onCalendarUpdate(jump);
+                tickable.setLastUpdateTick(playerTick);
+            }
+        }
+        if (!added.isEmpty())
+        {
+            int size = 0;
+            for (ICalendarTickable tickable : added)
+            {
+                updating(size)[size++] = tickable;
+            }
+            added.clear();
+            for (int i = 0; i < size; i++)
+            {
+                final ICalendarTickable tickable = updating[i];
+                updating[i] = null;
+
+                // Caught up from when it was last updated, which includes any jump
+                final long delta = playerTick - tickable.getLastUpdateTick() - 1;
+                if (delta > 0)
+                {
+                    tickable.onCalendarUpdate(delta);
+                }
+                tickable.setLastUpdateTick(playerTick);
+            }
+        }
+        lastTick = playerTick;
+    }
+
+    public int getCount()
+    {
+        return count;
+    }
+
+    public int getChunkCount()
+    {
+        return chunks.size();
+    }
+
+    /**
+     * @return The array of tickables being updated, grown if needed to hold at least one more than {@code size}.
+     */
+    private ICalendarTickable[] updating(int size)
+    {
+        if (size == updating.length)
+        {
+            updating = Arrays.copyOf(updating, Math.max(16, size * 2));
+        }
+        return updating;
+    }
+}
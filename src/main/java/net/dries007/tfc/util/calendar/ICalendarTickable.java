@@ -6,50 +6,29 @@
 
 package net.dries007.tfc.util.calendar;
 
-import net.minecraft.tileentity.TileEntity;
-
 /**
  * This is implemented on TileEntities that need to receive updates whenever the calendar changes drastically
- * Note: the default {@code update()} casts the implementor to {@link TileEntity}
+ * TFC tile entities are registered with their world's {@link CalendarTickScheduler} while loaded, which calls {@link #onCalendarUpdate(long)} when the calendar jumps, or when the tile entity is loaded after some time.
+ * Note: as they are not checked every tick, the last update tick is only up to date after an update. When saved, it should be saved as the current tick.
  */
 public interface ICalendarTickable
 {
-    /**
-     * Here we check every tick for a calendar discrepancy. This only checks for differences in player time, and calls {@link ICalendarTickable#onCalendarUpdate(long playerTickDelta)} as necessary
-     *
-     * Implementations MUST call {@code ICalendarTickable.super.update()} in their implementation
-     */
-    default void checkForCalendarUpdate()
-    {
-        TileEntity te = ((TileEntity) this).getTileEntity();
-        if (te.getLevel() != null && !te.getLevel().isClientSide())
-        {
-            long playerTick = Calendars.SERVER.getTicks();
-            long tickDelta = playerTick - getLastUpdateTick();
-            if (tickDelta != 1) // Expect 1 tick
-            {
-                onCalendarUpdate(tickDelta - 1);
-            }
-            setLastUpdateTick(playerTick);
-        }
-    }
-
     /**
      * Called when the calendar updates (either player or calendar time)
      *
-     * @param playerTickDelta the difference in player ticks observed between last tick and this tick
+     * @param playerTickDelta the number of player ticks skipped, since the last update
      */
     void onCalendarUpdate(long playerTickDelta);
 
     /**
      * Gets the last update tick.
-     * This should use a locally cached value. No need for serialization
+     * This should use a locally cached value, which is loaded from the last saved tick
      */
     long getLastUpdateTick();
 
     /**
      * Sets the last update tick
-     * This should cache the value locally. No need for serialization
+     * This should cache the value locally
      */
     void setLastUpdateTick(long tick);
 }
@@ -0,0 +1,151 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.util.collections;
+
+import java.util.*;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import javax.annotation.Nullable;
+
+import it.unimi.dsi.fastutil.objects.Reference2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+
+/**
+ * A version of {@link IndirectHashCollection} which resolves lookups ahead of time, when reloaded.
+ * Each key is compiled to either:
+ * - A single result, if the first candidate for that key matches every value with that key. This is then a single identity map lookup.
+ * - A list of candidates, which are tested in order, for results which depend on more than the key (for instance, NBT sensitive ingredients).
+ * The first candidate which matches every value with that key ends the list, as no candidates after it will ever be reached.
+ * <p>
+ * Results are returned in the same order of precedence as {@link IndirectHashCollection}: the first matching result, in the order they were provided to {@link #reload(Collection)}.
+ *
+ * @param <K> The key, compared by identity. For instance, a {@link net.minecraft.item.Item}, or a {@link net.minecraft.block.BlockState}.
+ * @param <V> The value being looked up. For instance, an {@link net.minecraft.item.ItemStack}.
+ * @param <R> The result.
+ */
+public class CompiledHashCollection<K, V, R>
+{
+    /**
+     * Creates a collection where the key is the entire value, such as a block state. Every key is resolved to a single result when reloaded.
+     */
+    public static <K, R> CompiledHashCollection<K, K, R> of(Function<R, Iterable<? extends K>> keyExtractor, BiPredicate<R, K> matcher)
+    {
+        return new CompiledHashCollection<>(keyExtractor, Function.identity(), matcher, matcher, true);
+    }
+
+    /**
+     * Creates a collection where the key is only part of the value, such as the item of an item stack.
+     *
+     * @param isExact If the result matches every value whose key is one of the result's keys. Results which are not are tested on each lookup.
+     */
+    public static <K, V, R> CompiledHashCollection<K, V, R> of(Function<R, Iterable<? extends K>> keyExtractor, Function<V, K> keyMapper, BiPredicate<R, V> matcher, Predicate<R> isExact)
+    {
+        return new CompiledHashCollection<>(keyExtractor, keyMapper, matcher, (result, key) -> isExact.test(result), false);
+    }
+
+    private final Function<R, Iterable<? extends K>> keyExtractor;
+    private final Function<V, K> keyMapper;
+    private final BiPredicate<R, V> matcher;
+    private final BiPredicate<R, K> isExact;
+    private final boolean keyIsValue;
+
+    private Reference2ObjectMap<K, R> direct;
+    private Reference2ObjectMap<K, List<R>> candidates;
+
+    private CompiledHashCollection(Function<R, Iterable<? extends K>> keyExtractor, Function<V, K> keyMapper, BiPredicate<R, V> matcher, BiPredicate<R, K> isExact, boolean keyIsValue)
+    {
+        this.keyExtractor = keyExtractor;
+        this.keyMapper = keyMapper;
+        this.matcher = matcher;
+        this.isExact = isExact;
+        this.keyIsValue = keyIsValue;
+        this.direct = new Reference2ObjectOpenHashMap<>();
+        this.candidates = new Reference2ObjectOpenHashMap<>();
+    }
+
+    public void reload(Collection<R> results)
+    {
+        final Map<K, List<R>> indirectResultMap = new LinkedHashMap<>();
+        results.forEach(result -> {
+            for (K directKey : keyExtractor.apply(result))
+            {
+                indirectResultMap.computeIfAbsent(directKey, k -> new ArrayList<>()).add(result);
+            }
+        });
+
+        final Reference2ObjectMap<K, R> direct = new Reference2ObjectOpenHashMap<>();
+        final Reference2ObjectMap<K, List<R>> candidates = new Reference2ObjectOpenHashMap<>();
+        indirectResultMap.forEach((key, keyResults) -> {
+            final List<R> tested = new ArrayList<>();
+            for (R result : keyResults)
+            {
+                if (isExact.test(result, key))
+                {
+                    if (tested.isEmpty())
+                    {
+                        direct.put(key, result);
+                        return;
+                    }
+                    tested.add(result);
+                    break;
+                }
+                else if (!keyIsValue)
+                {
+                    // When the key is the entire value, a result which does not match the key will never match, so is left out
+                    tested.add(result);
+                }
+            }
+            if (!tested.isEmpty())
+            {
+                candidates.put(key, tested);
+            }
+        });
+
+        this.direct = direct;
+        this.candidates = candidates;
+    }
+
+    @Nullable
+    public R get(V value)
+    {
+        final K key = keyMapper.apply(value);
+        final R result = direct.get(key);
+        if (result != null)
+        {
+            return result;
+        }
+        final List<R> keyCandidates = candidates.get(key);
+        if (keyCandidates != null)
+        {
+            for (R candidate : keyCandidates)
+            {
+                if (matcher.test(candidate, value))
+                {
+                    return candidate;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return The number of keys which are resolved to a single result.
+     */
+    public int getDirectCount()
+    {
+        return direct.size();
+    }
+
+    /**
+     * @return The number of keys which need their candidates tested on each lookup.
+     */
+    public int getCandidateCount()
+    {
+        return candidates.size();
+    }
+}
@@ -6,8 +6,12 @@
 
 package net.dries007.tfc.util.support;
 
+import java.util.Collection;
+import java.util.stream.Collectors;
+
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
+import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
 import net.minecraft.util.JSONUtils;
 import net.minecraft.util.ResourceLocation;
@@ -57,14 +61,27 @@ public class Support
         return supportHorizontal;
     }
 
+    public Collection<Block> getValidBlocks()
+    {
+        return ingredient.getValidBlocks();
+    }
+
+    public Collection<BlockState> getValidStates()
+    {
+        return ingredient.getValidBlocks().stream().flatMap(block -> block.getStateDefinition().getPossibleStates().stream()).collect(Collectors.toList());
+    }
+
     public boolean matches(BlockState state)
     {
         return ingredient.test(state);
     }
 
+    /**
+     * @return if {@code testPos} is within the area returned by {@link #getSupportedArea(BlockPos)} around {@code supportPos}
+     */
     public boolean canSupport(BlockPos supportPos, BlockPos testPos)
     {
-        BlockPos diff = supportPos.subtract(testPos);
+        BlockPos diff = testPos.subtract(supportPos);
         return Math.abs(diff.getX()) <= supportHorizontal && -supportDown <= diff.getY() && diff.getY() <= supportUp && Math.abs(diff.getZ()) <= supportHorizontal;
     }
 
@@ -0,0 +1,221 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.util.support;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import javax.annotation.Nullable;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.IBlockReader;
+import net.minecraft.world.World;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.dries007.tfc.util.tracker.WorldTrackerCapability;
+
+/**
+ * The set of positions which are within the supported area of any support, stored as a bitset per chunk section, grouped by chunk.
+ * Sections are computed the first time they are queried, and are invalidated when a support is placed or removed within range of them, when their chunk is unloaded, or when supports are reloaded.
+ * In a world, only loaded chunks are read, so a query never loads a chunk. A section which could be reached by supports in an unloaded chunk is unknown, so it is treated as entirely supported and is not cached. This means nothing collapses at the edge of the loaded area.
+ * This replaces scanning the whole support range around every position on each collapse or landslide check, with a bit query.
+ *
+ * @see SupportManager#findUnsupportedPositions(IBlockReader, BlockPos, BlockPos)
+ */
+public class SupportCoverage
+{
+    /**
+     * Called when any block is changed in a loaded chunk. Coverage only changes if the support at the position changes, which is one identity lookup per state.
+     */
+    public static void onBlockChanged(World world, BlockPos pos, BlockState previousState, BlockState state)
+    {
+        if (SupportManager.CACHE.get(previousState) != SupportManager.CACHE.get(state))
+        {
+            world.getCapability(WorldTrackerCapability.CAPABILITY).ifPresent(cap -> cap.getSupportCoverage().invalidate(pos));
+        }
+    }
+
+    private static final int SECTIONS = 16;
+
+    private final Long2ObjectMap<long[][]> sections; // Indexed by chunk, then by section y
+
+    public SupportCoverage()
+    {
+        sections = new Long2ObjectOpenHashMap<>();
+    }
+
+    public boolean isSupported(IBlockReader world, BlockPos pos)
+    {
+        return isSet(getOrCompute(world, pos.getX() >> 4, pos.getY() >> 4, pos.getZ() >> 4), pos.getX(), pos.getY(), pos.getZ());
+    }
+
+    public Set<BlockPos> findUnsupportedPositions(IBlockReader world, BlockPos from, BlockPos to)
+    {
+        final Set<BlockPos> unsupported = new HashSet<>();
+        final int minX = Math.min(from.getX(), to.getX()), maxX = Math.max(from.getX(), to.getX());
+        final int minY = Math.min(from.getY(), to.getY()), maxY = Math.max(from.getY(), to.getY());
+        final int minZ = Math.min(from.getZ(), to.getZ()), maxZ = Math.max(from.getZ(), to.getZ());
+        for (int y = minY; y <= maxY; y++)
+        {
+            for (int z = minZ; z <= maxZ; z++)
+            {
+                for (int x = minX; x <= maxX; x++)
+                {
+                    if (!isSet(getOrCompute(world, x >> 4, y >> 4, z >> 4), x, y, z))
+                    {
+                        unsupported.add(new BlockPos(x, y, z));
+                    }
+                }
+            }
+        }
+        return unsupported;
+    }
+
+    /**
+     * Invalidates all sections which could contain positions supported by a support at {@code pos}.
+     */
+    public void invalidate(BlockPos pos)
+    {
+        final SupportManager manager = SupportManager.INSTANCE;
+        final int horizontal = manager.getMaxSupportHorizontal();
+        for (int sectionX = (pos.getX() - horizontal) >> 4; sectionX <= (pos.getX() + horizontal) >> 4; sectionX++)
+        {
+            for (int sectionY = (pos.getY() - manager.getMaxSupportDown()) >> 4; sectionY <= (pos.getY() + manager.getMaxSupportUp()) >> 4; sectionY++)
+            {
+                for (int sectionZ = (pos.getZ() - horizontal) >> 4; sectionZ <= (pos.getZ() + horizontal) >> 4; sectionZ++)
+                {
+                    final long[][] chunk = sections.get(ChunkPos.asLong(sectionX, sectionZ));
+                    if (chunk != null && sectionY >= 0 && sectionY < SECTIONS)
+                    {
+                        chunk[sectionY] = null;
+                    }
+                }
+            }
+        }
+    }
+
+    public void onChunkUnloaded(ChunkPos pos)
+    {
+        sections.remove(pos.toLong());
+    }
+
+    public void clear()
+    {
+        sections.clear();
+    }
+
+    private long[] getOrCompute(IBlockReader world, int sectionX, int sectionY, int sectionZ)
+    {
+        final boolean inWorld = sectionY >= 0 && sectionY < SECTIONS;
+        final long chunkKey = ChunkPos.asLong(sectionX, sectionZ);
+        long[][] chunk = inWorld ? sections.get(chunkKey) : null;
+        if (chunk != null && chunk[sectionY] != null)
+        {
+            return chunk[sectionY];
+        }
+
+        final long[] coverage = new long[64];
+        if (compute(world, sectionX, sectionY, sectionZ, coverage) && inWorld)
+        {
+            if (chunk == null)
+            {
+                chunk = new long[SECTIONS][];
+                sections.put(chunkKey, chunk);
+            }
+            chunk[sectionY] = coverage;
+        }
+        return coverage;
+    }
+
+    /**
+     * Finds every support which could reach into the section, and sets the bits for the part of its supported area within the section.
+     * Bits are indexed by x | z << 4 | y << 8, so each run along x within a row is contiguous within a single long.
+     *
+     * If any chunk within range is not loaded, the section is instead entirely supported.
+     *
+     * @return {@code true} if every chunk within range was loaded, and so the coverage is complete.
+     */
+    private boolean compute(IBlockReader world, int sectionX, int sectionY, int sectionZ, long[] coverage)
+    {
+        final SupportManager manager = SupportManager.INSTANCE;
+        final int horizontal = manager.getMaxSupportHorizontal();
+        final int minX = sectionX << 4, minY = sectionY << 4, minZ = sectionZ << 4;
+        final BlockPos.Mutable mutablePos = new BlockPos.Mutable();
+
+        // Look up each chunk in range once, rather than for every block
+        final int minChunkX = (minX - horizontal) >> 4, minChunkZ = (minZ - horizontal) >> 4;
+        final int chunksX = ((minX + 15 + horizontal) >> 4) - minChunkX + 1, chunksZ = ((minZ + 15 + horizontal) >> 4) - minChunkZ + 1;
+        final IBlockReader[] chunks = new IBlockReader[chunksX * chunksZ];
+        for (int chunkX = 0; chunkX < chunksX; chunkX++)
+        {
+            for (int chunkZ = 0; chunkZ < chunksZ; chunkZ++)
+            {
+                final IBlockReader chunk = getLoadedChunk(world, minChunkX + chunkX, minChunkZ + chunkZ);
+                if (chunk == null)
+                {
+                    // A support in this chunk could hold up any position in the section, so it can't be known to be unsupported
+                    Arrays.fill(coverage, -1L);
+                    return false;
+                }
+                chunks[chunkX + chunkZ * chunksX] = chunk;
+            }
+        }
+
+        for (int x = minX - horizontal; x <= minX + 15 + horizontal; x++)
+        {
+            for (int z = minZ - horizontal; z <= minZ + 15 + horizontal; z++)
+            {
+                final IBlockReader chunk = chunks[((x >> 4) - minChunkX) + ((z >> 4) - minChunkZ) * chunksX];
+                for (int y = minY - manager.getMaxSupportUp(); y <= minY + 15 + manager.getMaxSupportDown(); y++)
+                {
+                    final Optional<Support> support = manager.get(chunk.getBlockState(mutablePos.set(x, y, z)));
+                    if (support.isPresent())
+                    {
+                        final Support s = support.get();
+                        final int x0 = Math.max(x - s.getSupportHorizontal(), minX), x1 = Math.min(x + s.getSupportHorizontal(), minX + 15);
+                        final int y0 = Math.max(y - s.getSupportDown(), minY), y1 = Math.min(y + s.getSupportUp(), minY + 15);
+                        final int z0 = Math.max(z - s.getSupportHorizontal(), minZ), z1 = Math.min(z + s.getSupportHorizontal(), minZ + 15);
+                        if (x0 <= x1)
+                        {
+                            final long row = (-1L >>> (63 - (x1 - x0))) << (x0 & 15);
+                            for (int posY = y0; posY <= y1; posY++)
+                            {
+                                for (int posZ = z0; posZ <= z1; posZ++)
+                                {
+                                    coverage[((posZ & 15) >> 2) | ((posY & 15) << 2)] |= row << ((posZ & 3) << 4);
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return The chunk, if the world is a {@link World} and the chunk is loaded, or the world itself if it is any other block reader.
+     */
+    @Nullable
+    private IBlockReader getLoadedChunk(IBlockReader world, int chunkX, int chunkZ)
+    {
+        if (world instanceof World)
+        {
+            return ((World) world).getChunkSource().getChunkNow(chunkX, chunkZ);
+        }
+        return world;
+    }
+
+    private boolean isSet(long[] coverage, int x, int y, int z)
+    {
+        return (coverage[((z & 15) >> 2) | ((y & 15) << 2)] & (1L << ((x & 15) | ((z & 3) << 4)))) != 0;
+    }
+}
@@ -9,6 +9,7 @@ package net.dries007.tfc.util.support;
 import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
+import javax.annotation.Nullable;
 
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonObject;
@@ -16,17 +17,35 @@ import net.minecraft.block.BlockState;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.IBlockReader;
+import net.minecraft.world.World;
 
+import net.dries007.tfc.util.collections.CompiledHashCollection;
 import net.dries007.tfc.util.data.DataManager;
+import net.dries007.tfc.util.tracker.IWorldTracker;
+import net.dries007.tfc.util.tracker.WorldTrackerCapability;
 
 public class SupportManager extends DataManager<Support>
 {
     public static final SupportManager INSTANCE = new SupportManager();
+    public static final CompiledHashCollection<BlockState, BlockState, Support> CACHE = CompiledHashCollection.of(Support::getValidStates, Support::matches);
 
     /**
      * Finds all unsupported positions in a large area. It's more efficient than checking each block individually and calling {@link SupportManager#isSupported(IBlockReader, BlockPos)}
+     * In a world, this queries the {@link SupportCoverage} held by the world tracker, otherwise it scans the area.
      */
     public static Set<BlockPos> findUnsupportedPositions(IBlockReader worldIn, BlockPos from, BlockPos to)
+    {
+        final SupportCoverage coverage = getCoverage(worldIn);
+        return coverage != null ? coverage.findUnsupportedPositions(worldIn, from, to) : scanUnsupportedPositions(worldIn, from, to);
+    }
+
+    public static boolean isSupported(IBlockReader world, BlockPos pos)
+    {
+        final SupportCoverage coverage = getCoverage(world);
+        return coverage != null ? coverage.isSupported(world, pos) : scanIsSupported(world, pos);
+    }
+
+    static Set<BlockPos> scanUnsupportedPositions(IBlockReader worldIn, BlockPos from, BlockPos to)
     {
         Set<BlockPos> listSupported = new HashSet<>();
         Set<BlockPos> listUnsupported = new HashSet<>();
@@ -57,7 +76,7 @@ public class SupportManager extends DataManager<Support>
         return listUnsupported;
     }
 
-    public static boolean isSupported(IBlockReader world, BlockPos pos)
+    static boolean scanIsSupported(IBlockReader world, BlockPos pos)
     {
         for (BlockPos supportPos : INSTANCE.getMaximumSupportedAreaAround(pos, pos))
         {
@@ -70,6 +89,16 @@ public class SupportManager extends DataManager<Support>
         return false;
     }
 
+    @Nullable
+    private static SupportCoverage getCoverage(IBlockReader world)
+    {
+        if (world instanceof World && !((World) world).isClientSide())
+        {
+            return ((World) world).getCapability(WorldTrackerCapability.CAPABILITY).map(IWorldTracker::getSupportCoverage).orElse(null);
+        }
+        return null;
+    }
+
     private int maxSupportUp, maxSupportDown, maxSupportHorizontal;
 
     private SupportManager()
@@ -79,12 +108,30 @@ public class SupportManager extends DataManager<Support>
 
     public Optional<Support> get(BlockState state)
     {
-        return getValues().stream().filter(support -> support.matches(state)).findFirst();
+        return Optional.ofNullable(CACHE.get(state));
     }
 
+    /**
+     * @return All positions which could hold a support, which supports any position between the two points. Supports hold up blocks above them, so this extends down by the maximum up range.
+     */
     public Iterable<BlockPos> getMaximumSupportedAreaAround(BlockPos minPoint, BlockPos maxPoint)
     {
-        return BlockPos.betweenClosed(minPoint.offset(-maxSupportHorizontal, -maxSupportDown, -maxSupportHorizontal), maxPoint.offset(maxSupportHorizontal, maxSupportUp, maxSupportHorizontal));
+        return BlockPos.betweenClosed(minPoint.offset(-maxSupportHorizontal, -maxSupportUp, -maxSupportHorizontal), maxPoint.offset(maxSupportHorizontal, maxSupportDown, maxSupportHorizontal));
+    }
+
+    public int getMaxSupportUp()
+    {
+        return maxSupportUp;
+    }
+
+    public int getMaxSupportDown()
+    {
+        return maxSupportDown;
+    }
+
+    public int getMaxSupportHorizontal()
+    {
+        return maxSupportHorizontal;
     }
 
     @Override
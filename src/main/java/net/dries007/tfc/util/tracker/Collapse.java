@@ -19,6 +19,7 @@ public class Collapse implements INBTSerializable<CompoundNBT>
     BlockPos centerPos;
     List<BlockPos> nextPositions;
     double radiusSquared;
+    int remaining; // Positions in the current step which have not been checked yet
 
     public Collapse(BlockPos centerPos, List<BlockPos> nextPositions, double radiusSquared)
     {
@@ -11,6 +11,9 @@ import java.util.Collection;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 
+import net.dries007.tfc.util.calendar.CalendarTickScheduler;
+import net.dries007.tfc.util.support.SupportCoverage;
+
 /**
  * Interface for the capability attached to {@link net.minecraft.world.World}s
  *
@@ -38,5 +41,20 @@ public interface IWorldTracker
      */
     void addCollapsePositions(BlockPos centerPos, Collection<BlockPos> positions);
 
+    /**
+     * The support coverage of loaded chunks, used for collapse and landslide checks. Not serialized.
+     */
+    SupportCoverage getSupportCoverage();
+
+    /**
+     * The scheduler which runs all of the above checks, within a per tick budget.
+     */
+    TrackerScheduler getScheduler();
+
+    /**
+     * The calendar tickable tile entities which are loaded, caught up when the calendar jumps. Not serialized.
+     */
+    CalendarTickScheduler getCalendarTickables();
+
     void tick(World world);
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.util.tracker;
+
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+/**
+ * A single check at a position, run by a {@link TrackerScheduler}
+ */
+public abstract class ScheduledTask
+{
+    protected final BlockPos pos;
+    long dueTick;
+
+    protected ScheduledTask(BlockPos pos)
+    {
+        this.pos = pos;
+    }
+
+    public BlockPos getPos()
+    {
+        return pos;
+    }
+
+    protected abstract void run(World world);
+}
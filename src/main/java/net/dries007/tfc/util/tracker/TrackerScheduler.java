@@ -0,0 +1,218 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.util.tracker;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.LongPredicate;
+
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+
+/**
+ * Runs the pending checks of a {@link WorldTracker} against a per tick budget.
+ * Checks which aren't due yet wait in a timer, keyed by the tick they are due. Once due, they are moved to a queue for their chunk, and the chunk queues are run in turn until either budget is spent.
+ * Anything left over is carried to the next tick, starting from the chunk after the last one run. Chunks which aren't loaded are skipped, and their checks are kept until they are.
+ */
+public class TrackerScheduler
+{
+    private static final int OPERATIONS_PER_TIME_CHECK = 32;
+
+    private final Long2ObjectMap<List<ScheduledTask>> timer;
+    private final Long2ObjectLinkedOpenHashMap<ArrayDeque<ScheduledTask>> shards;
+
+    private long tick;
+    private int delayed, queued;
+
+    private long totalRun, totalLatency;
+    private int maxLatency, lastRun, lastDeferred;
+    private long lastNanos;
+
+    public TrackerScheduler()
+    {
+        this.timer = new Long2ObjectOpenHashMap<>();
+        this.shards = new Long2ObjectLinkedOpenHashMap<>();
+    }
+
+    /**
+     * @param delay The number of ticks until the task is due. A delay of one runs it on the next tick.
+     */
+    public void schedule(ScheduledTask task, int delay)
+    {
+        task.dueTick = tick + Math.max(delay, 1);
+        timer.computeIfAbsent(task.dueTick, key -> new ArrayList<>()).add(task);
+        delayed++;
+    }
+
+    /**
+     * Advances by one tick, then runs due tasks until either budget is spent.
+     *
+     * @param isChunkLoaded Tests if a chunk, by {@link ChunkPos#asLong(int, int)}, is loaded. Tasks in unloaded chunks are skipped.
+     * @param maxOperations The maximum number of tasks to run.
+     * @param maxNanos      The maximum time to spend running tasks. This is checked every few tasks, so may be slightly exceeded.
+     */
+    public void tick(World world, LongPredicate isChunkLoaded, int maxOperations, long maxNanos)
+    {
+        tick++;
+
+        final List<ScheduledTask> due = timer.remove(tick);
+        if (due != null)
+        {
+            for (ScheduledTask task : due)
+            {
+                shards.computeIfAbsent(ChunkPos.asLong(task.pos.getX() >> 4, task.pos.getZ() >> 4), key -> new ArrayDeque<>()).add(task);
+            }
+            delayed -= due.size();
+            queued += due.size();
+        }
+
+        lastRun = 0;
+        lastNanos = 0;
+        if (shards.isEmpty())
+        {
+            lastDeferred = 0;
+            return;
+        }
+
+        final long start = System.nanoTime();
+        final long[] chunks = shards.keySet().toLongArray();
+        boolean budgetSpent = false;
+        for (long chunk : chunks)
+        {
+            if (!isChunkLoaded.test(chunk))
+            {
+                // Move to the back, so loaded chunks are run first next tick
+                shards.getAndMoveToLast(chunk);
+                continue;
+            }
+
+            final ArrayDeque<ScheduledTask> shard = shards.get(chunk);
+            while (!shard.isEmpty())
+            {
+                if (lastRun >= maxOperations || (lastRun % OPERATIONS_PER_TIME_CHECK == 0 && lastRun > 0 && System.nanoTime() - start >= maxNanos))
+                {
+                    budgetSpent = true;
+                    break;
+                }
+
+                final ScheduledTask task = shard.poll();
+                queued--;
+                lastRun++;
+
+                final int latency = (int) (tick - task.dueTick);
+                totalLatency += latency;
+                maxLatency = Math.max(maxLatency, latency);
+                task.run(world);
+            }
+
+            if (shard.isEmpty())
+            {
+                shards.remove(chunk);
+            }
+            if (budgetSpent)
+            {
+                // Continue from the next chunk on the next tick
+                if (!shard.isEmpty())
+                {
+                    shards.getAndMoveToLast(chunk);
+                }
+                break;
+            }
+        }
+
+        totalRun += lastRun;
+        lastNanos = System.nanoTime() - start;
+        lastDeferred = queued;
+    }
+
+    /**
+     * Visits every pending task, both queued and delayed.
+     */
+    public void forEach(Consumer<ScheduledTask> action)
+    {
+        shards.values().forEach(shard -> shard.forEach(action));
+        timer.values().forEach(tasks -> tasks.forEach(action));
+    }
+
+    /**
+     * @return The number of ticks until the task is due, or zero if it is already due.
+     */
+    public int getRemainingTicks(ScheduledTask task)
+    {
+        return (int) Math.max(task.dueTick - tick, 0);
+    }
+
+    public void clear()
+    {
+        timer.clear();
+        shards.clear();
+        delayed = queued = 0;
+    }
+
+    /**
+     * @return The number of tasks which are due, but have not been run yet.
+     */
+    public int getQueueDepth()
+    {
+        return queued;
+    }
+
+    /**
+     * @return The number of tasks which are not due yet.
+     */
+    public int getDelayedCount()
+    {
+        return delayed;
+    }
+
+    public int getChunkCount()
+    {
+        return shards.size();
+    }
+
+    public long getTotalRun()
+    {
+        return totalRun;
+    }
+
+    /**
+     * @return The average number of ticks between a task being due and being run.
+     */
+    public double getAverageLatency()
+    {
+        return totalRun == 0 ? 0 : (double) totalLatency / totalRun;
+    }
+
+    public int getMaxLatency()
+    {
+        return maxLatency;
+    }
+
+    public int getLastRun()
+    {
+        return lastRun;
+    }
+
+    /**
+     * @return The number of due tasks which were carried over to the next tick, after the last tick.
+     */
+    public int getLastDeferred()
+    {
+        return lastDeferred;
+    }
+
+    public long getLastNanos()
+    {
+        return lastNanos;
+    }
+}
@@ -16,6 +16,7 @@ import net.minecraft.nbt.LongArrayNBT;
 import net.minecraft.util.Direction;
 import net.minecraft.util.SoundCategory;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.IWorld;
 import net.minecraft.world.World;
 import net.minecraftforge.common.capabilities.Capability;
@@ -30,42 +31,43 @@ import net.dries007.tfc.common.recipes.CollapseRecipe;
 import net.dries007.tfc.common.recipes.LandslideRecipe;
 import net.dries007.tfc.config.TFCConfig;
 import net.dries007.tfc.util.Helpers;
-import net.dries007.tfc.util.collections.BufferedList;
+import net.dries007.tfc.util.calendar.CalendarTickScheduler;
 import net.dries007.tfc.util.loot.TFCLoot;
+import net.dries007.tfc.util.support.SupportCoverage;
 
 public class WorldTracker implements IWorldTracker, ICapabilitySerializable<CompoundNBT>
 {
     private static final Random RANDOM = new Random();
 
     private final LazyOptional<IWorldTracker> capability;
-    private final BufferedList<TickEntry> landslideTicks;
-    private final BufferedList<BlockPos> isolatedPositions;
-    private final List<Collapse> collapsesInProgress;
+    private final TrackerScheduler scheduler;
+    private final SupportCoverage supportCoverage;
+    private final CalendarTickScheduler calendarTickables;
 
     public WorldTracker()
     {
         this.capability = LazyOptional.of(() -> this);
-        this.landslideTicks = new BufferedList<>();
-        this.isolatedPositions = new BufferedList<>();
-        this.collapsesInProgress = new ArrayList<>();
+        this.scheduler = new TrackerScheduler();
+        this.supportCoverage = new SupportCoverage();
+        this.calendarTickables = new CalendarTickScheduler();
     }
 
     @Override
     public void addLandslidePos(BlockPos pos)
     {
-        landslideTicks.add(new TickEntry(pos, 2));
+        scheduler.schedule(new LandslideTask(pos), 2);
     }
 
     @Override
     public void addIsolatedPos(BlockPos pos)
     {
-        isolatedPositions.add(pos);
+        scheduler.schedule(new IsolatedTask(pos), 1);
     }
 
     @Override
     public void addCollapseData(Collapse collapse)
     {
-        collapsesInProgress.add(collapse);
+        scheduleCollapseStep(collapse);
     }
 
     @Override
@@ -88,89 +90,65 @@ public class WorldTracker implements IWorldTracker, ICapabilitySerializable<Comp
         addCollapseData(new Collapse(centerPos, collapsePositions, maxRadiusSquared));
     }
 
+    @Override
+    public SupportCoverage getSupportCoverage()
+    {
+        return supportCoverage;
+    }
+
+    @Override
+    public TrackerScheduler getScheduler()
+    {
+        return scheduler;
+    }
+
+    @Override
+    public CalendarTickScheduler getCalendarTickables()
+    {
+        return calendarTickables;
+    }
+
     public void tick(World world)
     {
         if (!world.isClientSide())
         {
-            if (!collapsesInProgress.isEmpty() && RANDOM.nextInt(10) == 0)
-            {
-                for (Collapse collapse : collapsesInProgress)
-                {
-                    Set<BlockPos> updatedPositions = new HashSet<>();
-                    for (BlockPos posAt : collapse.nextPositions)
-                    {
-                        // Check the current position for collapsing
-                        BlockState stateAt = world.getBlockState(posAt);
-                        if (TFCTags.Blocks.CAN_COLLAPSE.contains(stateAt.getBlock()) && TFCFallingBlockEntity.canFallThrough(world, posAt.below()) && posAt.distSqr(collapse.centerPos) < collapse.radiusSquared && RANDOM.nextFloat() < TFCConfig.SERVER.collapsePropagateChance.get())
-                        {
-                            if (CollapseRecipe.collapseBlock(world, posAt, stateAt))
-                            {
-                                // This column has started to collapse. Mark the next block above as unstable for the "follow up"
-                                updatedPositions.add(posAt.above());
-                            }
-                        }
-                    }
-                    collapse.nextPositions.clear();
-                    if (!updatedPositions.isEmpty())
-                    {
-                        world.playSound(null, collapse.centerPos, TFCSounds.ROCK_SLIDE_SHORT.get(), SoundCategory.BLOCKS, 0.6f, 1.0f);
-                        collapse.nextPositions.addAll(updatedPositions);
-                        collapse.radiusSquared *= 0.8; // lower radius each successive time
-                    }
-                }
-                collapsesInProgress.removeIf(collapse -> collapse.nextPositions.isEmpty());
-            }
-
-            landslideTicks.flush();
-            Iterator<TickEntry> tickIterator = landslideTicks.listIterator();
-            while (tickIterator.hasNext())
-            {
-                TickEntry entry = tickIterator.next();
-                if (entry.tick())
-                {
-                    final BlockState currentState = world.getBlockState(entry.getPos());
-                    LandslideRecipe.tryLandslide(world, entry.getPos(), currentState);
-                    tickIterator.remove();
-                }
-            }
-
-            isolatedPositions.flush();
-            Iterator<BlockPos> isolatedIterator = isolatedPositions.listIterator();
-            while (isolatedIterator.hasNext())
-            {
-                final BlockPos pos = isolatedIterator.next();
-                final BlockState currentState = world.getBlockState(pos);
-                if (TFCTags.Blocks.BREAKS_WHEN_ISOLATED.contains(currentState.getBlock()) && isIsolated(world, pos))
-                {
-                    Helpers.destroyBlockAndDropBlocksManually(world, pos, ctx -> ctx.withParameter(TFCLoot.ISOLATED, true));
-                }
-                isolatedIterator.remove();
-            }
+            scheduler.tick(world, chunk -> world.hasChunk(ChunkPos.getX(chunk), ChunkPos.getZ(chunk)), TFCConfig.SERVER.worldTrackerMaxChecksPerTick.get(), (long) (TFCConfig.SERVER.worldTrackerMaxMillisPerTick.get() * 1_000_000));
         }
     }
 
     @Override
     public CompoundNBT serializeNBT()
     {
-        landslideTicks.flush();
-        isolatedPositions.flush();
+        final ListNBT landslideNbt = new ListNBT();
+        final List<BlockPos> isolatedPositions = new ArrayList<>();
+        final Map<Collapse, List<BlockPos>> collapses = new IdentityHashMap<>();
+        scheduler.forEach(task -> {
+            if (task instanceof LandslideTask)
+            {
+                landslideNbt.add(new TickEntry(task.getPos(), Math.max(scheduler.getRemainingTicks(task), 1)).serializeNBT());
+            }
+            else if (task instanceof IsolatedTask)
+            {
+                isolatedPositions.add(task.getPos());
+            }
+            else if (task instanceof CollapseTask)
+            {
+                collapses.computeIfAbsent(((CollapseTask) task).collapse, key -> new ArrayList<>()).add(task.getPos());
+            }
+        });
 
         CompoundNBT nbt = new CompoundNBT();
-        ListNBT landslideNbt = new ListNBT();
-        for (TickEntry entry : landslideTicks)
-        {
-            landslideNbt.add(entry.serializeNBT());
-        }
         nbt.put("landslideTicks", landslideNbt);
 
         LongArrayNBT isolatedNbt = new LongArrayNBT(isolatedPositions.stream().mapToLong(BlockPos::asLong).toArray());
         nbt.put("isolatedPositions", isolatedNbt);
 
+        // Positions not yet checked in the current step of each collapse are saved along with the next step
         ListNBT collapseNbt = new ListNBT();
-        for (Collapse collapse : collapsesInProgress)
-        {
-            collapseNbt.add(collapse.serializeNBT());
-        }
+        collapses.forEach((collapse, positions) -> {
+            positions.addAll(collapse.nextPositions);
+            collapseNbt.add(new Collapse(collapse.centerPos, positions, collapse.radiusSquared).serializeNBT());
+        });
         nbt.put("collapsesInProgress", collapseNbt);
         return nbt;
     }
@@ -180,23 +158,22 @@ public class WorldTracker implements IWorldTracker, ICapabilitySerializable<Comp
     {
         if (nbt != null)
         {
-            landslideTicks.clear();
-            collapsesInProgress.clear();
-            isolatedPositions.clear();
+            scheduler.clear();
 
             ListNBT landslideNbt = nbt.getList("landslideTicks", Constants.NBT.TAG_COMPOUND);
             for (int i = 0; i < landslideNbt.size(); i++)
             {
-                landslideTicks.add(new TickEntry(landslideNbt.getCompound(i)));
+                final TickEntry entry = new TickEntry(landslideNbt.getCompound(i));
+                scheduler.schedule(new LandslideTask(entry.getPos()), entry.getTicks());
             }
 
             long[] isolatedNbt = nbt.getLongArray("isolatedPositions");
-            Arrays.stream(isolatedNbt).mapToObj(BlockPos::of).forEach(isolatedPositions::add);
+            Arrays.stream(isolatedNbt).mapToObj(BlockPos::of).forEach(this::addIsolatedPos);
 
             ListNBT collapseNbt = nbt.getList("collapsesInProgress", Constants.NBT.TAG_COMPOUND);
             for (int i = 0; i < collapseNbt.size(); i++)
             {
-                collapsesInProgress.add(new Collapse(collapseNbt.getCompound(i)));
+                addCollapseData(new Collapse(collapseNbt.getCompound(i)));
             }
         }
     }
@@ -207,6 +184,24 @@ public class WorldTracker implements IWorldTracker, ICapabilitySerializable<Comp
         return WorldTrackerCapability.CAPABILITY.orEmpty(cap, capability);
     }
 
+    /**
+     * Schedules a check for each of the collapse's next positions. Steps run on average every ten ticks.
+     */
+    private void scheduleCollapseStep(Collapse collapse)
+    {
+        int delay = 1;
+        while (RANDOM.nextInt(10) != 0)
+        {
+            delay++;
+        }
+        for (BlockPos pos : collapse.nextPositions)
+        {
+            scheduler.schedule(new CollapseTask(pos, collapse), delay);
+        }
+        collapse.remaining = collapse.nextPositions.size();
+        collapse.nextPositions = new ArrayList<>();
+    }
+
     private boolean isIsolated(IWorld world, BlockPos pos)
     {
         for (Direction direction : Direction.values())
@@ -218,4 +213,71 @@ public class WorldTracker implements IWorldTracker, ICapabilitySerializable<Comp
         }
         return true;
     }
-}
\ No newline at end of file
+
+    static class LandslideTask extends ScheduledTask
+    {
+        LandslideTask(BlockPos pos)
+        {
+            super(pos);
+        }
+
+        @Override
+        protected void run(World world)
+        {
+            final BlockState currentState = world.getBlockState(pos);
+            LandslideRecipe.tryLandslide(world, pos, currentState);
+        }
+    }
+
+    class IsolatedTask extends ScheduledTask
+    {
+        IsolatedTask(BlockPos pos)
+        {
+            super(pos);
+        }
+
+        @Override
+        protected void run(World world)
+        {
+            final BlockState currentState = world.getBlockState(pos);
+            if (TFCTags.Blocks.BREAKS_WHEN_ISOLATED.contains(currentState.getBlock()) && isIsolated(world, pos))
+            {
+                Helpers.destroyBlockAndDropBlocksManually(world, pos, ctx -> ctx.withParameter(TFCLoot.ISOLATED, true));
+            }
+        }
+    }
+
+    class CollapseTask extends ScheduledTask
+    {
+        final Collapse collapse;
+
+        CollapseTask(BlockPos pos, Collapse collapse)
+        {
+            super(pos);
+            this.collapse = collapse;
+        }
+
+        @Override
+        protected void run(World world)
+        {
+            // Check the current position for collapsing
+            BlockState stateAt = world.getBlockState(pos);
+            if (TFCTags.Blocks.CAN_COLLAPSE.contains(stateAt.getBlock()) && TFCFallingBlockEntity.canFallThrough(world, pos.below()) && pos.distSqr(collapse.centerPos) < collapse.radiusSquared && RANDOM.nextFloat() < TFCConfig.SERVER.collapsePropagateChance.get())
+            {
+                if (CollapseRecipe.collapseBlock(world, pos, stateAt))
+                {
+                    // This column has started to collapse. Mark the next block above as unstable for the "follow up"
+                    collapse.nextPositions.add(pos.above());
+                }
+            }
+
+            collapse.remaining--;
+            if (collapse.remaining == 0 && !collapse.nextPositions.isEmpty())
+            {
+                world.playSound(null, collapse.centerPos, TFCSounds.ROCK_SLIDE_SHORT.get(), SoundCategory.BLOCKS, 0.6f, 1.0f);
+                collapse.radiusSquared *= 0.8; // lower radius each successive time
+                scheduleCollapseStep(collapse);
+            }
+        }
+    }
+}
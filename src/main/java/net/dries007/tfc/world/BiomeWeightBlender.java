@@ -0,0 +1,438 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world;
+
+import java.util.Arrays;
+import java.util.function.IntUnaryOperator;
+import javax.annotation.Nullable;
+
+import net.minecraft.util.math.ChunkPos;
+
+import static net.dries007.tfc.world.TFCChunkGenerator.KERNEL_5x5;
+import static net.dries007.tfc.world.TFCChunkGenerator.KERNEL_9x9;
+
+/**
+ * Computes the blended biome weights for a single chunk.
+ * Biomes are assigned ids in a local palette, containing only the biomes that appear around the chunk, and all weights are stored in primitive arrays indexed by that id.
+ * An instance is not thread safe, but is intended to be reused for every chunk generated on a single thread.
+ * The kernel convolutions can optionally be shared between instances, and so between neighbouring chunks, via a {@link BiomeWeightCache}.
+ *
+ * @param <T> The biome type. This is generic so the blending can be tested and benchmarked without a world.
+ */
+public class BiomeWeightBlender<T>
+{
+    /**
+     * Width of the chunk resolution sample grid: a 4x4 grid of samples, each convolved with a 9x9 kernel. Index 0 = -4 chunks relative to the target chunk.
+     */
+    public static final int CHUNK_GRID = 4 + 9 - 1;
+    /**
+     * Width of the quart resolution sample grid: a 7x7 grid of samples, each convolved with a 9x9 kernel. Index 0 = -1 quarts relative to the target chunk.
+     */
+    public static final int QUART_GRID = 7 + 9 - 1;
+
+    @Nullable private final BiomeWeightCache cache;
+
+    private final int[] chunkSamples = new int[CHUNK_GRID * CHUNK_GRID];
+    private final int[] quartSamples = new int[QUART_GRID * QUART_GRID];
+
+    private Object[] palette = new Object[8];
+    private int size;
+    private int chunkX, chunkZ;
+
+    // Weights, indexed by [position * size + id]
+    private double[] chunkWeights = new double[0]; // 4x4
+    private double[] weights = new double[0]; // 7x7, the result of blending
+
+    // Scratch arrays, indexed by [id]
+    private double[] cornerWeights = new double[0], largeWeights = new double[0];
+    private int[] largeGroups = new int[0], smallGroups = new int[0];
+    private double[] maxGroupWeights = new double[0], actualGroupWeights = new double[0];
+
+    public BiomeWeightBlender()
+    {
+        this(null);
+    }
+
+    public BiomeWeightBlender(@Nullable BiomeWeightCache cache)
+    {
+        this.cache = cache;
+    }
+
+    /**
+     * Samples all biomes required for blending the target chunk, and builds the palette.
+     *
+     * @param chunkX  The minimum block x of the chunk
+     * @param chunkZ  The minimum block z of the chunk
+     * @param sampler A sampler for biomes, at block coordinates.
+     */
+    public void sample(int chunkX, int chunkZ, Sampler<T> sampler)
+    {
+        this.chunkX = chunkX;
+        this.chunkZ = chunkZ;
+        this.size = 0;
+        for (int x = 0; x < CHUNK_GRID; x++)
+        {
+            for (int z = 0; z < CHUNK_GRID; z++)
+            {
+                chunkSamples[x + z * CHUNK_GRID] = idOf(sampler.get(chunkX + ((x - 4) << 4), chunkZ + ((z - 4) << 4)));
+            }
+        }
+        for (int x = 0; x < QUART_GRID; x++)
+        {
+            for (int z = 0; z < QUART_GRID; z++)
+            {
+                quartSamples[x + z * QUART_GRID] = idOf(sampler.get(chunkX + ((x - 1) << 2), chunkZ + ((z - 1) << 2)));
+            }
+        }
+    }
+
+    /**
+     * Blends the sampled biomes into a 7x7 grid of weights, at quart resolution, offset by (-1, -1) from the target chunk.
+     * Weights are blended at two resolutions, using groups to select which biomes get blended at a smaller radius. See {@link #compose(double[], int, double[], int[], int)}.
+     *
+     * @param largeGroup  A function from palette id to group, for blending between the chunk and quart resolution weights.
+     * @param largeGroups The number of large groups
+     * @param smallGroup  A function from palette id to group, for blending between the large and small quart resolution weights.
+     * @param smallGroups The number of small groups
+     */
+    public void blend(IntUnaryOperator largeGroup, int largeGroups, IntUnaryOperator smallGroup, int smallGroups)
+    {
+        ensureCapacity(Math.max(largeGroups, smallGroups));
+
+        for (int id = 0; id < size; id++)
+        {
+            this.largeGroups[id] = largeGroup.applyAsInt(id);
+            this.smallGroups[id] = smallGroup.applyAsInt(id);
+        }
+
+        // First, blend biomes at chunk distance, in a 4x4 grid centered on the target chunk.
+        // These are used to build the large-scale biome blending radius
+        for (int x = 0; x < 4; x++)
+        {
+            for (int z = 0; z < 4; z++)
+            {
+                convolveChunk(x, z, (x | (z << 2)) * size);
+            }
+        }
+
+        for (int x = 0; x < 7; x++)
+        {
+            for (int z = 0; z < 7; z++)
+            {
+                convolveQuart(x, z);
+
+                // Contribution from four corners
+                final int x1 = (x - 1) << 2;
+                final int z1 = (z - 1) << 2;
+
+                final double lerpX = (x1 & 15) * (1 / 16d);
+                final double lerpZ = (z1 & 15) * (1 / 16d);
+
+                final int index16X = (x1 >> 4) + 1;
+                final int index16Z = (z1 >> 4) + 1;
+
+                Arrays.fill(cornerWeights, 0, size, 0);
+                addCornerContribution(cornerWeights, chunkWeights, (index16X | (index16Z << 2)) * size, (1 - lerpX) * (1 - lerpZ));
+                addCornerContribution(cornerWeights, chunkWeights, ((index16X + 1) | (index16Z << 2)) * size, lerpX * (1 - lerpZ));
+                addCornerContribution(cornerWeights, chunkWeights, (index16X | ((index16Z + 1) << 2)) * size, (1 - lerpX) * lerpZ);
+                addCornerContribution(cornerWeights, chunkWeights, ((index16X + 1) | ((index16Z + 1) << 2)) * size, lerpX * lerpZ);
+
+                compose(largeWeights, 0, cornerWeights, this.largeGroups, largeGroups);
+
+                final int offset = (x + 7 * z) * size;
+                Arrays.fill(weights, offset, offset + size, 0);
+                for (int dx = 0; dx < 5; dx++)
+                {
+                    for (int dz = 0; dz < 5; dz++)
+                    {
+                        weights[offset + quartSamples[(x + dx) + (z + dz) * QUART_GRID]] += KERNEL_5x5[dx + dz * 5];
+                    }
+                }
+
+                compose(weights, offset, largeWeights, this.smallGroups, smallGroups);
+            }
+        }
+    }
+
+    /**
+     * Computes the weights for a single column, by bilinear interpolation of the blended weights.
+     *
+     * @param out    An array of at least {@link #size()}, which will be filled with the weight of each palette id.
+     * @param localX The local x position in the chunk, in [0, 16)
+     * @param localZ The local z position in the chunk, in [0, 16)
+     */
+    public void column(double[] out, int localX, int localZ)
+    {
+        final int index4X = (localX >> 2) + 1;
+        final int index4Z = (localZ >> 2) + 1;
+
+        final double lerpX = (localX & 3) * (1 / 4d);
+        final double lerpZ = (localZ & 3) * (1 / 4d);
+
+        Arrays.fill(out, 0, size, 0);
+        addCornerContribution(out, weights, (index4X + index4Z * 7) * size, (1 - lerpX) * (1 - lerpZ));
+        addCornerContribution(out, weights, ((index4X + 1) + index4Z * 7) * size, lerpX * (1 - lerpZ));
+        addCornerContribution(out, weights, (index4X + (index4Z + 1) * 7) * size, (1 - lerpX) * lerpZ);
+        addCornerContribution(out, weights, ((index4X + 1) + (index4Z + 1) * 7) * size, lerpX * lerpZ);
+    }
+
+    /**
+     * Copies the blended weights of a single sample point.
+     *
+     * @param out     An array of at least {@link #size()}, which will be filled with the weight of each palette id.
+     * @param sampleX The sample x, in [0, 7), where 0 = -1 quarts relative to the target chunk
+     * @param sampleZ The sample z, in [0, 7)
+     */
+    public void sampleWeights(double[] out, int sampleX, int sampleZ)
+    {
+        System.arraycopy(weights, (sampleX + 7 * sampleZ) * size, out, 0, size);
+    }
+
+    /**
+     * @return The number of unique biomes sampled.
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * @return The biome for a given palette id.
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int id)
+    {
+        return (T) palette[id];
+    }
+
+    /**
+     * Composes two levels of sampled weights. It takes two sets of weights at two different resolutions, and re-weights the higher resolution one by replacing specific groups of samples with the respective weights from the lower resolution map.
+     * Each element of the higher resolution map is replaced with a proportional average of the same group which is present in the lower resolution map.
+     * This has the effect of blending specific groups at closer distances than others, allowing for both smooth and sharp biome transitions.
+     *
+     * Example:
+     * - Low resolution: 30% Plains, 40% Mountains, 30% Hills, 10% River
+     * - High resolution: 60% Plains, 40% River
+     * - Groups are "River" and "Not River"
+     * - For each element in the high resolution map:
+     * - 60% Plains: Group "Not River", and is replaced with 60% * (30% Plains, 40% Mountains, 30% Hills) / 90%
+     * - 50% River: Group "River", which is replaced with 40% * (10% River) / 10%
+     * - Result: 18% Plains, 24% Mountains, 18% Hills, 40% River
+     */
+    private void compose(double[] weights, int offset, double[] groupWeights, int[] groupIds, int groups)
+    {
+        Arrays.fill(maxGroupWeights, 0, groups, 0);
+        Arrays.fill(actualGroupWeights, 0, groups, 0);
+
+        // First, we need to calculate the maximum weight per group
+        for (int id = 0; id < size; id++)
+        {
+            final int group = groupIds[id];
+            if (group != -1)
+            {
+                maxGroupWeights[group] += groupWeights[id];
+            }
+        }
+
+        // Then, we identify the actual weight that needs to be replaced with each group
+        for (int id = 0; id < size; id++)
+        {
+            final int group = groupIds[id];
+            if (group != -1)
+            {
+                actualGroupWeights[group] += weights[offset + id];
+                weights[offset + id] = 0;
+            }
+        }
+
+        // Finally, insert the weights for each group as a portion of the actual weight
+        for (int id = 0; id < size; id++)
+        {
+            final int group = groupIds[id];
+            if (group != -1 && actualGroupWeights[group] > 0 && maxGroupWeights[group] > 0)
+            {
+                weights[offset + id] = groupWeights[id] * actualGroupWeights[group] / maxGroupWeights[group];
+            }
+        }
+    }
+
+    /**
+     * Computes the 9x9 kernel convolution at chunk resolution, for the chunk at an offset of (x, z) from the target chunk, into {@code chunkWeights}.
+     */
+    private void convolveChunk(int x, int z, int offset)
+    {
+        final long key = ChunkPos.asLong((chunkX >> 4) + x, (chunkZ >> 4) + z);
+        if (cache != null)
+        {
+            final BiomeWeightCache.Entry entry = cache.getChunk(key);
+            if (entry != null && load(entry, chunkWeights, offset))
+            {
+                return;
+            }
+        }
+
+        Arrays.fill(chunkWeights, offset, offset + size, 0);
+        for (int dx = 0; dx < 9; dx++)
+        {
+            for (int dz = 0; dz < 9; dz++)
+            {
+                chunkWeights[offset + chunkSamples[(x + dx) + (z + dz) * CHUNK_GRID]] += KERNEL_9x9[dx + dz * 9];
+            }
+        }
+
+        if (cache != null)
+        {
+            cache.putChunk(save(key, chunkWeights, offset));
+        }
+    }
+
+    /**
+     * Computes the 9x9 kernel convolution at quart resolution, for the sample point (x, z), into {@code largeWeights}.
+     */
+    private void convolveQuart(int x, int z)
+    {
+        final long key = ChunkPos.asLong((chunkX >> 2) + x - 1, (chunkZ >> 2) + z - 1);
+        if (cache != null)
+        {
+            final BiomeWeightCache.Entry entry = cache.getQuart(key);
+            if (entry != null && load(entry, largeWeights, 0))
+            {
+                return;
+            }
+        }
+
+        Arrays.fill(largeWeights, 0, size, 0);
+        for (int dx = 0; dx < 9; dx++)
+        {
+            for (int dz = 0; dz < 9; dz++)
+            {
+                largeWeights[quartSamples[(x + dx) + (z + dz) * QUART_GRID]] += KERNEL_9x9[dx + dz * 9];
+            }
+        }
+
+        if (cache != null)
+        {
+            cache.putQuart(save(key, largeWeights, 0));
+        }
+    }
+
+    /**
+     * Loads a cached convolution into a row of weights.
+     * Convolutions are computed per biome, with a fixed kernel order, so the loaded values are identical to what would be computed locally, regardless of palette order.
+     *
+     * @return {@code false} if the cached convolution contains a biome which was not sampled for this chunk, in which case it must be computed locally instead.
+     */
+    private boolean load(BiomeWeightCache.Entry entry, double[] weights, int offset)
+    {
+        // Every biome in a convolution should also have been sampled for this chunk, unless the sampler is inconsistent between calls
+        for (Object biome : entry.biomes)
+        {
+            if (find(biome) == -1)
+            {
+                return false;
+            }
+        }
+        Arrays.fill(weights, offset, offset + size, 0);
+        for (int i = 0; i < entry.biomes.length; i++)
+        {
+            weights[offset + find(entry.biomes[i])] = entry.weights[i];
+        }
+        return true;
+    }
+
+    private BiomeWeightCache.Entry save(long key, double[] weights, int offset)
+    {
+        int count = 0;
+        for (int id = 0; id < size; id++)
+        {
+            if (weights[offset + id] != 0)
+            {
+                count++;
+            }
+        }
+
+        final Object[] entryBiomes = new Object[count];
+        final double[] entryWeights = new double[count];
+        int index = 0;
+        for (int id = 0; id < size; id++)
+        {
+            if (weights[offset + id] != 0)
+            {
+                entryBiomes[index] = palette[id];
+                entryWeights[index] = weights[offset + id];
+                index++;
+            }
+        }
+        return new BiomeWeightCache.Entry(key, entryBiomes, entryWeights);
+    }
+
+    private void addCornerContribution(double[] accumulator, double[] corner, int cornerOffset, double t)
+    {
+        if (t > 0)
+        {
+            for (int id = 0; id < size; id++)
+            {
+                accumulator[id] += corner[cornerOffset + id] * t;
+            }
+        }
+    }
+
+    private int idOf(T value)
+    {
+        // The palette is very small, typically < 10 entries, so a linear scan is faster than hashing
+        for (int id = 0; id < size; id++)
+        {
+            if (palette[id] == value)
+            {
+                return id;
+            }
+        }
+        if (size == palette.length)
+        {
+            palette = Arrays.copyOf(palette, size << 1);
+        }
+        palette[size] = value;
+        return size++;
+    }
+
+    private int find(Object value)
+    {
+        for (int id = 0; id < size; id++)
+        {
+            if (palette[id] == value)
+            {
+                return id;
+            }
+        }
+        return -1;
+    }
+
+    private void ensureCapacity(int groups)
+    {
+        if (cornerWeights.length < size)
+        {
+            final int capacity = palette.length;
+            chunkWeights = new double[16 * capacity];
+            weights = new double[49 * capacity];
+            cornerWeights = new double[capacity];
+            largeWeights = new double[capacity];
+            largeGroups = new int[capacity];
+            smallGroups = new int[capacity];
+        }
+        if (maxGroupWeights.length < groups)
+        {
+            maxGroupWeights = new double[groups];
+            actualGroupWeights = new double[groups];
+        }
+    }
+
+    @FunctionalInterface
+    public interface Sampler<T>
+    {
+        T get(int x, int z);
+    }
+}
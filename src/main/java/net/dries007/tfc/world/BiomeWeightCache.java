@@ -0,0 +1,102 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world;
+
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nullable;
+
+import net.minecraft.util.math.MathHelper;
+
+import it.unimi.dsi.fastutil.HashCommon;
+
+/**
+ * A bounded cache of the kernel convolutions computed by {@link BiomeWeightBlender}, shared between all chunks (and threads) of a single chunk generator.
+ * Each convolution is a pure function of its absolute position, and adjacent chunks' convolutions overlap heavily, so most are computed once and reused by neighbouring chunks.
+ *
+ * This is two direct mapped tables, one for chunk resolution convolutions keyed by chunk position, and one for quart resolution convolutions keyed by quart position.
+ * Each slot holds an immutable entry, so racing reads will either see a complete entry or miss.
+ */
+public class BiomeWeightCache
+{
+    private final Entry[] chunkEntries, quartEntries;
+    private final int chunkMask, quartMask;
+
+    private final LongAdder hits = new LongAdder(), misses = new LongAdder();
+
+    public BiomeWeightCache(int chunkSize, int quartSize)
+    {
+        chunkSize = MathHelper.smallestEncompassingPowerOfTwo(chunkSize);
+        quartSize = MathHelper.smallestEncompassingPowerOfTwo(quartSize);
+
+        this.chunkEntries = new Entry[chunkSize];
+        this.quartEntries = new Entry[quartSize];
+        this.chunkMask = chunkSize - 1;
+        this.quartMask = quartSize - 1;
+    }
+
+    @Nullable
+    public Entry getChunk(long key)
+    {
+        return get(chunkEntries, chunkMask, key);
+    }
+
+    public void putChunk(Entry entry)
+    {
+        chunkEntries[(int) HashCommon.mix(entry.key) & chunkMask] = entry;
+    }
+
+    @Nullable
+    public Entry getQuart(long key)
+    {
+        return get(quartEntries, quartMask, key);
+    }
+
+    public void putQuart(Entry entry)
+    {
+        quartEntries[(int) HashCommon.mix(entry.key) & quartMask] = entry;
+    }
+
+    public long getHits()
+    {
+        return hits.sum();
+    }
+
+    public long getMisses()
+    {
+        return misses.sum();
+    }
+
+    @Nullable
+    private Entry get(Entry[] entries, int mask, long key)
+    {
+        final Entry entry = entries[(int) HashCommon.mix(key) & mask];
+        if (entry != null && entry.key == key)
+        {
+            hits.increment();
+            return entry;
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * A single convolution, stored sparsely as parallel arrays of biomes and their weights.
+     */
+    public static final class Entry
+    {
+        final long key;
+        final Object[] biomes;
+        final double[] weights;
+
+        Entry(long key, Object[] biomes, double[] weights)
+        {
+            this.key = key;
+            this.biomes = biomes;
+            this.weights = weights;
+        }
+    }
+}
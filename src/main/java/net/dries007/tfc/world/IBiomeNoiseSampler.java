@@ -8,71 +8,78 @@ package net.dries007.tfc.world;
 
 import net.dries007.tfc.world.noise.Noise2D;
 
+/**
+ * A sampler for the height and 3D noise of a single biome.
+ * Implementations must be stateless, as a single instance is shared between all world generation threads. Any per-column state is held by the {@link Column} returned from {@link #column(int, int)}
+ */
 public interface IBiomeNoiseSampler
 {
     double FULL = 0;
 
     static IBiomeNoiseSampler fromHeightNoise(Noise2D heightNoise)
     {
-        return new IBiomeNoiseSampler()
-        {
-            private float height;
-
-            @Override
-            public void setColumn(int x, int z)
-            {
-                height = heightNoise.noise(x, z);
-            }
-
-            @Override
-            public double height()
+        return (x, z) -> {
+            final float height = heightNoise.noise(x, z);
+            return new Column()
             {
-                return height;
-            }
+                @Override
+                public double height()
+                {
+                    return height;
+                }
 
-            @Override
-            public double noise(int y)
-            {
-                return FULL;
-            }
+                @Override
+                public double noise(int y)
+                {
+                    return FULL;
+                }
+            };
         };
     }
 
     static IBiomeNoiseSampler fromHeightAndCarvingNoise(Noise2D heightNoise, Noise2D carvingCenterNoise, Noise2D carvingHeightNoise)
     {
-        return new IBiomeNoiseSampler()
-        {
-            private float height, carvingHeight, carvingCenter;
-
-            @Override
-            public void setColumn(int x, int z)
-            {
-                height = heightNoise.noise(x, z);
-                carvingHeight = carvingHeightNoise.noise(x, z);
-                carvingCenter = carvingCenterNoise.noise(x, z);
-            }
-
-            @Override
-            public double height()
+        return (x, z) -> {
+            final float height = heightNoise.noise(x, z);
+            final float carvingHeight = carvingHeightNoise.noise(x, z);
+            final float carvingCenter = carvingCenterNoise.noise(x, z);
+            return new Column()
             {
-                return height;
-            }
+                @Override
+                public double height()
+                {
+                    return height;
+                }
 
-            @Override
-            public double noise(int y)
-            {
-                float distance = Math.abs(y - carvingCenter) / carvingHeight;
-                return Math.max(1 - (distance * distance), 0);
-            }
+                @Override
+                public double noise(int y)
+                {
+                    float distance = Math.abs(y - carvingCenter) / carvingHeight;
+                    return Math.max(1 - (distance * distance), 0);
+                }
+            };
         };
     }
 
-    void setColumn(int x, int z);
-
-    double height();
+    /**
+     * Samples a single column. This must not modify the sampler, and is safe to call concurrently.
+     *
+     * @param x Absolute x position
+     * @param z Absolute z position
+     * @return A view of the column at this position
+     */
+    Column column(int x, int z);
 
     /**
-     * @param y Always < height
+     * A view of a single column of a biome sampler. This is created per column, and not shared between threads.
      */
-    double noise(int y);
+    interface Column
+    {
+        double height();
+
+        /**
+         * @param y Always < height
+         */
+        double noise(int y);
+    }
 }
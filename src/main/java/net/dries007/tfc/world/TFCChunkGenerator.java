@@ -9,7 +9,6 @@ package net.dries007.tfc.world;
 import java.util.*;
 import java.util.function.Supplier;
 import java.util.function.ToDoubleBiFunction;
-import java.util.function.ToIntFunction;
 import java.util.stream.IntStream;
 
 import org.apache.commons.lang3.mutable.Mutable;
@@ -40,11 +39,9 @@ import net.minecraft.world.gen.surfacebuilders.ConfiguredSurfaceBuilder;
 
 import com.mojang.serialization.Codec;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
-import it.unimi.dsi.fastutil.objects.Object2DoubleMap;
-import it.unimi.dsi.fastutil.objects.Object2DoubleOpenHashMap;
-import it.unimi.dsi.fastutil.objects.ObjectIterator;
 import net.dries007.tfc.mixin.world.gen.ChunkGeneratorAccessor;
 import net.dries007.tfc.world.biome.*;
+import net.dries007.tfc.world.carver.CarverContext;
 import net.dries007.tfc.world.carver.CarverHelpers;
 import net.dries007.tfc.world.chunkdata.*;
 import net.dries007.tfc.world.surfacebuilder.SurfaceBuilderContext;
@@ -109,58 +106,6 @@ public class TFCChunkGenerator extends ChunkGenerator implements ITFCChunkGenera
         return array;
     }
 
-    /**
-     * Composes two levels of sampled weights. It takes two maps of two different resolutions, and re-weights the higher resolution one by replacing specific groups of samples with the respective weights from the lower resolution map.
-     * Each element of the higher resolution map is replaced with a proportional average of the same group which is present in the lower resolution map.
-     * This has the effect of blending specific groups at closer distances than others, allowing for both smooth and sharp biome transitions.
-     *
-     * Example:
-     * - Low resolution: 30% Plains, 40% Mountains, 30% Hills, 10% River
-     * - High resolution: 60% Plains, 40% River
-     * - Groups are "River" and "Not River"
-     * - For each element in the high resolution map:
-     * - 60% Plains: Group "Not River", and is replaced with 60% * (30% Plains, 40% Mountains, 30% Hills) / 90%
-     * - 50% River: Group "River", which is replaced with 40% * (10% River) / 10%
-     * - Result: 18% Plains, 24% Mountains, 18% Hills, 40% River
-     */
-    public static <T> void composeSampleWeights(Object2DoubleMap<T> weightMap, Object2DoubleMap<T> groupWeightMap, ToIntFunction<T> groupFunction, int groups)
-    {
-        // First, we need to calculate the maximum weight per group
-        double[] maxWeights = new double[groups];
-        for (Object2DoubleMap.Entry<T> entry : groupWeightMap.object2DoubleEntrySet())
-        {
-            int group = groupFunction.applyAsInt(entry.getKey());
-            if (group != -1)
-            {
-                maxWeights[group] += entry.getDoubleValue();
-            }
-        }
-
-        // Then, we iterate through the smaller weight map and identify the actual weight that needs to be replaced with each group
-        double[] actualWeights = new double[groups];
-        ObjectIterator<Object2DoubleMap.Entry<T>> iterator = weightMap.object2DoubleEntrySet().iterator();
-        while (iterator.hasNext())
-        {
-            Object2DoubleMap.Entry<T> entry = iterator.next();
-            int group = groupFunction.applyAsInt(entry.getKey());
-            if (group != -1)
-            {
-                actualWeights[group] += entry.getDoubleValue();
-                iterator.remove();
-            }
-        }
-
-        // Finally, insert the weights for each group as a portion of the actual weight
-        for (Object2DoubleMap.Entry<T> entry : groupWeightMap.object2DoubleEntrySet())
-        {
-            int group = groupFunction.applyAsInt(entry.getKey());
-            if (group != -1 && actualWeights[group] > 0 && maxWeights[group] > 0)
-            {
-                weightMap.put(entry.getKey(), entry.getDoubleValue() * actualWeights[group] / maxWeights[group]);
-            }
-        }
-    }
-
     /**
      * This is the default instance used in the TFC preset, both on client and server
      */
@@ -180,7 +125,10 @@ public class TFCChunkGenerator extends ChunkGenerator implements ITFCChunkGenera
     private final boolean flatBedrock;
     private final long seed;
 
-    private final ThreadLocal<BiomeCache> biomeCache;
+    // Shared between all generating threads, as neighbouring chunks reuse most of each other's biomes and weights
+    private final BiomeCache biomeCache;
+    private final BiomeWeightCache biomeWeightCache;
+    private final ThreadLocal<BiomeWeightBlender<Biome>> biomeBlender;
 
     public TFCChunkGenerator(BiomeProvider biomeProvider, Supplier<DimensionSettings> settings, boolean flatBedrock, long seed)
     {
@@ -207,7 +155,19 @@ public class TFCChunkGenerator extends ChunkGenerator implements ITFCChunkGenera
         // Generators / Providers
         this.chunkDataProvider = new ChunkDataProvider(new ChunkDataGenerator(seed, seedGenerator, this.biomeProvider.getLayerSettings())); // Chunk data
         this.biomeProvider.setChunkDataProvider(chunkDataProvider); // Allow biomes to use the chunk data temperature / rainfall variation
-        this.biomeCache = ThreadLocal.withInitial(() -> new BiomeCache(8192, biomeProvider));
+        this.biomeCache = new BiomeCache(32768, biomeProvider);
+        this.biomeWeightCache = new BiomeWeightCache(1024, 16384);
+        this.biomeBlender = ThreadLocal.withInitial(() -> new BiomeWeightBlender<>(biomeWeightCache));
+    }
+
+    public BiomeCache getBiomeCache()
+    {
+        return biomeCache;
+    }
+
+    public BiomeWeightCache getBiomeWeightCache()
+    {
+        return biomeWeightCache;
     }
 
     @Override
@@ -253,14 +213,16 @@ public class TFCChunkGenerator extends ChunkGenerator implements ITFCChunkGenera
         {
             // In vanilla, air carvers fire first. We do water carvers first instead, to catch them with the water adjacency mask later
             // Pass in a null adjacency mask as liquid carvers do not need it
-            CarverHelpers.runCarversWithContext(worldSeed, chunk, biomeManager, settings, random, GenerationStage.Carving.LIQUID, airCarvingMask, liquidCarvingMask, rockData, null, getSeaLevel());
+            final CarverContext context = new CarverContext(worldSeed, airCarvingMask, liquidCarvingMask, rockData, null);
+            CarverHelpers.runCarversWithContext(context, chunk, biomeManager, settings, random, GenerationStage.Carving.LIQUID, getSeaLevel());
         }
         else
         {
             // During liquid carvers, we run air carvers instead.
             // Compute the adjacency mask here
             final BitSet waterAdjacencyMask = CarverHelpers.createWaterAdjacencyMask(chunk, getSeaLevel());
-            CarverHelpers.runCarversWithContext(worldSeed, chunk, biomeManager, settings, random, GenerationStage.Carving.AIR, airCarvingMask, liquidCarvingMask, rockData, waterAdjacencyMask, getSeaLevel());
+            final CarverContext context = new CarverContext(worldSeed, airCarvingMask, liquidCarvingMask, rockData, waterAdjacencyMask);
+            CarverHelpers.runCarversWithContext(context, chunk, biomeManager, settings, random, GenerationStage.Carving.AIR, getSeaLevel());
         }
     }
 
@@ -322,15 +284,14 @@ public class TFCChunkGenerator extends ChunkGenerator implements ITFCChunkGenera
         final double[] sampledHeightMap = new double[7 * 7];
         final int[] surfaceHeightMap = new int[16 * 16];
 
-        final BiomeCache localBiomeCache = biomeCache.get();
         final BiomeContainer biomeContainer = Objects.requireNonNull(chunk.getBiomes(), "Chunk has no biomes?");
-        final Sampler<Biome> biomeAccessor = (x, z) -> {
+        final BiomeWeightBlender.Sampler<Biome> biomeAccessor = (x, z) -> {
             // First check the local chunk, if not then fallback to the cache
             if ((x >> 4) == chunkPos.x && (z >> 4) == chunkPos.z)
             {
                 return biomeContainer.getNoiseBiome(x >> 2, 0, z >> 2);
             }
-            return localBiomeCache.get(x >> 2, z >> 2);
+            return biomeCache.get(x >> 2, z >> 2);
         };
         final Mutable<Biome> biome = new MutableObject<>();
 
@@ -340,8 +301,11 @@ public class TFCChunkGenerator extends ChunkGenerator implements ITFCChunkGenera
         final Heightmap oceanFloor = chunk.getOrCreateHeightmapUnprimed(Heightmap.Type.OCEAN_FLOOR_WG);
         final Heightmap worldSurface = chunk.getOrCreateHeightmapUnprimed(Heightmap.Type.WORLD_SURFACE_WG);
 
-        final Object2DoubleMap<Biome>[] biomeWeights = sampleBiomes(world, chunkPos, biomeAccessor);
-        final Object2DoubleMap<Biome> biomeWeight1 = new Object2DoubleOpenHashMap<>();
+        final BiomeWeightBlender<Biome> blender = biomeBlender.get();
+        blender.sample(chunkX, chunkZ, biomeAccessor);
+
+        final ChunkBiomes biomes = new ChunkBiomes(world, blender);
+        blender.blend(id -> biomes.variants[id].getGroup().ordinal(), BiomeVariants.Group.SIZE, id -> biomes.variants[id].getGroup() == BiomeVariants.Group.RIVER ? 1 : 0, 2);
 
         for (int x = 0; x < 16; x++)
         {
@@ -350,21 +314,10 @@ public class TFCChunkGenerator extends ChunkGenerator implements ITFCChunkGenera
                 final int x0 = chunkX + x;
                 final int z0 = chunkZ + z;
 
-                final int index4X = (x >> 2) + 1;
-                final int index4Z = (z >> 2) + 1;
-
-                final double lerpX = (x0 - ((x0 >> 2) << 2)) * (1 / 4d);
-                final double lerpZ = (z0 - ((z0 >> 2) << 2)) * (1 / 4d);
-
-                biomeWeight1.clear();
-                sampleBiomesCornerContribution(biomeWeight1, biomeWeights[index4X + index4Z * 7], (1 - lerpX) * (1 - lerpZ));
-                sampleBiomesCornerContribution(biomeWeight1, biomeWeights[(index4X + 1) + index4Z * 7], lerpX * (1 - lerpZ));
-                sampleBiomesCornerContribution(biomeWeight1, biomeWeights[index4X + (index4Z + 1) * 7], (1 - lerpX) * lerpZ);
-                sampleBiomesCornerContribution(biomeWeight1, biomeWeights[(index4X + 1) + (index4Z + 1) * 7], lerpX * lerpZ);
-
+                blender.column(biomes.weights, x, z);
                 biome.setValue(null);
 
-                final double actualHeight = fillColumn(world, chunk, biomeWeight1, x0, z0, worldSurface, oceanFloor, biome, airCarvingMask, liquidCarvingMask);
+                final double actualHeight = fillColumn(chunk, biomes, x0, z0, worldSurface, oceanFloor, biome, airCarvingMask, liquidCarvingMask);
 
                 // Record the local (accurate) biome.
                 localBiomes[x + 16 * z] = biome.getValue();
@@ -392,7 +345,8 @@ public class TFCChunkGenerator extends ChunkGenerator implements ITFCChunkGenera
             int x0 = chunkX + ((x - 1) << 2);
             int z0 = chunkZ + ((z - 1) << 2);
 
-            sampledHeightMap[x + 7 * z] = sampleHeightOnly(world, biomeWeights[x + z * 7], x0, z0);
+            blender.sampleWeights(biomes.weights, x, z);
+            sampledHeightMap[x + 7 * z] = sampleHeightOnly(biomes, x0, z0);
         }
 
         final double[] slopeMap = buildSlopeMap(sampledHeightMap);
@@ -447,120 +401,18 @@ public class TFCChunkGenerator extends ChunkGenerator implements ITFCChunkGenera
         return slope;
     }
 
-    protected Object2DoubleMap<Biome>[] sampleBiomes(IWorld world, ChunkPos pos, Sampler<Biome> biomeSampler)
-    {
-        // First, sample biomes at chunk distance, in a 4x4 grid centered on the target chunk.
-        // These are used to build the large-scale biome blending radius
-        Object2DoubleMap<Biome>[] biomeWeights16 = newWeightArray(4 * 4);
-
-        int chunkX = pos.getMinBlockX(), chunkZ = pos.getMinBlockZ();
-        for (int x = 0; x < 4; x++)
-        {
-            for (int z = 0; z < 4; z++)
-            {
-                Object2DoubleMap<Biome> map = newWeightMap();
-
-                for (int dx = 0; dx < 9; dx++)
-                {
-                    for (int dz = 0; dz < 9; dz++)
-                    {
-                        double weight = KERNEL_9x9[dx + dz * 9];
-                        int x0 = chunkX + ((x + dx - 4) << 4);
-                        int z0 = chunkZ + ((z + dz - 4) << 4);
-                        Biome biome = biomeSampler.get(x0, z0);
-                        map.mergeDouble(biome, weight, Double::sum);
-                    }
-                }
-
-                biomeWeights16[x | (z << 2)] = map;
-            }
-        }
-
-        Object2DoubleMap<Biome>[] biomeWeights1 = newWeightArray(7 * 7);
-        Object2DoubleMap<Biome> biomeWeight16 = newWeightMap(), biomeWeight4 = newWeightMap();
-
-        for (int x = 0; x < 7; x++)
-        {
-            for (int z = 0; z < 7; z++)
-            {
-                biomeWeight4.clear();
-
-                for (int dx = 0; dx < 9; dx++)
-                {
-                    for (int dz = 0; dz < 9; dz++)
-                    {
-                        double weight = KERNEL_9x9[dx + dz * 9];
-                        int x0 = chunkX + ((x + dx - 1) << 2);
-                        int z0 = chunkZ + ((z + dz - 1) << 2);
-                        Biome biome = biomeSampler.get(x0, z0);
-                        biomeWeight4.mergeDouble(biome, weight, Double::sum);
-                    }
-                }
-
-                biomeWeight16.clear();
-
-                // Contribution from four corners
-                int x1 = chunkX + ((x - 1) << 2);
-                int z1 = chunkZ + ((z - 1) << 2);
-
-                int coordX = x1 >> 4;
-                int coordZ = z1 >> 4;
-
-                double lerpX = (x1 - (coordX << 4)) * (1 / 16d);
-                double lerpZ = (z1 - (coordZ << 4)) * (1 / 16d);
-
-                int index16X = ((x1 - chunkX) >> 4) + 1;
-                int index16Z = ((z1 - chunkZ) >> 4) + 1;
-
-                sampleBiomesCornerContribution(biomeWeight16, biomeWeights16[index16X | (index16Z << 2)], (1 - lerpX) * (1 - lerpZ));
-                sampleBiomesCornerContribution(biomeWeight16, biomeWeights16[(index16X + 1) | (index16Z << 2)], lerpX * (1 - lerpZ));
-                sampleBiomesCornerContribution(biomeWeight16, biomeWeights16[index16X | ((index16Z + 1) << 2)], (1 - lerpX) * lerpZ);
-                sampleBiomesCornerContribution(biomeWeight16, biomeWeights16[(index16X + 1) | ((index16Z + 1) << 2)], lerpX * lerpZ);
-
-                composeSampleWeights(biomeWeight4, biomeWeight16, biome -> {
-                    BiomeVariants.Group group = TFCBiomes.getExtensionOrThrow(world, biome).getVariants().getGroup();
-                    return group.ordinal();
-                }, BiomeVariants.Group.SIZE);
-
-                Object2DoubleMap<Biome> biomeWeight1 = newWeightMap();
-
-                for (int dx = 0; dx < 5; dx++)
-                {
-                    for (int dz = 0; dz < 5; dz++)
-                    {
-                        double weight = KERNEL_5x5[dx + dz * 5];
-                        int x0 = chunkX + ((x + dx - 1) << 2);
-                        int z0 = chunkZ + ((z + dz - 1) << 2);
-                        Biome biome = biomeSampler.get(x0, z0);
-                        biomeWeight1.mergeDouble(biome, weight, Double::sum);
-                    }
-                }
-
-                composeSampleWeights(biomeWeight1, biomeWeight4, biome -> {
-                    BiomeVariants.Group group = TFCBiomes.getExtensionOrThrow(world, biome).getVariants().getGroup();
-                    return group == BiomeVariants.Group.RIVER ? 1 : 0;
-                }, 2);
-
-                biomeWeights1[x + 7 * z] = biomeWeight1;
-            }
-        }
-
-        return biomeWeights1;
-    }
-
     /**
      * Fills a column of blocks.
      * 1. Applies river and shore transformations, using the provided biome weights, to the initial height map
-     * 2. Builds a map of {@link IBiomeNoiseSampler}s for each biome, accumulating their weights
+     * 2. Samples a {@link IBiomeNoiseSampler.Column} for each biome, accumulating their weights
      * 3. Identifies the highest weight biome at this location.
      * 4. Fills the rest of the column, using influences from the 3D noise samplers
      * 5. Marks carving masks and heightmaps appropriately
      *
-     * For a lightweight version of this function, see {@link TFCChunkGenerator#sampleHeightOnly(IWorld, Object2DoubleMap, int, int)}
+     * For a lightweight version of this function, see {@link TFCChunkGenerator#sampleHeightOnly(ChunkBiomes, int, int)}
      *
-     * @param world         The world, used to query {@link BiomeVariants}
      * @param chunk         The chunk
-     * @param biomeWeights  A map of the weights of biomes at this location
+     * @param biomes        The biomes around this chunk, with the weights of each biome at this location
      * @param x             Absolute x position
      * @param z             Absolute z position
      * @param worldSurface  The {@link Heightmap.Type#WORLD_SURFACE_WG} heightmap
@@ -570,31 +422,26 @@ public class TFCChunkGenerator extends ChunkGenerator implements ITFCChunkGenera
      * @param liquidCarving The liquid carving mask
      * @return The actual height of the location, before noise sampling is taken into account.
      */
-    private double fillColumn(IWorld world, ChunkPrimer chunk, Object2DoubleMap<Biome> biomeWeights, int x, int z, Heightmap worldSurface, Heightmap oceanFloor, Mutable<Biome> biome, BitSet airCarving, BitSet liquidCarving)
+    private double fillColumn(ChunkPrimer chunk, ChunkBiomes biomes, int x, int z, Heightmap worldSurface, Heightmap oceanFloor, Mutable<Biome> biome, BitSet airCarving, BitSet liquidCarving)
     {
         double totalHeight = 0, riverHeight = 0, shoreHeight = 0;
         double riverWeight = 0, shoreWeight = 0;
         Biome biomeAt = null, normalBiomeAt = null, riverBiomeAt = null, shoreBiomeAt = null;
         double maxNormalWeight = 0, maxRiverWeight = 0, maxShoreWeight = 0;
 
-        Object2DoubleMap<IBiomeNoiseSampler> biomeSamplers = newWeightMap();
-        for (Object2DoubleMap.Entry<Biome> entry : biomeWeights.object2DoubleEntrySet())
+        biomes.clearColumns();
+        for (int id = 0; id < biomes.size; id++)
         {
-            double weight = entry.getDoubleValue();
-            BiomeVariants variants = TFCBiomes.getExtensionOrThrow(world, entry.getKey()).getVariants();
-            IBiomeNoiseSampler sampler = biomeHeightNoise.get(variants);
-
-            if (biomeSamplers.containsKey(sampler))
+            double weight = biomes.weights[id];
+            if (weight <= 0)
             {
-                biomeSamplers.mergeDouble(sampler, weight, Double::sum);
-            }
-            else
-            {
-                sampler.setColumn(x, z);
-                biomeSamplers.put(sampler, weight);
+                continue;
             }
 
-            double height = weight * sampler.height();
+            BiomeVariants variants = biomes.variants[id];
+            IBiomeNoiseSampler.Column column = biomes.column(id, weight, x, z);
+
+            double height = weight * column.height();
             totalHeight += height;
             if (variants == TFCBiomes.RIVER)
             {
@@ -602,7 +449,7 @@ public class TFCChunkGenerator extends ChunkGenerator implements ITFCChunkGenera
                 riverWeight += weight;
                 if (maxRiverWeight < weight)
                 {
-                    riverBiomeAt = entry.getKey();
+                    riverBiomeAt = biomes.biomes[id];
                     maxRiverWeight = weight;
                 }
             }
@@ -612,13 +459,13 @@ public class TFCChunkGenerator extends ChunkGenerator implements ITFCChunkGenera
                 shoreWeight += weight;
                 if (maxShoreWeight < weight)
                 {
-                    shoreBiomeAt = entry.getKey();
+                    shoreBiomeAt = biomes.biomes[id];
                     maxShoreWeight = weight;
                 }
             }
             else if (maxNormalWeight < weight)
             {
-                normalBiomeAt = entry.getKey();
+                normalBiomeAt = biomes.biomes[id];
                 maxNormalWeight = weight;
             }
         }
@@ -695,9 +542,9 @@ public class TFCChunkGenerator extends ChunkGenerator implements ITFCChunkGenera
 
                 // Compute noise for this y level
                 double noise = 0;
-                for (Object2DoubleMap.Entry<IBiomeNoiseSampler> entry : biomeSamplers.object2DoubleEntrySet())
+                for (int i = 0; i < biomes.columnCount; i++)
                 {
-                    noise += entry.getKey().noise(y) * entry.getDoubleValue();
+                    noise += biomes.columns[i].noise(y) * biomes.columnWeights[i];
                 }
 
                 if (noise < 0.4 && y < actualHeight) // Solid
@@ -744,33 +591,28 @@ public class TFCChunkGenerator extends ChunkGenerator implements ITFCChunkGenera
     }
 
     /**
-     * This is a simplification of {@link TFCChunkGenerator#fillColumn(IWorld, ChunkPrimer, Object2DoubleMap, int, int, Heightmap, Heightmap, Mutable)} that is adapted to just sample the height, while ignoring any unnecessary computation.
+     * This is a simplification of {@link TFCChunkGenerator#fillColumn(ChunkPrimer, ChunkBiomes, int, int, Heightmap, Heightmap, Mutable, BitSet, BitSet)} that is adapted to just sample the height, while ignoring any unnecessary computation.
      * It is used for derivative sampling outside of the target chunk, where only the height is desired.
      */
-    private double sampleHeightOnly(IWorld world, Object2DoubleMap<Biome> biomeWeights, int x, int z)
+    private double sampleHeightOnly(ChunkBiomes biomes, int x, int z)
     {
         double totalHeight = 0, riverHeight = 0, shoreHeight = 0;
         double riverWeight = 0, shoreWeight = 0;
         Biome normalBiomeAt = null, riverBiomeAt = null, shoreBiomeAt = null;
         double maxNormalWeight = 0, maxRiverWeight = 0, maxShoreWeight = 0;
-        Object2DoubleMap<IBiomeNoiseSampler> biomeSamplers = newWeightMap();
-        for (Object2DoubleMap.Entry<Biome> entry : biomeWeights.object2DoubleEntrySet())
+        biomes.clearColumns();
+        for (int id = 0; id < biomes.size; id++)
         {
-            double weight = entry.getDoubleValue();
-            BiomeVariants variants = TFCBiomes.getExtensionOrThrow(world, entry.getKey()).getVariants();
-            IBiomeNoiseSampler sampler = biomeHeightNoise.get(variants);
-
-            if (biomeSamplers.containsKey(sampler))
+            double weight = biomes.weights[id];
+            if (weight <= 0)
             {
-                biomeSamplers.mergeDouble(sampler, weight, Double::sum);
-            }
-            else
-            {
-                sampler.setColumn(x, z);
-                biomeSamplers.put(sampler, weight);
+                continue;
             }
 
-            double height = weight * sampler.height();
+            BiomeVariants variants = biomes.variants[id];
+            IBiomeNoiseSampler.Column column = biomes.column(id, weight, x, z);
+
+            double height = weight * column.height();
             totalHeight += height;
             if (variants == TFCBiomes.RIVER)
             {
@@ -778,7 +620,7 @@ public class TFCChunkGenerator extends ChunkGenerator implements ITFCChunkGenera
                 riverWeight += weight;
                 if (maxRiverWeight < weight)
                 {
-                    riverBiomeAt = entry.getKey();
+                    riverBiomeAt = biomes.biomes[id];
                     maxRiverWeight = weight;
                 }
             }
@@ -788,13 +630,13 @@ public class TFCChunkGenerator extends ChunkGenerator implements ITFCChunkGenera
                 shoreWeight += weight;
                 if (maxShoreWeight < weight)
                 {
-                    shoreBiomeAt = entry.getKey();
+                    shoreBiomeAt = biomes.biomes[id];
                     maxShoreWeight = weight;
                 }
             }
             else if (maxNormalWeight < weight)
             {
-                normalBiomeAt = entry.getKey();
+                normalBiomeAt = biomes.biomes[id];
                 maxNormalWeight = weight;
             }
         }
@@ -895,17 +737,6 @@ public class TFCChunkGenerator extends ChunkGenerator implements ITFCChunkGenera
         }
     }
 
-    private void sampleBiomesCornerContribution(Object2DoubleMap<Biome> accumulator, Object2DoubleMap<Biome> corner, double t)
-    {
-        if (t > 0)
-        {
-            for (Object2DoubleMap.Entry<Biome> entry : corner.object2DoubleEntrySet())
-            {
-                accumulator.mergeDouble(entry.getKey(), entry.getDoubleValue() * t, Double::sum);
-            }
-        }
-    }
-
     /**
      * Builds a 6x6, 4x4 resolution slope map for a chunk
      * This is enough to do basic linear interpolation for every point within the chunk.
@@ -935,19 +766,68 @@ public class TFCChunkGenerator extends ChunkGenerator implements ITFCChunkGenera
         return slopeMap;
     }
 
-    private <T> Object2DoubleMap<T> newWeightMap()
+    /**
+     * The biomes present in a single chunk's {@link BiomeWeightBlender} palette, along with their variants and noise samplers, indexed by palette id.
+     * This also holds the sampled noise columns for the column currently being filled, where biomes that share a noise sampler share a single column.
+     */
+    private final class ChunkBiomes
     {
-        return new Object2DoubleOpenHashMap<>(); // This is just for my own curiosity, it can be inlined later.
-    }
+        final int size;
+        final Biome[] biomes;
+        final BiomeVariants[] variants;
+        final IBiomeNoiseSampler[] samplers;
+        final double[] weights; // The weights at the current column, indexed by palette id
+
+        final IBiomeNoiseSampler[] columnSamplers;
+        final IBiomeNoiseSampler.Column[] columns;
+        final double[] columnWeights;
+        int columnCount;
+
+        ChunkBiomes(IWorld world, BiomeWeightBlender<Biome> blender)
+        {
+            size = blender.size();
+            biomes = new Biome[size];
+            variants = new BiomeVariants[size];
+            samplers = new IBiomeNoiseSampler[size];
+            weights = new double[size];
+            for (int id = 0; id < size; id++)
+            {
+                biomes[id] = blender.get(id);
+                variants[id] = TFCBiomes.getExtensionOrThrow(world, biomes[id]).getVariants();
+                samplers[id] = biomeHeightNoise.get(variants[id]);
+            }
 
-    @SuppressWarnings("unchecked")
-    private <T> Object2DoubleMap<T>[] newWeightArray(int size)
-    {
-        return (Object2DoubleMap<T>[]) new Object2DoubleMap[size]; // Avoid generic array warnings / errors
-    }
+            columnSamplers = new IBiomeNoiseSampler[size];
+            columns = new IBiomeNoiseSampler.Column[size];
+            columnWeights = new double[size];
+        }
 
-    private interface Sampler<T>
-    {
-        T get(int x, int z);
+        void clearColumns()
+        {
+            columnCount = 0;
+        }
+
+        /**
+         * Samples the noise column for a biome at the current position, accumulating the weight of biomes which share the same sampler.
+         */
+        IBiomeNoiseSampler.Column column(int id, double weight, int x, int z)
+        {
+            final IBiomeNoiseSampler sampler = samplers[id];
+            for (int i = 0; i < columnCount; i++)
+            {
+                if (columnSamplers[i] == sampler)
+                {
+                    columnWeights[i] += weight;
+                    return columns[i];
+                }
+            }
+
+            final IBiomeNoiseSampler.Column column = sampler.column(x, z);
+            columnSamplers[columnCount] = sampler;
+            columns[columnCount] = column;
+            columnWeights[columnCount] = weight;
+            columnCount++;
+            return column;
+        }
     }
-}
\ No newline at end of file
+}
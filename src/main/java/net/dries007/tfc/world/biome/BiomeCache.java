@@ -20,7 +20,7 @@
 
 package net.dries007.tfc.world.biome;
 
-import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
 
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.util.math.MathHelper;
@@ -29,40 +29,66 @@ import net.minecraft.world.biome.BiomeManager;
 
 import it.unimi.dsi.fastutil.HashCommon;
 
+/**
+ * A direct mapped cache of biomes at quart positions.
+ * This is safe to share between threads: each slot holds an immutable entry, so a racing read will either see a complete entry, or miss.
+ */
 public class BiomeCache
 {
-    private final long[] keys;
-    private final Biome[] values;
+    private final Entry[] entries;
 
     private final int mask;
     private final BiomeManager.IBiomeReader source;
 
+    private final LongAdder hits = new LongAdder(), misses = new LongAdder();
+
     public BiomeCache(int size, BiomeManager.IBiomeReader source)
     {
         size = MathHelper.smallestEncompassingPowerOfTwo(size);
 
         this.source = source;
         this.mask = size - 1;
-        this.keys = new long[size];
-        this.values = new Biome[size];
-
-        Arrays.fill(this.keys, Long.MIN_VALUE);
+        this.entries = new Entry[size];
     }
 
     public Biome get(int x, int z)
     {
         final long key = ChunkPos.asLong(x, z);
         final int index = (int) HashCommon.mix(key) & mask;
-        if (keys[index] == key)
+        final Entry entry = entries[index];
+        if (entry != null && entry.key == key)
         {
-            return values[index];
+            hits.increment();
+            return entry.value;
         }
         else
         {
+            misses.increment();
             final Biome value = source.getNoiseBiome(x, 0, z);
-            values[index] = value;
-            keys[index] = key;
+            entries[index] = new Entry(key, value);
             return value;
         }
     }
+
+    public long getHits()
+    {
+        return hits.sum();
+    }
+
+    public long getMisses()
+    {
+        return misses.sum();
+    }
+
+    static final class Entry
+    {
+        final long key;
+        final Biome value;
+
+        Entry(long key, Biome value)
+        {
+            this.key = key;
+            this.value = value;
+        }
+    }
 }
@@ -79,48 +79,40 @@ public final class BiomeNoise
         Noise2D riverHeight = new OpenSimplex2D(seed).octaves(4).spread(0.2f).scaled(SEA_LEVEL - 11, SEA_LEVEL - 5);
         Noise3D cliffNoise = new OpenSimplex3D(seed).octaves(2).spread(0.1f).scaled(0, 3);
 
-        return new IBiomeNoiseSampler()
-        {
-            private double height;
-            private int x, z;
-
-            @Override
-            public void setColumn(int x, int z)
-            {
-                height = riverHeight.noise(x, z);
-                this.x = x;
-                this.z = z;
-            }
-
-            @Override
-            public double height()
-            {
-                return height;
-            }
-
-            @Override
-            public double noise(int y)
+        return (x, z) -> {
+            final double height = riverHeight.noise(x, z);
+            return new IBiomeNoiseSampler.Column()
             {
-                if (y > SEA_LEVEL + 20)
-                {
-                    return FULL;
-                }
-                else if (y > SEA_LEVEL + 10)
+                @Override
+                public double height()
                 {
-                    double easing = 1 - (y - SEA_LEVEL - 10) / 10f;
-                    return easing * cliffNoise.noise(x, y, z);
+                    return height;
                 }
-                else if (y > SEA_LEVEL)
-                {
-                    return cliffNoise.noise(x, y, z);
-                }
-                else if (y > SEA_LEVEL - 8)
+
+                @Override
+                public double noise(int y)
                 {
-                    double easing = (y - SEA_LEVEL + 8) / 8d;
-                    return easing * cliffNoise.noise(x, y, z);
+                    if (y > SEA_LEVEL + 20)
+                    {
+                        return IBiomeNoiseSampler.FULL;
+                    }
+                    else if (y > SEA_LEVEL + 10)
+                    {
+                        double easing = 1 - (y - SEA_LEVEL - 10) / 10f;
+                        return easing * cliffNoise.noise(x, y, z);
+                    }
+                    else if (y > SEA_LEVEL)
+                    {
+                        return cliffNoise.noise(x, y, z);
+                    }
+                    else if (y > SEA_LEVEL - 8)
+                    {
+                        double easing = (y - SEA_LEVEL + 8) / 8d;
+                        return easing * cliffNoise.noise(x, y, z);
+                    }
+                    return IBiomeNoiseSampler.FULL;
                 }
-                return FULL;
-            }
+            };
         };
     }
 
@@ -215,8 +207,13 @@ public final class BiomeNoise
         final float volcanoChance = 1f / frequency;
 
         return (x, z) -> {
-            final float value = volcanoNoise.noise(x, z);
-            final float distance = volcanoNoise.f1();
+            final float value, distance;
+            synchronized (volcanoNoise)
+            {
+                // Cellular noise reports the distance via the last sampled value, so the pair of calls must not be interleaved with other threads
+                value = volcanoNoise.noise(x, z);
+                distance = volcanoNoise.f1();
+            }
             final float baseHeight = baseNoise.noise(x, z);
             final float t = VolcanoNoise.calculateEasing(distance);
             if (value < volcanoChance && t > 0)
@@ -243,33 +240,28 @@ public final class BiomeNoise
         final Noise2D depthNoise = new OpenSimplex2D(seed + 2).octaves(4).scaled(2, 18).spread(0.2f);
         final Noise2D centerNoise = new OpenSimplex2D(seed + 3).octaves(2).spread(0.06f).scaled(SEA_LEVEL - 4, SEA_LEVEL + 4);
 
-        return new IBiomeNoiseSampler()
-        {
-            private float surfaceHeight, center, height;
-
-            @Override
-            public void setColumn(int x, int z)
-            {
-                float h0 = MathHelper.clamp((0.7f - blobsNoise.noise(x, z)) * (1 / 0.3f), 0, 1);
-                float h1 = depthNoise.noise(x, z);
-
-                surfaceHeight = heightNoise.noise(x, z);
-                center = centerNoise.noise(x, z);
-                height = h0 * h1;
-            }
+        return (x, z) -> {
+            final float h0 = MathHelper.clamp((0.7f - blobsNoise.noise(x, z)) * (1 / 0.3f), 0, 1);
+            final float h1 = depthNoise.noise(x, z);
 
-            @Override
-            public double height()
+            final float surfaceHeight = heightNoise.noise(x, z);
+            final float center = centerNoise.noise(x, z);
+            final float height = h0 * h1;
+            return new IBiomeNoiseSampler.Column()
             {
-                return surfaceHeight;
-            }
+                @Override
+                public double height()
+                {
+                    return surfaceHeight;
+                }
 
-            @Override
-            public double noise(int y)
-            {
-                float delta = Math.abs(center - y);
-                return MathHelper.clamp(0.4f + 0.05f * (height - delta), 0, 1);
-            }
+                @Override
+                public double noise(int y)
+                {
+                    float delta = Math.abs(center - y);
+                    return MathHelper.clamp(0.4f + 0.05f * (height - delta), 0, 1);
+                }
+            };
         };
     }
 }
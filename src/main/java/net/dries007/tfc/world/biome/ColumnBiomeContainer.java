@@ -33,11 +33,19 @@ public class ColumnBiomeContainer extends BiomeContainer
             int biomeCoordX = chunkPosIn.getMinBlockX() >> 2;
             int biomeCoordZ = chunkPosIn.getMinBlockZ() >> 2;
 
+            // TFC biome providers can evaluate the whole chunk at once, indexed identically to the column index here
+            Biome[] columnBiomes = null;
+            if (biomeProviderIn instanceof TFCBiomeProvider)
+            {
+                columnBiomes = new Biome[1 << HORIZONTAL_BITS];
+                ((TFCBiomeProvider) biomeProviderIn).getNoiseBiomes(columnBiomes, chunkPosIn);
+            }
+
             for (int index = 0; index < (1 << HORIZONTAL_BITS); ++index)
             {
                 int x = index & HORIZONTAL_MASK;
                 int z = (index >> WIDTH_BITS) & HORIZONTAL_MASK;
-                Biome columnBiome = biomeProviderIn.getNoiseBiome(biomeCoordX + x, 0, biomeCoordZ + z);
+                Biome columnBiome = columnBiomes != null ? columnBiomes[index] : biomeProviderIn.getNoiseBiome(biomeCoordX + x, 0, biomeCoordZ + z);
                 for (int y = 0; y <= VERTICAL_MASK; y++)
                 {
                     biomes[index | (y << HORIZONTAL_BITS)] = columnBiome;
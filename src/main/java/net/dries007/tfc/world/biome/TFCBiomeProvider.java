@@ -142,7 +142,7 @@ public class TFCBiomeProvider extends BiomeProvider implements ITFCBiomeProvider
     {
         final ChunkPos chunkPos = new ChunkPos(biomeCoordX >> 2, biomeCoordZ >> 2);
         final BlockPos pos = chunkPos.getWorldPosition();
-        final ChunkData data = chunkDataProvider.get(chunkPos);
+        final ChunkData data = chunkDataProvider.getClimate(chunkPos);
 
         BiomeVariants variants;
         if (Debug.SINGLE_BIOME)
@@ -158,6 +158,37 @@ public class TFCBiomeProvider extends BiomeProvider implements ITFCBiomeProvider
             variants = biomeLayer.get(biomeCoordX, biomeCoordZ);
         }
 
+        return getBiome(variants, data, pos);
+    }
+
+    /**
+     * Gets all biomes for a single chunk, in biome coordinates, into {@code out}, indexed by {@code x + 4 * z}.
+     * This is equivalent to {@link #getNoiseBiome(int, int, int)} for each position, but evaluates the biome layers as a single tile.
+     */
+    public void getNoiseBiomes(Biome[] out, ChunkPos chunkPos)
+    {
+        final int biomeCoordX = chunkPos.x << 2, biomeCoordZ = chunkPos.z << 2;
+        if (Debug.SINGLE_BIOME || Debug.STRIPE_BIOMES)
+        {
+            for (int i = 0; i < 16; i++)
+            {
+                out[i] = getNoiseBiome(biomeCoordX + (i & 3), 0, biomeCoordZ + (i >> 2));
+            }
+            return;
+        }
+
+        final BlockPos pos = chunkPos.getWorldPosition();
+        final ChunkData data = chunkDataProvider.getClimate(chunkPos);
+        final BiomeVariants[] variants = new BiomeVariants[16];
+        biomeLayer.get(variants, biomeCoordX, biomeCoordZ, 4, 4);
+        for (int i = 0; i < 16; i++)
+        {
+            out[i] = getBiome(variants[i], data, pos);
+        }
+    }
+
+    private Biome getBiome(BiomeVariants variants, ChunkData data, BlockPos pos)
+    {
         final BiomeTemperature temperature = Debug.ONLY_NORMAL_NORMAL_CLIMATES ? BiomeTemperature.NORMAL : calculateTemperature(data.getAverageTemp(pos));
         final BiomeRainfall rainfall = Debug.ONLY_NORMAL_NORMAL_CLIMATES ? BiomeRainfall.NORMAL : calculateRainfall(data.getRainfall(pos));
         final BiomeExtension extension = variants.get(temperature, rainfall);
@@ -87,7 +87,7 @@ public final class TFCBiomes
     public static final BiomeVariants PLATEAU_LAKE = register("plateau_lake", builder().heightmap(seed -> BiomeNoise.hills(seed, 20, 30)).carving(BiomeNoise::undergroundLakes).group(BiomeVariants.Group.LAKE).types(BiomeDictionary.Type.PLATEAU, BiomeDictionary.Type.RIVER));
 
 
-    private static final Map<Biome, BiomeExtension> CACHED_EXTENSIONS = new FiniteLinkedHashMap<>(16); // Faster route from biome -> extension
+    private static final Map<Biome, BiomeExtension> CACHED_EXTENSIONS = Collections.synchronizedMap(new FiniteLinkedHashMap<>(16)); // Faster route from biome -> extension. Synchronized as this is queried from all world generation threads
 
     public static BiomeExtension getExtensionOrThrow(IWorld world, Biome biome)
     {
@@ -9,25 +9,23 @@ package net.dries007.tfc.world.carver;
 import java.util.BitSet;
 import java.util.Objects;
 import java.util.Random;
-import javax.annotation.Nullable;
 
 import net.minecraft.block.BlockState;
 import net.minecraft.block.Blocks;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.chunk.IChunk;
 
-import net.dries007.tfc.world.chunkdata.RockData;
-
 /**
  * Common logic for air block carvers
  */
 public class AirBlockCarver extends BlockCarver
 {
-    private BitSet waterAdjacencyMask;
-
     @Override
-    public boolean carve(IChunk chunk, BlockPos pos, Random random, int seaLevel)
+    public boolean carve(CarverContext context, IChunk chunk, BlockPos pos, Random random, int seaLevel)
     {
+        final BitSet airCarvingMask = context.getAirCarvingMask(), liquidCarvingMask = context.getLiquidCarvingMask();
+        final BitSet waterAdjacencyMask = Objects.requireNonNull(context.getWaterAdjacencyMask(), "Air block carver was supplied with a null waterAdjacencyMask - this is not allowed!");
+
         // First, check if the location has already been carved by the current carving mask
         final int maskIndex = CarverHelpers.maskIndex(pos);
         if (!liquidCarvingMask.get(maskIndex) && !airCarvingMask.get(maskIndex))
@@ -51,7 +49,7 @@ public class AirBlockCarver extends BlockCarver
 
                 // Support adjacent blocks
                 // Adjust above and below blocks
-                setSupported(chunk, posUp, stateAbove, rockData);
+                setSupported(chunk, posUp, stateAbove, context.getRockData());
 
                 // Check below state for replacements
                 BlockPos posDown = pos.below();
@@ -66,11 +64,4 @@ public class AirBlockCarver extends BlockCarver
         }
         return false;
     }
-
-    @Override
-    public void setContext(long worldSeed, BitSet airCarvingMask, BitSet liquidCarvingMask, RockData rockData, @Nullable BitSet waterAdjacencyMask)
-    {
-        this.waterAdjacencyMask = Objects.requireNonNull(waterAdjacencyMask, "Air block carver was supplied with a null waterAdjacencyMask - this is not allowed!");
-        super.setContext(worldSeed, airCarvingMask, liquidCarvingMask, rockData, waterAdjacencyMask);
-    }
 }
\ No newline at end of file
@@ -7,7 +7,6 @@
 package net.dries007.tfc.world.carver;
 
 import java.util.*;
-import javax.annotation.Nullable;
 
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
@@ -24,17 +23,13 @@ import net.dries007.tfc.world.chunkdata.RockData;
 
 /**
  * A common class for single block carving logic
- * Holds context not provided by vanilla methods for carving
+ * Context not provided by vanilla methods for carving is passed in with each call, as block carvers are shared between concurrently carved chunks
  */
-public abstract class BlockCarver implements IContextCarver
+public abstract class BlockCarver
 {
     protected final Set<Block> carvableBlocks;
     protected final Map<Block, Block> exposedBlockReplacements;
 
-    protected BitSet airCarvingMask;
-    protected BitSet liquidCarvingMask;
-    protected RockData rockData;
-
     public BlockCarver()
     {
         carvableBlocks = new HashSet<>();
@@ -46,15 +41,7 @@ public abstract class BlockCarver implements IContextCarver
         reload();
     }
 
-    public abstract boolean carve(IChunk chunk, BlockPos pos, Random random, int seaLevel);
-
-    @Override
-    public void setContext(long worldSeed, BitSet airCarvingMask, BitSet liquidCarvingMask, RockData rockData, @Nullable BitSet waterAdjacencyMask)
-    {
-        this.airCarvingMask = airCarvingMask;
-        this.liquidCarvingMask = liquidCarvingMask;
-        this.rockData = rockData;
-    }
+    public abstract boolean carve(CarverContext context, IChunk chunk, BlockPos pos, Random random, int seaLevel);
 
     protected void reload()
     {
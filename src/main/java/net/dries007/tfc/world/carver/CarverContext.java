@@ -0,0 +1,70 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world.carver;
+
+import java.util.BitSet;
+import javax.annotation.Nullable;
+
+import net.minecraft.world.gen.GenerationStage;
+
+import net.dries007.tfc.world.chunkdata.RockData;
+
+/**
+ * The additional context needed by {@link IContextCarver}s, for a single chunk.
+ * This is created per chunk and passed to each carver invocation, so carvers are free to carve different chunks concurrently.
+ */
+public final class CarverContext
+{
+    private final long worldSeed;
+    private final BitSet airCarvingMask;
+    private final BitSet liquidCarvingMask;
+    private final RockData rockData;
+    @Nullable private final BitSet waterAdjacencyMask;
+
+    /**
+     * @param waterAdjacencyMask The adjacency mask for nearby water. This should be null during liquid carving, and non-null during air carving.
+     */
+    public CarverContext(long worldSeed, BitSet airCarvingMask, BitSet liquidCarvingMask, RockData rockData, @Nullable BitSet waterAdjacencyMask)
+    {
+        this.worldSeed = worldSeed;
+        this.airCarvingMask = airCarvingMask;
+        this.liquidCarvingMask = liquidCarvingMask;
+        this.rockData = rockData;
+        this.waterAdjacencyMask = waterAdjacencyMask;
+    }
+
+    public long getWorldSeed()
+    {
+        return worldSeed;
+    }
+
+    public BitSet getAirCarvingMask()
+    {
+        return airCarvingMask;
+    }
+
+    public BitSet getLiquidCarvingMask()
+    {
+        return liquidCarvingMask;
+    }
+
+    public BitSet getCarvingMask(GenerationStage.Carving stage)
+    {
+        return stage == GenerationStage.Carving.AIR ? airCarvingMask : liquidCarvingMask;
+    }
+
+    public RockData getRockData()
+    {
+        return rockData;
+    }
+
+    @Nullable
+    public BitSet getWaterAdjacencyMask()
+    {
+        return waterAdjacencyMask;
+    }
+}
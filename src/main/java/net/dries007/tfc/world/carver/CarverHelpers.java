@@ -6,48 +6,76 @@
 
 package net.dries007.tfc.world.carver;
 
+import java.lang.ref.WeakReference;
 import java.util.BitSet;
 import java.util.List;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import javax.annotation.Nullable;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import net.minecraft.block.BlockState;
 import net.minecraft.tags.FluidTags;
 import net.minecraft.util.SharedSeedRandom;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.biome.Biome;
 import net.minecraft.world.biome.BiomeGenerationSettings;
 import net.minecraft.world.biome.BiomeManager;
+import net.minecraft.world.chunk.Chunk;
 import net.minecraft.world.chunk.ChunkPrimer;
 import net.minecraft.world.chunk.ChunkSection;
 import net.minecraft.world.chunk.IChunk;
 import net.minecraft.world.gen.GenerationStage;
 import net.minecraft.world.gen.carver.ConfiguredCarver;
+import net.minecraft.world.gen.carver.ICarverConfig;
 import net.minecraft.world.gen.carver.WorldCarver;
 
 import net.dries007.tfc.mixin.world.gen.carver.ConfiguredCarverAccessor;
-import net.dries007.tfc.world.chunkdata.RockData;
+import net.dries007.tfc.world.chunkdata.ChunkData;
+import net.dries007.tfc.world.chunkdata.ChunkDataCache;
 
 public final class CarverHelpers
 {
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    /**
+     * The last context created by {@link #createFallbackContext(IChunk, BitSet, int)} on each thread, as vanilla invokes each carver many times per chunk.
+     */
+    private static final ThreadLocal<FallbackContext> FALLBACK_CONTEXT = new ThreadLocal<>();
+    private static volatile boolean warnedMissingContext = false;
+
+    /**
+     * A carving mask layer (a single y level) is 16x16 bits, or four words, with each word holding four rows of 16 bits along x
+     */
+    private static final int WORDS_PER_LAYER = 4;
+    private static final long ROWS = 0x0001_0001_0001_0001L;
+
+    /**
+     * Computes a mask of all positions at or below sea level which are within a 5x3x5 region (horizontally adjacent, or below) of a water block.
+     * Water is collected into a mask, which is then dilated, see {@link #dilateWaterAdjacencyMask(long[], int)}
+     */
     public static BitSet createWaterAdjacencyMask(ChunkPrimer chunk, int seaLevel)
     {
-        final BitSet waterAdjacencyMask = new BitSet(16 * 16 * (1 + seaLevel));
-
-        // Sections
-        for (int sectionY = 0; sectionY < 16; sectionY++)
+        final long[] water = new long[WORDS_PER_LAYER * (1 + seaLevel)];
+        final ChunkSection[] sections = chunk.getSections();
+        for (int sectionY = 0; (sectionY << 4) <= seaLevel; sectionY++)
         {
-            final ChunkSection section = chunk.getOrCreateSection(sectionY);
+            final ChunkSection section = sections[sectionY];
+            if (section == Chunk.EMPTY_SECTION || section.isEmpty())
+            {
+                continue;
+            }
+
             for (int localY = 0; localY < 16; localY++)
             {
                 final int y = (sectionY << 4) | localY;
                 if (y > seaLevel)
                 {
-                    // Exit condition
-                    return waterAdjacencyMask;
+                    break;
                 }
 
-                // Positions within the section
                 for (int x = 0; x < 16; x++)
                 {
                     for (int z = 0; z < 16; z++)
@@ -55,29 +83,54 @@ public final class CarverHelpers
                         final BlockState state = section.getBlockState(x, localY, z);
                         if (state.getFluidState().is(FluidTags.WATER))
                         {
-                            // Update a region around the water block in the mask
-                            for (int xi = -2; xi <= 2; xi++)
-                            {
-                                for (int yi = -2; yi <= 0; yi++)
-                                {
-                                    for (int zi = -2; zi <= 2; zi++)
-                                    {
-                                        final int posX = x + xi;
-                                        final int posY = y + yi;
-                                        final int posZ = z + zi;
-                                        if (posX >> 4 == 0 && posZ >> 4 == 0 && posY >= 0 && posY <= seaLevel)
-                                        {
-                                            waterAdjacencyMask.set(posX | (posZ << 4) | (posY << 8));
-                                        }
-                                    }
-                                }
-                            }
+                            final int index = maskIndex(x, y, z);
+                            water[index >> 6] |= 1L << index;
                         }
                     }
                 }
             }
         }
-        throw new IllegalStateException("We should have exited earlier!");
+        return BitSet.valueOf(dilateWaterAdjacencyMask(water, seaLevel));
+    }
+
+    /**
+     * Dilates a mask of water blocks, laid out as the words of a carving mask up to and including sea level, into the water adjacency mask.
+     * A position is set if there is water within two blocks horizontally, and between zero and two blocks above, which is equivalent to stamping a 5x3x5 region below each water block.
+     * The dilation is separable, so it is done one axis at a time on whole words: x within each 16 bit row, z by shifting rows across the four words of each y layer, and y by combining layers.
+     */
+    public static long[] dilateWaterAdjacencyMask(long[] water, int seaLevel)
+    {
+        final int layers = 1 + seaLevel;
+        final long[] horizontal = new long[WORDS_PER_LAYER * layers];
+        final long[] mask = new long[WORDS_PER_LAYER * layers];
+
+        for (int y = 0; y < layers; y++)
+        {
+            final int offset = y * WORDS_PER_LAYER;
+            final long w0 = dilateX(water[offset]), w1 = dilateX(water[offset + 1]), w2 = dilateX(water[offset + 2]), w3 = dilateX(water[offset + 3]);
+
+            // Moving one row in z is a shift by 16 bits, which crosses words but never layers
+            horizontal[offset] = w0 | (w0 << 16) | (w0 << 32) | (w0 >>> 16) | (w1 << 48) | (w0 >>> 32) | (w1 << 32);
+            horizontal[offset + 1] = w1 | (w1 << 16) | (w0 >>> 48) | (w1 << 32) | (w0 >>> 32) | (w1 >>> 16) | (w2 << 48) | (w1 >>> 32) | (w2 << 32);
+            horizontal[offset + 2] = w2 | (w2 << 16) | (w1 >>> 48) | (w2 << 32) | (w1 >>> 32) | (w2 >>> 16) | (w3 << 48) | (w2 >>> 32) | (w3 << 32);
+            horizontal[offset + 3] = w3 | (w3 << 16) | (w2 >>> 48) | (w3 << 32) | (w2 >>> 32) | (w3 >>> 16) | (w3 >>> 32);
+        }
+
+        // Water marks the two layers below it
+        for (int i = 0; i < mask.length; i++)
+        {
+            long word = horizontal[i];
+            if (i + WORDS_PER_LAYER < mask.length)
+            {
+                word |= horizontal[i + WORDS_PER_LAYER];
+            }
+            if (i + 2 * WORDS_PER_LAYER < mask.length)
+            {
+                word |= horizontal[i + 2 * WORDS_PER_LAYER];
+            }
+            mask[i] = word;
+        }
+        return mask;
     }
 
     /**
@@ -93,20 +146,20 @@ public final class CarverHelpers
         return (x & 15) | ((z & 15) << 4) | (y << 8);
     }
 
-    public static void runCarversWithContext(long worldSeed, IChunk chunk, BiomeManager delegateBiomeManager, BiomeGenerationSettings biomeGenerationSettings, SharedSeedRandom random, GenerationStage.Carving stage, BitSet airCarvingMask, BitSet liquidCarvingMask, RockData rockData, @Nullable BitSet waterAdjacencyMask, int seaLevel)
+    public static void runCarversWithContext(CarverContext context, IChunk chunk, BiomeManager delegateBiomeManager, BiomeGenerationSettings biomeGenerationSettings, SharedSeedRandom random, GenerationStage.Carving stage, int seaLevel)
     {
-        final ChunkPos chunkPos = chunk.getPos();
-        final List<Supplier<ConfiguredCarver<?>>> carvers = biomeGenerationSettings.getCarvers(stage);
+        runCarversWithContext(context, chunk, delegateBiomeManager::getBiome, biomeGenerationSettings.getCarvers(stage), random, stage, seaLevel);
+    }
 
-        // Setup IContextCarvers
-        for (Supplier<ConfiguredCarver<?>> lazyCarver : carvers)
-        {
-            final WorldCarver<?> carver = ((ConfiguredCarverAccessor) lazyCarver.get()).accessor$getWorldCarver();
-            if (carver instanceof IContextCarver)
-            {
-                ((IContextCarver) carver).setContext(worldSeed, airCarvingMask, liquidCarvingMask, rockData, waterAdjacencyMask);
-            }
-        }
+    /**
+     * Runs carvers for a single chunk. {@link IContextCarver}s are passed the context with each invocation, so this is safe to call for different chunks concurrently.
+     */
+    @SuppressWarnings("unchecked")
+    public static void runCarversWithContext(CarverContext context, IChunk chunk, Function<BlockPos, Biome> biomePos, List<Supplier<ConfiguredCarver<?>>> carvers, SharedSeedRandom random, GenerationStage.Carving stage, int seaLevel)
+    {
+        final ChunkPos chunkPos = chunk.getPos();
+        final BitSet carvingMask = context.getCarvingMask(stage);
+        final long worldSeed = context.getWorldSeed();
 
         // Vanilla carving
         for (int x = chunkPos.x - 8; x <= chunkPos.x + 8; ++x)
@@ -121,11 +174,81 @@ public final class CarverHelpers
                     random.setLargeFeatureSeed(worldSeed + index, x, z);
                     if (carver.isStartChunk(random, x, z))
                     {
-                        carver.carve(chunk, delegateBiomeManager::getBiome, random, seaLevel, x, z, chunkPos.x, chunkPos.z, stage == GenerationStage.Carving.AIR ? airCarvingMask : liquidCarvingMask);
+                        final ConfiguredCarverAccessor accessor = (ConfiguredCarverAccessor) carver;
+                        final WorldCarver<?> worldCarver = accessor.accessor$getWorldCarver();
+                        if (worldCarver instanceof IContextCarver)
+                        {
+                            ((IContextCarver<ICarverConfig>) worldCarver).carve(context, chunk, biomePos, random, seaLevel, x, z, chunkPos.x, chunkPos.z, carvingMask, accessor.accessor$getConfig());
+                        }
+                        else
+                        {
+                            carver.carve(chunk, biomePos, random, seaLevel, x, z, chunkPos.x, chunkPos.z, carvingMask);
+                        }
                     }
                     index++;
                 }
             }
         }
     }
+
+    /**
+     * Creates a context for an {@link IContextCarver} which was invoked through the vanilla {@link WorldCarver#carve(IChunk, Function, java.util.Random, int, int, int, int, int, BitSet, ICarverConfig)}, by a chunk generator which does not respect {@link IContextCarver}.
+     * Rock data is taken from the world generation cache, and the water adjacency mask is computed from the chunk. The world seed is not available to vanilla carvers, so a fixed seed is used.
+     *
+     * @return The context, or {@code null} if the chunk is not a proto chunk or has no rock data, in which case the carver should not carve.
+     */
+    @Nullable
+    public static CarverContext createFallbackContext(IChunk chunk, BitSet carvingMask, int seaLevel)
+    {
+        final FallbackContext cached = FALLBACK_CONTEXT.get();
+        if (cached != null && cached.chunk.get() == chunk && cached.carvingMask == carvingMask)
+        {
+            return cached.context;
+        }
+
+        final ChunkData data = ChunkDataCache.WORLD_GEN.get(chunk.getPos());
+        if (!(chunk instanceof ChunkPrimer) || data == null || data.getRockData() == null)
+        {
+            if (!warnedMissingContext)
+            {
+                warnedMissingContext = true;
+                LOGGER.warn("TFC carvers were invoked without a context, and no rock data was found for chunk {}. These carvers will not carve. Use a chunk generator which supports IContextCarver.", chunk.getPos());
+            }
+            return null;
+        }
+
+        final ChunkPrimer primer = (ChunkPrimer) chunk;
+        final BitSet airCarvingMask = primer.getOrCreateCarvingMask(GenerationStage.Carving.AIR);
+        final BitSet liquidCarvingMask = primer.getOrCreateCarvingMask(GenerationStage.Carving.LIQUID);
+        final BitSet waterAdjacencyMask = carvingMask == liquidCarvingMask ? null : createWaterAdjacencyMask(primer, seaLevel); // Only air carvers need the adjacency mask
+        final CarverContext context = new CarverContext(0, airCarvingMask, liquidCarvingMask, data.getRockData(), waterAdjacencyMask);
+        FALLBACK_CONTEXT.set(new FallbackContext(chunk, carvingMask, context));
+        return context;
+    }
+
+    /**
+     * Dilates each 16 bit row of a word by two bits in both directions, without carrying bits into adjacent rows.
+     */
+    private static long dilateX(long word)
+    {
+        return word
+            | ((word << 1) & (0xFFFEL * ROWS))
+            | ((word << 2) & (0xFFFCL * ROWS))
+            | ((word >>> 1) & (0x7FFFL * ROWS))
+            | ((word >>> 2) & (0x3FFFL * ROWS));
+    }
+
+    static final class FallbackContext
+    {
+        final WeakReference<IChunk> chunk; // Don't keep the chunk alive after it has been generated
+        final BitSet carvingMask;
+        final CarverContext context;
+
+        FallbackContext(IChunk chunk, BitSet carvingMask, CarverContext context)
+        {
+            this.chunk = new WeakReference<>(chunk);
+            this.carvingMask = carvingMask;
+            this.context = context;
+        }
+    }
 }
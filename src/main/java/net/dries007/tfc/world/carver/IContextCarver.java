@@ -7,18 +7,20 @@
 package net.dries007.tfc.world.carver;
 
 import java.util.BitSet;
-import javax.annotation.Nullable;
+import java.util.Random;
+import java.util.function.Function;
 
-import net.dries007.tfc.world.chunkdata.RockData;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.biome.Biome;
+import net.minecraft.world.chunk.IChunk;
+import net.minecraft.world.gen.carver.ICarverConfig;
 
 /**
- * Marker interface for carvers which need additional context
- * Carvers may require this to be called (and thus require TFC-compatible chunk generators) or throw errors upon generation.
+ * Interface for carvers which need additional context
+ * TFC chunk generators call this instead of {@link net.minecraft.world.gen.carver.WorldCarver#carve(IChunk, Function, Random, int, int, int, int, int, BitSet, ICarverConfig)}. Implementations should still support the vanilla method, by creating a context with {@link CarverHelpers#createFallbackContext(IChunk, BitSet, int)}, which is slower and only works for chunks with TFC chunk data.
+ * The context is passed per invocation, and implementations must not hold onto it, as a single carver is shared between all chunks which are being carved concurrently.
  */
-public interface IContextCarver
+public interface IContextCarver<C extends ICarverConfig>
 {
-    /**
-     * @param waterAdjacencyMask The adjacency mask for nearby water. This should be null during air carving, and non-null during liquid carving.
-     */
-    void setContext(long worldSeed, BitSet airCarvingMask, BitSet liquidCarvingMask, RockData rockData, @Nullable BitSet waterAdjacencyMask);
+    boolean carve(CarverContext context, IChunk chunk, Function<BlockPos, Biome> biomePos, Random random, int seaLevel, int chunkXOffset, int chunkZOffset, int chunkX, int chunkZ, BitSet carvingMask, C config);
 }
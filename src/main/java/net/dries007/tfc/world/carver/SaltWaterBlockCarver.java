@@ -6,6 +6,7 @@
 
 package net.dries007.tfc.world.carver;
 
+import java.util.BitSet;
 import java.util.Random;
 
 import net.minecraft.block.BlockState;
@@ -23,8 +24,9 @@ public class SaltWaterBlockCarver extends BlockCarver
 {
     @Override
     @SuppressWarnings("deprecation")
-    public boolean carve(IChunk chunk, BlockPos pos, Random random, int seaLevel)
+    public boolean carve(CarverContext context, IChunk chunk, BlockPos pos, Random random, int seaLevel)
     {
+        final BitSet airCarvingMask = context.getAirCarvingMask(), liquidCarvingMask = context.getLiquidCarvingMask();
         final int maskIndex = CarverHelpers.maskIndex(pos);
         if (!liquidCarvingMask.get(maskIndex) && !airCarvingMask.get(maskIndex))
         {
@@ -86,7 +88,7 @@ public class SaltWaterBlockCarver extends BlockCarver
                     }
                 }
 
-                setSupported(chunk, posUp, stateAbove, rockData);
+                setSupported(chunk, posUp, stateAbove, context.getRockData());
                 return true;
             }
         }
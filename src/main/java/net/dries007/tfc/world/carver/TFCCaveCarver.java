@@ -9,7 +9,6 @@ package net.dries007.tfc.world.carver;
 import java.util.BitSet;
 import java.util.Random;
 import java.util.function.Function;
-import javax.annotation.Nullable;
 
 import org.apache.commons.lang3.mutable.MutableBoolean;
 import net.minecraft.util.math.BlockPos;
@@ -19,35 +18,44 @@ import net.minecraft.world.gen.carver.CaveWorldCarver;
 import net.minecraft.world.gen.feature.ProbabilityConfig;
 
 import com.mojang.serialization.Codec;
-import net.dries007.tfc.world.chunkdata.RockData;
 
-public class TFCCaveCarver extends CaveWorldCarver implements IContextCarver
+public class TFCCaveCarver extends CaveWorldCarver implements IContextCarver<ProbabilityConfig>
 {
-    private final AirBlockCarver blockCarver;
-    private boolean initialized;
+    private final BlockCarver blockCarver;
+    private final ThreadLocal<CarverContext> context; // Vanilla carving methods can't pass the context through, so it's held per thread for the duration of a single carve
 
     public TFCCaveCarver(Codec<ProbabilityConfig> codec)
+    {
+        this(codec, new AirBlockCarver());
+    }
+
+    TFCCaveCarver(Codec<ProbabilityConfig> codec, BlockCarver blockCarver)
     {
         super(codec, 256);
-        blockCarver = new AirBlockCarver();
-        initialized = false;
+        this.blockCarver = blockCarver;
+        context = new ThreadLocal<>();
     }
 
     @Override
-    public void setContext(long worldSeed, BitSet airCarvingMask, BitSet liquidCarvingMask, RockData rockData, @Nullable BitSet waterAdjacencyMask)
+    public boolean carve(IChunk chunkIn, Function<BlockPos, Biome> biomePos, Random rand, int seaLevel, int chunkXOffset, int chunkZOffset, int chunkX, int chunkZ, BitSet carvingMask, ProbabilityConfig config)
     {
-        this.blockCarver.setContext(worldSeed, airCarvingMask, liquidCarvingMask, rockData, waterAdjacencyMask);
-        this.initialized = true;
+        // Invoked by a chunk generator which does not respect IContextCarver, so build the context from the chunk
+        final CarverContext context = CarverHelpers.createFallbackContext(chunkIn, carvingMask, seaLevel);
+        return context != null && carve(context, chunkIn, biomePos, rand, seaLevel, chunkXOffset, chunkZOffset, chunkX, chunkZ, carvingMask, config);
     }
 
     @Override
-    public boolean carve(IChunk chunkIn, Function<BlockPos, Biome> biomePos, Random rand, int seaLevel, int chunkXOffset, int chunkZOffset, int chunkX, int chunkZ, BitSet carvingMask, ProbabilityConfig config)
+    public boolean carve(CarverContext context, IChunk chunkIn, Function<BlockPos, Biome> biomePos, Random rand, int seaLevel, int chunkXOffset, int chunkZOffset, int chunkX, int chunkZ, BitSet carvingMask, ProbabilityConfig config)
     {
-        if (!initialized)
+        this.context.set(context);
+        try
+        {
+            return super.carve(chunkIn, biomePos, rand, seaLevel, chunkXOffset, chunkZOffset, chunkX, chunkZ, carvingMask, config);
+        }
+        finally
         {
-            throw new IllegalStateException("Not properly initialized! Cannot use TFCCaveCarver with a chunk generator that does not respect IContextCarver");
+            this.context.remove();
         }
-        return super.carve(chunkIn, biomePos, rand, seaLevel, chunkXOffset, chunkZOffset, chunkX, chunkZ, carvingMask, config);
     }
 
     @Override
@@ -61,6 +69,6 @@ public class TFCCaveCarver extends CaveWorldCarver implements IContextCarver
     protected boolean carveBlock(IChunk chunkIn, Function<BlockPos, Biome> lazyBiome, BitSet carvingMask, Random random, BlockPos.Mutable mutablePos1, BlockPos.Mutable mutablePos2, BlockPos.Mutable mutablePos3, int seaLevel, int chunkX, int chunkZ, int actualX, int actualZ, int localX, int y, int localZ, MutableBoolean reachedSurface)
     {
         mutablePos1.set(actualX, y, actualZ);
-        return blockCarver.carve(chunkIn, mutablePos1, random, seaLevel);
+        return blockCarver.carve(context.get(), chunkIn, mutablePos1, random, seaLevel);
     }
 }
\ No newline at end of file
@@ -9,7 +9,6 @@ package net.dries007.tfc.world.carver;
 import java.util.BitSet;
 import java.util.Random;
 import java.util.function.Function;
-import javax.annotation.Nullable;
 
 import org.apache.commons.lang3.mutable.MutableBoolean;
 import net.minecraft.util.math.BlockPos;
@@ -20,50 +19,53 @@ import net.minecraft.world.gen.feature.ProbabilityConfig;
 
 import com.mojang.serialization.Codec;
 import net.dries007.tfc.mixin.world.gen.carver.CanyonWorldCarverAccessor;
-import net.dries007.tfc.world.chunkdata.RockData;
 
-public class TFCUnderwaterRavineCarver extends UnderwaterCanyonWorldCarver implements IContextCarver
+public class TFCUnderwaterRavineCarver extends UnderwaterCanyonWorldCarver implements IContextCarver<ProbabilityConfig>
 {
     private final SaltWaterBlockCarver blockCarver;
-
-    private boolean initialized;
+    private final ThreadLocal<CarverContext> context; // Vanilla carving methods can't pass the context through, so it's held per thread for the duration of a single carve
 
     public TFCUnderwaterRavineCarver(Codec<ProbabilityConfig> codec)
     {
         super(codec);
         blockCarver = new SaltWaterBlockCarver();
-        initialized = false;
+        context = new ThreadLocal<>();
     }
 
     @Override
     public boolean carve(IChunk chunkIn, Function<BlockPos, Biome> biomePos, Random rand, int seaLevel, int chunkXOffset, int chunkZOffset, int chunkX, int chunkZ, BitSet carvingMask, ProbabilityConfig config)
     {
-        if (!initialized)
-        {
-            throw new IllegalStateException("Not properly initialized! Cannot use TFCUnderwaterRavineCarver with a chunk generator that does not respect IContextCarver");
-        }
-        double xOffset = chunkXOffset * 16 + rand.nextInt(16);
-        double yOffset = rand.nextInt(70) + 20; // Modified to use sea level, should reach surface more often
-        double zOffset = chunkZOffset * 16 + rand.nextInt(16);
-        float yaw = rand.nextFloat() * ((float) Math.PI * 2F);
-        float pitch = (rand.nextFloat() - 0.5F) * 2.0F / 8.0F;
-        float width = (rand.nextFloat() * 2.0F + rand.nextFloat()) * 2.0F;
-        int branchAmount = 112 - rand.nextInt(28);
-        ((CanyonWorldCarverAccessor) this).call$genCanyon(chunkIn, biomePos, rand.nextLong(), seaLevel, chunkX, chunkZ, xOffset, yOffset, zOffset, width, yaw, pitch, 0, branchAmount, 3.0D, carvingMask);
-        return true;
+        // Invoked by a chunk generator which does not respect IContextCarver, so build the context from the chunk
+        final CarverContext context = CarverHelpers.createFallbackContext(chunkIn, carvingMask, seaLevel);
+        return context != null && carve(context, chunkIn, biomePos, rand, seaLevel, chunkXOffset, chunkZOffset, chunkX, chunkZ, carvingMask, config);
     }
 
     @Override
-    public void setContext(long worldSeed, BitSet airCarvingMask, BitSet liquidCarvingMask, RockData rockData, @Nullable BitSet waterAdjacencyMask)
+    public boolean carve(CarverContext context, IChunk chunkIn, Function<BlockPos, Biome> biomePos, Random rand, int seaLevel, int chunkXOffset, int chunkZOffset, int chunkX, int chunkZ, BitSet carvingMask, ProbabilityConfig config)
     {
-        this.blockCarver.setContext(worldSeed, airCarvingMask, liquidCarvingMask, rockData, waterAdjacencyMask);
-        this.initialized = true;
+        this.context.set(context);
+        try
+        {
+            double xOffset = chunkXOffset * 16 + rand.nextInt(16);
+            double yOffset = rand.nextInt(70) + 20; // Modified to use sea level, should reach surface more often
+            double zOffset = chunkZOffset * 16 + rand.nextInt(16);
+            float yaw = rand.nextFloat() * ((float) Math.PI * 2F);
+            float pitch = (rand.nextFloat() - 0.5F) * 2.0F / 8.0F;
+            float width = (rand.nextFloat() * 2.0F + rand.nextFloat()) * 2.0F;
+            int branchAmount = 112 - rand.nextInt(28);
+            ((CanyonWorldCarverAccessor) this).call$genCanyon(chunkIn, biomePos, rand.nextLong(), seaLevel, chunkX, chunkZ, xOffset, yOffset, zOffset, width, yaw, pitch, 0, branchAmount, 3.0D, carvingMask);
+            return true;
+        }
+        finally
+        {
+            this.context.remove();
+        }
     }
 
     @Override
     protected boolean carveBlock(IChunk chunkIn, Function<BlockPos, Biome> lazyBiome, BitSet carvingMask, Random random, BlockPos.Mutable mutablePos1, BlockPos.Mutable mutablePos2, BlockPos.Mutable mutablePos3, int seaLevel, int chunkX, int chunkZ, int actualX, int actualZ, int localX, int y, int localZ, MutableBoolean reachedSurface)
     {
         mutablePos1.set(actualX, y, actualZ);
-        return blockCarver.carve(chunkIn, mutablePos1, random, seaLevel);
+        return blockCarver.carve(context.get(), chunkIn, mutablePos1, random, seaLevel);
     }
 }
\ No newline at end of file
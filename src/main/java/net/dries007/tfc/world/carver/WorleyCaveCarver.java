@@ -8,9 +8,10 @@ package net.dries007.tfc.world.carver;
 
 import java.util.Arrays;
 import java.util.BitSet;
+import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
-import javax.annotation.Nullable;
 
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.biome.Biome;
@@ -18,53 +19,46 @@ import net.minecraft.world.chunk.IChunk;
 import net.minecraft.world.gen.carver.WorldCarver;
 
 import com.mojang.serialization.Codec;
-import net.dries007.tfc.world.chunkdata.RockData;
-import net.dries007.tfc.world.noise.*;
+import net.dries007.tfc.config.TFCConfig;
+import net.dries007.tfc.world.noise.NoiseUtil;
 
-// todo: fuck this piece of trash with a rusty spoon
-public class WorleyCaveCarver extends WorldCarver<WorleyCaveConfig> implements IContextCarver
+/**
+ * A noise based cave carver, using a warped cellular noise grid shared between chunks.
+ * This is disabled unless {@link net.dries007.tfc.config.CommonConfig#enableWorleyCaves} is set, as it changes world generation in every biome which lists it.
+ */
+public class WorleyCaveCarver extends WorldCarver<WorleyCaveConfig> implements IContextCarver<WorleyCaveConfig>
 {
-    private final AirBlockCarver blockCarver;
-
-    private long cachedSeed;
-    private Noise3D worleyCaveNoise;
-    private boolean initialized;
+    private final BlockCarver blockCarver;
+    private final Map<Integer, WorleyCaveNoiseGrid> noiseGrids; // Keyed by the grid height, which is the only part of the config the noise depends on
 
     public WorleyCaveCarver(Codec<WorleyCaveConfig> codec)
+    {
+        this(codec, new AirBlockCarver());
+    }
+
+    WorleyCaveCarver(Codec<WorleyCaveConfig> codec, BlockCarver blockCarver)
     {
         super(codec, 255);
 
-        blockCarver = new AirBlockCarver();
-        cachedSeed = 0;
-        initialized = false;
+        this.blockCarver = blockCarver;
+        this.noiseGrids = new ConcurrentHashMap<>();
     }
 
     @Override
-    public void setContext(long worldSeed, BitSet airCarvingMask, BitSet liquidCarvingMask, RockData rockData, @Nullable BitSet waterAdjacencyMask)
+    public boolean carve(IChunk chunkIn, Function<BlockPos, Biome> biomePos, Random rand, int seaLevel, int chunkXOffset, int chunkZOffset, int chunkX, int chunkZ, BitSet carvingMask, WorleyCaveConfig config)
     {
-        if (this.cachedSeed != worldSeed || !initialized)
-        {
-            final OpenSimplex3D warpNoise = new OpenSimplex3D(worldSeed + 1).octaves(4).spread(0.08f).scaled(-18, 18);
-            worleyCaveNoise = new Cellular3D(worldSeed).type(FastNoiseLite.CellularReturnType.Distance2Mul).spread(0.04f).scaled(0, 1).warped(warpNoise);
-
-            cachedSeed = worldSeed;
-            initialized = true;
-        }
-
-        this.blockCarver.setContext(worldSeed, airCarvingMask, liquidCarvingMask, rockData, waterAdjacencyMask);
+        // Invoked by a chunk generator which does not respect IContextCarver, so build the context from the chunk
+        final CarverContext context = CarverHelpers.createFallbackContext(chunkIn, carvingMask, seaLevel);
+        return context != null && carve(context, chunkIn, biomePos, rand, seaLevel, chunkXOffset, chunkZOffset, chunkX, chunkZ, carvingMask, config);
     }
 
     @Override
-    public boolean carve(IChunk chunkIn, Function<BlockPos, Biome> biomePos, Random rand, int seaLevel, int chunkXOffset, int chunkZOffset, int chunkX, int chunkZ, BitSet carvingMask, WorleyCaveConfig config)
+    public boolean carve(CarverContext context, IChunk chunkIn, Function<BlockPos, Biome> biomePos, Random rand, int seaLevel, int chunkXOffset, int chunkZOffset, int chunkX, int chunkZ, BitSet carvingMask, WorleyCaveConfig config)
     {
         // This carver is entirely noise based, so we need to only carve chunks when we're at the start chunk
-        if (chunkX == chunkXOffset && chunkZ == chunkZOffset)
+        if (TFCConfig.COMMON.enableWorleyCaves.get() && chunkX == chunkXOffset && chunkZ == chunkZOffset)
         {
-            if (!initialized)
-            {
-                throw new IllegalStateException("Not properly initialized! Cannot use WorleyCaveCarver with a chunk generator that does not respect IContextCarver");
-            }
-            carve(chunkIn, chunkX << 4, chunkZ << 4, rand, seaLevel, config);
+            carve(context, chunkIn, chunkX << 4, chunkZ << 4, rand, seaLevel, config);
             return true;
         }
         return false;
@@ -82,25 +76,16 @@ public class WorleyCaveCarver extends WorldCarver<WorleyCaveConfig> implements I
         return false; // Unused
     }
 
+    /**
+     * Carves a single chunk, with the minimum block coordinates {@code chunkX, chunkZ}.
+     */
     @SuppressWarnings("PointlessArithmeticExpression")
-    private void carve(IChunk chunkIn, int chunkX, int chunkZ, Random random, int seaLevel, WorleyCaveConfig config)
+    void carve(CarverContext context, IChunk chunkIn, int chunkX, int chunkZ, Random random, int seaLevel, WorleyCaveConfig config)
     {
-        if (true) return; // fuck this
         final int heightSampleRange = (config.heightFadeThreshold / 4) + 8;
         final float[] noiseValues = new float[5 * 5 * heightSampleRange];
 
-        // Sample initial noise values
-        for (int x = 0; x < 5; x++)
-        {
-            for (int z = 0; z < 5; z++)
-            {
-                for (int y = 0; y < heightSampleRange; y++)
-                {
-                    worleyCaveNoise.noise((float) (chunkX + x * 4), y * 7f, (float) (chunkZ + z * 4));
-                    noiseValues[x + (z * 5) + (y * 25)] = worleyCaveNoise.noise((float) (chunkX + x * 4), y * 7f, (float) (chunkZ + z * 4));
-                }
-            }
-        }
+        getNoiseGrid(context.getWorldSeed(), heightSampleRange).sample(noiseValues, chunkX >> 4, chunkZ >> 4);
 
         float[] section = new float[16 * 16];
         float[] prevSection = null;
@@ -154,7 +139,7 @@ public class WorleyCaveCarver extends WorldCarver<WorleyCaveConfig> implements I
 
                                     if (finalNoise > config.carvingThreshold)
                                     {
-                                        blockCarver.carve(chunkIn, pos, random, seaLevel);
+                                        blockCarver.carve(context, chunkIn, pos, random, seaLevel);
                                     }
                                 }
                             }
@@ -167,4 +152,17 @@ public class WorleyCaveCarver extends WorldCarver<WorleyCaveConfig> implements I
             prevSection = Arrays.copyOf(section, section.length);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Noise grids are shared between all chunks using configs with the same height, and are only replaced if the world seed changes.
+     */
+    private WorleyCaveNoiseGrid getNoiseGrid(long worldSeed, int height)
+    {
+        final WorleyCaveNoiseGrid grid = noiseGrids.get(height);
+        if (grid != null && grid.getSeed() == worldSeed)
+        {
+            return grid;
+        }
+        return noiseGrids.compute(height, (key, existing) -> existing != null && existing.getSeed() == worldSeed ? existing : new WorleyCaveNoiseGrid(worldSeed, height, 1024));
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world.carver;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.MathHelper;
+
+import it.unimi.dsi.fastutil.HashCommon;
+import net.dries007.tfc.world.noise.*;
+
+/**
+ * The coarse noise grid sampled by {@link WorleyCaveCarver}, with points every four blocks horizontally, which is interpolated to carve each block.
+ * Each chunk owns the 4x4 columns of grid points starting at its minimum corner. The 5x5 grid for a chunk borrows the remaining row and column from its neighbours, so points on chunk borders are only evaluated once.
+ * Columns are held in a direct mapped cache, which is safe to share between threads: each slot holds an immutable entry, so a racing read will either see a complete entry, or miss.
+ * The noise itself is stateless, so concurrent misses are evaluated in parallel rather than waiting on each other.
+ */
+public final class WorleyCaveNoiseGrid
+{
+    public static final int SIZE = 5; // Grid points along each horizontal axis of a chunk, including the neighbouring chunk's border
+    public static final int CELL = 4; // Blocks between horizontal grid points
+    public static final float Y_SCALE = 7f; // Noise distance between vertical grid points
+
+    private final long seed;
+    private final int height;
+    private final Noise3D noise;
+    private final Entry[] entries;
+    private final int mask;
+
+    private final LongAdder hits = new LongAdder(), misses = new LongAdder();
+
+    public WorleyCaveNoiseGrid(long seed, int height, int size)
+    {
+        size = MathHelper.smallestEncompassingPowerOfTwo(size);
+
+        this.seed = seed;
+        this.height = height;
+        this.noise = createNoise(seed);
+        this.mask = size - 1;
+        this.entries = new Entry[size];
+    }
+
+    public static Noise3D createNoise(long seed)
+    {
+        final OpenSimplex3D warpNoise = new OpenSimplex3D(seed + 1).octaves(4).spread(0.08f).scaled(-18, 18);
+        return new Cellular3D(seed).type(FastNoiseLite.CellularReturnType.Distance2Mul).spread(0.04f).scaled(0, 1).warped(warpNoise);
+    }
+
+    public long getSeed()
+    {
+        return seed;
+    }
+
+    public int getHeight()
+    {
+        return height;
+    }
+
+    /**
+     * Fills the grid for a chunk, indexed by {@code x + 5 * z + 25 * y}, where grid point (x, y, z) is at block (minX + 4 * x, minZ + 4 * z) and noise height {@code 7 * y}
+     */
+    public void sample(float[] values, int chunkX, int chunkZ)
+    {
+        final float[] center = columns(chunkX, chunkZ);
+        final float[] east = columns(chunkX + 1, chunkZ);
+        final float[] south = columns(chunkX, chunkZ + 1);
+        final float[] southEast = columns(chunkX + 1, chunkZ + 1);
+
+        for (int y = 0; y < height; y++)
+        {
+            final int offset = y * CELL * CELL;
+            for (int z = 0; z < CELL; z++)
+            {
+                System.arraycopy(center, offset + z * CELL, values, y * SIZE * SIZE + z * SIZE, CELL);
+                values[CELL + z * SIZE + y * SIZE * SIZE] = east[offset + z * CELL];
+            }
+            System.arraycopy(south, offset, values, y * SIZE * SIZE + CELL * SIZE, CELL);
+            values[CELL + CELL * SIZE + y * SIZE * SIZE] = southEast[offset];
+        }
+    }
+
+    public long getHits()
+    {
+        return hits.sum();
+    }
+
+    public long getMisses()
+    {
+        return misses.sum();
+    }
+
+    /**
+     * The 4x4 columns of grid points owned by a chunk, indexed by {@code x + 4 * z + 16 * y}
+     */
+    private float[] columns(int chunkX, int chunkZ)
+    {
+        final long key = ChunkPos.asLong(chunkX, chunkZ);
+        final int index = (int) HashCommon.mix(key) & mask;
+        final Entry entry = entries[index];
+        if (entry != null && entry.key == key)
+        {
+            hits.increment();
+            return entry.values;
+        }
+
+        misses.increment();
+        final float[] values = new float[CELL * CELL * height];
+        final int minX = chunkX << 4, minZ = chunkZ << 4;
+        for (int y = 0; y < height; y++)
+        {
+            for (int z = 0; z < CELL; z++)
+            {
+                for (int x = 0; x < CELL; x++)
+                {
+                    values[x + CELL * z + CELL * CELL * y] = noise.noise(minX + x * CELL, y * Y_SCALE, minZ + z * CELL);
+                }
+            }
+        }
+        entries[index] = new Entry(key, values);
+        return values;
+    }
+
+    static final class Entry
+    {
+        final long key;
+        final float[] values;
+
+        Entry(long key, float[] values)
+        {
+            this.key = key;
+            this.values = values;
+        }
+    }
+}
@@ -66,7 +66,7 @@ public class ChunkData implements ICapabilitySerializable<CompoundNBT>
     private final LazyOptional<ChunkData> capability;
     private final ChunkPos pos;
 
-    private Status status;
+    private volatile Status status;
 
     private RockData rockData;
     private LerpFloatLayer rainfallLayer;
@@ -90,7 +90,7 @@ public class ChunkData implements ICapabilitySerializable<CompoundNBT>
     }
 
     /**
-     * Can be null when the chunk data's underlying status is EMPTY or CLIENT
+     * Can be null when the chunk data's underlying status is EMPTY, CLIENT or CLIMATE
      */
     @Nullable
     public RockData getRockData()
@@ -236,7 +236,7 @@ public class ChunkData implements ICapabilitySerializable<CompoundNBT>
     {
         final CompoundNBT nbt = new CompoundNBT();
         nbt.putByte("status", (byte) status.ordinal());
-        if (status == Status.FULL)
+        if (status == Status.FULL || status == Status.CLIMATE)
         {
             nbt.putByte("plateTectonicsInfo", (byte) plateTectonicsInfo.ordinal());
             nbt.put("rainfall", rainfallLayer.serializeNBT());
@@ -257,7 +257,7 @@ public class ChunkData implements ICapabilitySerializable<CompoundNBT>
     {
         reset();
         status = Status.valueOf(nbt.getByte("status"));
-        if (status == Status.FULL)
+        if (status == Status.FULL || status == Status.CLIMATE)
         {
             plateTectonicsInfo = PlateTectonicsClassification.valueOf(nbt.getByte("plateTectonicsInfo"));
             rainfallLayer.deserializeNBT(nbt.getCompound("rainfall"));
@@ -291,7 +291,8 @@ public class ChunkData implements ICapabilitySerializable<CompoundNBT>
     {
         EMPTY, // Default, un-generated chunk data
         CLIENT, // Client-side shallow copy
-        FULL; // Fully generated chunk data
+        FULL, // Fully generated chunk data
+        CLIMATE; // Only climate, flora, and plate tectonics data, without rock data. Declared last, as the ordinal is serialized
 
         private static final Status[] VALUES = values();
 
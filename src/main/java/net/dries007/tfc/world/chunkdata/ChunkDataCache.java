@@ -6,11 +6,12 @@
 
 package net.dries007.tfc.world.chunkdata;
 
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.HashSet;
-import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+import java.util.function.LongPredicate;
 import javax.annotation.Nullable;
 
 import net.minecraft.entity.player.ServerPlayerEntity;
@@ -19,6 +20,13 @@ import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.IWorldReader;
 import net.minecraftforge.fml.network.PacketDistributor;
 
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.dries007.tfc.config.TFCConfig;
 import net.dries007.tfc.network.PacketHandler;
 import net.dries007.tfc.util.Helpers;
 
@@ -27,32 +35,45 @@ import net.dries007.tfc.util.Helpers;
  * Used for various purposes:
  * {@link ChunkDataCache#CLIENT} and {@link ChunkDataCache#SERVER} are logical sided caches, used for when chunk data is needed without a world context. Care must be taken to choose the cache for the correct logical side
  * {@link ChunkDataCache#WORLD_GEN} is used for chunk data during world generation, as it's being generated. It is cleared once the chunk is completely generated
+ * {@link ChunkDataCache#CLIMATE} is used for chunk data which only has climate generated, for biome lookups outside of generated chunks
+ *
+ * The climate cache is bounded (see {@link net.dries007.tfc.config.CommonConfig#chunkDataCacheSize}), and evicts using a CLOCK (second chance) policy.
+ * The sided caches are not bounded by a capacity: their entries are added and removed as chunks are loaded / unloaded (server) or watched / unwatched (client), so they are already bounded by the loaded or watched area, and every entry they hold is in use.
+ * All caches are split into segments by chunk position, each with its own lock and clock, so concurrent world generation threads do not contend on a single lock.
+ * Evicting from the climate cache is always safe, as climate data can be generated again.
+ * The world gen cache is not bounded, as its entries hold partially generated data which cannot be recomputed (e.g. {@link RockData#setSurfaceHeight(int[])}).
  */
 public final class ChunkDataCache
 {
+    /**
+     * This is a set of chunk positions which have been queued for chunk watch, but were not loaded or generated at the time.
+     * As a result, no data was able to be sent to the client cache. In these situations, we wait for chunk load on server, and if the chunk is present here, it is re-synchronized.
+     */
+    public static final WatchQueue WATCH_QUEUE = new WatchQueue();
+
     /**
      * This is a cache of client side chunk data, used for when there is no world context available.
-     * It is synced on chunk watch / unwatch
+     * It is synced on chunk watch / unwatch. It must not evict watched chunks, as they would be rendered using empty data until they are next watched.
      */
-    public static final ChunkDataCache CLIENT = new ChunkDataCache("client", false);
+    public static final ChunkDataCache CLIENT = new ChunkDataCache("client", () -> Integer.MAX_VALUE, pos -> false);
 
     /**
      * This is a cache of server side chunk data.
-     * It is not synced, it is updated on chunk load / unload
+     * It is not synced, it is updated on chunk load / unload. Every entry is a loaded chunk, so none are evicted.
      */
-    public static final ChunkDataCache SERVER = new ChunkDataCache("server", false);
+    public static final ChunkDataCache SERVER = new ChunkDataCache("server", () -> Integer.MAX_VALUE, pos -> false);
 
     /**
      * This is a cache of chunk data during generation, before the chunk is fully generated.
      * When the chunk is finished generating on server, this cache is cleared and the data is saved to the chunk capability for long term storage
      */
-    public static final ChunkDataCache WORLD_GEN = new ChunkDataCache("worldgen", true);
+    public static final ChunkDataCache WORLD_GEN = new ChunkDataCache("worldgen", () -> Integer.MAX_VALUE, pos -> false);
 
     /**
-     * This is a set of chunk positions which have been queued for chunk watch, but were not loaded or generated at the time.
-     * As a result, no data was able to be sent to the client cache. In these situations, we wait for chunk load on server, and if the chunk is present here, it is re-synchronized.
+     * This is a cache of chunk data which only has its climate generated, for chunks which are queried by biome lookups (e.g. /locate) but may never be generated.
+     * It is bounded, as climate data can always be regenerated. Entries are moved to {@link #WORLD_GEN} if the chunk is later generated.
      */
-    public static final WatchQueue WATCH_QUEUE = new WatchQueue();
+    public static final ChunkDataCache CLIMATE = new ChunkDataCache("climate", () -> TFCConfig.COMMON.chunkDataCacheSize.get(), pos -> false);
 
     /**
      * Gets the normal (not world gen) cache of chunk data for the current logical side
@@ -70,27 +91,64 @@ public final class ChunkDataCache
      */
     public static ChunkDataCache getUnsided()
     {
-        return SERVER.cache.isEmpty() ? CLIENT : SERVER;
+        return SERVER.isEmpty() ? CLIENT : SERVER;
     }
 
     public static void clearAll()
     {
-        CLIENT.cache.clear();
-        SERVER.cache.clear();
-        WORLD_GEN.cache.clear();
-        WATCH_QUEUE.queue.clear();
+        CLIENT.clear();
+        SERVER.clear();
+        WORLD_GEN.clear();
+        CLIMATE.clear();
+        WATCH_QUEUE.clear();
     }
 
+    /**
+     * The number of independently locked segments, by default. Entries are assigned to a segment by the hash of their position, so world generation threads working on different chunks rarely contend.
+     */
+    static final int SEGMENTS = 16;
+
     private final String name;
-    private final Map<ChunkPos, ChunkData> cache;
+    private final IntSupplier capacity;
+    private final Segment[] segments;
+    private final int segmentMask;
+
+    private final LongAdder hits, misses, evictions;
+
+    /**
+     * Creates a cache, which will evict entries once it reaches the given capacity.
+     *
+     * @param capacity The maximum number of entries. This is queried whenever the cache is full, so it can change while the cache is in use.
+     * @param pinned   A predicate of packed chunk positions, for entries which must not be evicted.
+     */
+    ChunkDataCache(String name, IntSupplier capacity, LongPredicate pinned)
+    {
+        this(name, SEGMENTS, capacity, pinned);
+    }
 
     /**
-     * Creates an infinite size cache that must be managed to not create memory leaks
+     * @param segments The number of segments, which must be a power of two. The capacity is divided evenly between segments, so each segment evicts independently once it holds its share.
      */
-    private ChunkDataCache(String name, boolean sync)
+    ChunkDataCache(String name, int segments, IntSupplier capacity, LongPredicate pinned)
     {
+        if (Integer.bitCount(segments) != 1)
+        {
+            throw new IllegalArgumentException("segments must be a power of two: " + segments);
+        }
+
         this.name = name;
-        this.cache = sync ? new ConcurrentHashMap<>() : new HashMap<>();
+        this.capacity = capacity;
+        this.segments = new Segment[segments];
+        this.segmentMask = segments - 1;
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.evictions = new LongAdder();
+
+        final IntSupplier segmentCapacity = () -> (int) Math.max(1, ((long) capacity.getAsInt() + segments - 1) / segments); // Round up, in long arithmetic so an unbounded capacity does not overflow
+        for (int i = 0; i < segments; i++)
+        {
+            this.segments[i] = new Segment(segmentCapacity, pinned);
+        }
     }
 
     public ChunkData getOrEmpty(BlockPos pos)
@@ -100,35 +158,136 @@ public final class ChunkDataCache
 
     public ChunkData getOrEmpty(ChunkPos pos)
     {
-        return cache.getOrDefault(pos, ChunkData.EMPTY);
+        final ChunkData data = get(pos.toLong());
+        return data != null ? data : ChunkData.EMPTY;
     }
 
     @Nullable
     public ChunkData get(BlockPos pos)
     {
-        return get(new ChunkPos(pos));
+        return get(ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4));
     }
 
     @Nullable
     public ChunkData get(ChunkPos pos)
     {
-        return cache.get(pos);
+        return get(pos.toLong());
+    }
+
+    @Nullable
+    public ChunkData get(long pos)
+    {
+        final ChunkData data = segment(pos).get(pos);
+        (data != null ? hits : misses).increment();
+        return data;
     }
 
     @Nullable
     public ChunkData remove(ChunkPos pos)
     {
-        return cache.remove(pos);
+        return remove(pos.toLong());
+    }
+
+    @Nullable
+    public ChunkData remove(long pos)
+    {
+        return segment(pos).remove(pos);
     }
 
     public void update(ChunkPos pos, ChunkData data)
     {
-        cache.put(pos, data);
+        final long key = pos.toLong();
+        evictions.add(segment(key).update(key, data));
     }
 
     public ChunkData getOrCreate(ChunkPos pos)
     {
-        return cache.computeIfAbsent(pos, ChunkData::new);
+        final long key = pos.toLong();
+        final Segment segment = segment(key);
+        synchronized (segment)
+        {
+            ChunkData data = segment.get(key);
+            if (data != null)
+            {
+                hits.increment();
+                return data;
+            }
+            misses.increment();
+            data = new ChunkData(pos);
+            evictions.add(segment.insert(key, data));
+            return data;
+        }
+    }
+
+    /**
+     * Adds an entry if none is present.
+     *
+     * @return The entry which is now present, either the existing one or the provided data.
+     */
+    public ChunkData putIfAbsent(ChunkPos pos, ChunkData data)
+    {
+        final long key = pos.toLong();
+        final Segment segment = segment(key);
+        synchronized (segment)
+        {
+            final ChunkData existing = segment.get(key);
+            if (existing != null)
+            {
+                return existing;
+            }
+            evictions.add(segment.insert(key, data));
+            return data;
+        }
+    }
+
+    public boolean isEmpty()
+    {
+        for (Segment segment : segments)
+        {
+            if (!segment.isEmpty())
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int size()
+    {
+        int size = 0;
+        for (Segment segment : segments)
+        {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    public int getCapacity()
+    {
+        return capacity.getAsInt();
+    }
+
+    public long getHits()
+    {
+        return hits.sum();
+    }
+
+    public long getMisses()
+    {
+        return misses.sum();
+    }
+
+    public long getEvictions()
+    {
+        return evictions.sum();
+    }
+
+    public void clear()
+    {
+        for (Segment segment : segments)
+        {
+            segment.clear();
+        }
     }
 
     @Override
@@ -137,43 +296,224 @@ public final class ChunkDataCache
         return "ChunkDataCache[" + name + ']';
     }
 
+    private Segment segment(long pos)
+    {
+        return segments[(int) HashCommon.mix(pos) & segmentMask];
+    }
+
+    /**
+     * A part of the cache, with its own lock and clock.
+     */
+    static final class Segment
+    {
+        private final IntSupplier capacity;
+        private final LongPredicate pinned;
+
+        // Entries are stored in slots, which the clock hand sweeps over. Removed slots are recycled before the arrays are grown.
+        private final Long2IntMap slots;
+        private final IntArrayList freeSlots;
+        private long[] keys;
+        private ChunkData[] values;
+        private boolean[] referenced;
+        private int used;
+        private int hand;
+
+        Segment(IntSupplier capacity, LongPredicate pinned)
+        {
+            this.capacity = capacity;
+            this.pinned = pinned;
+
+            this.slots = new Long2IntOpenHashMap();
+            this.slots.defaultReturnValue(-1);
+            this.freeSlots = new IntArrayList();
+            this.keys = new long[16];
+            this.values = new ChunkData[16];
+            this.referenced = new boolean[16];
+        }
+
+        @Nullable
+        synchronized ChunkData get(long pos)
+        {
+            final int slot = slots.get(pos);
+            if (slot == -1)
+            {
+                return null;
+            }
+            referenced[slot] = true;
+            return values[slot];
+        }
+
+        @Nullable
+        synchronized ChunkData remove(long pos)
+        {
+            final int slot = slots.remove(pos);
+            if (slot == -1)
+            {
+                return null;
+            }
+            return release(slot);
+        }
+
+        /**
+         * @return The number of entries evicted.
+         */
+        synchronized int update(long key, ChunkData data)
+        {
+            final int slot = slots.get(key);
+            if (slot == -1)
+            {
+                return insert(key, data);
+            }
+            values[slot] = data;
+            referenced[slot] = true;
+            return 0;
+        }
+
+        synchronized boolean isEmpty()
+        {
+            return slots.isEmpty();
+        }
+
+        synchronized int size()
+        {
+            return slots.size();
+        }
+
+        synchronized void clear()
+        {
+            slots.clear();
+            freeSlots.clear();
+            Arrays.fill(values, 0, used, null);
+            used = 0;
+            hand = 0;
+        }
+
+        /**
+         * Inserts a new entry, which must not already be present. Must be called while holding the lock on this segment.
+         *
+         * @return The number of entries evicted.
+         */
+        int insert(long key, ChunkData data)
+        {
+            final int maxSize = capacity.getAsInt();
+            int evicted = 0;
+            while (slots.size() >= maxSize && evict())
+            {
+                evicted++;
+            }
+
+            final int slot;
+            if (!freeSlots.isEmpty())
+            {
+                slot = freeSlots.popInt();
+            }
+            else
+            {
+                if (used == keys.length)
+                {
+                    final int length = keys.length << 1;
+                    keys = Arrays.copyOf(keys, length);
+                    values = Arrays.copyOf(values, length);
+                    referenced = Arrays.copyOf(referenced, length);
+                }
+                slot = used++;
+            }
+
+            // New entries start unreferenced, so a burst of one-off inserts (e.g. a player flying in a straight line) cannot push out frequently accessed entries
+            keys[slot] = key;
+            values[slot] = data;
+            referenced[slot] = false;
+            slots.put(key, slot);
+            return evicted;
+        }
+
+        /**
+         * Advances the clock hand until an unreferenced, unpinned entry is found, and evicts it.
+         * Referenced entries are given a second chance, by clearing their reference bit as the hand passes.
+         *
+         * @return {@code false} if no entry could be evicted, i.e. all entries are pinned. In this case the segment will temporarily grow past its capacity.
+         */
+        private boolean evict()
+        {
+            // Two full sweeps are sufficient: the first clears every reference bit
+            for (int i = 0; i < 2 * used; i++)
+            {
+                final int slot = hand;
+                hand = hand + 1 < used ? hand + 1 : 0;
+                if (values[slot] != null)
+                {
+                    if (referenced[slot])
+                    {
+                        referenced[slot] = false;
+                    }
+                    else if (!pinned.test(keys[slot]))
+                    {
+                        slots.remove(keys[slot]);
+                        release(slot);
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private ChunkData release(int slot)
+        {
+            final ChunkData data = values[slot];
+            values[slot] = null;
+            freeSlots.add(slot);
+            return data;
+        }
+    }
+
     public static class WatchQueue
     {
-        private final Map<ChunkPos, Set<ServerPlayerEntity>> queue;
+        private final Long2ObjectMap<Set<ServerPlayerEntity>> queue;
 
         private WatchQueue()
         {
-            queue = new HashMap<>(256);
+            queue = new Long2ObjectOpenHashMap<>(256);
         }
 
         public void enqueueUnloadedChunk(ChunkPos pos, ServerPlayerEntity player)
         {
-            queue.computeIfAbsent(pos, key -> new HashSet<>()).add(player);
+            queue.computeIfAbsent(pos.toLong(), key -> new HashSet<>()).add(player);
         }
 
         public void dequeueChunk(ChunkPos pos, ServerPlayerEntity player)
         {
-            Set<ServerPlayerEntity> players = queue.get(pos);
+            final long key = pos.toLong();
+            final Set<ServerPlayerEntity> players = queue.get(key);
             if (players != null)
             {
                 players.remove(player);
                 if (players.isEmpty())
                 {
-                    queue.remove(pos);
+                    queue.remove(key);
                 }
             }
         }
 
         public void dequeueLoadedChunk(ChunkPos pos, ChunkData data)
         {
-            if (queue.containsKey(pos))
+            final Set<ServerPlayerEntity> players = queue.remove(pos.toLong());
+            if (players != null)
             {
-                Set<ServerPlayerEntity> players = queue.remove(pos);
                 for (ServerPlayerEntity player : players)
                 {
                     PacketHandler.send(PacketDistributor.PLAYER.with(() -> player), data.getUpdatePacket());
                 }
             }
         }
+
+        public boolean contains(long pos)
+        {
+            return queue.containsKey(pos);
+        }
+
+        private void clear()
+        {
+            queue.clear();
+        }
     }
 }
\ No newline at end of file
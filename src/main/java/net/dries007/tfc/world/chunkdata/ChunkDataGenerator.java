@@ -82,6 +82,38 @@ public class ChunkDataGenerator implements IChunkDataGenerator
 
     @Override
     public void generate(ChunkData data)
+    {
+        if (data.getStatus() != ChunkData.Status.CLIMATE)
+        {
+            generateClimate(data);
+        }
+
+        final ChunkPos pos = data.getPos();
+        final int chunkX = pos.getMinBlockX(), chunkZ = pos.getMinBlockZ();
+
+        // Rocks
+        final Rock[] bottomLayer = new Rock[256];
+        final Rock[] middleLayer = new Rock[256];
+        final Rock[] topLayer = new Rock[256];
+        final int[] rockLayerHeight = new int[256];
+
+        bottomRockLayer.get(bottomLayer, chunkX, chunkZ, 16, 16);
+        middleRockLayer.get(middleLayer, chunkX, chunkZ, 16, 16);
+        topRockLayer.get(topLayer, chunkX, chunkZ, 16, 16);
+
+        for (int x = 0; x < 16; x++)
+        {
+            for (int z = 0; z < 16; z++)
+            {
+                rockLayerHeight[x + 16 * z] = (int) layerHeightNoise.noise(chunkX + x, chunkZ + z);
+            }
+        }
+
+        data.setRockData(new RockData(bottomLayer, middleLayer, topLayer, rockLayerHeight));
+    }
+
+    @Override
+    public void generateClimate(ChunkData data)
     {
         ChunkPos pos = data.getPos();
         int chunkX = pos.getMinBlockX(), chunkZ = pos.getMinBlockZ();
@@ -101,29 +133,10 @@ public class ChunkDataGenerator implements IChunkDataGenerator
         final float forestWeirdness = forestWeirdnessNoise.noise(chunkX + 8, chunkZ + 8);
         final float forestDensity = forestDensityNoise.noise(chunkX + 8, chunkZ + 8);
 
-        // Rocks
-        Rock[] bottomLayer = new Rock[256];
-        Rock[] middleLayer = new Rock[256];
-        Rock[] topLayer = new Rock[256];
-        int[] rockLayerHeight = new int[256];
-
-        for (int x = 0; x < 16; x++)
-        {
-            for (int z = 0; z < 16; z++)
-            {
-                bottomLayer[x + 16 * z] = bottomRockLayer.get(chunkX + x, chunkZ + z);
-                middleLayer[x + 16 * z] = middleRockLayer.get(chunkX + x, chunkZ + z);
-                topLayer[x + 16 * z] = topRockLayer.get(chunkX + x, chunkZ + z);
-
-                rockLayerHeight[x + 16 * z] = (int) layerHeightNoise.noise(chunkX + x, chunkZ + z);
-            }
-        }
-
         data.setRainfall(rainNW, rainNE, rainSW, rainSE);
         data.setAverageTemp(tempNW, tempNE, tempSW, tempSE);
         data.setFloraData(forestType, forestWeirdness, forestDensity);
         data.setPlateTectonicsInfo(plateTectonicsInfo.get(data.getPos().x, data.getPos().z));
-        data.setRockData(new RockData(bottomLayer, middleLayer, topLayer, rockLayerHeight));
     }
 
     @VisibleForTesting
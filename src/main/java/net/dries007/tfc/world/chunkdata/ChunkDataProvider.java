@@ -11,9 +11,14 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.gen.ChunkGenerator;
 
+import it.unimi.dsi.fastutil.HashCommon;
+
 /**
  * This acts as a bridge between the {@link ChunkGenerator}, TFC's chunk data caches and tracking, and the {@link IChunkDataGenerator}.
  * In order to customize the chunk data generation, see {@link IChunkDataGenerator}
+ *
+ * Chunk data is generated exactly once per chunk, even when requested concurrently from multiple world generation threads.
+ * Generation is guarded by a set of striped locks, so threads requesting a chunk that is being generated will wait on, and then share, the in-flight result.
  */
 public final class ChunkDataProvider
 {
@@ -26,11 +31,19 @@ public final class ChunkDataProvider
         throw new IllegalStateException("Tried to access ChunkDataProvider but none was present on " + chunkGenerator);
     }
 
+    private static final int LOCK_STRIPES = 64;
+
     private final IChunkDataGenerator generator;
+    private final Object[] locks;
 
     public ChunkDataProvider(IChunkDataGenerator generator)
     {
         this.generator = generator;
+        this.locks = new Object[LOCK_STRIPES];
+        for (int i = 0; i < LOCK_STRIPES; i++)
+        {
+            locks[i] = new Object();
+        }
     }
 
     /**
@@ -54,15 +67,76 @@ public final class ChunkDataProvider
      */
     public final ChunkData get(ChunkPos pos)
     {
-        final ChunkData data = ChunkDataCache.WORLD_GEN.getOrCreate(pos);
-        if (data.getStatus() == ChunkData.Status.EMPTY)
+        ChunkData data = ChunkDataCache.WORLD_GEN.get(pos);
+        if (data == null || data.getStatus() != ChunkData.Status.FULL)
+        {
+            // Status is volatile, and only set once the data is generated, so the unsynchronized check above is safe
+            synchronized (lock(pos))
+            {
+                if (data == null)
+                {
+                    // Promote climate only data, if present, so the climate is not generated twice
+                    final ChunkData climate = ChunkDataCache.CLIMATE.remove(pos);
+                    data = ChunkDataCache.WORLD_GEN.putIfAbsent(pos, climate != null ? climate : new ChunkData(pos));
+                }
+                if (data.getStatus() != ChunkData.Status.FULL)
+                {
+                    generator.generate(data);
+                    data.setStatus(ChunkData.Status.FULL);
+                }
+            }
+        }
+        return data;
+    }
+
+    /**
+     * Gets the chunk data for a chunk, during world generation, with at least the climate generated.
+     * This is much cheaper than {@link #get(ChunkPos)} when the chunk has not been generated yet, as it does not generate rock data. It should be used by anything that only needs to query climate or flora, such as biomes.
+     * Chunks which have not started generating are stored in {@link ChunkDataCache#CLIMATE}, which is bounded, so biome lookups far outside the generated world (e.g. /locate) do not accumulate in {@link ChunkDataCache#WORLD_GEN}.
+     *
+     * @param pos The chunk position
+     * @return A chunk data for the provided chunk pos, with a status of either {@link ChunkData.Status#CLIMATE} or {@link ChunkData.Status#FULL}
+     */
+    public final ChunkData getClimate(ChunkPos pos)
+    {
+        ChunkData data = ChunkDataCache.WORLD_GEN.get(pos);
+        if (data == null || data.getStatus() == ChunkData.Status.EMPTY)
+        {
+            data = ChunkDataCache.CLIMATE.get(pos);
+        }
+        if (data == null || data.getStatus() == ChunkData.Status.EMPTY)
         {
-            generator.generate(data);
-            data.setStatus(ChunkData.Status.FULL);
+            synchronized (lock(pos))
+            {
+                // Look up both caches again while holding the lock, as the chunk may have been promoted by get() in the meantime, and we must not insert a second climate entry for it
+                data = ChunkDataCache.WORLD_GEN.get(pos);
+                if (data == null)
+                {
+                    data = ChunkDataCache.CLIMATE.getOrCreate(pos);
+                }
+                if (data.getStatus() == ChunkData.Status.EMPTY)
+                {
+                    generator.generateClimate(data);
+                    data.setStatus(ChunkData.Status.CLIMATE);
+                }
+            }
         }
         return data;
     }
 
+    /**
+     * @see #getClimate(ChunkPos)
+     */
+    public final ChunkData getClimate(BlockPos pos)
+    {
+        return getClimate(new ChunkPos(pos));
+    }
+
+    private Object lock(ChunkPos pos)
+    {
+        return locks[(int) HashCommon.mix(pos.toLong()) & (LOCK_STRIPES - 1)];
+    }
+
     @VisibleForTesting
     public IChunkDataGenerator getGenerator()
     {
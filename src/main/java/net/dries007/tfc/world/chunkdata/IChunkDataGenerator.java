@@ -14,7 +14,15 @@ package net.dries007.tfc.world.chunkdata;
 public interface IChunkDataGenerator
 {
     /**
-     * Generate the provided chunk data
+     * Generate the provided chunk data.
+     * This may be called on data which has already had its climate generated, in which case it only needs to generate the remaining data.
      */
     void generate(ChunkData data);
+
+    /**
+     * Generate only the climate (rainfall, temperature, flora, and plate tectonics) of the provided chunk data, without rock data.
+     * This is used for biome lookups, which may query far more chunks than are ever generated.
+     * If the chunk is later generated, {@link #generate(ChunkData)} is called on the same data, so this must leave the data in a state that it can complete.
+     */
+    void generateClimate(ChunkData data);
 }
@@ -29,7 +29,7 @@ public class ClimateDecorator extends Placement<ClimateConfig>
     public Stream<BlockPos> getPositions(WorldDecoratingHelper helper, Random random, ClimateConfig config, BlockPos pos)
     {
         final ChunkDataProvider provider = ChunkDataProvider.get(((WorldDecoratingHelperAccessor) helper).accessor$getGenerator());
-        final ChunkData data = provider.get(pos);
+        final ChunkData data = provider.getClimate(pos);
         if (config.isValid(data, pos, random))
         {
             return Stream.of(pos);
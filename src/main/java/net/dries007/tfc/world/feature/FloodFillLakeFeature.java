@@ -6,17 +6,12 @@
 
 package net.dries007.tfc.world.feature;
 
-import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.Random;
-import java.util.Set;
 
 import net.minecraft.block.BlockState;
 import net.minecraft.fluid.Fluid;
-import net.minecraft.util.Direction;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.ChunkPos;
-import net.minecraft.util.math.MutableBoundingBox;
 import net.minecraft.world.ISeedReader;
 import net.minecraft.world.gen.ChunkGenerator;
 import net.minecraft.world.gen.feature.Feature;
@@ -26,7 +21,7 @@ import net.dries007.tfc.common.blocks.soil.IGrassBlock;
 
 /**
  * This fills in natural depressions using a localized flood fill.
- * It only operates within the allowed range of 3x3 chunks per the feature requirements.
+ * It only operates within the allowed range of 3x3 chunks per the feature requirements, see {@link LakeFloodFill}.
  * If a potential location is unbounded within that area, the flood fill is aborted.
  */
 public class FloodFillLakeFeature extends Feature<FloodFillLakeConfig>
@@ -36,13 +31,13 @@ public class FloodFillLakeFeature extends Feature<FloodFillLakeConfig>
         super(codec);
     }
 
+    private static final ThreadLocal<LakeFloodFill> FLOOD_FILL = ThreadLocal.withInitial(LakeFloodFill::new);
+
     @Override
     public boolean place(ISeedReader worldIn, ChunkGenerator chunkGenerator, Random random, BlockPos pos, FloodFillLakeConfig config)
     {
         final ChunkPos chunkPos = new ChunkPos(pos);
-        final MutableBoundingBox box = new MutableBoundingBox(chunkPos.getMinBlockX() - 14, chunkPos.getMinBlockZ() - 14, chunkPos.getMaxBlockX() + 14, chunkPos.getMaxBlockZ() + 14); // Leeway so we can check outside this box
-
-        final Set<BlockPos> filled = new HashSet<>();
+        final LakeFloodFill filled = FLOOD_FILL.get();
         final BlockPos.Mutable mutablePos = new BlockPos.Mutable();
 
         // First, make sure we're currently at the lowest point in the column.
@@ -57,19 +52,20 @@ public class FloodFillLakeFeature extends Feature<FloodFillLakeConfig>
         final BlockPos startPos = pos.above();
         final BlockState fill = config.getState();
         final Fluid fluid = fill.getFluidState().getType();
-        if (floodFill(worldIn, startPos, box, filled, mutablePos, config))
+        if (filled.fill(chunkPos.x, chunkPos.z, startPos, config.shouldOverfill(), posAt -> isFloodFillable(worldIn.getBlockState(posAt), config)))
         {
             // Minimum size, don't fill awkward tiny lakes
             if (filled.size() >= 20)
             {
-                for (BlockPos filledPos : filled)
+                for (int i = 0; i < filled.size(); i++)
                 {
+                    final BlockPos filledPos = filled.get(i, mutablePos).immutable();
                     worldIn.setBlock(filledPos, fill, 2);
                     worldIn.getLiquidTicks().scheduleTick(filledPos, fluid, 0);
 
                     // If we're at the bottom
-                    mutablePos.set(filledPos).move(0, -1, 0);
-                    if (!filled.contains(mutablePos))
+                    mutablePos.move(0, -1, 0);
+                    if (!filled.contains(mutablePos.getX(), mutablePos.getY(), mutablePos.getZ()))
                     {
                         BlockState stateDown = worldIn.getBlockState(mutablePos);
                         if (stateDown.getBlock() instanceof IGrassBlock)
@@ -86,80 +82,6 @@ public class FloodFillLakeFeature extends Feature<FloodFillLakeConfig>
         return false;
     }
 
-    private boolean floodFill(ISeedReader worldIn, BlockPos startPos, MutableBoundingBox box, Set<BlockPos> filled, BlockPos.Mutable mutablePos, FloodFillLakeConfig config)
-    {
-        boolean result = floodFillLayer(worldIn, startPos, box, filled, mutablePos, config);
-        if (!result)
-        {
-            return false; // Failed the initial flood fill, exit early
-        }
-        if (!config.shouldOverfill())
-        {
-            return true; // No overfilling, result is valid, return valid
-        }
-
-        // Initial result is valid, overfill upwards
-        Set<BlockPos> nextFilled = new HashSet<>(filled);
-        startPos = startPos.above();
-        int prevSize = filled.size();
-
-        while (floodFillLayer(worldIn, startPos, box, nextFilled, mutablePos, config))
-        {
-            filled.addAll(nextFilled);
-            if (prevSize == filled.size())
-            {
-                // The last move upwards added no new filled area. We abort here to not endlessly advance upwards
-                return true;
-            }
-            startPos = startPos.above();
-        }
-        return true;
-    }
-
-    private boolean floodFillLayer(ISeedReader worldIn, BlockPos startPos, MutableBoundingBox box, Set<BlockPos> filled, BlockPos.Mutable mutablePos, FloodFillLakeConfig config)
-    {
-        // First check the start position, this must be fillable
-        if (!isFloodFillable(worldIn.getBlockState(startPos), config))
-        {
-            return false;
-        }
-
-        final LinkedList<BlockPos> queue = new LinkedList<>();
-        final Direction[] directions = Direction.values();
-        final int maximumY = startPos.getY();
-        filled.add(startPos);
-        queue.addFirst(startPos);
-
-        while (!queue.isEmpty())
-        {
-            BlockPos posAt = queue.removeFirst();
-            for (Direction direction : directions)
-            {
-                mutablePos.set(posAt).move(direction);
-                if (!filled.contains(mutablePos) && mutablePos.getY() <= maximumY)
-                {
-                    final BlockState stateAt = worldIn.getBlockState(mutablePos);
-                    if (isFloodFillable(stateAt, config))
-                    {
-                        if (box.isInside(mutablePos))
-                        {
-                            // Valid flood fill location
-                            BlockPos posNext = mutablePos.immutable();
-                            queue.addFirst(posNext);
-                            filled.add(posNext);
-                        }
-                        else
-                        {
-                            // Invalid boundary condition
-                            return false;
-                        }
-                    }
-                }
-            }
-        }
-        return !filled.isEmpty();
-    }
-
     private boolean isFloodFillable(BlockState state, FloodFillLakeConfig config)
     {
         return !state.getMaterial().isSolid() && config.shouldReplace(state.getFluidState().getType());
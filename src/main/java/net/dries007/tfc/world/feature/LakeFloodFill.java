@@ -0,0 +1,188 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world.feature;
+
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+import net.minecraft.util.math.BlockPos;
+
+/**
+ * The flood fill used by {@link FloodFillLakeFeature}, over the region of a chunk plus {@link #RADIUS} blocks to each side.
+ * Filled positions are stored as local indices, in a bitset and in insertion order, and visited with an array backed stack. Nothing is allocated per position, so a single instance can be reused by every lake generated on a thread.
+ */
+public final class LakeFloodFill
+{
+    public static final int RADIUS = 14;
+
+    private static final int WIDTH = 16 + 2 * RADIUS;
+    private static final int HEIGHT = 256;
+    private static final int[][] OFFSETS = {{0, -1, 0}, {0, 1, 0}, {0, 0, -1}, {0, 0, 1}, {-1, 0, 0}, {1, 0, 0}};
+
+    private final long[] filled = new long[(WIDTH * WIDTH * HEIGHT) >> 6];
+    private final BlockPos.Mutable cursor = new BlockPos.Mutable();
+    private int[] positions = new int[1024];
+    private int[] stack = new int[256];
+    private int size;
+    private int minX, minZ;
+
+    /**
+     * Flood fills downwards from the start position, and then optionally overfills upwards a layer at a time, keeping each layer which doesn't escape the region.
+     *
+     * @param chunkX   The chunk the lake is placed in. The fill may extend up to {@link #RADIUS} blocks outside of it.
+     * @param fillable A predicate for if a position can be filled. It is passed a mutable position, which must not be retained.
+     * @return {@code true} if the fill was bounded within the region. In that case, the filled positions can be queried with {@link #size()} and {@link #get(int, BlockPos.Mutable)}.
+     */
+    public boolean fill(int chunkX, int chunkZ, BlockPos start, boolean overfill, Predicate<BlockPos> fillable)
+    {
+        clear();
+        minX = (chunkX << 4) - RADIUS;
+        minZ = (chunkZ << 4) - RADIUS;
+
+        if (!fillLayer(start.getX(), start.getY(), start.getZ(), fillable))
+        {
+            return false; // Failed the initial flood fill, exit early
+        }
+        if (!overfill)
+        {
+            return true;
+        }
+
+        // Initial result is valid, overfill upwards
+        final int initialSize = size;
+        for (int y = start.getY() + 1; ; y++)
+        {
+            final int mark = size;
+            if (!fillLayer(start.getX(), y, start.getZ(), fillable))
+            {
+                // Discard the partial layer, the previous layers are still valid
+                while (size > mark)
+                {
+                    unset(positions[--size]);
+                }
+                return true;
+            }
+            if (size == initialSize)
+            {
+                // The first move upwards added no new filled area. We abort here to not endlessly advance upwards
+                return true;
+            }
+        }
+    }
+
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * @return The {@code i}-th filled position, in the order they were filled.
+     */
+    public BlockPos.Mutable get(int i, BlockPos.Mutable pos)
+    {
+        final int index = positions[i];
+        return pos.set(minX + index % WIDTH, index / (WIDTH * WIDTH), minZ + (index / WIDTH) % WIDTH);
+    }
+
+    public boolean contains(int x, int y, int z)
+    {
+        return isInside(x, y, z) && y < HEIGHT && isSet(index(x, y, z));
+    }
+
+    private boolean fillLayer(int startX, int startY, int startZ, Predicate<BlockPos> fillable)
+    {
+        // First check the start position, this must be fillable. Above the world, the fill would always escape the region
+        if (startY >= HEIGHT || !fillable.test(cursor.set(startX, startY, startZ)))
+        {
+            return false;
+        }
+
+        int stackSize = 0;
+        final int start = index(startX, startY, startZ);
+        if (!isSet(start))
+        {
+            add(start);
+        }
+        stack[stackSize++] = start;
+
+        while (stackSize > 0)
+        {
+            final int index = stack[--stackSize];
+            final int x = minX + index % WIDTH, y = index / (WIDTH * WIDTH), z = minZ + (index / WIDTH) % WIDTH;
+            for (int[] offset : OFFSETS)
+            {
+                final int nextX = x + offset[0], nextY = y + offset[1], nextZ = z + offset[2];
+                if (nextY > startY)
+                {
+                    continue;
+                }
+
+                final boolean inside = isInside(nextX, nextY, nextZ);
+                final int next = inside ? index(nextX, nextY, nextZ) : -1;
+                if ((!inside || !isSet(next)) && fillable.test(cursor.set(nextX, nextY, nextZ)))
+                {
+                    if (!inside)
+                    {
+                        // Invalid boundary condition
+                        return false;
+                    }
+
+                    // Valid flood fill location
+                    add(next);
+                    if (stackSize == stack.length)
+                    {
+                        stack = Arrays.copyOf(stack, stackSize << 1);
+                    }
+                    stack[stackSize++] = next;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void clear()
+    {
+        for (int i = 0; i < size; i++)
+        {
+            unset(positions[i]);
+        }
+        size = 0;
+    }
+
+    private void add(int index)
+    {
+        filled[index >> 6] |= 1L << index;
+        if (size == positions.length)
+        {
+            positions = Arrays.copyOf(positions, size << 1);
+        }
+        positions[size++] = index;
+    }
+
+    private void unset(int index)
+    {
+        filled[index >> 6] &= ~(1L << index);
+    }
+
+    private boolean isSet(int index)
+    {
+        return (filled[index >> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Matches the vertical bounds of a two dimensional {@link net.minecraft.util.math.MutableBoundingBox}, which are [1, 512]
+     */
+    private boolean isInside(int x, int y, int z)
+    {
+        return x >= minX && x < minX + WIDTH && z >= minZ && z < minZ + WIDTH && y >= 1 && y <= 512;
+    }
+
+    private int index(int x, int y, int z)
+    {
+        return (x - minX) + WIDTH * ((z - minZ) + WIDTH * y);
+    }
+}
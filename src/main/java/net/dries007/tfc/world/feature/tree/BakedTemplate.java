@@ -0,0 +1,142 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world.feature.tree;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nullable;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.util.Mirror;
+import net.minecraft.util.Rotation;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.gen.feature.template.BlockIgnoreStructureProcessor;
+import net.minecraft.world.gen.feature.template.Template;
+
+import net.dries007.tfc.mixin.world.gen.feature.template.TemplateAccessor;
+
+/**
+ * A structure template with every palette pre-transformed by every mirror and rotation, used by {@link TreeHelpers#placeTemplate(Template, net.minecraft.world.gen.feature.template.PlacementSettings, net.minecraft.world.IWorld, BlockPos, float)}.
+ * Blocks ignored by {@link BlockIgnoreStructureProcessor#STRUCTURE_AND_AIR} are removed, and the remaining positions and states are stored as flat arrays, in the template's order.
+ * Templates are baked the first time they are placed, and the result is held by the template itself, so templates replaced by a data pack reload are dropped with it.
+ */
+public final class BakedTemplate
+{
+    private static final Mirror[] MIRRORS = Mirror.values();
+    private static final Rotation[] ROTATIONS = Rotation.values();
+
+    /**
+     * Two threads may both bake the same template, in which case both results are identical, and either may be kept.
+     */
+    public static BakedTemplate get(Template template)
+    {
+        final Holder holder = (Holder) template;
+        BakedTemplate baked = holder.tfc$getBakedTemplate();
+        if (baked == null)
+        {
+            baked = new BakedTemplate(template);
+            holder.tfc$setBakedTemplate(baked);
+        }
+        return baked;
+    }
+
+    private final Variant[][] variants; // Indexed by palette, then by mirror and rotation
+
+    @SuppressWarnings("deprecation")
+    private BakedTemplate(Template template)
+    {
+        final List<Template.Palette> palettes = ((TemplateAccessor) template).accessor$getPalettes();
+        variants = new Variant[palettes.size()][MIRRORS.length * ROTATIONS.length];
+        for (int palette = 0; palette < palettes.size(); palette++)
+        {
+            final List<Template.BlockInfo> blocks = new ArrayList<>();
+            for (Template.BlockInfo block : palettes.get(palette).blocks())
+            {
+                if (!block.state.is(Blocks.AIR) && !block.state.is(Blocks.STRUCTURE_BLOCK))
+                {
+                    blocks.add(block);
+                }
+            }
+
+            for (Mirror mirror : MIRRORS)
+            {
+                for (Rotation rotation : ROTATIONS)
+                {
+                    final int[] positions = new int[blocks.size() * 3];
+                    final BlockState[] states = new BlockState[blocks.size()];
+                    for (int i = 0; i < blocks.size(); i++)
+                    {
+                        final Template.BlockInfo block = blocks.get(i);
+                        final BlockPos pos = TreeHelpers.transform(block.pos, mirror, rotation);
+                        positions[3 * i] = pos.getX();
+                        positions[3 * i + 1] = pos.getY();
+                        positions[3 * i + 2] = pos.getZ();
+                        states[i] = block.state.mirror(mirror).rotate(rotation);
+                    }
+                    variants[palette][index(mirror, rotation)] = new Variant(positions, states);
+                }
+            }
+        }
+    }
+
+    public int getPaletteCount()
+    {
+        return variants.length;
+    }
+
+    public Variant getVariant(int palette, Mirror mirror, Rotation rotation)
+    {
+        return variants[palette][index(mirror, rotation)];
+    }
+
+    private int index(Mirror mirror, Rotation rotation)
+    {
+        return mirror.ordinal() * ROTATIONS.length + rotation.ordinal();
+    }
+
+    /**
+     * Implemented on {@link Template} via mixin, to hold the baked template.
+     */
+    public interface Holder
+    {
+        @Nullable
+        BakedTemplate tfc$getBakedTemplate();
+
+        void tfc$setBakedTemplate(BakedTemplate bakedTemplate);
+    }
+
+    /**
+     * A single palette, mirror and rotation. Positions are relative to the template origin, stored as consecutive x, y, z.
+     */
+    public static final class Variant
+    {
+        private final int[] positions;
+        private final BlockState[] states;
+
+        Variant(int[] positions, BlockState[] states)
+        {
+            this.positions = positions;
+            this.states = states;
+        }
+
+        public int size()
+        {
+            return states.length;
+        }
+
+        public BlockPos.Mutable getPos(int i, BlockPos origin, BlockPos.Mutable pos)
+        {
+            return pos.set(origin.getX() + positions[3 * i], origin.getY() + positions[3 * i + 1], origin.getZ() + positions[3 * i + 2]);
+        }
+
+        public BlockState getState(int i)
+        {
+            return states[i];
+        }
+    }
+}
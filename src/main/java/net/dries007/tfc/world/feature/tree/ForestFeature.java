@@ -39,7 +39,7 @@ public class ForestFeature extends Feature<ForestConfig>
     public boolean place(ISeedReader worldIn, ChunkGenerator generator, Random rand, BlockPos pos, ForestConfig config)
     {
         final ChunkDataProvider provider = ChunkDataProvider.get(generator);
-        final ChunkData data = provider.get(pos);
+        final ChunkData data = provider.getClimate(pos);
         final BlockPos.Mutable mutablePos = new BlockPos.Mutable();
         final ForestType forestType = data.getForestType();
 
@@ -20,7 +20,9 @@ import net.minecraft.world.ISeedReader;
 import net.minecraft.world.IServerWorld;
 import net.minecraft.world.IWorld;
 import net.minecraft.world.gen.feature.template.BlockIgnoreStructureProcessor;
+import net.minecraft.world.gen.feature.template.IntegrityProcessor;
 import net.minecraft.world.gen.feature.template.PlacementSettings;
+import net.minecraft.world.gen.feature.template.StructureProcessor;
 import net.minecraft.world.gen.feature.template.Template;
 import net.minecraft.world.gen.feature.template.TemplateManager;
 
@@ -39,21 +41,75 @@ public final class TreeHelpers
      * A variant of {@link Template#placeInWorld(IServerWorld, BlockPos, PlacementSettings, Random)} that is much simpler and faster for use in tree generation
      * Allows replacing leaves and air blocks
      */
-    @SuppressWarnings("deprecation")
     public static void placeTemplate(Template template, PlacementSettings placementIn, IWorld worldIn, BlockPos pos)
+    {
+        placeTemplate(template, placementIn, worldIn, pos, 1f);
+    }
+
+    /**
+     * Places a template, using the pre-transformed blocks from {@link BakedTemplate}.
+     * Structure and air blocks are always ignored, as with {@link #getPlacementSettings(ChunkPos, Random)}, and integrity is applied as with an {@link IntegrityProcessor}.
+     * If the placement settings have any other processors, the template is placed through {@link Template#processBlockInfos(IWorld, BlockPos, BlockPos, PlacementSettings, List, Template)} instead, which is much slower.
+     *
+     * @param integrity The chance for each block to be placed.
+     */
+    @SuppressWarnings("deprecation")
+    public static void placeTemplate(Template template, PlacementSettings placementIn, IWorld worldIn, BlockPos pos, float integrity)
+    {
+        for (StructureProcessor processor : placementIn.getProcessors())
+        {
+            if (processor != BlockIgnoreStructureProcessor.STRUCTURE_AND_AIR)
+            {
+                placeProcessedTemplate(template, placementIn, worldIn, pos, integrity);
+                return;
+            }
+        }
+
+        final BakedTemplate baked = BakedTemplate.get(template);
+        final Random random = placementIn.getRandom(pos);
+        final BakedTemplate.Variant variant = baked.getVariant(random.nextInt(baked.getPaletteCount()), placementIn.getMirror(), placementIn.getRotation());
+        final MutableBoundingBox boundingBox = placementIn.getBoundingBox();
+        final BlockPos.Mutable posAt = new BlockPos.Mutable();
+        for (int i = 0; i < variant.size(); i++)
+        {
+            if (integrity < 1f && random.nextFloat() > integrity)
+            {
+                continue;
+            }
+
+            variant.getPos(i, pos, posAt);
+            if (boundingBox == null || boundingBox.isInside(posAt))
+            {
+                BlockState stateAt = worldIn.getBlockState(posAt);
+                if (stateAt.isAir(worldIn, posAt) || BlockTags.LEAVES.contains(stateAt.getBlock()))
+                {
+                    worldIn.setBlock(posAt, variant.getState(i), 2);
+                }
+            }
+        }
+    }
+
+    /**
+     * Places a template by running every processor in the placement settings, and then applying integrity, as an {@link IntegrityProcessor} added last would.
+     */
+    @SuppressWarnings("deprecation")
+    private static void placeProcessedTemplate(Template template, PlacementSettings placementIn, IWorld worldIn, BlockPos pos, float integrity)
     {
         List<Template.BlockInfo> transformedBlockInfos = placementIn.getRandomPalette(((TemplateAccessor) template).accessor$getPalettes(), pos).blocks();
         MutableBoundingBox boundingBox = placementIn.getBoundingBox();
         for (Template.BlockInfo blockInfo : Template.processBlockInfos(worldIn, pos, pos, placementIn, transformedBlockInfos, template))
         {
             BlockPos posAt = blockInfo.pos;
+            if (integrity < 1f && placementIn.getRandom(posAt).nextFloat() > integrity)
+            {
+                continue;
+            }
             if (boundingBox == null || boundingBox.isInside(posAt))
             {
                 BlockState stateAt = worldIn.getBlockState(posAt);
                 if (stateAt.isAir(worldIn, posAt) || BlockTags.LEAVES.contains(stateAt.getBlock()))
                 {
                     // No world, can't rotate with world context
-                    @SuppressWarnings("deprecation")
                     BlockState stateReplace = blockInfo.state.mirror(placementIn.getMirror()).rotate(placementIn.getRotation());
                     worldIn.setBlock(posAt, stateReplace, 2);
                 }
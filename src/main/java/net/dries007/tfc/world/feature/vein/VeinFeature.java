@@ -7,36 +7,48 @@
 package net.dries007.tfc.world.feature.vein;
 
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.function.Function;
 import javax.annotation.Nullable;
 
 import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
 import net.minecraft.util.FastRandom;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.util.math.MutableBoundingBox;
 import net.minecraft.world.ISeedReader;
+import net.minecraft.world.World;
 import net.minecraft.world.biome.Biome;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.ChunkPrimer;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.IChunk;
 import net.minecraft.world.gen.ChunkGenerator;
 import net.minecraft.world.gen.Heightmap;
 import net.minecraft.world.gen.feature.Feature;
 
 import com.mojang.serialization.Codec;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
 
 public abstract class VeinFeature<C extends VeinConfig, V extends Vein> extends Feature<C>
 {
+    private final VeinIndex<C, V> index;
+
     public VeinFeature(Codec<C> codec)
     {
         super(codec);
+        this.index = new VeinIndex<>(1 << 16);
     }
 
     @Override
     public boolean place(ISeedReader worldIn, ChunkGenerator generator, Random random, BlockPos pos, C config)
     {
         final ChunkPos chunkPos = new ChunkPos(pos);
-        final List<V> veins = getNearbyVeins(worldIn, chunkPos, config.getChunkRadius(), config, worldIn::getBiome);
+        final List<V> veins = getVeinsIntersecting(worldIn, chunkPos, config, worldIn::getBiome);
         if (!veins.isEmpty())
         {
             for (V vein : veins)
@@ -51,34 +63,85 @@ public abstract class VeinFeature<C extends VeinConfig, V extends Vein> extends
     public final List<V> getNearbyVeins(ISeedReader world, ChunkPos pos, int radius, C config, Function<BlockPos, Biome> biomeQuery)
     {
         final List<V> veins = new ArrayList<>();
-        final Random random = new Random();
         for (int x = pos.x - radius; x <= pos.x + radius; x++)
         {
             for (int z = pos.z - radius; z <= pos.z + radius; z++)
             {
-                getVeinsAtChunk(world, x, z, veins, config, random, biomeQuery);
+                final V vein = getVeinAtChunk(world, x, z, config, biomeQuery);
+                if (vein != null)
+                {
+                    veins.add(vein);
+                }
             }
         }
         return veins;
     }
 
-    public final void getVeinsAtChunk(ISeedReader world, int chunkPosX, int chunkPosZ, List<V> veins, C config, Random random, Function<BlockPos, Biome> biomeQuery)
+    /**
+     * Finds all veins whose bounding box intersects a chunk, within the vertical range of the config.
+     * Veins are cached, so this can be used to query veins (i.e. for prospecting) without generating terrain.
+     */
+    public final List<V> getVeinsIntersecting(ISeedReader world, ChunkPos pos, C config, Function<BlockPos, Biome> biomeQuery)
     {
-        long seed = FastRandom.next(world.getSeed(), config.getSalt());
-        seed = FastRandom.next(seed, chunkPosX);
-        seed = FastRandom.next(seed, chunkPosZ);
-        seed = FastRandom.next(seed, config.getSalt());
-        random.setSeed(seed);
-        if (random.nextInt(config.getRarity()) == 0)
-        {
-            final V vein = createVein(chunkPosX << 4, chunkPosZ << 4, random, config);
-            if (config.canSpawnInBiome(() -> biomeQuery.apply(vein.getPos())))
+        return getVeinsIntersecting(world, pos, config, biomeQuery, pos.getMinBlockX(), pos.getMinBlockZ(), pos.getMaxBlockX(), pos.getMaxBlockZ());
+    }
+
+    /**
+     * Finds all veins whose bounding box intersects a single column, within the vertical range of the config.
+     */
+    public final List<V> getVeinsIntersecting(ISeedReader world, BlockPos pos, C config, Function<BlockPos, Biome> biomeQuery)
+    {
+        return getVeinsIntersecting(world, new ChunkPos(pos), config, biomeQuery, pos.getX(), pos.getZ(), pos.getX(), pos.getZ());
+    }
+
+    /**
+     * Gets the vein which starts in a given chunk, if there is one.
+     * The vein itself only depends on the world seed and config, so it is cached, but the biome filter is applied on every call as it depends on the biome source.
+     */
+    @Nullable
+    public final V getVeinAtChunk(ISeedReader world, int chunkPosX, int chunkPosZ, C config, Function<BlockPos, Biome> biomeQuery)
+    {
+        final long worldSeed = world.getSeed();
+        final V vein = index.get(worldSeed, config, chunkPosX, chunkPosZ, () -> {
+            long seed = FastRandom.next(worldSeed, config.getSalt());
+            seed = FastRandom.next(seed, chunkPosX);
+            seed = FastRandom.next(seed, chunkPosZ);
+            seed = FastRandom.next(seed, config.getSalt());
+            final Random random = new Random(seed);
+            if (random.nextInt(config.getRarity()) == 0)
             {
-                veins.add(vein);
+                return createVein(chunkPosX << 4, chunkPosZ << 4, random, config);
             }
+            return null;
+        });
+        if (vein != null && config.canSpawnInBiome(() -> biomeQuery.apply(vein.getPos())))
+        {
+            return vein;
         }
+        return null;
     }
 
+    public VeinIndex<C, V> getIndex()
+    {
+        return index;
+    }
+
+    private List<V> getVeinsIntersecting(ISeedReader world, ChunkPos pos, C config, Function<BlockPos, Biome> biomeQuery, int minX, int minZ, int maxX, int maxZ)
+    {
+        final List<V> veins = getNearbyVeins(world, pos, config.getChunkRadius(), config, biomeQuery);
+        veins.removeIf(vein -> {
+            final MutableBoundingBox box = getBoundingBox(config, vein);
+            box.move(vein.getPos());
+            return box.x0 > maxX || box.x1 < minX || box.z0 > maxZ || box.z1 < minZ || box.y0 > config.getMaxY() || box.y1 < config.getMinY();
+        });
+        return veins;
+    }
+
+    /**
+     * Places a vein in a single chunk, in two passes.
+     * First, ore is resolved column by column, and buffered per chunk section, and then written directly into the sections. Indicators are then placed through the world, as they may be outside this chunk.
+     * Both passes consume random values in the same order as placing each block through the world would, and ore only replaces solid stone, so this does not change the resulting chunk.
+     */
     @SuppressWarnings("deprecation")
     protected void place(ISeedReader world, Random random, int blockX, int blockZ, V vein, C config)
     {
@@ -91,6 +154,12 @@ public abstract class VeinFeature<C extends VeinConfig, V extends Vein> extends
         int minY = Math.max(config.getMinY(), box.y0), maxY = Math.min(config.getMaxY(), box.y1);
         int minZ = Math.max(blockZ, box.z0), maxZ = Math.min(blockZ + 15, box.z1);
 
+        final IChunk chunk = world.getChunk(blockX >> 4, blockZ >> 4);
+        final ChunkSection[] sections = chunk.getSections();
+        final SectionBuffer buffer = new SectionBuffer();
+        final List<BlockPos> indicatorPositions = new ArrayList<>();
+        final List<BlockState> indicatorStates = new ArrayList<>();
+
         for (int x = minX; x <= maxX; x++)
         {
             for (int z = minZ; z <= maxZ; z++)
@@ -99,14 +168,14 @@ public abstract class VeinFeature<C extends VeinConfig, V extends Vein> extends
 
                 for (int y = minY; y <= maxY; y++)
                 {
-                    mutablePos.set(x, y, z);
                     if (random.nextFloat() < getChanceToGenerate(x - vein.getPos().getX(), y - vein.getPos().getY(), z - vein.getPos().getZ(), vein, config))
                     {
-                        final BlockState stoneState = world.getBlockState(mutablePos);
+                        final ChunkSection section = World.isOutsideBuildHeight(y) ? Chunk.EMPTY_SECTION : sections[y >> 4];
+                        final BlockState stoneState = section == Chunk.EMPTY_SECTION ? Blocks.AIR.defaultBlockState() : section.getBlockState(x & 15, y & 15, z & 15);
                         final BlockState oreState = getStateToGenerate(stoneState, random, config);
                         if (oreState != null)
                         {
-                            world.setBlock(mutablePos, oreState, 3);
+                            buffer.add(x, y, z, oreState);
                             maxVeinY = y;
                         }
                     }
@@ -121,18 +190,24 @@ public abstract class VeinFeature<C extends VeinConfig, V extends Vein> extends
                     final int indicatorY = world.getHeight(Heightmap.Type.OCEAN_FLOOR_WG, indicatorX, indicatorZ);
                     if (Math.abs(indicatorY - maxVeinY) < indicator.getDepth())
                     {
-                        mutablePos.set(indicatorX, indicatorY, indicatorZ);
-                        final BlockState stateAt = world.getBlockState(mutablePos);
-                        final BlockState state = indicator.getStateToGenerate(random);
-                        if (stateAt.isAir() && state.canSurvive(world, mutablePos))
-                        {
-                            world.setBlock(mutablePos, state, 3);
-                            //world.setBlock(mutablePos.above(20), Blocks.GOLD_BLOCK.defaultBlockState(), 3);
-                        }
+                        indicatorPositions.add(new BlockPos(indicatorX, indicatorY, indicatorZ));
+                        indicatorStates.add(indicator.getStateToGenerate(random));
                     }
                 }
             }
         }
+
+        buffer.write(world, chunk, mutablePos);
+
+        for (int i = 0; i < indicatorPositions.size(); i++)
+        {
+            final BlockPos pos = indicatorPositions.get(i);
+            final BlockState state = indicatorStates.get(i);
+            if (world.getBlockState(pos).isAir() && state.canSurvive(world, pos))
+            {
+                world.setBlock(pos, state, 3);
+            }
+        }
     }
 
     @Nullable
@@ -173,4 +248,95 @@ public abstract class VeinFeature<C extends VeinConfig, V extends Vein> extends
      * Gets the total bounding box around where the vein can spawn, using relative position to the center of the vein
      */
     protected abstract MutableBoundingBox getBoundingBox(C config, V vein);
+
+    /**
+     * Ore positions and states for a single chunk, grouped by chunk section.
+     */
+    static final class SectionBuffer
+    {
+        @SuppressWarnings("unchecked")
+        private final List<BlockState>[] states = new List[16];
+        private final IntArrayList[] positions = new IntArrayList[16];
+
+        void add(int x, int y, int z, BlockState state)
+        {
+            final int sectionY = y >> 4;
+            if (positions[sectionY] == null)
+            {
+                positions[sectionY] = new IntArrayList();
+                states[sectionY] = new ArrayList<>();
+            }
+            positions[sectionY].add((x & 15) | ((z & 15) << 4) | ((y & 15) << 8));
+            states[sectionY].add(state);
+        }
+
+        /**
+         * Writes directly into the sections, skipping the unnecessary steps in {@link ChunkPrimer#setBlockState(BlockPos, BlockState, boolean)}.
+         * Ore which emits light or has a tile entity, or any ore outside of a chunk primer, is still placed through the world.
+         */
+        void write(ISeedReader world, IChunk chunk, BlockPos.Mutable mutablePos)
+        {
+            final int blockX = chunk.getPos().getMinBlockX(), blockZ = chunk.getPos().getMinBlockZ();
+            final ChunkPrimer primer = chunk instanceof ChunkPrimer ? (ChunkPrimer) chunk : null;
+            Heightmap[] heightmaps = null;
+            for (int sectionY = 0; sectionY < 16; sectionY++)
+            {
+                final IntArrayList sectionPositions = positions[sectionY];
+                if (sectionPositions == null)
+                {
+                    continue;
+                }
+
+                final List<BlockState> sectionStates = states[sectionY];
+                final ChunkSection section = primer != null ? primer.getOrCreateSection(sectionY) : null;
+                if (primer != null && heightmaps == null)
+                {
+                    heightmaps = primeHeightmaps(primer);
+                }
+                for (int i = 0; i < sectionPositions.size(); i++)
+                {
+                    final int index = sectionPositions.getInt(i);
+                    final int x = index & 15, z = (index >> 4) & 15, y = (sectionY << 4) | (index >> 8);
+                    final BlockState state = sectionStates.get(i);
+                    if (section == null || state.getLightEmission() != 0 || state.hasTileEntity())
+                    {
+                        world.setBlock(mutablePos.set(blockX | x, y, blockZ | z), state, 3);
+                    }
+                    else
+                    {
+                        section.setBlockState(x, y & 15, z, state, false);
+                        for (Heightmap heightmap : heightmaps)
+                        {
+                            heightmap.update(x, y, z, state);
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Primes any missing heightmaps, and returns those which {@link ChunkPrimer#setBlockState(BlockPos, BlockState, boolean)} would update for the chunk's status.
+         */
+        private Heightmap[] primeHeightmaps(ChunkPrimer primer)
+        {
+            final EnumSet<Heightmap.Type> types = primer.getStatus().heightmapsAfter();
+            final EnumSet<Heightmap.Type> missing = EnumSet.copyOf(types);
+            for (Map.Entry<Heightmap.Type, Heightmap> entry : primer.getHeightmaps())
+            {
+                missing.remove(entry.getKey());
+            }
+            if (!missing.isEmpty())
+            {
+                Heightmap.primeHeightmaps(primer, missing);
+            }
+
+            final Heightmap[] heightmaps = new Heightmap[types.size()];
+            int i = 0;
+            for (Heightmap.Type type : types)
+            {
+                heightmaps[i++] = primer.getOrCreateHeightmapUnprimed(type);
+            }
+            return heightmaps;
+        }
+    }
 }
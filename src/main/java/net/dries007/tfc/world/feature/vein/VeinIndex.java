@@ -0,0 +1,86 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world.feature.vein;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
+
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.MathHelper;
+
+import it.unimi.dsi.fastutil.HashCommon;
+
+/**
+ * A direct mapped cache of the vein (or lack of one) which starts in each source chunk, for each vein config and world seed.
+ * Every chunk within a vein's radius asks for the same source chunks, so this avoids recreating the vein for each of them.
+ * Only the vein is cached, and not the result of the biome filter, as that depends on the biome source, which is not part of the key.
+ * This is safe to share between threads: each slot holds an immutable entry, so a racing read will either see a complete entry, or miss.
+ */
+public final class VeinIndex<C extends VeinConfig, V extends Vein>
+{
+    private final Entry<C, V>[] entries;
+    private final int mask;
+
+    private final LongAdder hits = new LongAdder(), misses = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    public VeinIndex(int size)
+    {
+        size = MathHelper.smallestEncompassingPowerOfTwo(size);
+
+        this.mask = size - 1;
+        this.entries = (Entry<C, V>[]) new Entry[size];
+    }
+
+    /**
+     * @param factory Creates the vein at the source chunk, or returns null if there is none. Only called on a cache miss.
+     */
+    @Nullable
+    public V get(long seed, C config, int chunkX, int chunkZ, Supplier<V> factory)
+    {
+        final long key = ChunkPos.asLong(chunkX, chunkZ);
+        final int index = (int) HashCommon.mix(key ^ seed ^ config.getSalt()) & mask;
+        final Entry<C, V> entry = entries[index];
+        if (entry != null && entry.key == key && entry.seed == seed && entry.config == config)
+        {
+            hits.increment();
+            return entry.vein;
+        }
+
+        misses.increment();
+        final V vein = factory.get();
+        entries[index] = new Entry<>(key, seed, config, vein);
+        return vein;
+    }
+
+    public long getHits()
+    {
+        return hits.sum();
+    }
+
+    public long getMisses()
+    {
+        return misses.sum();
+    }
+
+    static final class Entry<C, V>
+    {
+        final long key;
+        final long seed;
+        final C config;
+        @Nullable final V vein;
+
+        Entry(long key, long seed, C config, @Nullable V vein)
+        {
+            this.key = key;
+            this.seed = seed;
+            this.config = config;
+            this.vein = vein;
+        }
+    }
+}
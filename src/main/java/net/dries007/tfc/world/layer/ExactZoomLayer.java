@@ -6,14 +6,45 @@
 
 package net.dries007.tfc.world.layer;
 
-import net.dries007.tfc.world.layer.framework.Area;
-import net.dries007.tfc.world.layer.framework.AreaContext;
-import net.dries007.tfc.world.layer.framework.TransformLayer;
+import net.dries007.tfc.world.layer.framework.*;
 
 public enum ExactZoomLayer implements TransformLayer
 {
     INSTANCE;
 
+    @Override
+    public AreaFactory apply(AreaContext context, AreaFactory prev)
+    {
+        return () -> {
+            final Area prevArea = prev.get();
+            return context.createArea(new AreaSource()
+            {
+                @Override
+                public int apply(int x, int z)
+                {
+                    return prevArea.get(x >> 1, z >> 1);
+                }
+
+                @Override
+                public void apply(int[] out, int minX, int minZ, int width, int height)
+                {
+                    final int parentMinX = minX >> 1, parentMinZ = minZ >> 1;
+                    final int parentWidth = ((minX + width - 1) >> 1) - parentMinX + 1;
+                    final int parentHeight = ((minZ + height - 1) >> 1) - parentMinZ + 1;
+                    final int[] parent = new int[parentWidth * parentHeight];
+                    prevArea.get(parent, parentMinX, parentMinZ, parentWidth, parentHeight);
+                    for (int z = 0; z < height; z++)
+                    {
+                        for (int x = 0; x < width; x++)
+                        {
+                            out[x + z * width] = parent[(((minX + x) >> 1) - parentMinX) + (((minZ + z) >> 1) - parentMinZ) * parentWidth];
+                        }
+                    }
+                }
+            });
+        };
+    }
+
     @Override
     public int apply(AreaContext context, Area area, int x, int z)
     {
@@ -74,20 +74,33 @@ public class LayerFactory<T>
     }
 
     /**
-     * Uses a thread local area, as the underlying area is not synchronized.
-     * This is an optimization adapted from Lithium, implementing a much better cache for the LazyArea underneath
+     * A single area, shared by all threads. Both the area caches, and the layers' randomness, are thread safe.
      */
-    private final ThreadLocal<Area> area;
+    private final Area area;
     private final IntFunction<T> mappingFunction;
 
     protected LayerFactory(AreaFactory factory, IntFunction<T> mappingFunction)
     {
-        this.area = ThreadLocal.withInitial(factory);
+        this.area = factory.get();
         this.mappingFunction = mappingFunction;
     }
 
     public T get(int x, int z)
     {
-        return mappingFunction.apply(area.get().get(x, z));
+        return mappingFunction.apply(area.get(x, z));
+    }
+
+    /**
+     * Evaluates a rectangular tile into {@code out}, indexed by {@code (x - minX) + (z - minZ) * width}.
+     * This is much faster than querying each position via {@link #get(int, int)}, as each layer is evaluated as a single tile.
+     */
+    public void get(T[] out, int minX, int minZ, int width, int height)
+    {
+        final int[] values = new int[width * height];
+        area.get(values, minX, minZ, width, height);
+        for (int i = 0; i < values.length; i++)
+        {
+            out[i] = mappingFunction.apply(values[i]);
+        }
     }
 }
@@ -27,8 +27,9 @@ public enum PlateBoundaryLayer
         return () -> {
             final TypedArea<Plate> area = plateLayer.get();
             return context.createArea((x, z) -> {
-                context.initSeed(x, z);
-                return apply(context, area, x, z);
+                final AreaContext local = context.local();
+                local.initSeed(x, z);
+                return apply(local, area, x, z);
             });
         };
     }
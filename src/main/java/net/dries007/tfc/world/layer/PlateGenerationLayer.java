@@ -6,6 +6,8 @@
 
 package net.dries007.tfc.world.layer;
 
+import java.util.function.Supplier;
+
 import net.minecraft.util.math.MathHelper;
 
 import net.dries007.tfc.world.layer.framework.AreaContext;
@@ -16,21 +18,24 @@ public class PlateGenerationLayer implements TypedSourceLayer<Plate>
 {
     private static final float PI = (float) Math.PI;
 
-    private final Cellular2D plateNoise;
+    private final ThreadLocal<Cellular2D> plateNoise;
     private final int oceanPercent;
 
-    public PlateGenerationLayer(Cellular2D plateNoise, int oceanPercent)
+    /**
+     * @param plateNoise A factory for the plate noise. The cell center is stored as state on the noise, so each thread evaluating this layer uses its own instance.
+     */
+    public PlateGenerationLayer(Supplier<Cellular2D> plateNoise, int oceanPercent)
     {
-        this.plateNoise = plateNoise;
+        this.plateNoise = ThreadLocal.withInitial(plateNoise);
         this.oceanPercent = oceanPercent;
     }
 
     @Override
     public Plate apply(AreaContext context, int x, int z)
     {
-        plateNoise.noise(x, z);
-        float centerX = plateNoise.centerX();
-        float centerZ = plateNoise.centerZ();
+        final Cellular2D noise = plateNoise.get();
+        noise.noise(x, z);
+        final float centerX = noise.centerX(), centerZ = noise.centerZ();
         context.initSeed(Float.floatToRawIntBits(centerX), Float.floatToRawIntBits(centerZ));
         for (int j = 0; j < 10; j++) context.nextInt(1);
         boolean oceanic = context.nextInt(100) < oceanPercent;
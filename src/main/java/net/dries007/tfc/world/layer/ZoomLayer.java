@@ -6,9 +6,7 @@
 
 package net.dries007.tfc.world.layer;
 
-import net.dries007.tfc.world.layer.framework.Area;
-import net.dries007.tfc.world.layer.framework.AreaContext;
-import net.dries007.tfc.world.layer.framework.TransformLayer;
+import net.dries007.tfc.world.layer.framework.*;
 
 public enum ZoomLayer implements TransformLayer
 {
@@ -50,6 +48,45 @@ public enum ZoomLayer implements TransformLayer
             }
         };
 
+    @Override
+    public AreaFactory apply(AreaContext context, AreaFactory prev)
+    {
+        return () -> {
+            final Area prevArea = prev.get();
+            return context.createArea(new AreaSource()
+            {
+                @Override
+                public int apply(int x, int z)
+                {
+                    final AreaContext local = context.local();
+                    local.initSeed(x, z);
+                    return ZoomLayer.this.apply(local, prevArea, x, z);
+                }
+
+                @Override
+                public void apply(int[] out, int minX, int minZ, int width, int height)
+                {
+                    // The parent tile covers half the size, plus one for the positive neighbors
+                    final int parentMinX = minX >> 1, parentMinZ = minZ >> 1;
+                    final int parentWidth = ((minX + width - 1) >> 1) - parentMinX + 2;
+                    final int parentHeight = ((minZ + height - 1) >> 1) - parentMinZ + 2;
+                    final int[] parent = new int[parentWidth * parentHeight];
+                    final AreaContext local = context.local();
+                    prevArea.get(parent, parentMinX, parentMinZ, parentWidth, parentHeight);
+                    for (int z = 0; z < height; z++)
+                    {
+                        for (int x = 0; x < width; x++)
+                        {
+                            final int posX = minX + x, posZ = minZ + z;
+                            final int i = ((posX >> 1) - parentMinX) + ((posZ >> 1) - parentMinZ) * parentWidth;
+                            out[x + z * width] = zoom(local, posX, posZ, parent[i], parent[i + parentWidth], parent[i + 1], parent[i + 1 + parentWidth]);
+                        }
+                    }
+                }
+            });
+        };
+    }
+
     @Override
     public int apply(AreaContext context, Area area, int x, int z)
     {
@@ -73,5 +110,29 @@ public enum ZoomLayer implements TransformLayer
         return choose(context, northWest, area.get(parentX, parentZ + 1), area.get(parentX + 1, parentZ), area.get(parentX + 1, parentZ + 1));
     }
 
+    /**
+     * Equivalent to {@link #apply(AreaContext, Area, int, int)}, with all four parent values already known.
+     */
+    private int zoom(AreaContext context, int x, int z, int northWest, int southWest, int northEast, int southEast)
+    {
+        final int parentX = x >> 1, parentZ = z >> 1;
+        final int offsetX = x & 1, offsetZ = z & 1;
+
+        context.initSeed(parentX, parentZ);
+        if (offsetX == 0 && offsetZ == 0)
+        {
+            return northWest;
+        }
+        else if (offsetX == 0)
+        {
+            return context.choose(northWest, southWest);
+        }
+        else if (offsetZ == 0)
+        {
+            return context.choose(northWest, northEast);
+        }
+        return choose(context, northWest, southWest, northEast, southEast);
+    }
+
     public abstract int choose(AreaContext context, int first, int second, int third, int fourth);
 }
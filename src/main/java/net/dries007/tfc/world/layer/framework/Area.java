@@ -6,49 +6,111 @@
 
 package net.dries007.tfc.world.layer.framework;
 
-import java.util.Arrays;
-
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.util.math.MathHelper;
 
-import it.unimi.dsi.fastutil.HashCommon;
-
 /**
  * A caching wrapper around a {@link AreaSource}. Created from the result of a stack of layers.
+ * This is safe to share between threads: each cache slot holds an immutable entry, so a racing read will either see a complete entry, or miss.
+ * The cache is indexed by the low bits of each coordinate, rather than a hash, so any tile up to the cache's width (64 x 64, for the default size) fits without any position evicting another.
  */
 public class Area
 {
     private final AreaSource source;
-    private final long[] keys;
-    private final int[] values;
-    private final int mask;
+    private final Entry[] entries;
+    private final int xBits, xMask, zMask;
 
     public Area(AreaSource source, int maxCacheSize)
     {
         maxCacheSize = MathHelper.smallestEncompassingPowerOfTwo(maxCacheSize);
 
+        final int bits = Integer.numberOfTrailingZeros(maxCacheSize);
         this.source = source;
-        this.keys = new long[maxCacheSize];
-        this.values = new int[maxCacheSize];
-        this.mask = maxCacheSize - 1;
-
-        Arrays.fill(this.keys, Long.MIN_VALUE);
+        this.entries = new Entry[maxCacheSize];
+        this.xBits = (bits + 1) >> 1;
+        this.xMask = (1 << xBits) - 1;
+        this.zMask = (1 << (bits - xBits)) - 1;
     }
 
     public int get(int x, int z)
     {
         final long key = ChunkPos.asLong(x, z);
-        final int index = (int) HashCommon.mix(key) & mask;
-        if (keys[index] == key)
+        final int index = index(x, z);
+        final Entry entry = entries[index];
+        if (entry != null && entry.key == key)
         {
-            return values[index];
+            return entry.value;
         }
         else
         {
             final int value = source.apply(x, z);
-            values[index] = value;
-            keys[index] = key;
+            entries[index] = new Entry(key, value);
             return value;
         }
     }
+
+    /**
+     * Evaluates a rectangular tile of this area into {@code out}, indexed by {@code (x - minX) + (z - minZ) * width}. The values are identical to those returned by {@link #get(int, int)}.
+     * If every position is already cached, the tile is served from the cache. Otherwise, each supporting layer is evaluated as a single tile, and the results are added to the cache, as neighbouring chunks request overlapping tiles.
+     */
+    public void get(int[] out, int minX, int minZ, int width, int height)
+    {
+        if (getCached(out, minX, minZ, width, height))
+        {
+            return;
+        }
+
+        source.apply(out, minX, minZ, width, height);
+        for (int z = 0; z < height; z++)
+        {
+            for (int x = 0; x < width; x++)
+            {
+                final long key = ChunkPos.asLong(minX + x, minZ + z);
+                final int index = index(minX + x, minZ + z);
+                final Entry entry = entries[index];
+                if (entry == null || entry.key != key)
+                {
+                    entries[index] = new Entry(key, out[x + z * width]);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return {@code true} if every position in the tile was cached, and has been copied into {@code out}.
+     */
+    private boolean getCached(int[] out, int minX, int minZ, int width, int height)
+    {
+        for (int z = 0; z < height; z++)
+        {
+            for (int x = 0; x < width; x++)
+            {
+                final long key = ChunkPos.asLong(minX + x, minZ + z);
+                final Entry entry = entries[index(minX + x, minZ + z)];
+                if (entry == null || entry.key != key)
+                {
+                    return false;
+                }
+                out[x + z * width] = entry.value;
+            }
+        }
+        return true;
+    }
+
+    private int index(int x, int z)
+    {
+        return (x & xMask) | ((z & zMask) << xBits);
+    }
+
+    static final class Entry
+    {
+        final long key;
+        final int value;
+
+        Entry(long key, int value)
+        {
+            this.key = key;
+            this.value = value;
+        }
+    }
 }
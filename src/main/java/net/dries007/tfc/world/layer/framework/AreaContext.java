@@ -6,10 +6,16 @@
 
 package net.dries007.tfc.world.layer.framework;
 
+import javax.annotation.Nullable;
+
 /**
  * A context object used in layer creation.
  * Provides randomness seeded at each position for use in layers.
  *
+ * A context is not thread safe, but the context a layer is created with is never seeded directly. Instead, each evaluation of a layer uses the current thread's {@link #local()} copy of it, which it seeds at the evaluated position.
+ * As the random values depend only on the seed and position, areas and their caches can be shared freely between threads.
+ * A layer's context must not be shared with any layer it depends on, as evaluating the parent would re-seed the same thread local copy.
+ *
  * Parts of this class are modified from {@link java.util.Random}
  */
 public class AreaContext
@@ -19,21 +25,41 @@ public class AreaContext
     private static final long mask = (1L << 48) - 1;
 
     private final long seed;
+    @Nullable private final ThreadLocal<AreaContext> local;
     private long value;
 
     public AreaContext(long seed)
     {
         this.seed = seed;
+        this.local = ThreadLocal.withInitial(() -> new AreaContext(seed, null));
+    }
+
+    private AreaContext(long seed, @Nullable ThreadLocal<AreaContext> local)
+    {
+        this.seed = seed;
+        this.local = local;
+    }
+
+    /**
+     * @return The current thread's context with the same seed as this one, which must be seeded via {@link #initSeed(long, long)} before use. It is reused between evaluations on the same thread, so this does not allocate.
+     */
+    public AreaContext local()
+    {
+        if (local == null)
+        {
+            throw new IllegalStateException("Tried to get the local context of a local context");
+        }
+        return local.get();
     }
 
     public Area createArea(AreaSource source)
     {
-        return new Area(source, 1024);
+        return new Area(source, 4096);
     }
 
     public <T> TypedArea<T> createTypedArea(TypedAreaSource<T> source)
     {
-        return new TypedArea<>(source, 1024);
+        return new TypedArea<>(source, 4096);
     }
 
     public void initSeed(long x, long z)
@@ -13,4 +13,20 @@ package net.dries007.tfc.world.layer.framework;
 public interface AreaSource
 {
     int apply(int x, int z);
+
+    /**
+     * Evaluates every position in a rectangular tile into {@code out}, indexed by {@code (x - minX) + (z - minZ) * width}.
+     * Layers which know which positions of their parent(s) they read override this, to evaluate their parent as a single, slightly larger, tile, rather than recursing once per position.
+     * The default implementation evaluates each position individually.
+     */
+    default void apply(int[] out, int minX, int minZ, int width, int height)
+    {
+        for (int z = 0; z < height; z++)
+        {
+            for (int x = 0; x < width; x++)
+            {
+                out[x + z * width] = apply(minX + x, minZ + z);
+            }
+        }
+    }
 }
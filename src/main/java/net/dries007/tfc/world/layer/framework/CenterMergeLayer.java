@@ -11,6 +11,43 @@ package net.dries007.tfc.world.layer.framework;
  */
 public interface CenterMergeLayer extends MergeLayer
 {
+    @Override
+    default AreaFactory apply(AreaContext context, AreaFactory first, AreaFactory second)
+    {
+        return () -> {
+            final Area firstArea = first.get();
+            final Area secondArea = second.get();
+            return context.createArea(new AreaSource()
+            {
+                @Override
+                public int apply(int x, int z)
+                {
+                    final AreaContext local = context.local();
+                    local.initSeed(x, z);
+                    return CenterMergeLayer.this.apply(local, firstArea, secondArea, x, z);
+                }
+
+                @Override
+                public void apply(int[] out, int minX, int minZ, int width, int height)
+                {
+                    final AreaContext local = context.local();
+                    final int[] secondValues = new int[width * height];
+                    firstArea.get(out, minX, minZ, width, height);
+                    secondArea.get(secondValues, minX, minZ, width, height);
+                    for (int z = 0; z < height; z++)
+                    {
+                        for (int x = 0; x < width; x++)
+                        {
+                            final int i = x + z * width;
+                            local.initSeed(minX + x, minZ + z);
+                            out[i] = CenterMergeLayer.this.apply(local, out[i], secondValues[i]);
+                        }
+                    }
+                }
+            });
+        };
+    }
+
     @Override
     default int apply(AreaContext context, Area first, Area second, int x, int z)
     {
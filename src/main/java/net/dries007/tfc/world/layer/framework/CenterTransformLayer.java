@@ -11,6 +11,40 @@ package net.dries007.tfc.world.layer.framework;
  */
 public interface CenterTransformLayer extends TransformLayer
 {
+    @Override
+    default AreaFactory apply(AreaContext context, AreaFactory prev)
+    {
+        return () -> {
+            final Area prevArea = prev.get();
+            return context.createArea(new AreaSource()
+            {
+                @Override
+                public int apply(int x, int z)
+                {
+                    final AreaContext local = context.local();
+                    local.initSeed(x, z);
+                    return CenterTransformLayer.this.apply(local, prevArea, x, z);
+                }
+
+                @Override
+                public void apply(int[] out, int minX, int minZ, int width, int height)
+                {
+                    final AreaContext local = context.local();
+                    prevArea.get(out, minX, minZ, width, height);
+                    for (int z = 0; z < height; z++)
+                    {
+                        for (int x = 0; x < width; x++)
+                        {
+                            final int i = x + z * width;
+                            local.initSeed(minX + x, minZ + z);
+                            out[i] = CenterTransformLayer.this.apply(local, out[i]);
+                        }
+                    }
+                }
+            });
+        };
+    }
+
     @Override
     default int apply(AreaContext context, Area area, int x, int z)
     {
@@ -11,6 +11,43 @@ package net.dries007.tfc.world.layer.framework;
  */
 public interface DiagonalTransformLayer extends TransformLayer
 {
+    @Override
+    default AreaFactory apply(AreaContext context, AreaFactory prev)
+    {
+        return () -> {
+            final Area prevArea = prev.get();
+            return context.createArea(new AreaSource()
+            {
+                @Override
+                public int apply(int x, int z)
+                {
+                    final AreaContext local = context.local();
+                    local.initSeed(x, z);
+                    return DiagonalTransformLayer.this.apply(local, prevArea, x, z);
+                }
+
+                @Override
+                public void apply(int[] out, int minX, int minZ, int width, int height)
+                {
+                    final AreaContext local = context.local();
+                    // The parent tile has a margin of one on each side
+                    final int parentWidth = width + 2;
+                    final int[] parent = new int[parentWidth * (height + 2)];
+                    prevArea.get(parent, minX - 1, minZ - 1, parentWidth, height + 2);
+                    for (int z = 0; z < height; z++)
+                    {
+                        for (int x = 0; x < width; x++)
+                        {
+                            final int i = (x + 1) + (z + 1) * parentWidth;
+                            local.initSeed(minX + x, minZ + z);
+                            out[x + z * width] = DiagonalTransformLayer.this.apply(local, parent[i], parent[i + 1 - parentWidth], parent[i + 1 + parentWidth], parent[i - 1 + parentWidth], parent[i - 1 - parentWidth]);
+                        }
+                    }
+                }
+            });
+        };
+    }
+
     @Override
     default int apply(AreaContext context, Area area, int x, int z)
     {
@@ -17,8 +17,9 @@ public interface MergeLayer
             final Area firstArea = first.get();
             final Area secondArea = second.get();
             return context.createArea((x, z) -> {
-                context.initSeed(x, z);
-                return apply(context, firstArea, secondArea, x, z);
+                final AreaContext local = context.local();
+                local.initSeed(x, z);
+                return apply(local, firstArea, secondArea, x, z);
             });
         };
     }
@@ -14,9 +14,29 @@ public interface SourceLayer
 {
     default AreaFactory apply(AreaContext context)
     {
-        return () -> context.createArea((x, z) -> {
-            context.initSeed(x, z);
-            return apply(context, x, z);
+        return () -> context.createArea(new AreaSource()
+        {
+            @Override
+            public int apply(int x, int z)
+            {
+                final AreaContext local = context.local();
+                local.initSeed(x, z);
+                return SourceLayer.this.apply(local, x, z);
+            }
+
+            @Override
+            public void apply(int[] out, int minX, int minZ, int width, int height)
+            {
+                final AreaContext local = context.local();
+                for (int z = 0; z < height; z++)
+                {
+                    for (int x = 0; x < width; x++)
+                    {
+                        local.initSeed(minX + x, minZ + z);
+                        out[x + z * width] = SourceLayer.this.apply(local, minX + x, minZ + z);
+                    }
+                }
+            }
         });
     }
 
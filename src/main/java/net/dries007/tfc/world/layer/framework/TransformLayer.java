@@ -17,8 +17,9 @@ public interface TransformLayer
         return () -> {
             final Area prevArea = prev.get();
             return context.createArea((x, z) -> {
-                context.initSeed(x, z);
-                return apply(context, prevArea, x, z);
+                final AreaContext local = context.local();
+                local.initSeed(x, z);
+                return apply(local, prevArea, x, z);
             });
         };
     }
@@ -6,8 +6,6 @@
 
 package net.dries007.tfc.world.layer.framework;
 
-import java.util.Arrays;
-
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.util.math.MathHelper;
 
@@ -19,8 +17,7 @@ import it.unimi.dsi.fastutil.HashCommon;
 public class TypedArea<A>
 {
     private final TypedAreaSource<A> factory;
-    private final long[] keys;
-    private final Object[] values;
+    private final Entry<A>[] entries;
     private final int mask;
 
     public TypedArea(TypedAreaSource<A> factory, int maxCacheSize)
@@ -28,28 +25,42 @@ public class TypedArea<A>
         maxCacheSize = MathHelper.smallestEncompassingPowerOfTwo(maxCacheSize);
 
         this.factory = factory;
-        this.keys = new long[maxCacheSize];
-        this.values = new Object[maxCacheSize];
+        this.entries = newEntryArray(maxCacheSize);
         this.mask = maxCacheSize - 1;
-
-        Arrays.fill(this.keys, Long.MIN_VALUE);
     }
 
-    @SuppressWarnings("unchecked")
     public A get(int x, int z)
     {
         final long key = ChunkPos.asLong(x, z);
         final int index = (int) HashCommon.mix(key) & mask;
-        if (keys[index] == key)
+        final Entry<A> entry = entries[index];
+        if (entry != null && entry.key == key)
         {
-            return (A) values[index];
+            return entry.value;
         }
         else
         {
             final A value = factory.apply(x, z);
-            values[index] = value;
-            keys[index] = key;
+            entries[index] = new Entry<>(key, value);
             return value;
         }
     }
+
+    @SuppressWarnings("unchecked")
+    private static <A> Entry<A>[] newEntryArray(int size)
+    {
+        return (Entry<A>[]) new Entry[size];
+    }
+
+    static final class Entry<A>
+    {
+        final long key;
+        final A value;
+
+        Entry(long key, A value)
+        {
+            this.key = key;
+            this.value = value;
+        }
+    }
 }
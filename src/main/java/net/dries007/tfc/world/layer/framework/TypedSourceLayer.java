@@ -14,8 +14,9 @@ public interface TypedSourceLayer<A>
     default TypedAreaFactory<A> apply(AreaContext context)
     {
         return () -> context.createTypedArea((x, z) -> {
-            context.initSeed(x, z);
-            return apply(context, x, z);
+            final AreaContext local = context.local();
+            local.initSeed(x, z);
+            return apply(local, x, z);
         });
     }
 
@@ -16,8 +16,9 @@ public interface TypedTransformLayer<A>
         return () -> {
             final TypedArea<A> prevArea = prev.get();
             return context.createTypedArea((x, z) -> {
-                context.initSeed(x, z);
-                return apply(context, prevArea, x, z);
+                final AreaContext local = context.local();
+                local.initSeed(x, z);
+                return apply(local, prevArea, x, z);
             });
         };
     }
@@ -0,0 +1,172 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.common.blocks.plant.fruit;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.NextTickListEntry;
+import net.minecraft.world.server.ServerWorld;
+
+import com.alcatrazescapee.mcjunitlib.framework.IntegrationTest;
+import com.alcatrazescapee.mcjunitlib.framework.IntegrationTestClass;
+import com.alcatrazescapee.mcjunitlib.framework.IntegrationTestHelper;
+import net.dries007.tfc.common.blocks.TFCBlocks;
+import net.dries007.tfc.common.tileentity.FruitTreeLeavesTileEntity;
+import net.dries007.tfc.common.tileentity.TickCounterTileEntity;
+import net.dries007.tfc.util.calendar.Calendars;
+import net.dries007.tfc.util.calendar.ICalendar;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The growth delays are tested standalone. Growing real plants needs registered blocks and a world, so those are integration tests, on a floor of grass.
+ */
+@IntegrationTestClass("plant/fruit")
+public class IGrowingBlockTests
+{
+    static final BlockPos PLANT = new BlockPos(4, 1, 4);
+    static final int DAYS_IN_MONTH = 8;
+    static final long TICKS_IN_MONTH = DAYS_IN_MONTH * ICalendar.TICKS_IN_DAY;
+
+    @Test
+    public void testTicksUntilNextMonth()
+    {
+        assertEquals(TICKS_IN_MONTH, IGrowingBlock.getTicksUntilNextMonth(0, DAYS_IN_MONTH));
+        assertEquals(TICKS_IN_MONTH - 1, IGrowingBlock.getTicksUntilNextMonth(1, DAYS_IN_MONTH));
+        assertEquals(1, IGrowingBlock.getTicksUntilNextMonth(TICKS_IN_MONTH - 1, DAYS_IN_MONTH));
+        assertEquals(TICKS_IN_MONTH, IGrowingBlock.getTicksUntilNextMonth(5 * TICKS_IN_MONTH, DAYS_IN_MONTH));
+    }
+
+    @Test
+    public void testGrowthDelayIsValid()
+    {
+        assertEquals(1, IGrowingBlock.getGrowthDelay(0)); // Already due
+        assertEquals(1, IGrowingBlock.getGrowthDelay(-ICalendar.TICKS_IN_DAY));
+        assertEquals(1000, IGrowingBlock.getGrowthDelay(1000));
+        assertEquals(ICalendar.TICKS_IN_DAY, IGrowingBlock.getGrowthDelay(5 * ICalendar.TICKS_IN_DAY)); // At most a day, in case a sooner tick is dropped
+        assertEquals(ICalendar.TICKS_IN_DAY, IGrowingBlock.getGrowthDelay(Long.MAX_VALUE)); // Nothing to do
+    }
+
+    @IntegrationTest("ground")
+    public void testBushSchedulesNextGrowth(IntegrationTestHelper helper)
+    {
+        final TickCounterTileEntity te = place(helper, PLANT, TFCBlocks.STATIONARY_BUSHES.values().iterator().next().get());
+        te.resetCounter();
+        grow(helper, te);
+
+        final long delay = getScheduledDelay(helper.getWorld(), te);
+        assertTrue(delay >= 1 && delay <= ICalendar.TICKS_IN_DAY, "Expected a bush to schedule its next growth within a day, but was " + delay + " ticks");
+    }
+
+    @IntegrationTest("ground")
+    public void testLeavesCycleOnlyWhenDying(IntegrationTestHelper helper)
+    {
+        helper.setBlockState(PLANT, TFCBlocks.FRUIT_TREE_BRANCHES.values().iterator().next().get().defaultBlockState()); // Holds up the leaves
+        final FruitTreeLeavesBlock leaves = (FruitTreeLeavesBlock) TFCBlocks.FRUIT_TREE_LEAVES.values().iterator().next().get();
+        final FruitTreeLeavesTileEntity te = (FruitTreeLeavesTileEntity) place(helper, PLANT.above(), leaves);
+        te.resetCounter();
+
+        // Healthy leaves have nothing to do until the lifecycle changes
+        te.setGrowing(true);
+        assertEquals(Long.MAX_VALUE, leaves.getTicksUntilCycle(te, Lifecycle.HEALTHY));
+
+        // Dying leaves stop growing on their next cycle
+        for (int i = 0; i <= 10; i++)
+        {
+            te.addDeath();
+        }
+        assertTrue(leaves.getTicksUntilCycle(te, Lifecycle.HEALTHY) <= ICalendar.TICKS_IN_DAY);
+
+        te.reduceCounter(-ICalendar.TICKS_IN_DAY);
+        grow(helper, te);
+        assertFalse(te.isGrowing());
+        assertEquals(Long.MAX_VALUE, leaves.getTicksUntilCycle(te, te.getBlockState().getValue(SeasonalPlantBlock.LIFECYCLE)));
+    }
+
+    @IntegrationTest("ground")
+    public void testBranchSchedulesGrowthWhenDue(IntegrationTestHelper helper)
+    {
+        final GrowingFruitTreeBranchBlock branch = (GrowingFruitTreeBranchBlock) TFCBlocks.FRUIT_TREE_GROWING_BRANCHES.values().iterator().next().get();
+        final TickCounterTileEntity te = place(helper, PLANT, branch);
+        final ServerWorld world = helper.getWorld();
+        final BlockPos pos = te.getBlockPos();
+        te.resetCounter();
+
+        // Four days is not enough to grow, so the next growth is scheduled for when five days have passed, but at most a day away
+        te.reduceCounter(-4L * ICalendar.TICKS_IN_DAY);
+        grow(helper, te);
+        assertSame(branch, world.getBlockState(pos).getBlock(), "Branch should not grow before five days");
+        assertEquals(IGrowingBlock.getGrowthDelay(5L * ICalendar.TICKS_IN_DAY - te.getTicksSinceUpdate()), getScheduledDelay(world, te));
+
+        // Five days grows a branch body, and a new growing branch above
+        te.reduceCounter(-1L * ICalendar.TICKS_IN_DAY);
+        grow(helper, te);
+        assertNotSame(branch, world.getBlockState(pos).getBlock(), "Branch should grow into a body after five days");
+        assertSame(branch, world.getBlockState(pos.above()).getBlock(), "Branch should grow a new growing branch above");
+    }
+
+    /**
+     * The branch is placed with a tick counter which has never been updated, as a branch from world generation would be, so it grows as soon as it is loaded.
+     */
+    @IntegrationTest("ground")
+    public void testBranchGrowsWhenFirstLoaded(IntegrationTestHelper helper)
+    {
+        final Block branch = TFCBlocks.FRUIT_TREE_GROWING_BRANCHES.values().iterator().next().get();
+        helper.setBlockState(PLANT, branch.defaultBlockState());
+        helper.assertBlockAt(PLANT, state -> state.getBlock() instanceof FruitTreeBranchBlock && state.getBlock() != branch, "Branch should grow when first loaded");
+    }
+
+    @IntegrationTest("ground")
+    public void testBranchBreaksWithGrowthPending(IntegrationTestHelper helper)
+    {
+        final TickCounterTileEntity te = place(helper, PLANT, TFCBlocks.FRUIT_TREE_GROWING_BRANCHES.values().iterator().next().get());
+        te.resetCounter();
+        grow(helper, te);
+        assertTrue(getScheduledDelay(helper.getWorld(), te) > 1, "Growth should be pending");
+
+        helper.destroyBlock(PLANT.below());
+        helper.assertAirAt(PLANT, "Branch should break when not supported, even with growth pending");
+    }
+
+    /**
+     * Places a plant, on the grass floor, and returns its tick counter.
+     */
+    private TickCounterTileEntity place(IntegrationTestHelper helper, BlockPos pos, Block plant)
+    {
+        helper.setBlockState(pos, plant.defaultBlockState());
+        final TickCounterTileEntity te = helper.getTileEntity(pos, TickCounterTileEntity.class);
+        assertNotNull(te, "No tick counter at " + pos);
+        te.setLastUpdateTick(Calendars.SERVER.getTicks()); // Already caught up, so it only grows when called here
+        return te;
+    }
+
+    private void grow(IntegrationTestHelper helper, TickCounterTileEntity te)
+    {
+        final BlockState state = te.getBlockState();
+        ((IGrowingBlock) state.getBlock()).grow(state, helper.getWorld(), te.getBlockPos(), helper.getWorld().random);
+    }
+
+    /**
+     * @return The game ticks until the plant's scheduled tick, or -1 if there is none.
+     */
+    private long getScheduledDelay(ServerWorld world, TickCounterTileEntity te)
+    {
+        final BlockPos pos = te.getBlockPos();
+        final Block block = te.getBlockState().getBlock();
+        for (NextTickListEntry<Block> entry : world.getBlockTicks().fetchTicksInChunk(new ChunkPos(pos), false, false))
+        {
+            if (entry.pos.equals(pos) && entry.getType() == block)
+            {
+                return entry.triggerTick - world.getGameTime();
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.common.capabilities;
+
+import javax.annotation.Nullable;
+
+import net.minecraft.nbt.CompoundNBT;
+import net.minecraft.util.Direction;
+import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.common.capabilities.ICapabilitySerializable;
+import net.minecraftforge.common.util.LazyOptional;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LazyItemCapabilityTests
+{
+    public static final CompoundNBT DEFAULT = ValueHandler.serialize(0);
+
+    public static LazyItemCapability<ValueHandler> createLazy()
+    {
+        return new LazyItemCapability<>(null, ValueHandler::new, DEFAULT);
+    }
+
+    @Test
+    public void testDefaultDoesNotCreate()
+    {
+        final LazyItemCapability<ValueHandler> lazy = createLazy();
+        assertEquals(DEFAULT, lazy.serializeNBT());
+        lazy.deserializeNBT(ValueHandler.serialize(0));
+        assertEquals(DEFAULT, lazy.serializeNBT());
+        assertFalse(lazy.isCreated());
+    }
+
+    @Test
+    public void testDeserializeIsDeferred()
+    {
+        final LazyItemCapability<ValueHandler> lazy = createLazy();
+        lazy.deserializeNBT(ValueHandler.serialize(5));
+        assertFalse(lazy.isCreated());
+        assertEquals(5, lazy.get().value);
+
+        // Once created, the handler is used directly
+        lazy.deserializeNBT(ValueHandler.serialize(0));
+        assertEquals(0, lazy.get().value);
+    }
+
+    @Test
+    public void testSerializeDoesNotCreate()
+    {
+        final LazyItemCapability<ValueHandler> lazy = createLazy();
+        final CompoundNBT nbt = ValueHandler.serialize(7);
+        lazy.deserializeNBT(nbt);
+        final CompoundNBT serialized = lazy.serializeNBT();
+        assertFalse(lazy.isCreated());
+        assertEquals(nbt, serialized);
+
+        // The serialized form is a copy, so modifying it does not change the pending data
+        serialized.putInt("value", 8);
+        assertEquals(7, lazy.get().value);
+    }
+
+    @Test
+    public void testCopiesMatchEager()
+    {
+        final ValueHandler eager = new ValueHandler();
+        final LazyItemCapability<ValueHandler> lazy = createLazy();
+        eager.value = 3;
+        lazy.get().value = 3;
+
+        // Emulates an ItemStack#copy(), of a copy
+        final ValueHandler eagerCopy = new ValueHandler();
+        final LazyItemCapability<ValueHandler> lazyCopy = createLazy();
+        eagerCopy.deserializeNBT(eager.serializeNBT());
+        lazyCopy.deserializeNBT(lazy.serializeNBT());
+        assertFalse(lazyCopy.isCreated());
+        assertEquals(eagerCopy.serializeNBT(), lazyCopy.serializeNBT());
+        assertEquals(3, lazyCopy.get().value);
+    }
+
+    @Test
+    public void testCannotDefer()
+    {
+        final LazyItemCapability<ValueHandler> lazy = new LazyItemCapability<ValueHandler>(null, ValueHandler::new, null)
+        {
+            @Override
+            protected boolean canDefer(CompoundNBT nbt)
+            {
+                return false;
+            }
+        };
+        lazy.deserializeNBT(ValueHandler.serialize(2));
+        assertTrue(lazy.isCreated());
+        assertEquals(2, lazy.get().value);
+    }
+
+    /**
+     * A handler with a single value, which serializes the same as it is deserialized from.
+     */
+    public static class ValueHandler implements ICapabilitySerializable<CompoundNBT>
+    {
+        static CompoundNBT serialize(int value)
+        {
+            final CompoundNBT nbt = new CompoundNBT();
+            nbt.putInt("value", value);
+            return nbt;
+        }
+
+        private final LazyOptional<ValueHandler> capability = LazyOptional.of(() -> this);
+        int value;
+
+        @Override
+        public <T> LazyOptional<T> getCapability(Capability<T> cap, @Nullable Direction side)
+        {
+            return capability.cast();
+        }
+
+        @Override
+        public CompoundNBT serializeNBT()
+        {
+            return serialize(value);
+        }
+
+        @Override
+        public void deserializeNBT(CompoundNBT nbt)
+        {
+            value = nbt.getInt("value");
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.common.container;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.common.capabilities.CapabilityDispatcher;
+import net.minecraftforge.common.capabilities.ICapabilityProvider;
+import net.minecraftforge.registries.ForgeRegistries;
+
+import net.dries007.tfc.common.capabilities.LazyItemCapability;
+import net.dries007.tfc.common.capabilities.heat.HeatCapability;
+import net.dries007.tfc.mixin.common.capabilities.CapabilityDispatcherAccessor;
+import net.dries007.tfc.mixin.common.capabilities.CapabilityProviderAccessor;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class SlotSyncTrackerTests
+{
+    static final int TICKS = 100;
+
+    /**
+     * Emulates {@link net.minecraft.inventory.container.Container#broadcastChanges()} for a single slot, over a number of ticks.
+     *
+     * @return The number of times the slot was synced.
+     */
+    static int countSyncs(SlotSyncTracker tracker, ItemStack stack, Runnable onTick)
+    {
+        ItemStack lastStack = stack.copy();
+        int syncs = 0;
+        for (int i = 0; i < TICKS; i++)
+        {
+            onTick.run();
+            if (!tracker.matches(lastStack, stack))
+            {
+                lastStack = stack.copy();
+                syncs++;
+            }
+        }
+        return syncs;
+    }
+
+    public static ItemStack createHeatableStack()
+    {
+        for (Item item : ForgeRegistries.ITEMS)
+        {
+            final ItemStack stack = new ItemStack(item);
+            if (HeatCapability.get(stack) != null) // Don't query the capability, as that would create it
+            {
+                return stack;
+            }
+        }
+        return ItemStack.EMPTY;
+    }
+
+    static List<LazyItemCapability<?>> getLazyCapabilities(ItemStack stack)
+    {
+        final List<LazyItemCapability<?>> lazyCapabilities = new ArrayList<>();
+        final CapabilityDispatcher dispatcher = ((CapabilityProviderAccessor) (Object) stack).invoke$getCapabilities();
+        if (dispatcher != null)
+        {
+            for (ICapabilityProvider provider : ((CapabilityDispatcherAccessor) (Object) dispatcher).accessor$getCaps())
+            {
+                if (provider instanceof LazyItemCapability)
+                {
+                    lazyCapabilities.add((LazyItemCapability<?>) provider);
+                }
+            }
+        }
+        return lazyCapabilities;
+    }
+
+    @Test
+    public void testIdleStackIsNotSynced()
+    {
+        assumeTrue(HeatCapability.MANAGER.isLoaded(), "Item heats are not loaded");
+
+        final ItemStack stack = createHeatableStack();
+        assumeTrue(!stack.isEmpty(), "No heatable items");
+        assertEquals(0, countSyncs(new SlotSyncTracker(), stack, () -> {}));
+    }
+
+    @Test
+    public void testIdleStackSkipsComparisons()
+    {
+        assumeTrue(HeatCapability.MANAGER.isLoaded(), "Item heats are not loaded");
+
+        final ItemStack stack = createHeatableStack();
+        assumeTrue(!stack.isEmpty(), "No heatable items");
+
+        // Only the first tick compares the capabilities, after that only the version is checked
+        final SlotSyncTracker tracker = new SlotSyncTracker();
+        assertEquals(0, countSyncs(tracker, stack, () -> {}));
+        assertEquals(1, tracker.getFullComparisons());
+    }
+
+    @Test
+    public void testComparingDoesNotCreateHandlers()
+    {
+        assumeTrue(HeatCapability.MANAGER.isLoaded(), "Item heats are not loaded");
+
+        final ItemStack stack = createHeatableStack();
+        assumeTrue(!stack.isEmpty(), "No heatable items");
+        final List<LazyItemCapability<?>> lazyCapabilities = getLazyCapabilities(stack);
+        assumeTrue(lazyCapabilities.stream().anyMatch(lazy -> !lazy.isCreated()), "No lazy capabilities which have not been created");
+
+        final List<Boolean> created = lazyCapabilities.stream().map(LazyItemCapability::isCreated).collect(Collectors.toList());
+        countSyncs(new SlotSyncTracker(), stack, () -> {});
+        assertEquals(created, lazyCapabilities.stream().map(LazyItemCapability::isCreated).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testHeatedStackIsSyncedEveryTick()
+    {
+        assumeTrue(HeatCapability.MANAGER.isLoaded(), "Item heats are not loaded");
+
+        final ItemStack stack = createHeatableStack();
+        assumeTrue(!stack.isEmpty(), "No heatable items");
+        final float[] temperature = {0};
+        assertEquals(TICKS, countSyncs(new SlotSyncTracker(), stack, () -> stack.getCapability(HeatCapability.CAPABILITY).ifPresent(heat -> heat.setTemperature(temperature[0] += 10))));
+    }
+
+    @Test
+    public void testReplacedStackIsSynced()
+    {
+        assumeTrue(HeatCapability.MANAGER.isLoaded(), "Item heats are not loaded");
+
+        final ItemStack stack = createHeatableStack();
+        assumeTrue(!stack.isEmpty(), "No heatable items");
+
+        // A different stack, equal in all but heat, placed in the slot after it was last synced
+        final SlotSyncTracker tracker = new SlotSyncTracker();
+        final ItemStack lastStack = stack.copy();
+        assertTrue(tracker.matches(lastStack, stack));
+
+        final ItemStack replaced = stack.copy();
+        replaced.getCapability(HeatCapability.CAPABILITY).ifPresent(heat -> heat.setTemperature(500));
+        assertFalse(tracker.matches(lastStack, replaced));
+    }
+}
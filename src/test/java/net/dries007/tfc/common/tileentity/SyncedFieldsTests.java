@@ -0,0 +1,194 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.common.tileentity;
+
+import net.minecraft.item.ItemStack;
+import net.minecraft.network.PacketBuffer;
+import net.minecraftforge.items.ItemStackHandler;
+
+import io.netty.buffer.Unpooled;
+import net.dries007.tfc.common.capabilities.heat.HeatCapability;
+import net.dries007.tfc.common.capabilities.heat.IHeat;
+import net.dries007.tfc.common.container.SlotSyncTrackerTests;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class SyncedFieldsTests
+{
+    @Test
+    public void testOnlyChangedFieldsAreWritten()
+    {
+        final int[] server = {1, 2, 3}, client = new int[3];
+        final SyncedFields serverFields = createFields(server), clientFields = createFields(client);
+
+        // Everything is written the first time
+        PacketBuffer buffer = new PacketBuffer(Unpooled.buffer());
+        assertTrue(serverFields.writeChanges(buffer));
+        clientFields.read(buffer);
+        assertArrayEquals(server, client);
+
+        // Nothing has changed
+        buffer = new PacketBuffer(Unpooled.buffer());
+        assertFalse(serverFields.writeChanges(buffer));
+
+        // Only the changed field is written
+        server[1] = 300;
+        buffer = new PacketBuffer(Unpooled.buffer());
+        assertTrue(serverFields.writeChanges(buffer));
+        assertEquals(1, new PacketBuffer(buffer.copy()).readVarInt());
+        clientFields.read(buffer);
+        assertArrayEquals(server, client);
+        assertFalse(buffer.isReadable());
+    }
+
+    @Test
+    public void testMarkSent()
+    {
+        final int[] server = {1, 2, 3};
+        final SyncedFields serverFields = createFields(server);
+        serverFields.markSent();
+        assertFalse(serverFields.writeChanges(new PacketBuffer(Unpooled.buffer())));
+    }
+
+    @Test
+    public void testWriteAllDoesNotMarkSent()
+    {
+        final int[] server = {1, 2, 3}, client = new int[3];
+        final SyncedFields serverFields = createFields(server), clientFields = createFields(client);
+
+        final PacketBuffer buffer = new PacketBuffer(Unpooled.buffer());
+        serverFields.writeAll(buffer);
+        clientFields.read(buffer);
+        assertArrayEquals(server, client);
+
+        // Other clients have not been sent these values
+        assertTrue(serverFields.writeChanges(new PacketBuffer(Unpooled.buffer())));
+    }
+
+    @Test
+    public void testUnchangedFieldIsNotResent()
+    {
+        final int[] server = {1, 2, 3}, client = new int[3];
+        final SyncedFields serverFields = createFields(server), clientFields = createFields(client);
+        PacketBuffer buffer = new PacketBuffer(Unpooled.buffer());
+        serverFields.writeChanges(buffer);
+        clientFields.read(buffer);
+
+        // Change the first field, then the last, and each time only that field is written
+        server[0] = 10;
+        buffer = new PacketBuffer(Unpooled.buffer());
+        serverFields.writeChanges(buffer);
+        assertEquals(1, buffer.readVarInt());
+        assertEquals(0, buffer.readVarInt());
+        assertEquals(10, buffer.readVarInt());
+        assertFalse(buffer.isReadable());
+
+        server[2] = 30;
+        buffer = new PacketBuffer(Unpooled.buffer());
+        serverFields.writeChanges(buffer);
+        assertEquals(1, buffer.readVarInt());
+        assertEquals(2, buffer.readVarInt());
+        assertEquals(30, buffer.readVarInt());
+        assertFalse(buffer.isReadable());
+    }
+
+    @Test
+    public void testSlotCountIsSentAlone()
+    {
+        assumeTrue(HeatCapability.MANAGER.isLoaded(), "Item heats are not loaded");
+
+        final ItemStack stack = SlotSyncTrackerTests.createHeatableStack();
+        assumeTrue(!stack.isEmpty(), "No heatable items");
+        final ItemStackHandler server = new ItemStackHandler(2), client = new ItemStackHandler(2);
+        final SyncedFields serverFields = new SyncedFields().addInventory(server), clientFields = new SyncedFields().addInventory(client);
+        stack.setCount(4);
+        server.setStackInSlot(1, stack);
+        sync(serverFields, clientFields);
+
+        stack.setCount(3);
+        final PacketBuffer buffer = new PacketBuffer(Unpooled.buffer());
+        assertTrue(serverFields.writeChanges(buffer));
+        assertEquals(SyncedFields.SlotField.COUNT, getSlotChanges(buffer, 1));
+        clientFields.read(buffer);
+        assertTrue(ItemStack.matches(server.getStackInSlot(1), client.getStackInSlot(1)));
+    }
+
+    @Test
+    public void testSlotCapabilitiesAreSentAlone()
+    {
+        assumeTrue(HeatCapability.MANAGER.isLoaded(), "Item heats are not loaded");
+
+        final ItemStack stack = SlotSyncTrackerTests.createHeatableStack();
+        assumeTrue(!stack.isEmpty(), "No heatable items");
+        final ItemStackHandler server = new ItemStackHandler(1), client = new ItemStackHandler(1);
+        final SyncedFields serverFields = new SyncedFields().addInventory(server), clientFields = new SyncedFields().addInventory(client);
+        server.setStackInSlot(0, stack);
+        sync(serverFields, clientFields);
+
+        // Heating the stack only changes its capabilities
+        stack.getCapability(HeatCapability.CAPABILITY).ifPresent(heat -> heat.setTemperature(500));
+        final PacketBuffer buffer = new PacketBuffer(Unpooled.buffer());
+        assertTrue(serverFields.writeChanges(buffer));
+        assertEquals(SyncedFields.SlotField.CAPABILITIES, getSlotChanges(buffer, 0));
+        clientFields.read(buffer);
+        assertTrue(ItemStack.matches(server.getStackInSlot(0), client.getStackInSlot(0)));
+        assertEquals(500, client.getStackInSlot(0).getCapability(HeatCapability.CAPABILITY).map(IHeat::getTemperature).orElse(0f), 1);
+
+        // Once sent, an unchanged stack is not sent again
+        assertFalse(serverFields.writeChanges(new PacketBuffer(Unpooled.buffer())));
+    }
+
+    @Test
+    public void testReplacedSlotIsSentInFull()
+    {
+        assumeTrue(HeatCapability.MANAGER.isLoaded(), "Item heats are not loaded");
+
+        final ItemStack stack = SlotSyncTrackerTests.createHeatableStack();
+        assumeTrue(!stack.isEmpty(), "No heatable items");
+        final ItemStackHandler server = new ItemStackHandler(1), client = new ItemStackHandler(1);
+        final SyncedFields serverFields = new SyncedFields().addInventory(server), clientFields = new SyncedFields().addInventory(client);
+        sync(serverFields, clientFields);
+
+        server.setStackInSlot(0, stack);
+        final PacketBuffer buffer = new PacketBuffer(Unpooled.buffer());
+        assertTrue(serverFields.writeChanges(buffer));
+        assertEquals(SyncedFields.SlotField.FULL, getSlotChanges(buffer, 0));
+        clientFields.read(buffer);
+        assertTrue(ItemStack.matches(server.getStackInSlot(0), client.getStackInSlot(0)));
+    }
+
+    private void sync(SyncedFields serverFields, SyncedFields clientFields)
+    {
+        final PacketBuffer buffer = new PacketBuffer(Unpooled.buffer());
+        serverFields.writeChanges(buffer);
+        clientFields.read(buffer);
+    }
+
+    /**
+     * @return The changes written for a single changed slot, without reading from the buffer.
+     */
+    private int getSlotChanges(PacketBuffer buffer, int slot)
+    {
+        final PacketBuffer copy = new PacketBuffer(buffer.copy());
+        assertEquals(1, copy.readVarInt());
+        assertEquals(slot, copy.readVarInt());
+        return copy.readByte();
+    }
+
+    private SyncedFields createFields(int[] values)
+    {
+        final SyncedFields fields = new SyncedFields();
+        for (int i = 0; i < values.length; i++)
+        {
+            final int index = i;
+            fields.addInt(() -> values[index], value -> values[index] = value);
+        }
+        return fields;
+    }
+}
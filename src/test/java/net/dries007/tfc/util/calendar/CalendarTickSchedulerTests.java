@@ -0,0 +1,159 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.util.calendar;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import net.minecraft.util.math.BlockPos;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CalendarTickSchedulerTests
+{
+    static final int DEVICES = 512; // Two layers of a single chunk
+
+    @Test
+    public void testNormalTicksDoNotUpdate()
+    {
+        final CalendarTickScheduler scheduler = new CalendarTickScheduler();
+        final RecordingTickable tickable = new RecordingTickable(100);
+        scheduler.add(tickable, BlockPos.ZERO);
+        for (long tick = 100; tick < 200; tick++)
+        {
+            scheduler.tick(tick);
+        }
+        assertTrue(tickable.updates.isEmpty());
+    }
+
+    @Test
+    public void testJumpUpdatesAll()
+    {
+        final CalendarTickScheduler scheduler = new CalendarTickScheduler();
+        final RecordingTickable first = new RecordingTickable(100), second = new RecordingTickable(100);
+        scheduler.add(first, new BlockPos(0, 0, 0));
+        scheduler.add(second, new BlockPos(100, 0, 100));
+        assertEquals(2, scheduler.getChunkCount());
+
+        scheduler.tick(100);
+        scheduler.tick(101);
+        scheduler.tick(601); // Skips 499 ticks
+        scheduler.tick(602);
+
+        assertEquals(Collections.singletonList(499L), first.updates);
+        assertEquals(Collections.singletonList(499L), second.updates);
+        assertEquals(601, first.lastUpdateTick);
+    }
+
+    @Test
+    public void testAddedIsCaughtUpOnce()
+    {
+        final CalendarTickScheduler scheduler = new CalendarTickScheduler();
+        scheduler.tick(100);
+
+        // Last updated before it was unloaded, then loaded on the same tick as a jump
+        final RecordingTickable tickable = new RecordingTickable(50);
+        scheduler.add(tickable, BlockPos.ZERO);
+        scheduler.tick(201);
+        scheduler.tick(202);
+
+        assertEquals(Collections.singletonList(150L), tickable.updates);
+    }
+
+    @Test
+    public void testRemovedIsNotUpdated()
+    {
+        final CalendarTickScheduler scheduler = new CalendarTickScheduler();
+        final RecordingTickable tickable = new RecordingTickable(100);
+        scheduler.add(tickable, BlockPos.ZERO);
+        scheduler.tick(100);
+        scheduler.remove(tickable, BlockPos.ZERO);
+        scheduler.tick(500);
+
+        assertTrue(tickable.updates.isEmpty());
+        assertEquals(0, scheduler.getCount());
+        assertEquals(0, scheduler.getChunkCount());
+    }
+
+    @Test
+    public void testRemoveFromCrowdedChunk()
+    {
+        final CalendarTickScheduler scheduler = new CalendarTickScheduler();
+        final List<RecordingTickable> tickables = new ArrayList<>();
+        for (int i = 0; i < DEVICES; i++)
+        {
+            final RecordingTickable tickable = new RecordingTickable(100);
+            tickables.add(tickable);
+            scheduler.add(tickable, BlockPos.ZERO);
+        }
+        scheduler.add(tickables.get(0), BlockPos.ZERO); // Already present
+        assertEquals(DEVICES, scheduler.getCount());
+
+        for (RecordingTickable tickable : tickables)
+        {
+            scheduler.remove(tickable, BlockPos.ZERO);
+        }
+        assertEquals(0, scheduler.getCount());
+        assertEquals(0, scheduler.getChunkCount());
+    }
+
+    @Test
+    public void testCatchingUpMayRemoveOthers()
+    {
+        final CalendarTickScheduler scheduler = new CalendarTickScheduler();
+        final RecordingTickable other = new RecordingTickable(100);
+        final RecordingTickable remover = new RecordingTickable(100)
+        {
+            @Override
+            public void onCalendarUpdate(long playerTickDelta)
+            {
+                super.onCalendarUpdate(playerTickDelta);
+                scheduler.remove(other, BlockPos.ZERO);
+                scheduler.add(new RecordingTickable(100), BlockPos.ZERO);
+            }
+        };
+        scheduler.add(remover, BlockPos.ZERO);
+        scheduler.add(other, BlockPos.ZERO);
+        scheduler.tick(100);
+        scheduler.tick(200);
+
+        assertEquals(Collections.singletonList(99L), remover.updates);
+        assertEquals(2, scheduler.getCount());
+    }
+
+    public static class RecordingTickable implements ICalendarTickable
+    {
+        final List<Long> updates = new ArrayList<>();
+        long lastUpdateTick;
+
+        public RecordingTickable(long lastUpdateTick)
+        {
+            this.lastUpdateTick = lastUpdateTick;
+        }
+
+        @Override
+        public void onCalendarUpdate(long playerTickDelta)
+        {
+            updates.add(playerTickDelta);
+        }
+
+        @Override
+        public long getLastUpdateTick()
+        {
+            return lastUpdateTick;
+        }
+
+        @Override
+        public void setLastUpdateTick(long tick)
+        {
+            lastUpdateTick = tick;
+        }
+    }
+}
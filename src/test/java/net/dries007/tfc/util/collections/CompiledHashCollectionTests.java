@@ -0,0 +1,157 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.util.collections;
+
+import java.util.*;
+import javax.annotation.Nullable;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompiledHashCollectionTests
+{
+    /**
+     * Creates {@code count} results, each accepting a few random keys. One in {@code inexactChance} results also require a specific tag on the value, as an NBT sensitive ingredient would.
+     */
+    public static List<Result> createResults(Random random, List<Object> keys, int count, int inexactChance)
+    {
+        final List<Result> results = new ArrayList<>();
+        for (int i = 0; i < count; i++)
+        {
+            final Set<Object> resultKeys = new HashSet<>();
+            final int size = 1 + random.nextInt(4);
+            for (int j = 0; j < size; j++)
+            {
+                resultKeys.add(keys.get(random.nextInt(keys.size())));
+            }
+            results.add(new Result(resultKeys, random.nextInt(inexactChance) == 0 ? random.nextInt(4) : -1));
+        }
+        return results;
+    }
+
+    public static List<Object> createKeys(int count)
+    {
+        final List<Object> keys = new ArrayList<>();
+        for (int i = 0; i < count; i++)
+        {
+            keys.add(new Object());
+        }
+        return keys;
+    }
+
+    public static CompiledHashCollection<Object, Value, Result> createCompiled(List<Result> results)
+    {
+        final CompiledHashCollection<Object, Value, Result> collection = CompiledHashCollection.of(result -> result.keys, value -> value.key, Result::matches, result -> result.tag == -1);
+        collection.reload(results);
+        return collection;
+    }
+
+    public static IndirectHashCollection<Object, Result> createIndirect(List<Result> results)
+    {
+        final IndirectHashCollection<Object, Result> collection = new IndirectHashCollection<>(result -> result.keys);
+        collection.reload(results);
+        return collection;
+    }
+
+    /**
+     * The lookup as done before compiling, by testing each candidate in turn.
+     */
+    @Nullable
+    public static Result getIndirect(IndirectHashCollection<Object, Result> collection, Value value)
+    {
+        for (Result result : collection.getAll(value.key))
+        {
+            if (result.matches(value))
+            {
+                return result;
+            }
+        }
+        return null;
+    }
+
+    @Test
+    public void testCompiledMatchesIndirect()
+    {
+        final Random random = new Random(System.currentTimeMillis());
+        final List<Object> keys = createKeys(200);
+        keys.add(new Object()); // Not used by any result
+        for (int inexactChance : new int[] {1, 2, 5, 1000})
+        {
+            final List<Result> results = createResults(random, keys.subList(0, 200), 400, inexactChance);
+            final CompiledHashCollection<Object, Value, Result> compiled = createCompiled(results);
+            final IndirectHashCollection<Object, Result> indirect = createIndirect(results);
+            for (Object key : keys)
+            {
+                for (int tag = -1; tag < 5; tag++)
+                {
+                    final Value value = new Value(key, tag);
+                    assertSame(getIndirect(indirect, value), compiled.get(value));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testExactResultsAreDirect()
+    {
+        final List<Object> keys = createKeys(3);
+        final Result first = new Result(Collections.singleton(keys.get(0)), -1);
+        final Result inexact = new Result(new HashSet<>(keys.subList(1, 3)), 1);
+        final Result second = new Result(new HashSet<>(keys.subList(0, 3)), -1);
+        final CompiledHashCollection<Object, Value, Result> compiled = createCompiled(Arrays.asList(first, inexact, second));
+
+        assertEquals(1, compiled.getDirectCount());
+        assertEquals(2, compiled.getCandidateCount());
+        assertSame(first, compiled.get(new Value(keys.get(0), 1)));
+        assertSame(inexact, compiled.get(new Value(keys.get(1), 1)));
+        assertSame(second, compiled.get(new Value(keys.get(2), 0)));
+    }
+
+    @Test
+    public void testKeyIsValue()
+    {
+        final List<Object> keys = createKeys(4);
+        final Set<Object> odd = new HashSet<>(Arrays.asList(keys.get(1), keys.get(3)));
+        final CompiledHashCollection<Object, Object, Set<Object>> compiled = CompiledHashCollection.of(result -> keys, Set::contains);
+        compiled.reload(Collections.singletonList(odd));
+
+        assertEquals(2, compiled.getDirectCount());
+        assertEquals(0, compiled.getCandidateCount());
+        assertNull(compiled.get(keys.get(0)));
+        assertSame(odd, compiled.get(keys.get(1)));
+    }
+
+    public static final class Value
+    {
+        final Object key;
+        final int tag;
+
+        public Value(Object key, int tag)
+        {
+            this.key = key;
+            this.tag = tag;
+        }
+    }
+
+    public static final class Result
+    {
+        final Set<Object> keys;
+        final int tag;
+
+        Result(Set<Object> keys, int tag)
+        {
+            this.keys = keys;
+            this.tag = tag;
+        }
+
+        boolean matches(Value value)
+        {
+            return keys.contains(value.key) && (tag == -1 || tag == value.tag);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.util.support;
+
+import java.util.*;
+import javax.annotation.Nullable;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.fluid.FluidState;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.IBlockReader;
+import net.minecraftforge.registries.ForgeRegistries;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class SupportManagerTests
+{
+    @Test
+    public void testIndexedMatchesScan()
+    {
+        assumeTrue(SupportManager.INSTANCE.isLoaded(), "Supports are not loaded");
+
+        SupportManager.CACHE.reload(SupportManager.INSTANCE.getValues());
+        for (Block block : ForgeRegistries.BLOCKS)
+        {
+            for (BlockState state : block.getStateDefinition().getPossibleStates())
+            {
+                final Optional<Support> expected = SupportManager.INSTANCE.getValues().stream().filter(support -> support.matches(state)).findFirst();
+                assertEquals(expected, SupportManager.INSTANCE.get(state), () -> "Support for " + state);
+            }
+        }
+    }
+
+    @Test
+    public void testCoverageMatchesScan()
+    {
+        assumeTrue(SupportManager.INSTANCE.isLoaded() && !SupportManager.INSTANCE.getValues().isEmpty(), "Supports are not loaded");
+
+        SupportManager.CACHE.reload(SupportManager.INSTANCE.getValues());
+        final List<BlockState> supports = new ArrayList<>();
+        for (Support support : SupportManager.INSTANCE.getValues())
+        {
+            support.getValidBlocks().forEach(block -> supports.add(block.defaultBlockState()));
+        }
+
+        final long seed = System.currentTimeMillis();
+        final Random random = new Random(seed);
+        final Map<BlockPos, BlockState> blocks = new HashMap<>();
+        for (int i = 0; i < 400; i++)
+        {
+            blocks.put(new BlockPos(random.nextInt(64) - 32, random.nextInt(32) + 16, random.nextInt(64) - 32), supports.get(random.nextInt(supports.size())));
+        }
+
+        final IBlockReader world = new MapBlockReader(blocks);
+        final SupportCoverage coverage = new SupportCoverage();
+        for (int i = 0; i < 50; i++)
+        {
+            final BlockPos pos = new BlockPos(random.nextInt(48) - 24, random.nextInt(24) + 20, random.nextInt(48) - 24);
+            final BlockPos from = pos.offset(-4, -2, -4), to = pos.offset(4, 2, 4);
+            assertEquals(SupportManager.scanUnsupportedPositions(world, from, to), coverage.findUnsupportedPositions(world, from, to), () -> "Unsupported positions around " + pos + " with seed " + seed);
+            assertEquals(SupportManager.scanIsSupported(world, pos), coverage.isSupported(world, pos), () -> "Supported at " + pos + " with seed " + seed);
+        }
+
+        // Remove a support and check that invalidating it updates the coverage
+        final BlockPos removed = blocks.keySet().iterator().next();
+        blocks.remove(removed);
+        coverage.invalidate(removed);
+        final BlockPos from = removed.offset(-8, -4, -8), to = removed.offset(8, 4, 8);
+        assertEquals(SupportManager.scanUnsupportedPositions(world, from, to), coverage.findUnsupportedPositions(world, from, to), () -> "Unsupported positions after removing " + removed + " with seed " + seed);
+    }
+
+    @Test
+    public void testUnloadingChunkDropsCoverage()
+    {
+        assumeTrue(SupportManager.INSTANCE.isLoaded() && !SupportManager.INSTANCE.getValues().isEmpty(), "Supports are not loaded");
+
+        SupportManager.CACHE.reload(SupportManager.INSTANCE.getValues());
+        final BlockState support = SupportManager.INSTANCE.getValues().iterator().next().getValidBlocks().iterator().next().defaultBlockState();
+        final Map<BlockPos, BlockState> blocks = new HashMap<>();
+        final IBlockReader world = new MapBlockReader(blocks);
+        final SupportCoverage coverage = new SupportCoverage();
+        final BlockPos pos = new BlockPos(8, 40, 8);
+
+        assertEquals(SupportManager.scanIsSupported(world, pos), coverage.isSupported(world, pos));
+
+        // Change the chunk without invalidating, as if it was unloaded and replaced, and check that unloading the chunk drops the cached coverage
+        blocks.put(pos.below(), support);
+        coverage.onChunkUnloaded(new ChunkPos(pos));
+        assertEquals(SupportManager.scanIsSupported(world, pos), coverage.isSupported(world, pos));
+    }
+
+    static class MapBlockReader implements IBlockReader
+    {
+        private final Map<BlockPos, BlockState> blocks;
+
+        MapBlockReader(Map<BlockPos, BlockState> blocks)
+        {
+            this.blocks = blocks;
+        }
+
+        @Nullable
+        @Override
+        public TileEntity getBlockEntity(BlockPos pos)
+        {
+            return null;
+        }
+
+        @Override
+        public BlockState getBlockState(BlockPos pos)
+        {
+            return blocks.getOrDefault(pos, Blocks.STONE.defaultBlockState());
+        }
+
+        @Override
+        public FluidState getFluidState(BlockPos pos)
+        {
+            return getBlockState(pos).getFluidState();
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.util.tracker;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TrackerSchedulerTests
+{
+    static final long NO_TIME_LIMIT = Long.MAX_VALUE;
+
+    @Test
+    public void testTasksRunWhenDue()
+    {
+        final TrackerScheduler scheduler = new TrackerScheduler();
+        final List<BlockPos> run = new ArrayList<>();
+        scheduler.schedule(new RecordingTask(new BlockPos(0, 0, 0), run), 2);
+        scheduler.schedule(new RecordingTask(new BlockPos(1, 0, 0), run), 1);
+        scheduler.schedule(new RecordingTask(new BlockPos(2, 0, 0), run), 0); // Clamped to the next tick
+        assertEquals(3, scheduler.getDelayedCount());
+
+        scheduler.tick(null, chunk -> true, 100, NO_TIME_LIMIT);
+        assertEquals(2, run.size());
+        assertEquals(1, scheduler.getDelayedCount());
+
+        scheduler.tick(null, chunk -> true, 100, NO_TIME_LIMIT);
+        assertEquals(3, run.size());
+        assertEquals(new BlockPos(0, 0, 0), run.get(2));
+        assertEquals(0, scheduler.getDelayedCount());
+        assertEquals(0, scheduler.getQueueDepth());
+        assertEquals(0, scheduler.getMaxLatency());
+    }
+
+    @Test
+    public void testOperationBudgetCarriesOver()
+    {
+        final TrackerScheduler scheduler = new TrackerScheduler();
+        final List<BlockPos> run = new ArrayList<>();
+        for (int i = 0; i < 100; i++)
+        {
+            scheduler.schedule(new RecordingTask(new BlockPos(i, 0, 0), run), 1);
+        }
+
+        final int[] expected = {30, 30, 30, 10};
+        for (int i = 0; i < expected.length; i++)
+        {
+            scheduler.tick(null, chunk -> true, 30, NO_TIME_LIMIT);
+            assertEquals(expected[i], scheduler.getLastRun());
+            assertEquals(100 - run.size(), scheduler.getQueueDepth());
+        }
+        assertEquals(100, run.size());
+        assertEquals(3, scheduler.getMaxLatency());
+        assertEquals(0, scheduler.getChunkCount());
+    }
+
+    @Test
+    public void testChunksAreRunInTurn()
+    {
+        final TrackerScheduler scheduler = new TrackerScheduler();
+        final List<BlockPos> run = new ArrayList<>();
+        for (int i = 0; i < 10; i++)
+        {
+            scheduler.schedule(new RecordingTask(new BlockPos(0, i, 0), run), 1);
+            scheduler.schedule(new RecordingTask(new BlockPos(16, i, 0), run), 1);
+        }
+
+        // The first chunk runs out of budget, so the next tick starts with the second
+        scheduler.tick(null, chunk -> true, 5, NO_TIME_LIMIT);
+        assertTrue(run.stream().allMatch(pos -> pos.getX() == 0));
+        scheduler.tick(null, chunk -> true, 5, NO_TIME_LIMIT);
+        assertTrue(run.subList(5, 10).stream().allMatch(pos -> pos.getX() == 16));
+    }
+
+    @Test
+    public void testUnloadedChunksAreKept()
+    {
+        final TrackerScheduler scheduler = new TrackerScheduler();
+        final List<BlockPos> run = new ArrayList<>();
+        final long unloaded = ChunkPos.asLong(1, 0);
+        scheduler.schedule(new RecordingTask(new BlockPos(0, 0, 0), run), 1);
+        scheduler.schedule(new RecordingTask(new BlockPos(16, 0, 0), run), 1);
+
+        for (int i = 0; i < 5; i++)
+        {
+            scheduler.tick(null, chunk -> chunk != unloaded, 100, NO_TIME_LIMIT);
+        }
+        assertEquals(1, run.size());
+        assertEquals(1, scheduler.getQueueDepth());
+        assertEquals(1, scheduler.getChunkCount());
+
+        scheduler.tick(null, chunk -> true, 100, NO_TIME_LIMIT);
+        assertEquals(2, run.size());
+        assertEquals(new BlockPos(16, 0, 0), run.get(1));
+        assertEquals(5, scheduler.getMaxLatency());
+    }
+
+    @Test
+    public void testTasksScheduledWhileRunning()
+    {
+        final TrackerScheduler scheduler = new TrackerScheduler();
+        final List<BlockPos> run = new ArrayList<>();
+        scheduler.schedule(new ScheduledTask(new BlockPos(0, 0, 0))
+        {
+            @Override
+            protected void run(World world)
+            {
+                run.add(pos);
+                scheduler.schedule(new RecordingTask(pos.above(), run), 1);
+            }
+        }, 1);
+
+        scheduler.tick(null, chunk -> true, 100, NO_TIME_LIMIT);
+        assertEquals(1, run.size());
+        assertEquals(1, scheduler.getDelayedCount());
+        scheduler.tick(null, chunk -> true, 100, NO_TIME_LIMIT);
+        assertEquals(2, run.size());
+    }
+
+    static class RecordingTask extends ScheduledTask
+    {
+        private final List<BlockPos> run;
+
+        RecordingTask(BlockPos pos, List<BlockPos> run)
+        {
+            super(pos);
+            this.run = run;
+        }
+
+        @Override
+        protected void run(World world)
+        {
+            run.add(pos);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world;
+
+import java.util.Random;
+
+import it.unimi.dsi.fastutil.objects.Object2DoubleMap;
+import net.dries007.tfc.world.noise.Noise2D;
+import net.dries007.tfc.world.noise.OpenSimplex2D;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BiomeWeightBlenderTests
+{
+    static final int BIOMES = 12;
+    static final int RIVER = BIOMES - 1;
+    static final Integer[] VALUES = new Integer[BIOMES];
+
+    static
+    {
+        for (int i = 0; i < BIOMES; i++)
+        {
+            VALUES[i] = i;
+        }
+    }
+
+    /**
+     * A synthetic biome map, with large regions of biomes, cut through by thin rivers.
+     */
+    public static BiomeWeightBlender.Sampler<Integer> createSampler(long seed)
+    {
+        final Noise2D regions = new OpenSimplex2D(seed).spread(0.004f).scaled(0, RIVER);
+        final Noise2D rivers = new OpenSimplex2D(seed + 1).spread(0.006f).abs();
+        return (x, z) -> rivers.noise(x, z) < 0.04f ? VALUES[RIVER] : VALUES[Math.max(0, Math.min(RIVER - 1, (int) regions.noise(x, z)))];
+    }
+
+    public static int largeGroup(int biome)
+    {
+        return biome == RIVER ? 2 : biome % 2;
+    }
+
+    public static int smallGroup(int biome)
+    {
+        return biome == RIVER ? 1 : 0;
+    }
+
+    @Test
+    public void testMatchesMapImplementation()
+    {
+        final long seed = System.currentTimeMillis();
+        final Random random = new Random(seed);
+        final BiomeWeightBlender.Sampler<Integer> sampler = createSampler(seed);
+        final BiomeWeightBlender<Integer> blender = new BiomeWeightBlender<>();
+        final double[] weights = new double[BIOMES];
+
+        for (int i = 0; i < 200; i++)
+        {
+            final int chunkX = (random.nextInt(2000) - 1000) << 4, chunkZ = (random.nextInt(2000) - 1000) << 4;
+
+            blender.sample(chunkX, chunkZ, sampler);
+            blender.blend(id -> largeGroup(blender.get(id)), 3, id -> smallGroup(blender.get(id)), 2);
+
+            final Object2DoubleMap<Integer>[] expected = MapBiomeWeightBlender.sampleBiomes(chunkX, chunkZ, sampler, BiomeWeightBlenderTests::largeGroup, 3, BiomeWeightBlenderTests::smallGroup, 2);
+
+            for (int x = 0; x < 7; x++)
+            {
+                for (int z = 0; z < 7; z++)
+                {
+                    blender.sampleWeights(weights, x, z);
+                    assertWeightsEqual(expected[x + 7 * z], blender, weights, "sample " + x + ", " + z + " in chunk " + chunkX + ", " + chunkZ);
+                }
+            }
+
+            for (int x = 0; x < 16; x++)
+            {
+                for (int z = 0; z < 16; z++)
+                {
+                    blender.column(weights, x, z);
+                    assertWeightsEqual(MapBiomeWeightBlender.column(expected, x, z), blender, weights, "column " + x + ", " + z + " in chunk " + chunkX + ", " + chunkZ);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testCachedMatchesUncached()
+    {
+        final long seed = System.currentTimeMillis();
+        final BiomeWeightBlender.Sampler<Integer> sampler = createSampler(seed);
+        final BiomeWeightCache cache = new BiomeWeightCache(256, 4096);
+        final BiomeWeightBlender<Integer> cached = new BiomeWeightBlender<>(cache), uncached = new BiomeWeightBlender<>();
+        final double[] expected = new double[BIOMES], actual = new double[BIOMES];
+
+        // Generate a block of adjacent chunks, in an order that mixes hits and misses
+        for (int chunkX = -8; chunkX < 8; chunkX++)
+        {
+            for (int chunkZ = -8; chunkZ < 8; chunkZ++)
+            {
+                final int x0 = (chunkX * 37 & 15) - 8, z0 = (chunkZ * 11 & 15) - 8;
+                cached.sample(x0 << 4, z0 << 4, sampler);
+                uncached.sample(x0 << 4, z0 << 4, sampler);
+                cached.blend(id -> largeGroup(cached.get(id)), 3, id -> smallGroup(cached.get(id)), 2);
+                uncached.blend(id -> largeGroup(uncached.get(id)), 3, id -> smallGroup(uncached.get(id)), 2);
+
+                assertEquals(uncached.size(), cached.size());
+                for (int x = 0; x < 7; x++)
+                {
+                    for (int z = 0; z < 7; z++)
+                    {
+                        uncached.sampleWeights(expected, x, z);
+                        cached.sampleWeights(actual, x, z);
+                        assertArrayEquals(expected, actual, "sample " + x + ", " + z + " in chunk " + x0 + ", " + z0);
+                    }
+                }
+                for (int x = 0; x < 16; x++)
+                {
+                    for (int z = 0; z < 16; z++)
+                    {
+                        uncached.column(expected, x, z);
+                        cached.column(actual, x, z);
+                        assertArrayEquals(expected, actual, "column " + x + ", " + z + " in chunk " + x0 + ", " + z0);
+                    }
+                }
+            }
+        }
+
+        assertTrue(cache.getHits() > 0, "Expected cache hits between adjacent chunks");
+        assertTrue(cache.getMisses() > 0, "Expected cache misses for the first chunk");
+    }
+
+    @Test
+    public void testInconsistentCacheFallsBack()
+    {
+        final long seed = System.currentTimeMillis();
+        final BiomeWeightCache cache = new BiomeWeightCache(256, 4096);
+        final BiomeWeightBlender<Integer> first = new BiomeWeightBlender<>(cache), second = new BiomeWeightBlender<>(cache), uncached = new BiomeWeightBlender<>();
+        final BiomeWeightBlender.Sampler<Integer> sampler = createSampler(seed), constant = (x, z) -> VALUES[0];
+        final double[] expected = new double[BIOMES], actual = new double[BIOMES];
+
+        // Fill the cache from one sampler, then blend the same chunks with a different one, so cached convolutions contain biomes that were not sampled
+        for (int chunkX = -4; chunkX < 4; chunkX++)
+        {
+            for (int chunkZ = -4; chunkZ < 4; chunkZ++)
+            {
+                first.sample(chunkX << 4, chunkZ << 4, sampler);
+                first.blend(id -> largeGroup(first.get(id)), 3, id -> smallGroup(first.get(id)), 2);
+            }
+        }
+        for (int chunkX = -4; chunkX < 4; chunkX++)
+        {
+            for (int chunkZ = -4; chunkZ < 4; chunkZ++)
+            {
+                second.sample(chunkX << 4, chunkZ << 4, constant);
+                uncached.sample(chunkX << 4, chunkZ << 4, constant);
+                second.blend(id -> largeGroup(second.get(id)), 3, id -> smallGroup(second.get(id)), 2);
+                uncached.blend(id -> largeGroup(uncached.get(id)), 3, id -> smallGroup(uncached.get(id)), 2);
+
+                assertEquals(1, second.size());
+                for (int x = 0; x < 16; x++)
+                {
+                    for (int z = 0; z < 16; z++)
+                    {
+                        uncached.column(expected, x, z);
+                        second.column(actual, x, z);
+                        assertArrayEquals(expected, actual, "column " + x + ", " + z + " in chunk " + chunkX + ", " + chunkZ);
+                    }
+                }
+            }
+        }
+    }
+
+    private void assertWeightsEqual(Object2DoubleMap<Integer> expected, BiomeWeightBlender<Integer> blender, double[] actual, String message)
+    {
+        for (int id = 0; id < blender.size(); id++)
+        {
+            // Summation order differs between implementations, so allow for rounding error
+            assertEquals(expected.getDouble(blender.get(id)), actual[id], 1e-9, "Weight of biome " + blender.get(id) + " at " + message);
+        }
+        for (Object2DoubleMap.Entry<Integer> entry : expected.object2DoubleEntrySet())
+        {
+            boolean found = false;
+            for (int id = 0; id < blender.size(); id++)
+            {
+                found |= blender.get(id).equals(entry.getKey());
+            }
+            assertTrue(found || entry.getDoubleValue() == 0, "Biome " + entry.getKey() + " missing from palette at " + message);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import net.dries007.tfc.world.biome.BiomeVariants;
+import net.dries007.tfc.world.biome.TFCBiomes;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+public class IBiomeNoiseSamplerTests
+{
+    static final int CHUNKS = 8; // 8x8 chunks
+    static final int MAX_Y = 256;
+
+    @Test
+    public void testConcurrentSamplingMatchesSequential() throws Exception
+    {
+        final long seed = System.currentTimeMillis();
+        final List<IBiomeNoiseSampler> samplers = new ArrayList<>();
+        for (BiomeVariants variants : TFCBiomes.getVariants())
+        {
+            samplers.add(variants.createNoiseSampler(seed));
+        }
+
+        final double[][] sequential = new double[CHUNKS * CHUNKS][];
+        for (int i = 0; i < sequential.length; i++)
+        {
+            sequential[i] = sampleChunk(samplers, i % CHUNKS, i / CHUNKS);
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors()));
+        try
+        {
+            final List<Future<double[]>> futures = new ArrayList<>();
+            for (int i = 0; i < sequential.length; i++)
+            {
+                final int chunkX = i % CHUNKS, chunkZ = i / CHUNKS;
+                futures.add(executor.submit(() -> sampleChunk(samplers, chunkX, chunkZ)));
+            }
+
+            for (int i = 0; i < sequential.length; i++)
+            {
+                assertArrayEquals(sequential[i], futures.get(i).get(), "Chunk " + (i % CHUNKS) + ", " + (i / CHUNKS) + " differs when sampled concurrently");
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Samples every biome at every column of a chunk. Samplers are interleaved per column, which is the access pattern that would corrupt a stateful sampler.
+     */
+    private double[] sampleChunk(List<IBiomeNoiseSampler> samplers, int chunkX, int chunkZ)
+    {
+        final double[] values = new double[16 * 16 * samplers.size() * (1 + MAX_Y / 8)];
+        int index = 0;
+        for (int x = 0; x < 16; x++)
+        {
+            for (int z = 0; z < 16; z++)
+            {
+                for (IBiomeNoiseSampler sampler : samplers)
+                {
+                    final IBiomeNoiseSampler.Column column = sampler.column((chunkX << 4) + x, (chunkZ << 4) + z);
+                    values[index++] = column.height();
+                    for (int y = 0; y < MAX_Y; y += 8)
+                    {
+                        values[index++] = column.noise(y);
+                    }
+                }
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world;
+
+import java.util.function.ToIntFunction;
+
+import it.unimi.dsi.fastutil.objects.Object2DoubleMap;
+import it.unimi.dsi.fastutil.objects.Object2DoubleOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+
+import static net.dries007.tfc.world.TFCChunkGenerator.KERNEL_5x5;
+import static net.dries007.tfc.world.TFCChunkGenerator.KERNEL_9x9;
+
+/**
+ * The previous, map based implementation of biome blending used by {@link TFCChunkGenerator}.
+ * This is kept as a reference, in order to verify and benchmark {@link BiomeWeightBlender} against it.
+ */
+public final class MapBiomeWeightBlender
+{
+    public static <T> Object2DoubleMap<T>[] sampleBiomes(int chunkX, int chunkZ, BiomeWeightBlender.Sampler<T> biomeSampler, ToIntFunction<T> largeGroup, int largeGroups, ToIntFunction<T> smallGroup, int smallGroups)
+    {
+        Object2DoubleMap<T>[] biomeWeights16 = newWeightArray(4 * 4);
+        for (int x = 0; x < 4; x++)
+        {
+            for (int z = 0; z < 4; z++)
+            {
+                Object2DoubleMap<T> map = new Object2DoubleOpenHashMap<>();
+                for (int dx = 0; dx < 9; dx++)
+                {
+                    for (int dz = 0; dz < 9; dz++)
+                    {
+                        double weight = KERNEL_9x9[dx + dz * 9];
+                        int x0 = chunkX + ((x + dx - 4) << 4);
+                        int z0 = chunkZ + ((z + dz - 4) << 4);
+                        T biome = biomeSampler.get(x0, z0);
+                        map.mergeDouble(biome, weight, Double::sum);
+                    }
+                }
+                biomeWeights16[x | (z << 2)] = map;
+            }
+        }
+
+        Object2DoubleMap<T>[] biomeWeights1 = newWeightArray(7 * 7);
+        Object2DoubleMap<T> biomeWeight16 = new Object2DoubleOpenHashMap<>(), biomeWeight4 = new Object2DoubleOpenHashMap<>();
+
+        for (int x = 0; x < 7; x++)
+        {
+            for (int z = 0; z < 7; z++)
+            {
+                biomeWeight4.clear();
+                for (int dx = 0; dx < 9; dx++)
+                {
+                    for (int dz = 0; dz < 9; dz++)
+                    {
+                        double weight = KERNEL_9x9[dx + dz * 9];
+                        int x0 = chunkX + ((x + dx - 1) << 2);
+                        int z0 = chunkZ + ((z + dz - 1) << 2);
+                        T biome = biomeSampler.get(x0, z0);
+                        biomeWeight4.mergeDouble(biome, weight, Double::sum);
+                    }
+                }
+
+                biomeWeight16.clear();
+
+                int x1 = chunkX + ((x - 1) << 2);
+                int z1 = chunkZ + ((z - 1) << 2);
+
+                int coordX = x1 >> 4;
+                int coordZ = z1 >> 4;
+
+                double lerpX = (x1 - (coordX << 4)) * (1 / 16d);
+                double lerpZ = (z1 - (coordZ << 4)) * (1 / 16d);
+
+                int index16X = ((x1 - chunkX) >> 4) + 1;
+                int index16Z = ((z1 - chunkZ) >> 4) + 1;
+
+                cornerContribution(biomeWeight16, biomeWeights16[index16X | (index16Z << 2)], (1 - lerpX) * (1 - lerpZ));
+                cornerContribution(biomeWeight16, biomeWeights16[(index16X + 1) | (index16Z << 2)], lerpX * (1 - lerpZ));
+                cornerContribution(biomeWeight16, biomeWeights16[index16X | ((index16Z + 1) << 2)], (1 - lerpX) * lerpZ);
+                cornerContribution(biomeWeight16, biomeWeights16[(index16X + 1) | ((index16Z + 1) << 2)], lerpX * lerpZ);
+
+                composeSampleWeights(biomeWeight4, biomeWeight16, largeGroup, largeGroups);
+
+                Object2DoubleMap<T> biomeWeight1 = new Object2DoubleOpenHashMap<>();
+                for (int dx = 0; dx < 5; dx++)
+                {
+                    for (int dz = 0; dz < 5; dz++)
+                    {
+                        double weight = KERNEL_5x5[dx + dz * 5];
+                        int x0 = chunkX + ((x + dx - 1) << 2);
+                        int z0 = chunkZ + ((z + dz - 1) << 2);
+                        T biome = biomeSampler.get(x0, z0);
+                        biomeWeight1.mergeDouble(biome, weight, Double::sum);
+                    }
+                }
+
+                composeSampleWeights(biomeWeight1, biomeWeight4, smallGroup, smallGroups);
+                biomeWeights1[x + 7 * z] = biomeWeight1;
+            }
+        }
+        return biomeWeights1;
+    }
+
+    public static <T> Object2DoubleMap<T> column(Object2DoubleMap<T>[] biomeWeights, int localX, int localZ)
+    {
+        final int index4X = (localX >> 2) + 1;
+        final int index4Z = (localZ >> 2) + 1;
+
+        final double lerpX = (localX & 3) * (1 / 4d);
+        final double lerpZ = (localZ & 3) * (1 / 4d);
+
+        final Object2DoubleMap<T> biomeWeight1 = new Object2DoubleOpenHashMap<>();
+        cornerContribution(biomeWeight1, biomeWeights[index4X + index4Z * 7], (1 - lerpX) * (1 - lerpZ));
+        cornerContribution(biomeWeight1, biomeWeights[(index4X + 1) + index4Z * 7], lerpX * (1 - lerpZ));
+        cornerContribution(biomeWeight1, biomeWeights[index4X + (index4Z + 1) * 7], (1 - lerpX) * lerpZ);
+        cornerContribution(biomeWeight1, biomeWeights[(index4X + 1) + (index4Z + 1) * 7], lerpX * lerpZ);
+        return biomeWeight1;
+    }
+
+    public static <T> void composeSampleWeights(Object2DoubleMap<T> weightMap, Object2DoubleMap<T> groupWeightMap, ToIntFunction<T> groupFunction, int groups)
+    {
+        double[] maxWeights = new double[groups];
+        for (Object2DoubleMap.Entry<T> entry : groupWeightMap.object2DoubleEntrySet())
+        {
+            int group = groupFunction.applyAsInt(entry.getKey());
+            if (group != -1)
+            {
+                maxWeights[group] += entry.getDoubleValue();
+            }
+        }
+
+        double[] actualWeights = new double[groups];
+        ObjectIterator<Object2DoubleMap.Entry<T>> iterator = weightMap.object2DoubleEntrySet().iterator();
+        while (iterator.hasNext())
+        {
+            Object2DoubleMap.Entry<T> entry = iterator.next();
+            int group = groupFunction.applyAsInt(entry.getKey());
+            if (group != -1)
+            {
+                actualWeights[group] += entry.getDoubleValue();
+                iterator.remove();
+            }
+        }
+
+        for (Object2DoubleMap.Entry<T> entry : groupWeightMap.object2DoubleEntrySet())
+        {
+            int group = groupFunction.applyAsInt(entry.getKey());
+            if (group != -1 && actualWeights[group] > 0 && maxWeights[group] > 0)
+            {
+                weightMap.put(entry.getKey(), entry.getDoubleValue() * actualWeights[group] / maxWeights[group]);
+            }
+        }
+    }
+
+    private static <T> void cornerContribution(Object2DoubleMap<T> accumulator, Object2DoubleMap<T> corner, double t)
+    {
+        if (t > 0)
+        {
+            for (Object2DoubleMap.Entry<T> entry : corner.object2DoubleEntrySet())
+            {
+                accumulator.mergeDouble(entry.getKey(), entry.getDoubleValue() * t, Double::sum);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Object2DoubleMap<T>[] newWeightArray(int size)
+    {
+        return (Object2DoubleMap<T>[]) new Object2DoubleMap[size];
+    }
+}
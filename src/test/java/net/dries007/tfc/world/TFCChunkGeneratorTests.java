@@ -0,0 +1,142 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world;
+
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.registry.Registry;
+import net.minecraft.world.chunk.ChunkPrimer;
+import net.minecraft.world.chunk.UpgradeData;
+import net.minecraft.world.gen.ChunkGenerator;
+import net.minecraft.world.gen.Heightmap;
+import net.minecraft.world.server.ServerWorld;
+
+import com.alcatrazescapee.mcjunitlib.framework.IntegrationTest;
+import com.alcatrazescapee.mcjunitlib.framework.IntegrationTestClass;
+import com.alcatrazescapee.mcjunitlib.framework.IntegrationTestHelper;
+import net.dries007.tfc.world.chunkdata.ChunkData;
+import net.dries007.tfc.world.chunkdata.ChunkDataCache;
+import net.dries007.tfc.world.chunkdata.IChunkDataGenerator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives the real world generation entry points, which need registered blocks, biomes and rocks, and so cannot be benchmarked headless.
+ */
+@IntegrationTestClass("world")
+public class TFCChunkGeneratorTests
+{
+    static final int ORIGIN = 300_000; // Far from anything that has been generated, so nothing is cached
+
+    @IntegrationTest("empty")
+    public void testChunkDataGeneratorIsDeterministic(IntegrationTestHelper helper)
+    {
+        final IChunkDataGenerator generator = getGenerator(helper.getWorld()).getChunkDataProvider().getGenerator();
+        final ChunkPos pos = new ChunkPos(ORIGIN, ORIGIN);
+        final ChunkData first = new ChunkData(pos), second = new ChunkData(pos);
+        generator.generate(first);
+        generator.generate(second);
+        first.setStatus(ChunkData.Status.FULL); // Only data with a status is serialized
+        second.setStatus(ChunkData.Status.FULL);
+
+        assertNotNull(first.getRockDataOrThrow());
+        assertEquals(first.serializeNBT(), second.serializeNBT());
+    }
+
+    @IntegrationTest("empty")
+    public void testClimateIsCompletedByGenerate(IntegrationTestHelper helper)
+    {
+        final IChunkDataGenerator generator = getGenerator(helper.getWorld()).getChunkDataProvider().getGenerator();
+        final ChunkPos pos = new ChunkPos(ORIGIN, ORIGIN + 1);
+        final ChunkData full = new ChunkData(pos), promoted = new ChunkData(pos);
+        generator.generate(full);
+        generator.generateClimate(promoted);
+        promoted.setStatus(ChunkData.Status.CLIMATE);
+        generator.generate(promoted);
+        promoted.setStatus(ChunkData.Status.FULL);
+        full.setStatus(ChunkData.Status.FULL);
+
+        assertEquals(full.serializeNBT(), promoted.serializeNBT(), "Generating promoted climate data should produce the same chunk data");
+    }
+
+    @IntegrationTest("empty")
+    public void testFillFromNoiseIsDeterministic(IntegrationTestHelper helper)
+    {
+        final ServerWorld world = helper.getWorld();
+        final TFCChunkGenerator generator = getGenerator(world);
+        final ChunkPos pos = new ChunkPos(ORIGIN, ORIGIN + 2);
+        try
+        {
+            final ChunkPrimer first = fillFromNoise(generator, world, pos), second = fillFromNoise(generator, world, pos);
+            final BlockPos.Mutable cursor = new BlockPos.Mutable();
+            for (int x = 0; x < 16; x++)
+            {
+                for (int z = 0; z < 16; z++)
+                {
+                    for (int y = 0; y < 256; y++)
+                    {
+                        cursor.set(pos.getMinBlockX() + x, y, pos.getMinBlockZ() + z);
+                        assertEquals(first.getBlockState(cursor), second.getBlockState(cursor), "Block state at " + cursor);
+                    }
+                }
+            }
+            for (Heightmap.Type type : new Heightmap.Type[] {Heightmap.Type.OCEAN_FLOOR_WG, Heightmap.Type.WORLD_SURFACE_WG})
+            {
+                assertArrayEquals(first.getOrCreateHeightmapUnprimed(type).getRawData(), second.getOrCreateHeightmapUnprimed(type).getRawData(), "Heightmap " + type);
+            }
+        }
+        finally
+        {
+            // Only remove the chunk generated here, as the server may be generating other chunks
+            ChunkDataCache.WORLD_GEN.remove(pos);
+        }
+    }
+
+    @IntegrationTest("empty")
+    public void testFillFromNoiseHasSolidGround(IntegrationTestHelper helper)
+    {
+        final ServerWorld world = helper.getWorld();
+        final TFCChunkGenerator generator = getGenerator(world);
+        final ChunkPos pos = new ChunkPos(ORIGIN, ORIGIN + 3);
+        try
+        {
+            final ChunkPrimer chunk = fillFromNoise(generator, world, pos);
+            final Heightmap oceanFloor = chunk.getOrCreateHeightmapUnprimed(Heightmap.Type.OCEAN_FLOOR_WG);
+            final BlockPos.Mutable cursor = new BlockPos.Mutable();
+            for (int x = 0; x < 16; x++)
+            {
+                for (int z = 0; z < 16; z++)
+                {
+                    final int height = oceanFloor.getFirstAvailable(x, z);
+                    assertTrue(height > 0 && height < 256, "Ocean floor height " + height + " at " + x + ", " + z);
+
+                    cursor.set(pos.getMinBlockX() + x, height - 1, pos.getMinBlockZ() + z);
+                    assertFalse(chunk.getBlockState(cursor).isAir(), "Expected a solid block at the ocean floor at " + cursor);
+                }
+            }
+        }
+        finally
+        {
+            ChunkDataCache.WORLD_GEN.remove(pos);
+        }
+    }
+
+    private ChunkPrimer fillFromNoise(TFCChunkGenerator generator, ServerWorld world, ChunkPos pos)
+    {
+        final ChunkPrimer chunk = new ChunkPrimer(pos, UpgradeData.EMPTY);
+        generator.createBiomes(world.registryAccess().registryOrThrow(Registry.BIOME_REGISTRY), chunk);
+        generator.fillFromNoise(world, world.structureFeatureManager(), chunk);
+        return chunk;
+    }
+
+    private TFCChunkGenerator getGenerator(ServerWorld world)
+    {
+        final ChunkGenerator generator = world.getChunkSource().getGenerator();
+        assertTrue(generator instanceof TFCChunkGenerator, "The test world is not using the TFC chunk generator");
+        return (TFCChunkGenerator) generator;
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world.carver;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class CarverHelpersTests
+{
+    static final int SEA_LEVEL = 96;
+
+    /**
+     * The previous implementation of the water adjacency mask, which stamps a region around every water block.
+     */
+    public static BitSet stampWaterAdjacencyMask(long[] water, int seaLevel)
+    {
+        final BitSet waterMask = BitSet.valueOf(water);
+        final BitSet waterAdjacencyMask = new BitSet(16 * 16 * (1 + seaLevel));
+        for (int y = 0; y <= seaLevel; y++)
+        {
+            for (int x = 0; x < 16; x++)
+            {
+                for (int z = 0; z < 16; z++)
+                {
+                    if (waterMask.get(CarverHelpers.maskIndex(x, y, z)))
+                    {
+                        for (int xi = -2; xi <= 2; xi++)
+                        {
+                            for (int yi = -2; yi <= 0; yi++)
+                            {
+                                for (int zi = -2; zi <= 2; zi++)
+                                {
+                                    final int posX = x + xi;
+                                    final int posY = y + yi;
+                                    final int posZ = z + zi;
+                                    if (posX >> 4 == 0 && posZ >> 4 == 0 && posY >= 0 && posY <= seaLevel)
+                                    {
+                                        waterAdjacencyMask.set(posX | (posZ << 4) | (posY << 8));
+                                    }
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return waterAdjacencyMask;
+    }
+
+    /**
+     * Creates a water mask, where each position up to sea level is water with the given probability.
+     */
+    public static long[] createWaterMask(Random random, float chance, int seaLevel)
+    {
+        final long[] water = new long[4 * (1 + seaLevel)];
+        for (int index = 0; index < 16 * 16 * (1 + seaLevel); index++)
+        {
+            if (random.nextFloat() < chance)
+            {
+                water[index >> 6] |= 1L << index;
+            }
+        }
+        return water;
+    }
+
+    @Test
+    public void testDilationMatchesStamping()
+    {
+        final long seed = System.currentTimeMillis();
+        final Random random = new Random(seed);
+        for (float chance : new float[] {0, 0.001f, 0.01f, 0.1f, 0.5f, 1})
+        {
+            final long[] water = createWaterMask(random, chance, SEA_LEVEL);
+            assertEquals(stampWaterAdjacencyMask(water, SEA_LEVEL), BitSet.valueOf(CarverHelpers.dilateWaterAdjacencyMask(water, SEA_LEVEL)), "Masks differ with chance " + chance + " and seed " + seed);
+        }
+    }
+
+    @Test
+    public void testDilationOfSingleBlocks()
+    {
+        // Single water blocks at every column of every third layer, including the chunk edges and sea level
+        for (int y = 0; y <= SEA_LEVEL; y += 3)
+        {
+            for (int x = 0; x < 16; x++)
+            {
+                for (int z = 0; z < 16; z++)
+                {
+                    final long[] water = new long[4 * (1 + SEA_LEVEL)];
+                    final int index = CarverHelpers.maskIndex(x, y, z);
+                    water[index >> 6] |= 1L << index;
+                    assertEquals(stampWaterAdjacencyMask(water, SEA_LEVEL), BitSet.valueOf(CarverHelpers.dilateWaterAdjacencyMask(water, SEA_LEVEL)), "Masks differ for water at x=" + x + ", y=" + y + ", z=" + z);
+                }
+            }
+        }
+    }
+}
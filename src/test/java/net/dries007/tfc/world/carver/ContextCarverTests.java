@@ -0,0 +1,263 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world.carver;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import com.google.gson.JsonObject;
+import net.minecraft.block.BlockState;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.SharedSeedRandom;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.chunk.ChunkPrimer;
+import net.minecraft.world.chunk.UpgradeData;
+import net.minecraft.world.gen.GenerationStage;
+import net.minecraft.world.gen.carver.ConfiguredCarver;
+import net.minecraft.world.gen.feature.ProbabilityConfig;
+
+import net.dries007.tfc.common.fluids.TFCFluids;
+import net.dries007.tfc.common.types.Rock;
+import net.dries007.tfc.world.TFCChunkGenerator;
+import net.dries007.tfc.world.chunkdata.ChunkData;
+import net.dries007.tfc.world.chunkdata.ChunkDataCache;
+import net.dries007.tfc.world.chunkdata.RockData;
+import org.junit.jupiter.api.Test;
+
+import static net.dries007.tfc.TerraFirmaCraft.MOD_ID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Verifies that carving chunks concurrently, with a {@link CarverContext} per chunk, produces the same output as carving them one at a time, and as carving them through the vanilla carver methods.
+ * This requires blocks and carvers to be registered, so it runs in the server test harness, and is skipped outside of a running game.
+ */
+public class ContextCarverTests
+{
+    static final int CHUNKS = 6; // 6x6 chunks
+    static final int THREADS = 8;
+    static final int SEA_LEVEL = TFCChunkGenerator.SEA_LEVEL;
+
+    static final int FALLBACK_ORIGIN = 400_000; // Far from anything the server generates, as the fallback reads the world gen cache
+
+    private final List<Supplier<ConfiguredCarver<?>>> liquidCarvers = Arrays.asList(
+        () -> TFCCarvers.UNDERWATER_CAVE.get().configured(new ProbabilityConfig(0.3f)),
+        () -> TFCCarvers.UNDERWATER_CANYON.get().configured(new ProbabilityConfig(0.1f))
+    );
+    private final List<Supplier<ConfiguredCarver<?>>> airCarvers = Arrays.asList(
+        () -> TFCCarvers.CAVE.get().configured(new ProbabilityConfig(0.3f)),
+        () -> TFCCarvers.CANYON.get().configured(new ProbabilityConfig(0.1f))
+    );
+
+    @Test
+    public void testParallelCarvingMatchesSerial() throws Exception
+    {
+        assumeTrue(TFCCarvers.CAVE.isPresent(), "Carvers are not registered");
+
+        final long seed = System.currentTimeMillis();
+        final Rock rock = createRock();
+
+        final List<ChunkPos> positions = new ArrayList<>();
+        for (int x = 0; x < CHUNKS; x++)
+        {
+            for (int z = 0; z < CHUNKS; z++)
+            {
+                positions.add(new ChunkPos(x, z));
+            }
+        }
+
+        final List<BlockState[]> expected = new ArrayList<>();
+        for (ChunkPos pos : positions)
+        {
+            expected.add(carveWithContext(pos, seed, rock));
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try
+        {
+            final List<Future<BlockState[]>> futures = new ArrayList<>();
+            for (ChunkPos pos : positions)
+            {
+                futures.add(executor.submit(() -> carveWithContext(pos, seed, rock)));
+            }
+            for (int i = 0; i < positions.size(); i++)
+            {
+                final ChunkPos pos = positions.get(i);
+                final BlockState[] actual = futures.get(i).get(1, TimeUnit.MINUTES);
+                final BlockState[] states = expected.get(i);
+                for (int j = 0; j < states.length; j++)
+                {
+                    final int index = j;
+                    assertEquals(states[j], actual[j], () -> "Chunk " + pos + " differs at index " + index + " when carved concurrently");
+                }
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFallbackMatchesContext()
+    {
+        assumeTrue(TFCCarvers.CAVE.isPresent(), "Carvers are not registered");
+
+        final long seed = System.currentTimeMillis();
+        final Rock rock = createRock();
+        for (int x = 0; x < 3; x++)
+        {
+            for (int z = 0; z < 3; z++)
+            {
+                final ChunkPos pos = new ChunkPos(FALLBACK_ORIGIN + x, FALLBACK_ORIGIN + z);
+                final BlockState[] expected = carveWithContext(pos, seed, rock);
+                final BlockState[] actual = carveWithFallback(pos, seed, rock);
+                for (int i = 0; i < expected.length; i++)
+                {
+                    final int index = i;
+                    assertEquals(expected[i], actual[i], () -> "Chunk " + pos + " differs at index " + index + " when carved through the vanilla carver methods");
+                }
+            }
+        }
+    }
+
+    /**
+     * Carves a chunk as {@link TFCChunkGenerator#applyCarvers} does.
+     */
+    private BlockState[] carveWithContext(ChunkPos chunkPos, long seed, Rock rock)
+    {
+        final ChunkPrimer chunk = createChunk(chunkPos, rock);
+        final RockData rockData = createRockData(rock);
+        final BitSet airCarvingMask = chunk.getOrCreateCarvingMask(GenerationStage.Carving.AIR);
+        final BitSet liquidCarvingMask = chunk.getOrCreateCarvingMask(GenerationStage.Carving.LIQUID);
+        final SharedSeedRandom random = new SharedSeedRandom();
+
+        CarverHelpers.runCarversWithContext(new CarverContext(seed, airCarvingMask, liquidCarvingMask, rockData, null), chunk, pos -> null, liquidCarvers, random, GenerationStage.Carving.LIQUID, SEA_LEVEL);
+
+        final BitSet waterAdjacencyMask = CarverHelpers.createWaterAdjacencyMask(chunk, SEA_LEVEL);
+        CarverHelpers.runCarversWithContext(new CarverContext(seed, airCarvingMask, liquidCarvingMask, rockData, waterAdjacencyMask), chunk, pos -> null, airCarvers, random, GenerationStage.Carving.AIR, SEA_LEVEL);
+
+        return getStates(chunk);
+    }
+
+    /**
+     * Carves a chunk as a chunk generator which does not respect {@link IContextCarver} would, with the rock data in the world generation cache.
+     */
+    private BlockState[] carveWithFallback(ChunkPos chunkPos, long seed, Rock rock)
+    {
+        final ChunkPrimer chunk = createChunk(chunkPos, rock);
+        final ChunkData data = new ChunkData(chunkPos);
+        data.setRockData(createRockData(rock));
+        ChunkDataCache.WORLD_GEN.update(chunkPos, data);
+        try
+        {
+            final SharedSeedRandom random = new SharedSeedRandom();
+            carveVanilla(chunk, seed, liquidCarvers, random, chunk.getOrCreateCarvingMask(GenerationStage.Carving.LIQUID));
+            carveVanilla(chunk, seed, airCarvers, random, chunk.getOrCreateCarvingMask(GenerationStage.Carving.AIR));
+        }
+        finally
+        {
+            ChunkDataCache.WORLD_GEN.remove(chunkPos);
+        }
+        return getStates(chunk);
+    }
+
+    private void carveVanilla(ChunkPrimer chunk, long seed, List<Supplier<ConfiguredCarver<?>>> carvers, SharedSeedRandom random, BitSet carvingMask)
+    {
+        final ChunkPos chunkPos = chunk.getPos();
+        for (int x = chunkPos.x - 8; x <= chunkPos.x + 8; ++x)
+        {
+            for (int z = chunkPos.z - 8; z <= chunkPos.z + 8; ++z)
+            {
+                int index = 0;
+                for (Supplier<ConfiguredCarver<?>> lazyCarver : carvers)
+                {
+                    final ConfiguredCarver<?> carver = lazyCarver.get();
+                    random.setLargeFeatureSeed(seed + index, x, z);
+                    if (carver.isStartChunk(random, x, z))
+                    {
+                        carver.carve(chunk, pos -> null, random, SEA_LEVEL, x, z, chunkPos.x, chunkPos.z, carvingMask);
+                    }
+                    index++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Fills a chunk with raw rock and a layer of salt water.
+     */
+    private ChunkPrimer createChunk(ChunkPos chunkPos, Rock rock)
+    {
+        final BlockState raw = rock.getBlock(Rock.BlockType.RAW).defaultBlockState();
+        final BlockState water = TFCFluids.SALT_WATER.getSourceBlock();
+        final ChunkPrimer chunk = new ChunkPrimer(chunkPos, UpgradeData.EMPTY);
+        final BlockPos.Mutable mutablePos = new BlockPos.Mutable();
+        for (int x = 0; x < 16; x++)
+        {
+            for (int z = 0; z < 16; z++)
+            {
+                for (int y = 1; y <= SEA_LEVEL + 16; y++)
+                {
+                    mutablePos.set(chunkPos.getMinBlockX() + x, y, chunkPos.getMinBlockZ() + z);
+                    chunk.setBlockState(mutablePos, x < 4 && y > SEA_LEVEL - 8 && y <= SEA_LEVEL ? water : raw, false);
+                }
+            }
+        }
+        return chunk;
+    }
+
+    private RockData createRockData(Rock rock)
+    {
+        final Rock[] layer = new Rock[16 * 16];
+        final int[] surfaceHeight = new int[16 * 16];
+        Arrays.fill(layer, rock);
+        Arrays.fill(surfaceHeight, SEA_LEVEL + 16);
+        final RockData rockData = new RockData(layer, layer, layer, new int[16 * 16]);
+        rockData.setSurfaceHeight(surfaceHeight);
+        return rockData;
+    }
+
+    /**
+     * Creates a rock from registered blocks, so this does not depend on data packs being loaded.
+     */
+    private Rock createRock()
+    {
+        final JsonObject json = new JsonObject();
+        json.addProperty("raw", MOD_ID + ":rock/raw/granite");
+        json.addProperty("hardened", MOD_ID + ":rock/hardened/granite");
+        json.addProperty("cobble", MOD_ID + ":rock/cobble/granite");
+        json.addProperty("gravel", MOD_ID + ":rock/gravel/granite");
+        json.addProperty("sand", MOD_ID + ":sand/white");
+        json.addProperty("sandstone", MOD_ID + ":raw_sandstone/white");
+        return new Rock(new ResourceLocation(MOD_ID, "granite"), json);
+    }
+
+    private BlockState[] getStates(ChunkPrimer chunk)
+    {
+        final ChunkPos chunkPos = chunk.getPos();
+        final BlockPos.Mutable mutablePos = new BlockPos.Mutable();
+        final BlockState[] states = new BlockState[16 * 16 * 256];
+        for (int x = 0; x < 16; x++)
+        {
+            for (int z = 0; z < 16; z++)
+            {
+                for (int y = 0; y < 256; y++)
+                {
+                    mutablePos.set(chunkPos.getMinBlockX() + x, y, chunkPos.getMinBlockZ() + z);
+                    states[CarverHelpers.maskIndex(mutablePos)] = chunk.getBlockState(mutablePos);
+                }
+            }
+        }
+        return states;
+    }
+}
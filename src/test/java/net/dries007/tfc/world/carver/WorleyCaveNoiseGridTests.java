@@ -0,0 +1,102 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world.carver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.*;
+
+import net.dries007.tfc.world.noise.Noise3D;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class WorleyCaveNoiseGridTests
+{
+    static final int HEIGHT = 31;
+
+    /**
+     * Samples the grid for a chunk directly from the noise, as the carver did before the grid was cached.
+     */
+    public static void sampleDirect(Noise3D noise, float[] values, int chunkX, int chunkZ, int height)
+    {
+        for (int x = 0; x < 5; x++)
+        {
+            for (int z = 0; z < 5; z++)
+            {
+                for (int y = 0; y < height; y++)
+                {
+                    values[x + (z * 5) + (y * 25)] = noise.noise((float) ((chunkX << 4) + x * 4), y * 7f, (float) ((chunkZ << 4) + z * 4));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testCachedMatchesDirect()
+    {
+        final long seed = System.currentTimeMillis();
+        final Random random = new Random(seed);
+        final Noise3D noise = WorleyCaveNoiseGrid.createNoise(seed);
+        final WorleyCaveNoiseGrid grid = new WorleyCaveNoiseGrid(seed, HEIGHT, 64);
+        final float[] expected = new float[5 * 5 * HEIGHT], actual = new float[5 * 5 * HEIGHT];
+
+        for (int i = 0; i < 200; i++)
+        {
+            // Clustered, so neighbouring chunks share border columns
+            final int chunkX = random.nextInt(10) - 5, chunkZ = random.nextInt(10) - 5;
+            sampleDirect(noise, expected, chunkX, chunkZ, HEIGHT);
+            grid.sample(actual, chunkX, chunkZ);
+            for (int j = 0; j < expected.length; j++)
+            {
+                assertEquals(expected[j], actual[j], "Grid value " + j + " of chunk " + chunkX + ", " + chunkZ + " with seed " + seed);
+            }
+        }
+        assertTrue(grid.getHits() > 0);
+    }
+
+    @Test
+    public void testConcurrentSamplesMatchDirect() throws Exception
+    {
+        final long seed = System.currentTimeMillis();
+        final Noise3D noise = WorleyCaveNoiseGrid.createNoise(seed);
+        final WorleyCaveNoiseGrid grid = new WorleyCaveNoiseGrid(seed, HEIGHT, 64);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try
+        {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++)
+            {
+                final Random random = new Random(seed + thread);
+                futures.add(executor.submit(() -> {
+                    final float[] expected = new float[5 * 5 * HEIGHT], actual = new float[5 * 5 * HEIGHT];
+                    for (int i = 0; i < 100; i++)
+                    {
+                        final int chunkX = random.nextInt(10) - 5, chunkZ = random.nextInt(10) - 5;
+                        sampleDirect(noise, expected, chunkX, chunkZ, HEIGHT); // Both the noise and the grid are shared between threads
+                        grid.sample(actual, chunkX, chunkZ);
+                        for (int j = 0; j < expected.length; j++)
+                        {
+                            assertEquals(expected[j], actual[j], "Grid value " + j + " of chunk " + chunkX + ", " + chunkZ + " with seed " + seed);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures)
+            {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world.chunkdata;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import net.minecraft.util.math.ChunkPos;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChunkDataCacheTests
+{
+    @Test
+    public void testSizeIsBounded()
+    {
+        final ChunkDataCache cache = new ChunkDataCache("test", 1, () -> 100, pos -> false);
+        for (int x = 0; x < 50; x++)
+        {
+            for (int z = 0; z < 50; z++)
+            {
+                cache.getOrCreate(new ChunkPos(x, z));
+                assertTrue(cache.size() <= 100);
+            }
+        }
+        assertEquals(100, cache.size());
+        assertEquals(50 * 50 - 100, cache.getEvictions());
+    }
+
+    @Test
+    public void testReferencedEntriesAreKept()
+    {
+        final ChunkDataCache cache = new ChunkDataCache("test", 1, () -> 16, pos -> false);
+        final ChunkPos hot = new ChunkPos(1000, 1000);
+        final ChunkData data = cache.getOrCreate(hot);
+        for (int i = 0; i < 1000; i++)
+        {
+            cache.getOrCreate(new ChunkPos(i, 0));
+            assertSame(data, cache.get(hot), "Entry accessed between every insert was evicted");
+        }
+    }
+
+    @Test
+    public void testPinnedEntriesAreKept()
+    {
+        final long pinned = ChunkPos.asLong(-5, 7);
+        final ChunkDataCache cache = new ChunkDataCache("test", 1, () -> 16, pos -> pos == pinned);
+        final ChunkData data = cache.getOrCreate(new ChunkPos(-5, 7));
+        for (int i = 0; i < 1000; i++)
+        {
+            cache.getOrCreate(new ChunkPos(i, 0));
+        }
+        assertSame(data, cache.get(pinned));
+        assertEquals(16, cache.size());
+    }
+
+    @Test
+    public void testAllPinnedGrowsPastCapacity()
+    {
+        final ChunkDataCache cache = new ChunkDataCache("test", 1, () -> 16, pos -> true);
+        for (int i = 0; i < 100; i++)
+        {
+            cache.getOrCreate(new ChunkPos(i, 0));
+        }
+        assertEquals(100, cache.size());
+        assertEquals(0, cache.getEvictions());
+    }
+
+    @Test
+    public void testRemoveAndUpdate()
+    {
+        final ChunkDataCache cache = new ChunkDataCache("test", 1, () -> 16, pos -> false);
+        final ChunkPos pos = new ChunkPos(3, 4);
+        final ChunkData first = new ChunkData(pos), second = new ChunkData(pos);
+
+        assertNull(cache.get(pos));
+        cache.update(pos, first);
+        assertSame(first, cache.get(pos));
+        cache.update(pos, second);
+        assertSame(second, cache.get(pos));
+        assertEquals(1, cache.size());
+
+        assertSame(second, cache.remove(pos));
+        assertNull(cache.remove(pos));
+        assertTrue(cache.isEmpty());
+        assertSame(ChunkData.EMPTY, cache.getOrEmpty(pos));
+    }
+
+    @Test
+    public void testSegmentedSizeIsBounded()
+    {
+        final ChunkDataCache cache = new ChunkDataCache("test", () -> 100, pos -> false);
+        for (int x = 0; x < 50; x++)
+        {
+            for (int z = 0; z < 50; z++)
+            {
+                cache.getOrCreate(new ChunkPos(x, z));
+            }
+        }
+        // Each segment holds at most its share of the capacity, rounded up
+        assertTrue(cache.size() <= ChunkDataCache.SEGMENTS * ((100 + ChunkDataCache.SEGMENTS - 1) / ChunkDataCache.SEGMENTS), "Size " + cache.size());
+        assertEquals(50 * 50, cache.size() + cache.getEvictions());
+    }
+
+    @Test
+    public void testConcurrentGetOrCreate() throws Exception
+    {
+        final ChunkDataCache cache = new ChunkDataCache("test", () -> Integer.MAX_VALUE, pos -> false);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try
+        {
+            // Every thread requests the same chunks, so each must see the same instance
+            final List<Future<ChunkData[]>> results = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++)
+            {
+                results.add(executor.submit(() -> {
+                    final ChunkData[] data = new ChunkData[64 * 64];
+                    for (int i = 0; i < data.length; i++)
+                    {
+                        data[i] = cache.getOrCreate(new ChunkPos(i & 63, i >> 6));
+                    }
+                    return data;
+                }));
+            }
+
+            final ChunkData[] first = results.get(0).get(1, TimeUnit.MINUTES);
+            for (Future<ChunkData[]> result : results)
+            {
+                assertArrayEquals(first, result.get(1, TimeUnit.MINUTES));
+            }
+            assertEquals(64 * 64, cache.size());
+            assertEquals(64 * 64, cache.getMisses());
+            assertEquals(3 * 64 * 64, cache.getHits());
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+}
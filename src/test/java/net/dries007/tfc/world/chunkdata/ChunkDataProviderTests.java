@@ -0,0 +1,254 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world.chunkdata;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.minecraft.util.math.ChunkPos;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChunkDataProviderTests
+{
+    static final int THREADS = 8;
+    static final int CHUNKS = 16;
+
+    @Test
+    public void testGeneratesExactlyOnceUnderContention() throws Exception
+    {
+        // Positions far from the origin, so they don't interfere with anything else in the world gen cache
+        final List<ChunkPos> positions = new ArrayList<>();
+        for (int x = 0; x < CHUNKS; x++)
+        {
+            for (int z = 0; z < CHUNKS; z++)
+            {
+                positions.add(new ChunkPos(100_000 + x, 100_000 + z));
+            }
+        }
+
+        final ConcurrentMap<ChunkPos, AtomicInteger> invocations = new ConcurrentHashMap<>();
+        final ChunkDataProvider provider = new ChunkDataProvider(new IChunkDataGenerator()
+        {
+            @Override
+            public void generate(ChunkData data)
+            {
+                invocations.computeIfAbsent(data.getPos(), key -> new AtomicInteger()).incrementAndGet();
+                Thread.yield(); // Widen the window in which another thread could observe the in-flight generation
+            }
+
+            @Override
+            public void generateClimate(ChunkData data) {}
+        });
+
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        final CyclicBarrier barrier = new CyclicBarrier(THREADS);
+        try
+        {
+            final List<Future<ChunkData[]>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++)
+            {
+                final List<ChunkPos> order = new ArrayList<>(positions);
+                Collections.shuffle(order, new Random(thread));
+                futures.add(executor.submit(() -> {
+                    final ChunkData[] results = new ChunkData[positions.size()];
+                    barrier.await();
+                    for (ChunkPos pos : order)
+                    {
+                        final ChunkData data = provider.get(pos);
+                        assertEquals(ChunkData.Status.FULL, data.getStatus());
+                        results[positions.indexOf(pos)] = data;
+                    }
+                    return results;
+                }));
+            }
+
+            final ChunkData[] expected = futures.get(0).get(1, TimeUnit.MINUTES);
+            for (Future<ChunkData[]> future : futures)
+            {
+                final ChunkData[] actual = future.get(1, TimeUnit.MINUTES);
+                for (int i = 0; i < expected.length; i++)
+                {
+                    assertSame(expected[i], actual[i], "Threads observed different chunk data at " + positions.get(i));
+                }
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+            positions.forEach(ChunkDataCache.WORLD_GEN::remove);
+        }
+
+        assertEquals(positions.size(), invocations.size());
+        invocations.forEach((pos, count) -> assertEquals(1, count.get(), "Chunk data at " + pos + " was generated " + count.get() + " times"));
+    }
+
+    @Test
+    public void testClimateDoesNotGenerateFullData()
+    {
+        final ChunkPos pos = new ChunkPos(-100_000, -100_000);
+        final AtomicInteger climate = new AtomicInteger(), full = new AtomicInteger();
+        final ChunkDataProvider provider = new ChunkDataProvider(new IChunkDataGenerator()
+        {
+            @Override
+            public void generate(ChunkData data)
+            {
+                full.incrementAndGet();
+            }
+
+            @Override
+            public void generateClimate(ChunkData data)
+            {
+                climate.incrementAndGet();
+            }
+        });
+
+        try
+        {
+            assertEquals(ChunkData.Status.CLIMATE, provider.getClimate(pos).getStatus());
+            assertEquals(ChunkData.Status.CLIMATE, provider.getClimate(pos).getStatus());
+            assertEquals(1, climate.get());
+            assertEquals(0, full.get());
+
+            assertEquals(ChunkData.Status.FULL, provider.get(pos).getStatus());
+            assertEquals(ChunkData.Status.FULL, provider.getClimate(pos).getStatus());
+            assertEquals(1, climate.get());
+            assertEquals(1, full.get());
+        }
+        finally
+        {
+            ChunkDataCache.WORLD_GEN.remove(pos);
+            ChunkDataCache.CLIMATE.remove(pos);
+        }
+    }
+
+    @Test
+    public void testClimateLookupsAreBounded()
+    {
+        final AtomicInteger climate = new AtomicInteger(), full = new AtomicInteger();
+        final ChunkDataProvider provider = new ChunkDataProvider(new IChunkDataGenerator()
+        {
+            @Override
+            public void generate(ChunkData data)
+            {
+                full.incrementAndGet();
+            }
+
+            @Override
+            public void generateClimate(ChunkData data)
+            {
+                climate.incrementAndGet();
+            }
+        });
+
+        // Far more lookups than the climate cache can hold, like a /locate over a large area
+        final int capacity = ChunkDataCache.CLIMATE.getCapacity(), lookups = 2 * capacity;
+        final int worldGenSize = ChunkDataCache.WORLD_GEN.size();
+        final ChunkPos last = new ChunkPos(200_000 + lookups - 1, 200_000);
+        try
+        {
+            for (int i = 0; i < lookups; i++)
+            {
+                assertEquals(ChunkData.Status.CLIMATE, provider.getClimate(new ChunkPos(200_000 + i, 200_000)).getStatus());
+            }
+            assertEquals(worldGenSize, ChunkDataCache.WORLD_GEN.size(), "Climate lookups were added to the world gen cache");
+            assertTrue(ChunkDataCache.CLIMATE.size() <= capacity + ChunkDataCache.SEGMENTS, "Climate cache grew to " + ChunkDataCache.CLIMATE.size());
+
+            // Generating a chunk promotes its climate data, rather than generating the climate again
+            final ChunkData data = ChunkDataCache.CLIMATE.get(last);
+            assertNotNull(data);
+            assertSame(data, provider.get(last));
+            assertEquals(ChunkData.Status.FULL, data.getStatus());
+            assertNull(ChunkDataCache.CLIMATE.get(last));
+            assertEquals(lookups, climate.get());
+            assertEquals(1, full.get());
+        }
+        finally
+        {
+            ChunkDataCache.WORLD_GEN.remove(last);
+            ChunkDataCache.CLIMATE.clear();
+        }
+    }
+
+    @Test
+    public void testConcurrentClimateLookupsDoNotDuplicatePromotedData() throws Exception
+    {
+        final List<ChunkPos> positions = new ArrayList<>();
+        for (int x = 0; x < CHUNKS; x++)
+        {
+            for (int z = 0; z < CHUNKS; z++)
+            {
+                positions.add(new ChunkPos(300_000 + x, 300_000 + z));
+            }
+        }
+
+        final ChunkDataProvider provider = new ChunkDataProvider(new IChunkDataGenerator()
+        {
+            @Override
+            public void generate(ChunkData data)
+            {
+                Thread.yield();
+            }
+
+            @Override
+            public void generateClimate(ChunkData data)
+            {
+                Thread.yield();
+            }
+        });
+
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        final CyclicBarrier barrier = new CyclicBarrier(THREADS);
+        try
+        {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++)
+            {
+                final List<ChunkPos> order = new ArrayList<>(positions);
+                Collections.shuffle(order, new Random(thread));
+                final boolean generating = (thread & 1) == 0; // Half the threads generate chunks, while the other half look up their climate
+                futures.add(executor.submit(() -> {
+                    barrier.await();
+                    for (ChunkPos pos : order)
+                    {
+                        if (generating)
+                        {
+                            provider.get(pos);
+                        }
+                        else
+                        {
+                            provider.getClimate(pos);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures)
+            {
+                future.get(1, TimeUnit.MINUTES);
+            }
+
+            for (ChunkPos pos : positions)
+            {
+                assertNull(ChunkDataCache.CLIMATE.get(pos), "Climate data at " + pos + " was left behind after the chunk was generated");
+                assertSame(provider.get(pos), provider.getClimate(pos));
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+            positions.forEach(ChunkDataCache.WORLD_GEN::remove);
+            positions.forEach(ChunkDataCache.CLIMATE::remove);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world.feature;
+
+import java.util.*;
+import java.util.function.Predicate;
+import javax.annotation.Nullable;
+
+import net.minecraft.util.Direction;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MutableBoundingBox;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LakeFloodFillTests
+{
+    static final int SIZE = 16 + 2 * LakeFloodFill.RADIUS + 2; // One block to each side of the region
+
+    /**
+     * A reference implementation of the original flood fill, using a hash set and linked list.
+     *
+     * @return The filled positions, or {@code null} if the fill was not bounded.
+     */
+    @Nullable
+    public static List<BlockPos> floodFillReference(int chunkX, int chunkZ, BlockPos startPos, boolean overfill, Predicate<BlockPos> fillable)
+    {
+        final MutableBoundingBox box = new MutableBoundingBox((chunkX << 4) - 14, (chunkZ << 4) - 14, (chunkX << 4) + 15 + 14, (chunkZ << 4) + 15 + 14);
+        final Set<BlockPos> filled = new LinkedHashSet<>();
+        if (!floodFillLayer(startPos, box, filled, fillable))
+        {
+            return null;
+        }
+        if (overfill)
+        {
+            final Set<BlockPos> nextFilled = new LinkedHashSet<>(filled);
+            final int prevSize = filled.size();
+            startPos = startPos.above();
+            while (floodFillLayer(startPos, box, nextFilled, fillable))
+            {
+                filled.addAll(nextFilled);
+                if (prevSize == filled.size())
+                {
+                    break;
+                }
+                startPos = startPos.above();
+            }
+        }
+        return new ArrayList<>(filled);
+    }
+
+    /**
+     * A basin with randomly placed pillars and holes, centered on chunk (0, 0), which fills up until the lowest point in the rim.
+     */
+    public static int[] createTerrain(Random random)
+    {
+        final int[] heights = new int[SIZE * SIZE];
+        for (int x = 0; x < SIZE; x++)
+        {
+            for (int z = 0; z < SIZE; z++)
+            {
+                final int dx = x - SIZE / 2, dz = z - SIZE / 2;
+                int height = 50 + (dx * dx + dz * dz) / (16 + random.nextInt(16)) + random.nextInt(3);
+                if (random.nextInt(20) == 0)
+                {
+                    height += random.nextInt(30) - 10;
+                }
+                heights[x + SIZE * z] = height;
+            }
+        }
+        return heights;
+    }
+
+    public static Predicate<BlockPos> isAboveTerrain(int[] heights)
+    {
+        final int offset = LakeFloodFill.RADIUS + 1;
+        return pos -> {
+            final int x = pos.getX() + offset, z = pos.getZ() + offset;
+            if (x < 0 || x >= SIZE || z < 0 || z >= SIZE)
+            {
+                return true;
+            }
+            return pos.getY() > heights[x + SIZE * z];
+        };
+    }
+
+    private static boolean floodFillLayer(BlockPos startPos, MutableBoundingBox box, Set<BlockPos> filled, Predicate<BlockPos> fillable)
+    {
+        if (!fillable.test(startPos))
+        {
+            return false;
+        }
+
+        final LinkedList<BlockPos> queue = new LinkedList<>();
+        final BlockPos.Mutable mutablePos = new BlockPos.Mutable();
+        final int maximumY = startPos.getY();
+        filled.add(startPos);
+        queue.addFirst(startPos);
+
+        while (!queue.isEmpty())
+        {
+            final BlockPos posAt = queue.removeFirst();
+            for (Direction direction : Direction.values())
+            {
+                mutablePos.set(posAt).move(direction);
+                if (!filled.contains(mutablePos) && mutablePos.getY() <= maximumY && fillable.test(mutablePos))
+                {
+                    if (!box.isInside(mutablePos))
+                    {
+                        return false;
+                    }
+                    final BlockPos posNext = mutablePos.immutable();
+                    queue.addFirst(posNext);
+                    filled.add(posNext);
+                }
+            }
+        }
+        return true;
+    }
+
+    @Test
+    public void testMatchesReference()
+    {
+        final long seed = System.currentTimeMillis();
+        final Random random = new Random(seed);
+        final LakeFloodFill fill = new LakeFloodFill();
+        int bounded = 0;
+        for (int i = 0; i < 200; i++)
+        {
+            final int[] heights = createTerrain(random);
+            final Predicate<BlockPos> fillable = isAboveTerrain(heights);
+            final int x = random.nextInt(16), z = random.nextInt(16);
+            final BlockPos start = new BlockPos(x, heights[(x + LakeFloodFill.RADIUS + 1) + SIZE * (z + LakeFloodFill.RADIUS + 1)] + 1, z);
+            final boolean overfill = random.nextBoolean();
+
+            final List<BlockPos> expected = floodFillReference(0, 0, start, overfill, fillable);
+            final boolean result = fill.fill(0, 0, start, overfill, fillable);
+            assertEquals(expected != null, result, () -> "Fill result at " + start + " with seed " + seed);
+            if (expected != null)
+            {
+                bounded++;
+                final List<BlockPos> actual = new ArrayList<>();
+                final BlockPos.Mutable cursor = new BlockPos.Mutable();
+                for (int j = 0; j < fill.size(); j++)
+                {
+                    actual.add(fill.get(j, cursor).immutable());
+                }
+                assertEquals(expected, actual, () -> "Filled positions at " + start + " with seed " + seed);
+                for (BlockPos pos : expected)
+                {
+                    assertTrue(fill.contains(pos.getX(), pos.getY(), pos.getZ()));
+                    assertFalse(fill.contains(pos.getX(), pos.getY() + 100, pos.getZ()));
+                }
+            }
+        }
+        assertTrue(bounded > 0, "No bounded lakes were generated with seed " + seed);
+    }
+
+    @Test
+    public void testReuseClearsPreviousFill()
+    {
+        final Random random = new Random(System.currentTimeMillis());
+        final LakeFloodFill fill = new LakeFloodFill();
+        final int[] heights = createTerrain(random);
+        final BlockPos start = new BlockPos(8, heights[(8 + LakeFloodFill.RADIUS + 1) * (SIZE + 1)] + 1, 8);
+
+        final boolean first = fill.fill(0, 0, start, true, isAboveTerrain(heights));
+        final int size = fill.size();
+        fill.fill(0, 0, new BlockPos(8, 255, 8), false, pos -> false);
+        assertEquals(0, fill.size());
+        assertEquals(first, fill.fill(0, 0, start, true, isAboveTerrain(heights)));
+        assertEquals(size, fill.size());
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world.feature.tree;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import com.google.common.collect.ImmutableList;
+import net.minecraft.block.BlockState;
+import net.minecraft.nbt.CompoundNBT;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.RegistryKey;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.registry.Registry;
+import net.minecraft.world.chunk.ChunkPrimer;
+import net.minecraft.world.chunk.ChunkStatus;
+import net.minecraft.world.chunk.IChunk;
+import net.minecraft.world.chunk.UpgradeData;
+import net.minecraft.world.gen.ChunkGenerator;
+import net.minecraft.world.gen.WorldGenRegion;
+import net.minecraft.world.gen.feature.ConfiguredFeature;
+import net.minecraft.world.gen.feature.template.BlockIgnoreStructureProcessor;
+import net.minecraft.world.gen.feature.template.PlacementSettings;
+import net.minecraft.world.gen.feature.template.Template;
+import net.minecraft.world.server.ServerWorld;
+import net.minecraftforge.fml.server.ServerLifecycleHooks;
+
+import net.dries007.tfc.common.TFCTags;
+import org.junit.jupiter.api.Test;
+
+import static net.dries007.tfc.TerraFirmaCraft.MOD_ID;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Tree placement needs templates from the server's structure manager, so these only run in the server test harness.
+ */
+public class TreeFeatureTests
+{
+    static final int CHUNKS = 20;
+    static final int TREES_PER_CHUNK = 8;
+    static final int ORIGIN = 600_000; // Far from anything the server generates
+    static final int GROUND = 64;
+
+    @Test
+    public void testBakedTemplateIsHeldByTemplate()
+    {
+        final Template template = getServer().getStructureManager().getOrCreate(new ResourceLocation(MOD_ID, "acacia/1"));
+        final BakedTemplate baked = BakedTemplate.get(template);
+        assertSame(baked, BakedTemplate.get(template));
+        assertNotEquals(0, baked.getPaletteCount());
+
+        // Loading new blocks into the template must bake it again
+        template.load(template.save(new CompoundNBT()));
+        assertNotSame(baked, BakedTemplate.get(template));
+    }
+
+    @Test
+    public void testPlaceTemplateWithProcessorsMatchesBaked()
+    {
+        final ServerWorld world = getServer().overworld();
+        final Template template = getServer().getStructureManager().getOrCreate(new ResourceLocation(MOD_ID, "acacia/1"));
+        final BlockState ground = TFCTags.Blocks.TREE_GROWS_ON.getValues().get(0).defaultBlockState();
+        for (float integrity : new float[] {1f, 0.5f})
+        {
+            for (int i = 0; i < CHUNKS; i++)
+            {
+                final ChunkPos pos = new ChunkPos(ORIGIN + 3 * i, ORIGIN + 3);
+                final BlockPos treePos = new BlockPos(pos.getMinBlockX() + 8, GROUND + 1, pos.getMinBlockZ() + 8);
+                final WorldGenRegion expected = createRegion(world, pos, ground), actual = createRegion(world, pos, ground);
+
+                // A processor which ignores nothing, so the result is the same, but it must be placed through the processors
+                final PlacementSettings processed = TreeHelpers.getPlacementSettings(pos, new Random(i)).addProcessor(new BlockIgnoreStructureProcessor(ImmutableList.of()));
+                TreeHelpers.placeTemplate(template, processed, expected, treePos, integrity);
+                TreeHelpers.placeTemplate(template, TreeHelpers.getPlacementSettings(pos, new Random(i)), actual, treePos, integrity);
+
+                final BlockPos.Mutable cursor = new BlockPos.Mutable();
+                for (int x = -16; x < 32; x++)
+                {
+                    for (int z = -16; z < 32; z++)
+                    {
+                        for (int y = GROUND; y < GROUND + template.getSize().getY() + 2; y++)
+                        {
+                            cursor.set(pos.getMinBlockX() + x, y, pos.getMinBlockZ() + z);
+                            assertEquals(expected.getBlockState(cursor), actual.getBlockState(cursor), "Block state at " + cursor + " with integrity " + integrity);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testForestDecorationPlacesTrees()
+    {
+        final ServerWorld world = getServer().overworld();
+        final ChunkGenerator generator = world.getChunkSource().getGenerator();
+        final List<ConfiguredFeature<?, ?>> trees = new ArrayList<>();
+        for (Map.Entry<RegistryKey<ConfiguredFeature<?, ?>>, ConfiguredFeature<?, ?>> entry : world.registryAccess().registryOrThrow(Registry.CONFIGURED_FEATURE_REGISTRY).entrySet())
+        {
+            final ResourceLocation id = entry.getKey().location();
+            if (id.getNamespace().equals(MOD_ID) && id.getPath().startsWith("tree/"))
+            {
+                trees.add(entry.getValue());
+            }
+        }
+        assumeTrue(!trees.isEmpty(), "No tree features are registered");
+
+        final BlockState ground = TFCTags.Blocks.TREE_GROWS_ON.getValues().get(0).defaultBlockState();
+        for (ConfiguredFeature<?, ?> tree : trees)
+        {
+            int placed = 0;
+            for (int i = 0; i < CHUNKS; i++)
+            {
+                final ChunkPos pos = new ChunkPos(ORIGIN + 3 * i, ORIGIN);
+                final WorldGenRegion region = createRegion(world, pos, ground);
+                final Random random = new Random(i);
+                for (int j = 0; j < TREES_PER_CHUNK; j++)
+                {
+                    final BlockPos treePos = new BlockPos(pos.getMinBlockX() + random.nextInt(16), GROUND + 1, pos.getMinBlockZ() + random.nextInt(16));
+                    if (tree.place(region, generator, random, treePos))
+                    {
+                        placed++;
+                    }
+                }
+            }
+            assertNotEquals(0, placed, "Tree " + tree + " was never placed");
+        }
+    }
+
+    /**
+     * Creates a 3x3 region of chunks, ready for features, with flat ground that trees can grow on.
+     */
+    private WorldGenRegion createRegion(ServerWorld world, ChunkPos center, BlockState ground)
+    {
+        final BlockPos.Mutable cursor = new BlockPos.Mutable();
+        final List<IChunk> chunks = new ArrayList<>();
+        for (int dz = -1; dz <= 1; dz++)
+        {
+            for (int dx = -1; dx <= 1; dx++)
+            {
+                final ChunkPos pos = new ChunkPos(center.x + dx, center.z + dz);
+                final ChunkPrimer chunk = new ChunkPrimer(pos, UpgradeData.EMPTY);
+                for (int x = 0; x < 16; x++)
+                {
+                    for (int z = 0; z < 16; z++)
+                    {
+                        chunk.setBlockState(cursor.set(pos.getMinBlockX() + x, GROUND, pos.getMinBlockZ() + z), ground, false);
+                    }
+                }
+                chunk.setStatus(ChunkStatus.FEATURES);
+                chunks.add(chunk);
+            }
+        }
+        return new WorldGenRegion(world, chunks);
+    }
+
+    private MinecraftServer getServer()
+    {
+        final MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+        assumeTrue(server != null, "No server is running");
+        return server;
+    }
+}
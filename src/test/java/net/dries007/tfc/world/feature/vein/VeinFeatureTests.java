@@ -0,0 +1,215 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world.feature.vein;
+
+import java.util.*;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.MutableBoundingBox;
+import net.minecraft.world.ISeedReader;
+import net.minecraft.world.chunk.ChunkPrimer;
+import net.minecraft.world.chunk.ChunkStatus;
+import net.minecraft.world.chunk.IChunk;
+import net.minecraft.world.chunk.UpgradeData;
+import net.minecraft.world.gen.Heightmap;
+import net.minecraft.world.gen.WorldGenRegion;
+import net.minecraft.world.server.ServerWorld;
+import net.minecraftforge.fml.server.ServerLifecycleHooks;
+
+import net.dries007.tfc.util.collections.IWeighted;
+import net.dries007.tfc.world.feature.TFCFeatures;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Compares placing veins with direct section writes, against placing every block through the world, for every type of vein.
+ * This needs a server world to create a {@link WorldGenRegion}, so it only runs in the server test harness.
+ */
+public class VeinFeatureTests
+{
+    static final int VEINS = 10;
+    static final int ORIGIN = 500_000; // Far from anything the server generates
+    static final int SURFACE = 90;
+
+    /**
+     * Places a vein by setting every block through the world, as {@link VeinFeature#place(ISeedReader, Random, int, int, Vein, VeinConfig)} did before ore was written directly into chunk sections.
+     */
+    @SuppressWarnings("deprecation")
+    static <C extends VeinConfig, V extends Vein> void placeThroughWorld(VeinFeature<C, V> feature, ISeedReader world, Random random, int blockX, int blockZ, V vein, C config)
+    {
+        final BlockPos.Mutable mutablePos = new BlockPos.Mutable();
+        final MutableBoundingBox box = feature.getBoundingBox(config, vein);
+        box.move(vein.getPos());
+
+        final int minX = Math.max(blockX, box.x0), maxX = Math.min(blockX + 15, box.x1);
+        final int minY = Math.max(config.getMinY(), box.y0), maxY = Math.min(config.getMaxY(), box.y1);
+        final int minZ = Math.max(blockZ, box.z0), maxZ = Math.min(blockZ + 15, box.z1);
+
+        for (int x = minX; x <= maxX; x++)
+        {
+            for (int z = minZ; z <= maxZ; z++)
+            {
+                int maxVeinY = -1;
+                for (int y = minY; y <= maxY; y++)
+                {
+                    mutablePos.set(x, y, z);
+                    if (random.nextFloat() < feature.getChanceToGenerate(x - vein.getPos().getX(), y - vein.getPos().getY(), z - vein.getPos().getZ(), vein, config))
+                    {
+                        final BlockState oreState = feature.getStateToGenerate(world.getBlockState(mutablePos), random, config);
+                        if (oreState != null)
+                        {
+                            world.setBlock(mutablePos, oreState, 3);
+                            maxVeinY = y;
+                        }
+                    }
+                }
+
+                final Indicator indicator = config.getIndicator();
+                if (indicator != null && maxVeinY != -1 && random.nextInt(indicator.getRarity()) == 0)
+                {
+                    final int indicatorX = x + random.nextInt(indicator.getSpread()) - random.nextInt(indicator.getSpread());
+                    final int indicatorZ = z + random.nextInt(indicator.getSpread()) - random.nextInt(indicator.getSpread());
+                    final int indicatorY = world.getHeight(Heightmap.Type.OCEAN_FLOOR_WG, indicatorX, indicatorZ);
+                    if (Math.abs(indicatorY - maxVeinY) < indicator.getDepth())
+                    {
+                        mutablePos.set(indicatorX, indicatorY, indicatorZ);
+                        final BlockState state = indicator.getStateToGenerate(random);
+                        if (world.getBlockState(mutablePos).isAir() && state.canSurvive(world, mutablePos))
+                        {
+                            world.setBlock(mutablePos, state, 3);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testClusterPlacementMatchesWorld()
+    {
+        assertPlacementMatchesWorld(TFCFeatures.CLUSTER_VEIN.get(), createConfig(), 0);
+    }
+
+    @Test
+    public void testDiscPlacementMatchesWorld()
+    {
+        assertPlacementMatchesWorld(TFCFeatures.DISC_VEIN.get(), new DiscVeinConfig(createConfig(), 3), 1);
+    }
+
+    @Test
+    public void testPipePlacementMatchesWorld()
+    {
+        assertPlacementMatchesWorld(TFCFeatures.PIPE_VEIN.get(), new PipeVeinConfig(createConfig(), 4, 0, 3, 0, 3, 0.5f), 2);
+    }
+
+    private <C extends VeinConfig, V extends Vein> void assertPlacementMatchesWorld(VeinFeature<C, V> feature, C config, int row)
+    {
+        final ServerWorld world = getServer().overworld();
+        for (int i = 0; i < VEINS; i++)
+        {
+            final ChunkPos pos = new ChunkPos(ORIGIN + 3 * i, ORIGIN + 3 * row);
+            final WorldGenRegion expected = createRegion(world, pos), actual = createRegion(world, pos);
+
+            final Random expectedRandom = new Random(i), actualRandom = new Random(i);
+            placeThroughWorld(feature, expected, expectedRandom, pos.getMinBlockX(), pos.getMinBlockZ(), feature.createVein(pos.getMinBlockX(), pos.getMinBlockZ(), expectedRandom, config), config);
+            feature.place(actual, actualRandom, pos.getMinBlockX(), pos.getMinBlockZ(), feature.createVein(pos.getMinBlockX(), pos.getMinBlockZ(), actualRandom, config), config);
+
+            // Indicators may be placed in neighbouring chunks, so compare the whole region
+            for (int dx = -1; dx <= 1; dx++)
+            {
+                for (int dz = -1; dz <= 1; dz++)
+                {
+                    assertChunksEqual((ChunkPrimer) expected.getChunk(pos.x + dx, pos.z + dz), (ChunkPrimer) actual.getChunk(pos.x + dx, pos.z + dz));
+                }
+            }
+        }
+    }
+
+    private void assertChunksEqual(ChunkPrimer expected, ChunkPrimer actual)
+    {
+        final ChunkPos pos = expected.getPos();
+        final BlockPos.Mutable cursor = new BlockPos.Mutable();
+        for (int x = 0; x < 16; x++)
+        {
+            for (int z = 0; z < 16; z++)
+            {
+                for (int y = 0; y < 256; y++)
+                {
+                    cursor.set(pos.getMinBlockX() + x, y, pos.getMinBlockZ() + z);
+                    assertEquals(expected.getBlockState(cursor), actual.getBlockState(cursor), "Block state at " + cursor);
+                }
+            }
+        }
+        for (Heightmap.Type type : ChunkStatus.FEATURES.heightmapsAfter())
+        {
+            assertArrayEquals(expected.getOrCreateHeightmapUnprimed(type).getRawData(), actual.getOrCreateHeightmapUnprimed(type).getRawData(), "Heightmap " + type + " in " + pos);
+        }
+        assertEquals(expected.getLights().count(), actual.getLights().count(), "Light sources in " + pos);
+    }
+
+    /**
+     * Creates a 3x3 region of chunks, ready for features. The center chunk is filled with stone up to {@link #SURFACE}, with a layer of granite and an uneven surface.
+     */
+    private WorldGenRegion createRegion(ServerWorld world, ChunkPos center)
+    {
+        final BlockState stone = Blocks.STONE.defaultBlockState(), granite = Blocks.GRANITE.defaultBlockState();
+        final BlockPos.Mutable cursor = new BlockPos.Mutable();
+        final List<IChunk> chunks = new ArrayList<>();
+        for (int dz = -1; dz <= 1; dz++)
+        {
+            for (int dx = -1; dx <= 1; dx++)
+            {
+                final ChunkPrimer chunk = new ChunkPrimer(new ChunkPos(center.x + dx, center.z + dz), UpgradeData.EMPTY);
+                if (dx == 0 && dz == 0)
+                {
+                    for (int x = 0; x < 16; x++)
+                    {
+                        for (int z = 0; z < 16; z++)
+                        {
+                            final int height = SURFACE - ((x + z) & 7);
+                            for (int y = 1; y <= height; y++)
+                            {
+                                cursor.set(center.getMinBlockX() + x, y, center.getMinBlockZ() + z);
+                                chunk.setBlockState(cursor, y > 40 && y <= 48 ? granite : stone, false);
+                            }
+                        }
+                    }
+                }
+                chunk.setStatus(ChunkStatus.FEATURES);
+                chunks.add(chunk);
+            }
+        }
+        return new WorldGenRegion(world, chunks);
+    }
+
+    /**
+     * Stone is replaced with plain ore, and granite with ore that emits light, which is always placed through the world. Indicators are placed on the surface above.
+     */
+    private VeinConfig createConfig()
+    {
+        final Map<Block, IWeighted<BlockState>> states = new HashMap<>();
+        states.put(Blocks.STONE, IWeighted.singleton(Blocks.IRON_ORE.defaultBlockState()));
+        states.put(Blocks.GRANITE, IWeighted.singleton(Blocks.GLOWSTONE.defaultBlockState()));
+        final Indicator indicator = new Indicator(64, 3, 4, IWeighted.singleton(Blocks.STONE_PRESSURE_PLATE.defaultBlockState()));
+        return new VeinConfig(states, Optional.of(indicator), 1, 16, 0.6f, 20, SURFACE + 10, Optional.of(1234L), Collections.emptyList());
+    }
+
+    private MinecraftServer getServer()
+    {
+        final MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+        assumeTrue(server != null, "No server is running");
+        return server;
+    }
+}
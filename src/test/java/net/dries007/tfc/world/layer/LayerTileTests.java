@@ -0,0 +1,88 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world.layer;
+
+import java.util.Random;
+
+import net.dries007.tfc.util.IArtist;
+import net.dries007.tfc.world.biome.TFCBiomeProvider;
+import net.dries007.tfc.world.layer.framework.*;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Verifies that evaluating layers a tile at a time, via {@link Area#get(int[], int, int, int, int)}, matches point-wise evaluation.
+ */
+public class LayerTileTests
+{
+    @Test
+    public void testZoomLayers()
+    {
+        final long seed = System.currentTimeMillis();
+        final Random random = new Random(seed);
+        final SourceLayer source = (context, x, z) -> context.nextInt(5);
+
+        AreaFactory layer = source.apply(new AreaContext(random.nextLong()));
+        layer = ZoomLayer.NORMAL.apply(new AreaContext(random.nextLong()), layer);
+        layer = ExactZoomLayer.INSTANCE.apply(new AreaContext(random.nextLong()), layer);
+        layer = ZoomLayer.FUZZY.apply(new AreaContext(random.nextLong()), layer);
+        layer = SmoothLayer.INSTANCE.apply(new AreaContext(random.nextLong()), layer);
+
+        assertTileMatchesPointwise(layer, seed);
+    }
+
+    @Test
+    public void testBiomeLayer()
+    {
+        final long seed = System.currentTimeMillis();
+        assertTileMatchesPointwise(TFCLayerUtil.createOverworldBiomeLayer(seed, new TFCBiomeProvider.LayerSettings(), IArtist.nope(), IArtist.nope()), seed);
+    }
+
+    @Test
+    public void testRockLayer()
+    {
+        final long seed = System.currentTimeMillis();
+        assertTileMatchesPointwise(TFCLayerUtil.createOverworldRockLayer(seed, new TFCBiomeProvider.LayerSettings().getRockLayerScale(), 10), seed);
+    }
+
+    @Test
+    public void testForestLayer()
+    {
+        final long seed = System.currentTimeMillis();
+        assertTileMatchesPointwise(TFCLayerUtil.createOverworldForestLayer(seed, new TFCBiomeProvider.LayerSettings(), IArtist.nope()), seed);
+    }
+
+    @Test
+    public void testPlateTectonicsLayer()
+    {
+        final long seed = System.currentTimeMillis();
+        assertTileMatchesPointwise(TFCLayerUtil.createOverworldPlateTectonicInfoLayer(seed, new TFCBiomeProvider.LayerSettings()), seed);
+    }
+
+    private void assertTileMatchesPointwise(AreaFactory factory, long seed)
+    {
+        final Random random = new Random(seed);
+        final Area pointArea = factory.get(), tileArea = factory.get();
+        for (int i = 0; i < 50; i++)
+        {
+            final int minX = random.nextInt(20_000) - 10_000, minZ = random.nextInt(20_000) - 10_000;
+            final int width = 1 + random.nextInt(32), height = 1 + random.nextInt(32);
+            final int[] tile = new int[width * height];
+
+            tileArea.get(tile, minX, minZ, width, height);
+            for (int z = 0; z < height; z++)
+            {
+                for (int x = 0; x < width; x++)
+                {
+                    final int posX = minX + x, posZ = minZ + z;
+                    assertEquals(pointArea.get(posX, posZ), tile[x + z * width], () -> "Tile value at x=" + posX + ", z=" + posZ + " with seed " + seed);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world.layer.framework;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.*;
+
+import net.dries007.tfc.util.IArtist;
+import net.dries007.tfc.world.biome.TFCBiomeProvider;
+import net.dries007.tfc.world.layer.TFCLayerUtil;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AreaContextTests
+{
+    @Test
+    public void testRandomIsUnchanged()
+    {
+        // A reference implementation of the position seeded LCG, which all layer output depends on
+        final long seed = System.currentTimeMillis();
+        final Random random = new Random(seed);
+        final AreaContext context = new AreaContext(seed);
+        for (int i = 0; i < 1000; i++)
+        {
+            final int x = random.nextInt(), z = random.nextInt();
+            final AreaContext local = context.local();
+            local.initSeed(x, z);
+
+            long value = ((long) x * 26394813L) ^ ((long) z * 8236491231L) ^ seed;
+            for (int j = 0; j < 8; j++)
+            {
+                value = (value * 0x5DEECE66DL + 0xBL) & ((1L << 48) - 1);
+                assertEquals((int) (value >>> 16), local.nextInt(), "Random value " + j + " at x=" + x + ", z=" + z);
+            }
+        }
+    }
+
+    @Test
+    public void testLocalContextIsPerThread() throws Exception
+    {
+        final AreaContext context = new AreaContext(System.currentTimeMillis());
+        final AreaContext local = context.local();
+        assertSame(local, context.local(), "Local context was not reused on the same thread");
+
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try
+        {
+            assertNotSame(local, executor.submit(context::local).get(1, TimeUnit.MINUTES), "Local context was shared between threads");
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testSharedAreaIsDeterministic() throws Exception
+    {
+        final long seed = System.currentTimeMillis();
+        final TFCBiomeProvider.LayerSettings settings = new TFCBiomeProvider.LayerSettings();
+        final AreaFactory factory = TFCLayerUtil.createOverworldBiomeLayer(seed, settings, IArtist.nope(), IArtist.nope());
+
+        final int threads = 8, points = 20_000;
+        final Random random = new Random(seed);
+        final int[] xs = new int[points], zs = new int[points];
+        for (int i = 0; i < points; i++)
+        {
+            // Clustered positions, so threads contend on the same cache entries
+            xs[i] = random.nextInt(2000) - 1000;
+            zs[i] = random.nextInt(2000) - 1000;
+        }
+
+        final Area sequential = factory.get();
+        final int[] expected = new int[points];
+        for (int i = 0; i < points; i++)
+        {
+            expected[i] = sequential.get(xs[i], zs[i]);
+        }
+
+        final Area shared = factory.get();
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try
+        {
+            final List<Future<int[]>> futures = new ArrayList<>();
+            for (int thread = 0; thread < threads; thread++)
+            {
+                final int offset = thread * (points / threads);
+                futures.add(executor.submit(() -> {
+                    final int[] actual = new int[points];
+                    for (int j = 0; j < points; j++)
+                    {
+                        final int i = (j + offset) % points;
+                        actual[i] = shared.get(xs[i], zs[i]);
+                    }
+                    return actual;
+                }));
+            }
+            for (Future<int[]> future : futures)
+            {
+                assertArrayEquals(expected, future.get(1, TimeUnit.MINUTES));
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+}
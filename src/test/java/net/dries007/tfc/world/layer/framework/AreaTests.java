@@ -0,0 +1,53 @@
+/*
+ * Licensed under the EUPL, Version 1.2.
+ * You may obtain a copy of the Licence at:
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ */
+
+package net.dries007.tfc.world.layer.framework;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AreaTests
+{
+    @Test
+    public void testTilesAreCached()
+    {
+        final int[] points = new int[1], tiles = new int[1];
+        final Area area = new Area(new AreaSource()
+        {
+            @Override
+            public int apply(int x, int z)
+            {
+                points[0]++;
+                return x * 31 + z;
+            }
+
+            @Override
+            public void apply(int[] out, int minX, int minZ, int width, int height)
+            {
+                tiles[0]++;
+                AreaSource.super.apply(out, minX, minZ, width, height);
+            }
+        }, 1024);
+
+        final int[] first = new int[8 * 8], second = new int[8 * 8];
+        area.get(first, 10, -20, 8, 8);
+        assertEquals(1, tiles[0]);
+        assertEquals(64, points[0]);
+
+        // The same tile, and any position within it, is served from the cache
+        area.get(second, 10, -20, 8, 8);
+        assertArrayEquals(first, second);
+        assertEquals(13 * 31 - 15, area.get(13, -15));
+        assertEquals(1, tiles[0]);
+        assertEquals(64, points[0]);
+
+        // A tile which is only partially cached is evaluated again
+        area.get(second, 14, -20, 8, 8);
+        assertEquals(2, tiles[0]);
+        assertEquals(14 * 31 - 20, second[0]);
+    }
+}